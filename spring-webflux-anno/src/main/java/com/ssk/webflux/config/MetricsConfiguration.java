@@ -0,0 +1,23 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.common.metrics.SingleFlightMetrics;
+import com.ssk.webflux.service.UserService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 把 UserService 的并发读取合并计数加入 /metrics 输出
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:30
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public SingleFlightMetrics singleFlightMetrics(UserService userService) {
+
+        return new SingleFlightMetrics(userService.singleFlight());
+    }
+}
@@ -0,0 +1,30 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.common.rsocket.RSocketRoutes;
+import com.ssk.webflux.domain.User;
+import com.ssk.webflux.service.UserService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户的 RSocket 路由，监听端口见 webflux.rsocket.port。
+ * user.upsert 用 concatMap 逐个保存，同时最多向客户端预取 32 个用户，按输入顺序返回保存后的 id
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:30
+ */
+@Configuration
+public class UserRSocketConfiguration {
+
+    @Bean
+    public RSocketRoutes userRSocketRoutes(UserService userService) {
+
+        return new RSocketRoutes()
+                .requestResponse("user.get", String.class, userService::getById)
+                .requestStream("user.list", Void.class, ignored -> userService.list())
+                .requestChannel("user.upsert", User.class, users -> users
+                        .concatMap(userService::createOrUpdate)
+                        .map(User::getId));
+    }
+}
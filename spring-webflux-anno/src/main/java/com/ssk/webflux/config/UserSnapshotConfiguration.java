@@ -0,0 +1,35 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.common.snapshot.SnapshotSchema;
+import com.ssk.webflux.common.snapshot.SnapshotStore;
+import com.ssk.webflux.domain.User;
+import com.ssk.webflux.service.UserService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Comparator;
+
+/**
+ * 用户数据的快照，POST /admin/snapshot/user/export 导出到 snapshots/user.snap，POST /admin/snapshot/user/import 导入（需要 webflux.snapshot.admin-enabled=true）。
+ * id 按先长度后字典序排序，数字形式的 id 即按数值排序，块内可以做差值编码
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:30
+ */
+@Configuration
+public class UserSnapshotConfiguration {
+
+    @Bean
+    public SnapshotStore<User> userSnapshotStore(UserService userService) {
+
+        SnapshotSchema<User> schema = SnapshotSchema.builder(User::new)
+                .stringColumn("id", User::getId, User::setId)
+                .stringColumn("name", User::getName, User::setName)
+                .stringColumn("age", User::getAge, User::setAge)
+                .stringColumn("email", User::getEmail, User::setEmail)
+                .orderBy(Comparator.comparing(User::getId, Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder())))
+                .build();
+        return new SnapshotStore<>("user", schema, userService::values, userService::restore);
+    }
+}
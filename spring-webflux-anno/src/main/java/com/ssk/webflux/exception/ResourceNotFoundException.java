@@ -1,13 +1,24 @@
 package com.ssk.webflux.exception;
 
+import com.ssk.webflux.common.error.StacklessException;
+import org.springframework.http.HttpStatus;
+
 /**
+ * 资源不存在时返回 404。异常不记录堆栈，使用共享的 {@link #INSTANCE}，
+ * 响应体由 {@link com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler} 直接写出
+ *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
  * @date 2019-05-17-下午 1:58
  */
-public class ResourceNotFoundException extends Exception {
+public class ResourceNotFoundException extends StacklessException {
 
     private static final long serialVersionUID = -8340799425108236703L;
 
+    public static final ResourceNotFoundException INSTANCE = new ResourceNotFoundException();
+
+    private ResourceNotFoundException() {
 
+        super(HttpStatus.NOT_FOUND, "Resource not found");
+    }
 }
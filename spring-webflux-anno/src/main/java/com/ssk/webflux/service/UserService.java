@@ -1,11 +1,17 @@
 package com.ssk.webflux.service;
 
+import com.ssk.webflux.common.offload.Offloader;
+import com.ssk.webflux.common.reactive.SingleFlight;
+import com.ssk.webflux.common.tracing.Tracing;
 import com.ssk.webflux.domain.User;
 import com.ssk.webflux.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -15,6 +21,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * 类 UserService 使用一个 Map 来保存所有用户的信息，并不是一个持久化的实现。这对于示例应用来说已经足够了。
  * 类 UserService 中的方法都以 Flux 或 Mono 对象作为返回值，这也是 WebFlux 应用的特征。在方法 getById()中，
  * 如果找不到 ID 对应的 User 对象，会返回一个包含了 ResourceNotFoundException 异常通知的 Mono 对象。
+ * 该 Mono 对象是共享的常量，找不到用户时不会再创建异常和操作符对象。
+ * 同一个 ID 的并发读取通过 SingleFlight 合并为一次对存储的访问。
+ * 对存储的访问都经过 Offloader，存储换成阻塞实现时可以通过 webflux.offload.mode 移出事件循环。
+ * 被采样的请求在 getById() 和每次存储访问上记录 span，调用链通过 Reactor Context 传递。
  * 方法 getById()和 createOrUpdate()都可以接受 String 或 Flux 类型的参数。
  * Flux 类型的参数表示的是有多个对象需要处理。这里使用 doOnNext()来对其中的每个对象进行处理
  *
@@ -25,31 +35,72 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class UserService {
 
+    private static final Mono<User> NOT_FOUND = Mono.error(ResourceNotFoundException.INSTANCE);
+
     private final Map<String, User> data = new ConcurrentHashMap<>();
 
+    private final SingleFlight<String, User> getByIdFlight = new SingleFlight<>("user.getById");
+
+    private final Offloader offloader;
+
+    public UserService(Offloader offloader) {
+
+        this.offloader = offloader;
+    }
+
     public Flux<User> list() {
 
-        return Flux.fromIterable(this.data.values());
+        return Tracing.flux("UserService.data.values", this.offloader.flux(this.data::values));
     }
 
     public Flux<User> getById(Flux<String> ids) {
 
-        return ids.flatMap(id -> Mono.justOrEmpty(this.data.get(id)));
+        return ids.flatMap(id -> Tracing.mono("UserService.data.get", this.offloader.mono(() -> this.data.get(id))));
     }
 
     public Mono<User> getById(String id) {
 
-        return Mono.justOrEmpty(this.data.get(id)).switchIfEmpty(Mono.error(new ResourceNotFoundException()));
+        return Tracing.mono("UserService.getById", this.getByIdFlight.execute(id, () -> this.load(id)));
+    }
+
+    private Mono<User> load(String id) {
+
+        return Tracing.mono("UserService.data.get", this.offloader.mono(() -> this.data.get(id))).switchIfEmpty(NOT_FOUND);
+    }
+
+    public SingleFlight<String, User> singleFlight() {
+
+        return this.getByIdFlight;
     }
 
     public Mono<User> createOrUpdate(User user) {
 
-        this.data.put(user.getId(), user);
-        return Mono.just(user);
+        return Tracing.mono("UserService.data.put", this.offloader.mono(() -> {
+            this.data.put(user.getId(), user);
+            return user;
+        }));
     }
 
     public Mono<User> delete(String id) {
 
-        return Mono.justOrEmpty(this.data.remove(id));
+        return Tracing.mono("UserService.data.remove", this.offloader.mono(() -> this.data.remove(id)));
+    }
+
+    /**
+     * 快照导出时读取的全部用户，为底层存储的只读视图
+     */
+    public Collection<User> values() {
+
+        return Collections.unmodifiableCollection(this.data.values());
+    }
+
+    /**
+     * 快照导入时按 id 覆盖写入一批用户，可以在多个线程上并发调用
+     */
+    public void restore(List<User> users) {
+
+        for (User user : users) {
+            this.data.put(user.getId(), user);
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.ssk.webflux.web;
 import com.ssk.webflux.domain.User;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
@@ -25,6 +26,11 @@ import java.util.concurrent.ThreadLocalRandom;
  * 我们可以使用类 ServerSentEvent.Builder 来创建 ServerSentEvent 对象。
  * 这里我们指定了事件名称 random，以及每个事件的标识符和数据。事件的标识符是一个递增的整数，而数据则是产生的随机数。
  * 在测试 SSE 时，我们只需要使用 curl 来访问即可。代码清单 5 给出了调用 curl http://localhost:8080/sse/randomNumbers 的结果
+ * <p>
+ * 客户端断线重连时在 Last-Event-ID 请求头中带上最后收到的标识符，序号从它的下一个继续，不会重新从 0 开始；
+ * 标识符不是非负整数时（例如浏览器沿用了其他服务的标识符）从 0 开始，不返回 400；
+ * 每个事件的注释是服务端产生该事件的毫秒时间戳，客户端据此计算端到端延迟，
+ * 见 {@link #TIMESTAMP_PREFIX}。
  *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
@@ -34,10 +40,17 @@ import java.util.concurrent.ThreadLocalRandom;
 @RequestMapping("/sse")
 public class SseController {
 
+    /**
+     * 事件注释的前缀，后面是产生事件时的毫秒时间戳
+     */
+    public static final String TIMESTAMP_PREFIX = "ts=";
+
     @GetMapping("/randomNumbers")
-    public Flux<ServerSentEvent<User>> randomNumbers() {
+    public Flux<ServerSentEvent<User>> randomNumbers(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
 
+        long first = firstEventId(lastEventId);
         return Flux.interval(Duration.ofSeconds(1))
+                .map(tick -> first + tick)
                 .map(seq -> {
                     User user = new User();
                     user.setId(ThreadLocalRandom.current().toString());
@@ -46,8 +59,25 @@ public class SseController {
                         .event("random")
                         .id(data.getT1().toString())
                         .data(data.getT2())
+                        .comment(TIMESTAMP_PREFIX + System.currentTimeMillis())
                         .build()
                 );
 
     }
+
+    /**
+     * Last-Event-ID 之后的第一个序号，没有或无法解析时为 0
+     */
+    static long firstEventId(String lastEventId) {
+
+        if (lastEventId == null) {
+            return 0;
+        }
+        try {
+            long id = Long.parseLong(lastEventId.trim());
+            return id < 0 || id == Long.MAX_VALUE ? 0 : id + 1;
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
 }
@@ -1,19 +1,15 @@
 package com.ssk.webflux.web;
 
 import com.ssk.webflux.domain.User;
-import com.ssk.webflux.exception.ResourceNotFoundException;
 import com.ssk.webflux.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,8 +18,8 @@ import java.util.Objects;
 
 /**
  * UserController 是具体的 Spring MVC 控制器类。它使用类 UserService 来完成具体的功能。
- * 类 UserController 中使用了注解@ExceptionHandler 来添加了 ResourceNotFoundException 异常的处理方法，
- * 并返回 404 错误。类 UserController 中的方法都很简单，只是简单地代理给 UserService 中的对应方法。
+ * ResourceNotFoundException 不在控制器中处理，而是交给 PreRenderedErrorWebExceptionHandler 写出预先编码的 404 响应。
+ * 类 UserController 中的方法都很简单，只是简单地代理给 UserService 中的对应方法。
  *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
@@ -41,12 +37,6 @@ public class UserController {
         this.userService = userService;
     }
 
-    @ResponseStatus(value = HttpStatus.NOT_FOUND, reason = "Resource not found")
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public void notFound() {
-
-    }
-
     @GetMapping
     public Flux<User> list() {
 
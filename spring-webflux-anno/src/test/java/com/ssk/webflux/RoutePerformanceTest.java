@@ -0,0 +1,104 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.common.perf.RoutePerformance;
+import com.ssk.webflux.domain.User;
+import com.ssk.webflux.service.UserService;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+
+/**
+ * 各路由每个请求的分配字节数和延迟不超过 perf-budgets.properties 中记录的预算，见 {@link RoutePerformance}。
+ * /sse/randomNumbers 每秒产生一个事件，/echo 是 WebSocket，都不在此检查
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:30
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RoutePerformanceTest {
+
+    private static final RoutePerformance PERFORMANCE = new RoutePerformance();
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    private WebTestClient client;
+
+    @Before
+    public void init() {
+
+        this.client = WebTestClient.bindToApplicationContext(this.context).build();
+        this.userService.createOrUpdate(user("perf")).block();
+    }
+
+    @AfterClass
+    public static void record() throws IOException {
+
+        PERFORMANCE.writeRecorded();
+    }
+
+    private static User user(String id) {
+
+        User user = new User();
+        user.setId(id);
+        user.setName("Perf");
+        user.setEmail("perf@example.org");
+        return user;
+    }
+
+    @Test
+    public void testHelloWorld() {
+
+        PERFORMANCE.check("GET /hello-world", () -> this.client.get().uri("/hello-world")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testListUsers() {
+
+        PERFORMANCE.check("GET /user", () -> this.client.get().uri("/user")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testGetUser() {
+
+        PERFORMANCE.check("GET /user/{id}", () -> this.client.get().uri("/user/perf")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testCreateUser() {
+
+        PERFORMANCE.check("POST /user", () -> this.client.post().uri("/user").syncBody(user("perf-create"))
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testUpdateUser() {
+
+        PERFORMANCE.check("PUT /user/{id}", () -> this.client.put().uri("/user/perf").syncBody(user("perf"))
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testDeleteUser() {
+
+        PERFORMANCE.check("DELETE /user/{id}", () -> this.userService.createOrUpdate(user("perf-delete")).block(),
+                () -> this.client.delete().uri("/user/perf-delete")
+                        .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+}
@@ -0,0 +1,129 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.common.codec.BinaryMediaTypes;
+import com.ssk.webflux.common.rsocket.RSocketPayloadCodec;
+import com.ssk.webflux.common.rsocket.RSocketProperties;
+import com.ssk.webflux.common.rsocket.RSocketRoutes;
+import com.ssk.webflux.common.rsocket.RSocketServer;
+import com.ssk.webflux.domain.User;
+import com.ssk.webflux.service.UserService;
+import io.rsocket.RSocket;
+import io.rsocket.RSocketFactory;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.transport.netty.client.TcpClientTransport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 用户 RSocket 路由的请求-响应和请求-流，服务端使用端口 0，数据以 CBOR 编码。
+ * MOCK 环境没有 HTTP 服务，上下文中的 {@link RSocketServer} 不应监听配置的固定端口
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:55
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class UserRSocketTest {
+
+    private final RSocketPayloadCodec codec = RSocketPayloadCodec.forMimeType(BinaryMediaTypes.APPLICATION_CBOR_VALUE);
+
+    @Autowired
+    @Qualifier("userRSocketRoutes")
+    private RSocketRoutes routes;
+
+    @Autowired
+    private RSocketServer contextServer;
+
+    @Autowired
+    private UserService userService;
+
+    private RSocketServer server;
+
+    private RSocket client;
+
+    @Before
+    public void start() {
+
+        RSocketProperties properties = new RSocketProperties();
+        properties.setPort(0);
+        this.server = new RSocketServer(properties, Collections.singletonList(this.routes), null);
+        this.server.start();
+        this.client = RSocketFactory.connect()
+                .dataMimeType(BinaryMediaTypes.APPLICATION_CBOR_VALUE)
+                .transport(TcpClientTransport.create(this.server.getPort()))
+                .start()
+                .block(Duration.ofSeconds(5));
+    }
+
+    @After
+    public void stop() {
+
+        if (this.client != null) {
+            this.client.dispose();
+        }
+        this.server.stop();
+    }
+
+    @Test
+    public void testContextServerNotStartedWithoutWebServer() {
+
+        assertFalse(this.contextServer.isRunning());
+        assertEquals(-1, this.contextServer.getPort());
+    }
+
+    @Test
+    public void testRequestResponse() {
+
+        this.userService.createOrUpdate(user("rsocket-get")).block(Duration.ofSeconds(5));
+
+        User user = this.client.requestResponse(this.codec.encode("user.get", "rsocket-get"))
+                .map(payload -> this.codec.decode(payload.sliceData(), User.class))
+                .block(Duration.ofSeconds(5));
+        assertEquals("rsocket-get", user.getId());
+        assertEquals("name-rsocket-get", user.getName());
+
+        StepVerifier.create(this.client.requestResponse(this.codec.encode("user.get", "rsocket-missing")))
+                .expectError(ApplicationErrorException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testRequestStream() {
+
+        this.userService.createOrUpdate(user("rsocket-stream-1")).block(Duration.ofSeconds(5));
+        this.userService.createOrUpdate(user("rsocket-stream-2")).block(Duration.ofSeconds(5));
+
+        List<String> ids = this.client.requestStream(this.codec.encode("user.list", null))
+                .map(payload -> this.codec.decode(payload.sliceData(), User.class))
+                .map(User::getId)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        assertTrue(ids.toString(), ids.contains("rsocket-stream-1") && ids.contains("rsocket-stream-2"));
+    }
+
+    private static User user(String id) {
+
+        User user = new User();
+        user.setId(id);
+        user.setName("name-" + id);
+        user.setAge("20");
+        user.setEmail(id + "@example.com");
+        return user;
+    }
+}
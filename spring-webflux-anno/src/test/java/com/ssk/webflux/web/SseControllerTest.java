@@ -0,0 +1,56 @@
+package com.ssk.webflux.web;
+
+import com.ssk.webflux.domain.User;
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:10
+ */
+public class SseControllerTest {
+
+    private final WebTestClient client = WebTestClient.bindToController(new SseController()).build();
+
+    @Test
+    public void testFirstEventId() {
+
+        assertEquals(0, SseController.firstEventId(null));
+        assertEquals(42, SseController.firstEventId("41"));
+        assertEquals(42, SseController.firstEventId(" 41 "));
+        assertEquals(0, SseController.firstEventId("abc"));
+        assertEquals(0, SseController.firstEventId(""));
+        assertEquals(0, SseController.firstEventId("-3"));
+        assertEquals(0, SseController.firstEventId(String.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testResumesAfterLastEventId() {
+
+        assertEquals("42", this.firstEvent("41"));
+        // 不是整数的标识符不返回 400，从 0 开始
+        assertEquals("0", this.firstEvent("not-a-number"));
+    }
+
+    private String firstEvent(String lastEventId) {
+
+        ServerSentEvent<User> event = this.client.get().uri("/sse/randomNumbers")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", lastEventId)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<User>>() {
+                })
+                .getResponseBody()
+                .blockFirst(Duration.ofSeconds(5));
+        return event.id();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ssk.webflux.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 比较两次 JMH 的 JSON 结果（-rf json）。同一个 benchmark 和参数组合下，
+ * 变化超过阈值并且超出两次结果误差之和的记为退化或提升；存在退化时以退出码 1 结束。
+ * 比较结果同时写到当前结果旁边的 jmh-comparison.json。
+ * <pre>
+ * java -cp ... com.ssk.webflux.benchmark.BaselineComparator baseline/jmh-result.json target/jmh-result.json 0.10
+ * </pre>
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:00
+ */
+public final class BaselineComparator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BaselineComparator() {
+
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparator <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + ", copy " + currentFile + " there to create one");
+            return;
+        }
+        Map<String, JsonNode> baseline = index(MAPPER.readTree(baselineFile));
+        Map<String, JsonNode> current = index(MAPPER.readTree(currentFile));
+
+        ArrayNode report = MAPPER.createArrayNode();
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "benchmark", "baseline", "current", "change", "verdict");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            Comparison comparison = compare(before, entry.getValue(), threshold);
+            if (comparison.verdict.equals("REGRESSION")) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), comparison.baseline,
+                    comparison.current, comparison.change * 100, comparison.verdict);
+            ObjectNode node = report.addObject();
+            node.put("benchmark", entry.getKey());
+            node.put("unit", entry.getValue().path("primaryMetric").path("scoreUnit").asText());
+            node.put("baseline", comparison.baseline);
+            node.put("current", comparison.current);
+            node.put("change", comparison.change);
+            node.put("verdict", comparison.verdict);
+        }
+        File output = new File(currentFile.getAbsoluteFile().getParentFile(), "jmh-comparison.json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output, report);
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + threshold * 100 + "%");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * change 为正表示变好：吞吐类（thrpt）越大越好，耗时类（avgt、sample、ss）越小越好
+     */
+    static Comparison compare(JsonNode before, JsonNode after, double threshold) {
+
+        double baseline = before.path("primaryMetric").path("score").asDouble();
+        double current = after.path("primaryMetric").path("score").asDouble();
+        double error = errorOf(before) + errorOf(after);
+        boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+        double change = baseline == 0 ? 0 : (current - baseline) / baseline;
+        if (!higherIsBetter) {
+            change = -change;
+        }
+        String verdict = "OK";
+        if (Math.abs(current - baseline) > error && Math.abs(change) > threshold) {
+            verdict = change < 0 ? "REGRESSION" : "IMPROVEMENT";
+        }
+        return new Comparison(baseline, current, change, verdict);
+    }
+
+    private static double errorOf(JsonNode result) {
+
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace(BaselineComparator.class.getPackage().getName() + ".", ""));
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            params.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+
+    static final class Comparison {
+
+        final double baseline;
+
+        final double current;
+
+        final double change;
+
+        final String verdict;
+
+        Comparison(double baseline, double current, double change, String verdict) {
+
+            this.baseline = baseline;
+            this.current = current;
+            this.change = change;
+            this.verdict = verdict;
+        }
+    }
+}
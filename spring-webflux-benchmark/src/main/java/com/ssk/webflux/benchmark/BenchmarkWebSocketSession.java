@@ -0,0 +1,109 @@
+package com.ssk.webflux.benchmark;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 不经过网络的 WebSocketSession：receive 发出预先准备好的消息，send 把每条发出的消息交给 sink 后释放
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:30
+ */
+class BenchmarkWebSocketSession implements WebSocketSession {
+
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private final Flux<WebSocketMessage> inbound;
+
+    private final Consumer<String> sink;
+
+    BenchmarkWebSocketSession(String[] payloads, Consumer<String> sink) {
+
+        this.inbound = Flux.fromArray(payloads).map(this::textMessage);
+        this.sink = sink;
+    }
+
+    @Override
+    public String getId() {
+
+        return "benchmark";
+    }
+
+    @Override
+    public HandshakeInfo getHandshakeInfo() {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DataBufferFactory bufferFactory() {
+
+        return this.bufferFactory;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Flux<WebSocketMessage> receive() {
+
+        return this.inbound;
+    }
+
+    @Override
+    public Mono<Void> send(Publisher<WebSocketMessage> messages) {
+
+        return Flux.from(messages)
+                .doOnNext(message -> this.sink.accept(message.getPayloadAsText()))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> close(CloseStatus status) {
+
+        return Mono.empty();
+    }
+
+    @Override
+    public WebSocketMessage textMessage(String payload) {
+
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return new WebSocketMessage(WebSocketMessage.Type.TEXT, this.bufferFactory.wrap(bytes));
+    }
+
+    @Override
+    public WebSocketMessage binaryMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+
+        return new WebSocketMessage(WebSocketMessage.Type.BINARY, payloadFactory.apply(this.bufferFactory));
+    }
+
+    @Override
+    public WebSocketMessage pingMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+
+        return new WebSocketMessage(WebSocketMessage.Type.PING, payloadFactory.apply(this.bufferFactory));
+    }
+
+    @Override
+    public WebSocketMessage pongMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+
+        return new WebSocketMessage(WebSocketMessage.Type.PONG, payloadFactory.apply(this.bufferFactory));
+    }
+}
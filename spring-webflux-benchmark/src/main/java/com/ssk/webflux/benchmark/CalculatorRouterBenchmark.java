@@ -0,0 +1,67 @@
+package com.ssk.webflux.benchmark;
+
+import com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler;
+import com.ssk.webflux.config.Config;
+import com.ssk.webflux.handler.CalculatorHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过 Config.routerFunction 完整处理一次 /calculator 请求：路由匹配、按 operator 分派、计算、写出响应体。
+ * unknown 走 400 的错误路径，由 PreRenderedErrorWebExceptionHandler 写出响应
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorRouterBenchmark {
+
+    @Param({"add", "divide", "unknown"})
+    public String operator;
+
+    private HttpHandler httpHandler;
+
+    private String uri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .exceptionHandler(new PreRenderedErrorWebExceptionHandler())
+                .build();
+        this.httpHandler = RouterFunctions.toHttpHandler(new Config().routerFunction(new CalculatorHandler()), strategies);
+        this.uri = "/calculator?operator=" + this.operator + "&v1=84&v2=2";
+    }
+
+    @Benchmark
+    public HttpStatus dispatch() {
+
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        this.httpHandler.handle(MockServerHttpRequest.get(this.uri).build(), response).block();
+        return response.getStatusCode();
+    }
+}
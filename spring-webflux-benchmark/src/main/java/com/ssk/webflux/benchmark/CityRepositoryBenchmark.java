@@ -0,0 +1,87 @@
+package com.ssk.webflux.benchmark;
+
+import com.ssk.webflux.dao.CityRepository;
+import com.ssk.webflux.domain.City;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CityRepository 在并发读写下的吞吐：3 个线程按 id 读取，1 个线程更新，存储中预先放入 10000 个城市。
+ * save 每次都写一条 INFO 日志，这里的写操作用不写日志的 updateCity，避免日志输出主导结果
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CityRepositoryBenchmark {
+
+    static final int CITIES = 10000;
+
+    private CityRepository cityRepository;
+
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.cityRepository = new CityRepository();
+        for (int i = 0; i < CITIES; i++) {
+            Long id = this.cityRepository.save(city(null, i));
+            if (i == 0) {
+                this.firstId = id;
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public City read() {
+
+        return this.cityRepository.findCityById(randomId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Long write() {
+
+        long id = randomId();
+        return this.cityRepository.updateCity(city(id, (int) id));
+    }
+
+    private long randomId() {
+
+        return this.firstId + ThreadLocalRandom.current().nextInt(CITIES);
+    }
+
+    static City city(Long id, int index) {
+
+        City city = new City();
+        city.setId(id);
+        city.setProvinceId((long) (index % 34));
+        city.setCityName("city-" + index);
+        city.setDescription("description of city " + index);
+        return city;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ssk.webflux.benchmark;
+
+import com.ssk.webflux.websocket.EchoHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EchoHandler 对消息的转换：每次调用处理一个包含 100 条消息的会话，结果按单条消息计
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EchoHandlerBenchmark {
+
+    static final int MESSAGES = 100;
+
+    @Param({"16", "1024"})
+    public int payloadSize;
+
+    private EchoHandler echoHandler;
+
+    private String[] payloads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.echoHandler = new EchoHandler();
+        char[] chars = new char[this.payloadSize];
+        Arrays.fill(chars, 'x');
+        this.payloads = new String[MESSAGES];
+        Arrays.fill(this.payloads, new String(chars));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void echo(Blackhole blackhole) {
+
+        this.echoHandler.handle(new BenchmarkWebSocketSession(this.payloads, blackhole::consume)).block();
+    }
+}
@@ -0,0 +1,69 @@
+package com.ssk.webflux.benchmark;
+
+import com.ssk.webflux.expression.EvaluationContext;
+import com.ssk.webflux.expression.Expression;
+import com.ssk.webflux.expression.ExpressionCache;
+import com.ssk.webflux.expression.ExpressionParser;
+import com.ssk.webflux.expression.ExpressionProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /calculator/eval 的表达式处理：compile 为缓存未命中时的解析，cached 为命中缓存后绑定变量并按 long 求值，
+ * 配合 -prof gc 可以确认命中路径不分配对象
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:30
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    private static final String TEXT = "(price * quantity - discount) * (100 + tax) / 100 + max(shipping, 5)";
+
+    private final ExpressionCache cache = new ExpressionCache(new ExpressionProperties());
+
+    private final EvaluationContext context = new EvaluationContext();
+
+    private final String[] values = {"2000", "3", "500", "8", "12"};
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.cache.get(TEXT);
+    }
+
+    @Benchmark
+    public Expression compile() {
+
+        return ExpressionParser.parse(TEXT);
+    }
+
+    @Benchmark
+    public long cached() {
+
+        Expression expression = this.cache.get(TEXT);
+        this.context.reset();
+        for (int i = 0; i < expression.getVariableCount(); i++) {
+            this.context.bind(expression.getVariable(i), this.values[i]);
+        }
+        expression.evaluate(this.context);
+        return this.context.getLongResult();
+    }
+}
@@ -0,0 +1,119 @@
+package com.ssk.webflux.benchmark;
+
+import com.ssk.webflux.common.client.WebClientFactory;
+import com.ssk.webflux.common.client.WebClientProperties;
+import com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler;
+import com.ssk.webflux.common.http2.Http2Properties;
+import com.ssk.webflux.common.http2.Http2ServerCustomizer;
+import com.ssk.webflux.config.Config;
+import com.ssk.webflux.handler.CalculatorHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同一个 /calculator 服务分别以 HTTP/1.1 keep-alive 连接池和 h2c 流复用访问：
+ * <ul>
+ * <li>batch：每次并发发出 concurrency 个请求，吞吐 × concurrency 即每秒请求数</li>
+ * <li>request：16 个线程各自逐个发送请求，SampleTime 给出单个请求延迟的分位数</li>
+ * </ul>
+ * 每轮结束时输出客户端累计新建的连接数。服务端和客户端在同一个 JVM 中共用 Reactor Netty 的事件循环
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 7:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpProtocolBenchmark {
+
+    @Param({"http11", "h2c"})
+    public String protocol;
+
+    @Param({"64"})
+    public int concurrency;
+
+    private DisposableServer server;
+
+    private WebClientFactory factory;
+
+    private WebClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .exceptionHandler(new PreRenderedErrorWebExceptionHandler())
+                .build();
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(new Config().routerFunction(new CalculatorHandler()), strategies));
+        this.server = new Http2ServerCustomizer(new Http2Properties())
+                .apply(HttpServer.create().host("127.0.0.1").port(0))
+                .handle(adapter)
+                .bindNow();
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.setMaxConnections(this.concurrency);
+        properties.getRetry().setMaxRetries(0);
+        properties.getH2c().setEnabled("h2c".equals(this.protocol));
+        this.factory = new WebClientFactory(properties);
+        this.client = this.factory.create("http://127.0.0.1:" + this.server.port());
+    }
+
+    @TearDown(Level.Iteration)
+    public void printConnections() {
+
+        System.out.println(" connections opened: " + this.factory.getCreatedConnections());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        this.factory.destroy();
+        this.server.disposeNow();
+    }
+
+    @Benchmark
+    public List<String> batch() {
+
+        return Flux.range(0, this.concurrency)
+                .flatMap(i -> this.client.get().uri("/calculator?operator=add&v1={v1}&v2=2", i)
+                        .retrieve().bodyToMono(String.class), this.concurrency)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(16)
+    public String request() {
+
+        return this.client.get().uri("/calculator?operator=add&v1=40&v2=2").retrieve().bodyToMono(String.class).block();
+    }
+}
@@ -0,0 +1,103 @@
+package com.ssk.webflux.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssk.webflux.domain.City;
+import com.ssk.webflux.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User 和 City 的 JSON 编码：直接用 ObjectMapper 序列化，以及经过 WebFlux 的 Jackson2JsonEncoder 写入 DataBuffer。
+ * ObjectMapper 与 Spring Boot 自动配置的一样由 Jackson2ObjectMapperBuilder 创建
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:50
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEncodingBenchmark {
+
+    private static final ResolvableType USER_TYPE = ResolvableType.forClass(User.class);
+
+    private static final ResolvableType CITY_TYPE = ResolvableType.forClass(City.class);
+
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private ObjectMapper objectMapper;
+
+    private Jackson2JsonEncoder encoder;
+
+    private User user;
+
+    private City city;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.encoder = new Jackson2JsonEncoder(this.objectMapper);
+        this.user = UserServiceBenchmark.user("42");
+        this.city = CityRepositoryBenchmark.city(42L, 42);
+    }
+
+    @Benchmark
+    public byte[] userObjectMapper() throws Exception {
+
+        return this.objectMapper.writeValueAsBytes(this.user);
+    }
+
+    @Benchmark
+    public byte[] cityObjectMapper() throws Exception {
+
+        return this.objectMapper.writeValueAsBytes(this.city);
+    }
+
+    @Benchmark
+    public int userEncoder() {
+
+        return encode(this.user, USER_TYPE);
+    }
+
+    @Benchmark
+    public int cityEncoder() {
+
+        return encode(this.city, CITY_TYPE);
+    }
+
+    private int encode(Object value, ResolvableType type) {
+
+        return this.encoder.encode(Mono.just(value), this.bufferFactory, type, MediaType.APPLICATION_JSON, Collections.emptyMap())
+                .map(buffer -> {
+                    int size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return size;
+                })
+                .reduce(0, Integer::sum)
+                .block();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ssk.webflux.benchmark;
+
+import com.ssk.webflux.handler.CalculatorHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /calculator 按 operator 分派并计算的单次耗时：reflection 重现了早先 Config.routerFunction 每次请求查找并反射调用同名方法的做法，
+ * registry 为现在的运算表查找。不包含路由匹配和响应写出，完整请求见 {@link CalculatorRouterBenchmark}
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:00
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorDispatchBenchmark {
+
+    @Param({"add", "divide"})
+    public String operator;
+
+    private final CalculatorHandler calculatorHandler = new CalculatorHandler();
+
+    private ServerRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.request = MockServerRequest.builder()
+                .queryParam("operator", this.operator)
+                .queryParam("v1", "84")
+                .queryParam("v2", "2")
+                .build();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Mono<ServerResponse> reflection() {
+
+        String operator = this.request.queryParam("operator").orElse("");
+        Method method = ReflectionUtils.findMethod(CalculatorHandler.class, operator, ServerRequest.class);
+        return (Mono<ServerResponse>) ReflectionUtils.invokeMethod(method, this.calculatorHandler, this.request);
+    }
+
+    @Benchmark
+    public Mono<ServerResponse> registry() throws Exception {
+
+        String operator = this.request.queryParam("operator").orElse("");
+        return this.calculatorHandler.handler(operator).handle(this.request);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ssk.webflux.benchmark;
+
+import com.ssk.webflux.common.offload.OffloadProperties;
+import com.ssk.webflux.common.offload.Offloader;
+import com.ssk.webflux.domain.User;
+import com.ssk.webflux.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService 的增删改查，存储中预先放入 1000 个用户，执行方式为默认的 inline
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    static final int USERS = 1000;
+
+    private UserService userService;
+
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        this.userService = new UserService(new Offloader(new OffloadProperties()));
+        this.ids = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            this.ids[i] = String.valueOf(i);
+            this.userService.createOrUpdate(user(this.ids[i])).block();
+        }
+    }
+
+    @Benchmark
+    public User getById() {
+
+        return this.userService.getById(randomId()).block();
+    }
+
+    @Benchmark
+    public User getByIdMissing() {
+
+        return this.userService.getById("missing").onErrorResume(e -> Mono.empty()).block();
+    }
+
+    @Benchmark
+    public User createOrUpdate() {
+
+        return this.userService.createOrUpdate(user(randomId())).block();
+    }
+
+    @Benchmark
+    public User deleteAndRecreate() {
+
+        String id = randomId();
+        this.userService.delete(id).block();
+        return this.userService.createOrUpdate(user(id)).block();
+    }
+
+    @Benchmark
+    public void list(Blackhole blackhole) {
+
+        this.userService.list().subscribe(blackhole::consume);
+    }
+
+    private String randomId() {
+
+        return this.ids[ThreadLocalRandom.current().nextInt(USERS)];
+    }
+
+    static User user(String id) {
+
+        User user = new User();
+        user.setId(id);
+        user.setName("user-" + id);
+        user.setAge("30");
+        user.setEmail("user-" + id + "@8win.com");
+        return user;
+    }
+}
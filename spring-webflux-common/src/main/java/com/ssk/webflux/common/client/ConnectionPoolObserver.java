@@ -0,0 +1,125 @@
+package com.ssk.webflux.common.client;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 通过连接的状态变化统计连接池的使用情况，并关闭在池中空闲过久的连接。
+ * Reactor Netty 0.8 的连接池没有空闲回收，这里在连接归还（RELEASED）时加入一个 {@link IdleStateHandler}，
+ * 空闲超时后关闭连接，连接池在下次获取时丢弃已关闭的连接；连接被再次取出（ACQUIRED）时移除该处理器。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:30
+ */
+class ConnectionPoolObserver implements ConnectionObserver {
+
+    private static final String IDLE_HANDLER = "webfluxClientIdleEviction";
+
+    private static final AttributeKey<Boolean> IDLE = AttributeKey.valueOf(ConnectionPoolObserver.class.getName() + ".idle");
+
+    private final long maxIdleMillis;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger idle = new AtomicInteger();
+
+    private final LongAdder created = new LongAdder();
+
+    private final LongAdder closed = new LongAdder();
+
+    private final LongAdder evicted = new LongAdder();
+
+    ConnectionPoolObserver(long maxIdleMillis) {
+
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    @Override
+    public void onStateChange(Connection connection, State newState) {
+
+        Channel channel = connection.channel();
+        if (newState == State.CONNECTED) {
+            this.created.increment();
+            this.active.incrementAndGet();
+            channel.attr(IDLE).set(Boolean.FALSE);
+            channel.closeFuture().addListener(future -> this.onClose(channel));
+        } else if (newState == State.ACQUIRED) {
+            if (Boolean.TRUE.equals(channel.attr(IDLE).getAndSet(Boolean.FALSE))) {
+                this.idle.decrementAndGet();
+                this.active.incrementAndGet();
+            }
+            if (channel.pipeline().get(IDLE_HANDLER) != null) {
+                channel.pipeline().remove(IDLE_HANDLER);
+            }
+        } else if (newState == State.RELEASED) {
+            if (Boolean.FALSE.equals(channel.attr(IDLE).getAndSet(Boolean.TRUE))) {
+                this.active.decrementAndGet();
+                this.idle.incrementAndGet();
+            }
+            if (channel.isActive() && channel.pipeline().get(IDLE_HANDLER) == null) {
+                channel.pipeline().addFirst(IDLE_HANDLER, new IdleEvictionHandler(this.maxIdleMillis));
+            }
+        }
+    }
+
+    private void onClose(Channel channel) {
+
+        this.closed.increment();
+        Boolean idle = channel.attr(IDLE).getAndSet(null);
+        if (Boolean.TRUE.equals(idle)) {
+            this.idle.decrementAndGet();
+        } else if (Boolean.FALSE.equals(idle)) {
+            this.active.decrementAndGet();
+        }
+    }
+
+    int getActive() {
+
+        return this.active.get();
+    }
+
+    int getIdle() {
+
+        return this.idle.get();
+    }
+
+    long getCreated() {
+
+        return this.created.sum();
+    }
+
+    long getClosed() {
+
+        return this.closed.sum();
+    }
+
+    long getEvicted() {
+
+        return this.evicted.sum();
+    }
+
+    private class IdleEvictionHandler extends IdleStateHandler {
+
+        IdleEvictionHandler(long maxIdleMillis) {
+
+            super(0, 0, maxIdleMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) {
+
+            ConnectionPoolObserver.this.evicted.increment();
+            ctx.close();
+        }
+    }
+}
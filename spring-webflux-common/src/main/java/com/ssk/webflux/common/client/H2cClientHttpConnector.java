@@ -0,0 +1,260 @@
+package com.ssk.webflux.common.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpResources;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 以 HTTP/2 cleartext 访问服务端的 ClientHttpConnector，WebClient 的请求作为流复用每个目标地址上的少量连接。
+ * <p>
+ * Reactor Netty 0.8 的 HttpClient 选择 H2C 之后仍然按 HTTP/1.1 写出请求，不能使用，这里直接基于 Netty 的 Http2MultiplexCodec：
+ * <ul>
+ * <li>每个目标地址保持 connections 个连接，以 prior-knowledge 方式直接发送连接前言，请求按轮询分配到各连接</li>
+ * <li>每个请求打开一个流，流内由 Http2StreamFrameToHttpObjectCodec 转换成 HTTP/1.1 的消息对象</li>
+ * <li>超过服务端 SETTINGS_MAX_CONCURRENT_STREAMS 的流在本地排队，等待其他流结束</li>
+ * <li>响应体按订阅方的请求读取，未读取的数据留在流控窗口内，由 HTTP/2 流控让服务端暂停发送</li>
+ * <li>连接关闭或收到 GOAWAY 后，新的请求改用新建的连接</li>
+ * </ul>
+ * 事件循环与 Reactor Netty 共用 {@link HttpResources}。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 6:00
+ */
+public class H2cClientHttpConnector implements ClientHttpConnector, Disposable {
+
+    private static final AttributeKey<Boolean> GOAWAY_RECEIVED = AttributeKey.valueOf("webflux.h2c.goawayReceived");
+
+    private final WebClientProperties.H2c properties;
+
+    private final Bootstrap bootstrap;
+
+    private final ConcurrentMap<String, AtomicReferenceArray<Mono<Channel>>> connections = new ConcurrentHashMap<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Set<Channel> openChannels = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder created = new LongAdder();
+
+    private final LongAdder streams = new LongAdder();
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    public H2cClientHttpConnector(WebClientProperties.H2c properties, Duration connectTimeout) {
+
+        this.properties = properties;
+        EventLoopGroup group = HttpResources.get().onClient(true);
+        Http2Settings settings = new Http2Settings()
+                .pushEnabled(false)
+                .initialWindowSize((int) properties.getInitialWindowSize().toBytes());
+        this.bootstrap = new Bootstrap()
+                .group(group)
+                .channel(HttpResources.get().onChannel(group))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(new ChannelInitializer<Channel>() {
+
+                    @Override
+                    protected void initChannel(Channel channel) {
+
+                        Http2MultiplexCodec codec = Http2MultiplexCodecBuilder.forClient(new RejectPushedStreams())
+                                .initialSettings(settings)
+                                .encoderEnforceMaxConcurrentStreams(true)
+                                .build();
+                        channel.pipeline().addLast(codec, new GoAwayHandler());
+                    }
+                });
+    }
+
+    @Override
+    public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+                                           Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+
+        return this.connection(uri)
+                .flatMap(this::openStream)
+                .flatMap(stream -> {
+                    H2cStreamHandler handler = stream.pipeline().get(H2cStreamHandler.class);
+                    return requestCallback.apply(new H2cClientHttpRequest(method, uri, stream))
+                            .then(handler.response())
+                            .doOnCancel(stream::close)
+                            .doOnError(error -> stream.close());
+                });
+    }
+
+    private Mono<Channel> connection(URI uri) {
+
+        String host = uri.getHost();
+        int port = uri.getPort() == -1 ? 80 : uri.getPort();
+        AtomicReferenceArray<Mono<Channel>> slots = this.connections.computeIfAbsent(host + ":" + port,
+                authority -> new AtomicReferenceArray<>(Math.max(1, this.properties.getConnections())));
+        int index = Math.floorMod(this.next.getAndIncrement(), slots.length());
+        return Mono.defer(() -> this.acquire(slots, index, host, port));
+    }
+
+    /**
+     * 取出槽位上的连接，连接不可用时新建一个替换它；并发的请求共用同一次建连
+     */
+    private Mono<Channel> acquire(AtomicReferenceArray<Mono<Channel>> slots, int index, String host, int port) {
+
+        Mono<Channel> current = slots.get(index);
+        if (current == null) {
+            return this.replace(slots, index, null, host, port);
+        }
+        return current.flatMap(channel -> isUsable(channel)
+                ? Mono.just(channel)
+                : this.replace(slots, index, current, host, port));
+    }
+
+    private Mono<Channel> replace(AtomicReferenceArray<Mono<Channel>> slots, int index, Mono<Channel> expected,
+                                  String host, int port) {
+
+        AtomicReference<Mono<Channel>> self = new AtomicReference<>();
+        Mono<Channel> fresh = this.connect(host, port)
+                // 建连失败不缓存，下一个请求重新建连
+                .doOnError(error -> slots.compareAndSet(index, self.get(), null))
+                .cache();
+        self.set(fresh);
+        if (slots.compareAndSet(index, expected, fresh)) {
+            return fresh;
+        }
+        return Mono.defer(() -> this.acquire(slots, index, host, port));
+    }
+
+    private Mono<Channel> connect(String host, int port) {
+
+        return Mono.create(sink -> this.bootstrap.connect(host, port).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                sink.error(future.cause());
+                return;
+            }
+            Channel channel = future.channel();
+            this.created.increment();
+            this.openChannels.add(channel);
+            channel.closeFuture().addListener(closed -> this.openChannels.remove(channel));
+            // 连接建立的回调先于 channelActive 执行，连接前言在 channelActive 中才写出，流的 HEADERS 必须排在它后面
+            channel.eventLoop().execute(() -> sink.success(channel));
+        }));
+    }
+
+    private Mono<Http2StreamChannel> openStream(Channel connection) {
+
+        return Mono.create(sink -> new Http2StreamChannelBootstrap(connection)
+                .handler(new ChannelInitializer<Channel>() {
+
+                    @Override
+                    protected void initChannel(Channel stream) {
+
+                        stream.config().setAutoRead(false);
+                        stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false), new H2cStreamHandler());
+                    }
+                })
+                .open()
+                .addListener((GenericFutureListener<Future<Http2StreamChannel>>) future -> {
+                    if (!future.isSuccess()) {
+                        sink.error(future.cause());
+                        return;
+                    }
+                    Http2StreamChannel stream = future.getNow();
+                    this.streams.increment();
+                    this.activeStreams.incrementAndGet();
+                    stream.closeFuture().addListener(closed -> this.activeStreams.decrementAndGet());
+                    sink.success(stream);
+                }));
+    }
+
+    private static boolean isUsable(Channel channel) {
+
+        return channel.isActive() && !channel.hasAttr(GOAWAY_RECEIVED);
+    }
+
+    /**
+     * 当前打开的连接数
+     */
+    public int getConnections() {
+
+        return this.openChannels.size();
+    }
+
+    public long getCreatedConnections() {
+
+        return this.created.sum();
+    }
+
+    public long getStreams() {
+
+        return this.streams.sum();
+    }
+
+    public int getActiveStreams() {
+
+        return this.activeStreams.get();
+    }
+
+    @Override
+    public void dispose() {
+
+        this.openChannels.forEach(Channel::close);
+    }
+
+    /**
+     * 收到 GOAWAY 后该连接不再分配新的流，已有的流照常完成；其他连接级的帧直接丢弃
+     */
+    private static class GoAwayHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+
+            if (msg instanceof Http2GoAwayFrame) {
+                ctx.channel().attr(GOAWAY_RECEIVED).set(Boolean.TRUE);
+            }
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    /**
+     * 已通过 SETTINGS_ENABLE_PUSH 关闭服务端推送，万一收到推送的流直接关闭
+     */
+    private static class RejectPushedStreams extends ChannelInitializer<Channel> {
+
+        @Override
+        protected void initChannel(Channel stream) {
+
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ssk.webflux.common.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.AbstractClientHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.stream.Collectors;
+
+/**
+ * 写到一个 HTTP/2 流上的请求。单个数据块的请求体（Mono）与请求头一起写出，流式的请求体逐块写出，
+ * 每块等上一块写入连接后再写，由连接的流控窗口形成背压
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 6:30
+ */
+class H2cClientHttpRequest extends AbstractClientHttpRequest {
+
+    private final HttpMethod method;
+
+    private final URI uri;
+
+    private final Channel stream;
+
+    private final NettyDataBufferFactory bufferFactory;
+
+    private final HttpHeaders nettyHeaders = new DefaultHttpHeaders();
+
+    H2cClientHttpRequest(HttpMethod method, URI uri, Channel stream) {
+
+        this.method = method;
+        this.uri = uri;
+        this.stream = stream;
+        this.bufferFactory = new NettyDataBufferFactory(stream.alloc());
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+
+        return this.method;
+    }
+
+    @Override
+    public URI getURI() {
+
+        return this.uri;
+    }
+
+    @Override
+    public DataBufferFactory bufferFactory() {
+
+        return this.bufferFactory;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+        if (body instanceof Mono) {
+            return doCommit(() -> Mono.from(body)
+                    .map(buffer -> this.fullRequest(NettyDataBufferFactory.toByteBuf(buffer)))
+                    .switchIfEmpty(Mono.fromSupplier(() -> this.fullRequest(Unpooled.EMPTY_BUFFER)))
+                    .flatMap(this::write));
+        }
+        return doCommit(() -> Mono.defer(() -> this.write(new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                io.netty.handler.codec.http.HttpMethod.valueOf(this.method.name()), this.uri.toString(), this.nettyHeaders)))
+                .thenMany(Flux.from(body).concatMap(buffer -> this.write(new DefaultHttpContent(NettyDataBufferFactory.toByteBuf(buffer)))))
+                .then(Mono.defer(() -> this.write(LastHttpContent.EMPTY_LAST_CONTENT))));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+
+        return writeWith(Flux.from(body).concatMap(Flux::from));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+
+        return doCommit(() -> Mono.defer(() -> this.write(this.fullRequest(Unpooled.EMPTY_BUFFER))));
+    }
+
+    private DefaultFullHttpRequest fullRequest(ByteBuf content) {
+
+        DefaultFullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+                io.netty.handler.codec.http.HttpMethod.valueOf(this.method.name()), this.uri.toString(), content);
+        request.headers().set(this.nettyHeaders);
+        return request;
+    }
+
+    private Mono<Void> write(Object message) {
+
+        return Mono.create(sink -> this.stream.writeAndFlush(message).addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                sink.success();
+            } else {
+                sink.error(future.cause());
+            }
+        }));
+    }
+
+    @Override
+    protected void applyHeaders() {
+
+        getHeaders().forEach(this.nettyHeaders::add);
+    }
+
+    @Override
+    protected void applyCookies() {
+
+        if (!getCookies().isEmpty()) {
+            this.nettyHeaders.set(HttpHeaderNames.COOKIE, getCookies().values().stream()
+                    .flatMap(cookies -> cookies.stream().map(HttpCookie::toString))
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ssk.webflux.common.client;
+
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.cookie.ClientCookieDecoder;
+import io.netty.handler.codec.http.cookie.Cookie;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * h2c 流上收到的响应。响应头转换时去掉 Netty 附加的 x-http2-* 扩展头
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 6:20
+ */
+class H2cClientHttpResponse implements ClientHttpResponse {
+
+    private static final String EXTENSION_HEADER_PREFIX = "x-http2-";
+
+    private final int status;
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private final Flux<DataBuffer> body;
+
+    H2cClientHttpResponse(HttpResponse response, Flux<DataBuffer> body) {
+
+        this.status = response.status().code();
+        for (Map.Entry<String, String> header : response.headers()) {
+            if (!header.getKey().startsWith(EXTENSION_HEADER_PREFIX)) {
+                this.headers.add(header.getKey(), header.getValue());
+            }
+        }
+        this.body = body;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+
+        return HttpStatus.valueOf(this.status);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+
+        return this.status;
+    }
+
+    @Override
+    public MultiValueMap<String, ResponseCookie> getCookies() {
+
+        MultiValueMap<String, ResponseCookie> cookies = new LinkedMultiValueMap<>();
+        List<String> setCookies = this.headers.get(HttpHeaders.SET_COOKIE);
+        if (setCookies == null) {
+            return cookies;
+        }
+        for (String header : setCookies) {
+            Cookie cookie = ClientCookieDecoder.LAX.decode(header);
+            if (cookie != null) {
+                cookies.add(cookie.name(), ResponseCookie.from(cookie.name(), cookie.value())
+                        .domain(cookie.domain())
+                        .path(cookie.path())
+                        .maxAge(cookie.maxAge())
+                        .secure(cookie.isSecure())
+                        .httpOnly(cookie.isHttpOnly())
+                        .build());
+            }
+        }
+        return cookies;
+    }
+
+    @Override
+    public Flux<DataBuffer> getBody() {
+
+        return this.body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+
+        return this.headers;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ssk.webflux.common.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.UnicastProcessor;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一个 HTTP/2 流上的响应：收到响应头后发出 {@link H2cClientHttpResponse}，响应体在订阅方请求时才从流上读取。
+ * 每次读取结束时只要订阅方还有未满足的请求就继续读，没有请求时停止读取，由 HTTP/2 的流控窗口让服务端暂停发送
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 6:10
+ */
+class H2cStreamHandler extends ChannelInboundHandlerAdapter {
+
+    private final MonoProcessor<ClientHttpResponse> response = MonoProcessor.create();
+
+    private final UnicastProcessor<DataBuffer> body = UnicastProcessor.create();
+
+    private final AtomicLong demand = new AtomicLong();
+
+    private boolean headersReceived;
+
+    private boolean completed;
+
+    Mono<ClientHttpResponse> response() {
+
+        return this.response;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+
+        // 流的 autoRead 已关闭，先读一次等待响应头
+        ctx.read();
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+
+        if (msg instanceof HttpResponse) {
+            HttpResponse headers = (HttpResponse) msg;
+            if (headers.status().codeClass() == HttpStatusClass.INFORMATIONAL) {
+                ReferenceCountUtil.release(msg);
+                ctx.read();
+                return;
+            }
+            this.headersReceived = true;
+            this.response.onNext(new H2cClientHttpResponse(headers, this.body.doOnRequest(n -> {
+                this.demand.accumulateAndGet(n, Operators::addCap);
+                ctx.channel().read();
+            })));
+            if (msg instanceof HttpContent) {
+                this.onContent(ctx, (HttpContent) msg);
+            }
+        } else if (msg instanceof HttpContent) {
+            this.onContent(ctx, (HttpContent) msg);
+        } else {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private void onContent(ChannelHandlerContext ctx, HttpContent content) {
+
+        ByteBuf buffer = content.content();
+        if (buffer.isReadable()) {
+            this.demand.decrementAndGet();
+            this.body.onNext(new NettyDataBufferFactory(ctx.alloc()).wrap(buffer));
+        } else {
+            buffer.release();
+        }
+        if (content instanceof LastHttpContent) {
+            this.completed = true;
+            this.body.onComplete();
+        }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+
+        if (this.headersReceived && !this.completed && this.demand.get() > 0) {
+            ctx.read();
+        }
+        super.channelReadComplete(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+
+        this.fail(new IOException("HTTP/2 stream closed before the response completed"));
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+
+        this.fail(cause);
+        ctx.close();
+    }
+
+    private void fail(Throwable error) {
+
+        if (!this.headersReceived) {
+            this.headersReceived = true;
+            this.response.onError(error);
+        } else if (!this.completed) {
+            this.completed = true;
+            this.body.onError(error);
+        }
+    }
+}
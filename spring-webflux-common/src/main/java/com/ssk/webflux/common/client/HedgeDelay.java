@@ -0,0 +1,59 @@
+package com.ssk.webflux.common.client;
+
+import com.ssk.webflux.common.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一个目标地址的响应时间分布与由此得出的对冲延迟。
+ * 分位数每秒最多重新计算一次，其余请求只读取缓存的结果，不会在请求路径上复制直方图。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:00
+ */
+class HedgeDelay {
+
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LatencyHistogram histogram = new LatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    private final AtomicLong refreshAt = new AtomicLong(System.nanoTime());
+
+    private final double percentile;
+
+    private final long minDelayNanos;
+
+    private final int minSamples;
+
+    private volatile long delayNanos = -1;
+
+    HedgeDelay(WebClientProperties.Hedge properties) {
+
+        this.percentile = properties.getQuantile() * 100;
+        this.minDelayNanos = properties.getMinDelay().toNanos();
+        this.minSamples = properties.getMinSamples();
+    }
+
+    void record(long nanos) {
+
+        this.histogram.recordNanos(nanos);
+    }
+
+    /**
+     * @return 样本不足时返回 -1，表示不对冲
+     */
+    long delayNanos() {
+
+        long now = System.nanoTime();
+        long next = this.refreshAt.get();
+        if (now - next >= 0 && this.refreshAt.compareAndSet(next, now + REFRESH_NANOS)) {
+            if (this.histogram.getCount() >= this.minSamples) {
+                long micros = this.histogram.snapshot().getValueAtPercentile(this.percentile);
+                this.delayNanos = Math.max(this.minDelayNanos, TimeUnit.MICROSECONDS.toNanos(micros));
+            }
+        }
+        return this.delayNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ssk.webflux.common.client;
+
+import com.ssk.webflux.common.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 应用内共享的 {@link WebClientFactory}，同时作为 MetricsCollector 输出连接池指标；启用了追踪时请求延续当前的调用链
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:00
+ */
+@Configuration
+@EnableConfigurationProperties(WebClientProperties.class)
+public class WebClientConfiguration {
+
+    @Bean
+    public WebClientFactory webClientFactory(WebClientProperties properties, ObjectProvider<Tracer> tracer) {
+
+        return new WebClientFactory(properties, tracer.getIfAvailable());
+    }
+}
@@ -0,0 +1,340 @@
+package com.ssk.webflux.common.client;
+
+import com.ssk.webflux.common.error.StacklessException;
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import com.ssk.webflux.common.tracing.Tracer;
+import com.ssk.webflux.common.tracing.TracingExchangeFilterFunction;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 共享的 WebClient 工厂。所有由 {@link #builder()} 创建的 WebClient 共用一个固定大小的连接池，
+ * 并依次经过三层 ExchangeFilterFunction：
+ * <ol>
+ * <li>重试：只对幂等方法，连接错误、超时和 502/503/504 按指数退避加随机抖动重试</li>
+ * <li>对冲：只对 GET，等待超过该地址最近响应时间的分位数（默认 p95）后再发出一个相同的请求，先返回的结果胜出，另一个被取消</li>
+ * <li>排队限制：等待响应头的请求超过 maxConnections + maxPendingAcquires 时立即失败，不在连接池中无限排队；
+ * 每次发送都有 responseTimeout 的超时</li>
+ * </ol>
+ * 连接池使用情况、重试与对冲次数通过 {@link MetricsCollector} 输出。
+ * <p>
+ * Reactor Netty 0.8 的连接池没有排队上限和空闲回收，分别由排队限制和 {@link ConnectionPoolObserver} 实现；
+ * 它的客户端也不能使用 HTTP/2，h2c.enabled=true 时改用 {@link H2cClientHttpConnector}，请求作为流复用少量连接，不经过连接池。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:20
+ */
+public class WebClientFactory implements MetricsCollector, DisposableBean {
+
+    /**
+     * 等待中的请求超出上限
+     */
+    public static final StacklessException POOL_EXHAUSTED =
+            new StacklessException(HttpStatus.SERVICE_UNAVAILABLE, "Client connection pool exhausted");
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private static final Set<HttpStatus> RETRYABLE_STATUSES =
+            EnumSet.of(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+    private final WebClientProperties properties;
+
+    private final ConnectionProvider connectionProvider;
+
+    private final ConnectionPoolObserver pool;
+
+    private final ClientHttpConnector connector;
+
+    private final H2cClientHttpConnector h2c;
+
+    private final TracingExchangeFilterFunction tracing;
+
+    private final ConcurrentMap<String, HedgeDelay> hedgeDelays = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder hedges = new LongAdder();
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public WebClientFactory(WebClientProperties properties) {
+
+        this(properties, null);
+    }
+
+    /**
+     * tracer 不为空时每个请求都经过 {@link TracingExchangeFilterFunction}，它在最外层，span 包括重试和对冲的时间
+     */
+    public WebClientFactory(WebClientProperties properties, Tracer tracer) {
+
+        this.properties = properties;
+        this.tracing = tracer == null ? null : new TracingExchangeFilterFunction(tracer);
+        this.connectionProvider = ConnectionProvider.fixed(properties.getPoolName(), properties.getMaxConnections(),
+                properties.getAcquireTimeout().toMillis());
+        this.pool = new ConnectionPoolObserver(properties.getMaxIdleTime().toMillis());
+        HttpClient httpClient = HttpClient.create(this.connectionProvider)
+                .tcpConfiguration(tcp -> tcp
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                        .observe(this.pool));
+        if (properties.getH2c().isEnabled()) {
+            this.h2c = new H2cClientHttpConnector(properties.getH2c(), properties.getConnectTimeout());
+            this.connector = this.h2c;
+        } else {
+            this.h2c = null;
+            this.connector = new ReactorClientHttpConnector(httpClient);
+        }
+    }
+
+    /**
+     * 使用共享连接池、带重试和对冲的 WebClient.Builder，调用方可以继续设置 baseUrl、编解码器等
+     */
+    public WebClient.Builder builder() {
+
+        WebClient.Builder builder = WebClient.builder().clientConnector(this.connector);
+        if (this.tracing != null) {
+            builder.filter(this.tracing);
+        }
+        return builder
+                .filter(this::retry)
+                .filter(this::hedge)
+                .filter(this::limit);
+    }
+
+    public WebClient create(String baseUrl) {
+
+        return builder().baseUrl(baseUrl).build();
+    }
+
+    private Mono<ClientResponse> retry(ClientRequest request, ExchangeFunction next) {
+
+        WebClientProperties.Retry retry = this.properties.getRetry();
+        if (retry.getMaxRetries() <= 0 || !IDEMPOTENT_METHODS.contains(request.method())) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            AtomicInteger attempts = new AtomicInteger();
+            return Mono.defer(() -> next.exchange(request))
+                    .flatMap(response -> {
+                        if (RETRYABLE_STATUSES.contains(response.statusCode()) && attempts.get() < retry.getMaxRetries()) {
+                            return response.bodyToMono(Void.class).then(Mono.<ClientResponse>error(new RetryableStatusException()));
+                        }
+                        return Mono.just(response);
+                    })
+                    .retryWhen(errors -> errors.concatMap(error -> {
+                        int attempt = attempts.incrementAndGet();
+                        if (attempt > retry.getMaxRetries() || !isRetryable(error)) {
+                            return Mono.error(error);
+                        }
+                        this.retries.increment();
+                        return Mono.delay(backoff(retry, attempt));
+                    }));
+        });
+    }
+
+    private Mono<ClientResponse> hedge(ClientRequest request, ExchangeFunction next) {
+
+        if (!this.properties.getHedge().isEnabled() || request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+        HedgeDelay delay = this.hedgeDelays.computeIfAbsent(request.url().getRawAuthority(),
+                authority -> new HedgeDelay(this.properties.getHedge()));
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<ClientResponse> primary = next.exchange(request)
+                    .doOnNext(response -> delay.record(System.nanoTime() - start))
+                    // 被对冲请求取消时只知道耗时的下限，仍然记录，避免分位数只反映较快的请求
+                    .doOnCancel(() -> delay.record(System.nanoTime() - start));
+            long delayNanos = delay.delayNanos();
+            if (delayNanos < 0) {
+                return primary;
+            }
+            Mono<ClientResponse> hedged = Mono.delay(Duration.ofNanos(delayNanos))
+                    .then(Mono.defer(() -> {
+                        this.hedges.increment();
+                        return next.exchange(request);
+                    }))
+                    .doOnNext(response -> this.hedgeWins.increment())
+                    // 对冲请求失败（例如并发上限已满时的 POOL_EXHAUSTED）时继续等待原请求，不能让它取消原请求
+                    .onErrorResume(error -> Mono.never());
+            return Mono.first(primary, hedged);
+        });
+    }
+
+    private Mono<ClientResponse> limit(ClientRequest request, ExchangeFunction next) {
+
+        return Mono.defer(() -> {
+            int limit = this.properties.getMaxConnections() + this.properties.getMaxPendingAcquires();
+            if (this.inFlight.incrementAndGet() > limit) {
+                this.inFlight.decrementAndGet();
+                this.rejected.increment();
+                return Mono.error(POOL_EXHAUSTED);
+            }
+            return next.exchange(request)
+                    .timeout(this.properties.getResponseTimeout())
+                    .doFinally(signal -> this.inFlight.decrementAndGet());
+        });
+    }
+
+    private static boolean isRetryable(Throwable error) {
+
+        return error instanceof RetryableStatusException
+                || error instanceof IOException
+                || error instanceof TimeoutException;
+    }
+
+    /**
+     * 第 n 次重试前等待 firstBackoff * 2^(n-1)，不超过 maxBackoff，再随机缩短最多 jitter 的比例
+     */
+    static Duration backoff(WebClientProperties.Retry retry, int attempt) {
+
+        long first = retry.getFirstBackoff().toMillis();
+        long max = retry.getMaxBackoff().toMillis();
+        long backoff = attempt > 30 ? max : Math.min(max, first << (attempt - 1));
+        long jitter = (long) (backoff * retry.getJitter() * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(backoff - jitter);
+    }
+
+    public int getInFlight() {
+
+        return this.inFlight.get();
+    }
+
+    public long getRetries() {
+
+        return this.retries.sum();
+    }
+
+    public long getHedges() {
+
+        return this.hedges.sum();
+    }
+
+    public long getHedgeWins() {
+
+        return this.hedgeWins.sum();
+    }
+
+    public long getRejected() {
+
+        return this.rejected.sum();
+    }
+
+    public int getActiveConnections() {
+
+        return this.pool.getActive();
+    }
+
+    public int getIdleConnections() {
+
+        return this.pool.getIdle();
+    }
+
+    public long getEvictedConnections() {
+
+        return this.pool.getEvicted();
+    }
+
+    /**
+     * 累计新建的连接数，启用 h2c 时为 h2c 连接
+     */
+    public long getCreatedConnections() {
+
+        return this.h2c != null ? this.h2c.getCreatedConnections() : this.pool.getCreated();
+    }
+
+    /**
+     * 未启用 h2c 时为 null
+     */
+    public H2cClientHttpConnector getH2c() {
+
+        return this.h2c;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        String pool = this.properties.getPoolName();
+        writer.header("http_client_connections", "gauge", "Pooled client connections by state")
+                .sample("http_client_connections", this.pool.getActive(), "pool", pool, "state", "active")
+                .sample("http_client_connections", this.pool.getIdle(), "pool", pool, "state", "idle");
+        writer.header("http_client_connections_max", "gauge", "Maximum connections per remote address")
+                .sample("http_client_connections_max", this.properties.getMaxConnections(), "pool", pool);
+        writer.header("http_client_connections_created_total", "counter", "Client connections opened")
+                .sample("http_client_connections_created_total", this.pool.getCreated(), "pool", pool);
+        writer.header("http_client_connections_closed_total", "counter", "Client connections closed")
+                .sample("http_client_connections_closed_total", this.pool.getClosed(), "pool", pool);
+        writer.header("http_client_connections_evicted_total", "counter", "Client connections closed after idling in the pool")
+                .sample("http_client_connections_evicted_total", this.pool.getEvicted(), "pool", pool);
+        writer.header("http_client_requests_in_flight", "gauge", "Client requests waiting for response headers")
+                .sample("http_client_requests_in_flight", this.inFlight.get(), "pool", pool);
+        writer.header("http_client_requests_rejected_total", "counter", "Client requests rejected because too many were pending")
+                .sample("http_client_requests_rejected_total", this.rejected.sum(), "pool", pool);
+        writer.header("http_client_retries_total", "counter", "Client request retries")
+                .sample("http_client_retries_total", this.retries.sum(), "pool", pool);
+        writer.header("http_client_hedges_total", "counter", "Hedged GET requests sent")
+                .sample("http_client_hedges_total", this.hedges.sum(), "pool", pool);
+        writer.header("http_client_hedge_wins_total", "counter", "Hedged GET requests that answered first")
+                .sample("http_client_hedge_wins_total", this.hedgeWins.sum(), "pool", pool);
+        if (this.h2c != null) {
+            writer.header("http_client_h2c_connections", "gauge", "Open HTTP/2 cleartext client connections")
+                    .sample("http_client_h2c_connections", this.h2c.getConnections(), "pool", pool);
+            writer.header("http_client_h2c_connections_created_total", "counter", "HTTP/2 cleartext client connections opened")
+                    .sample("http_client_h2c_connections_created_total", this.h2c.getCreatedConnections(), "pool", pool);
+            writer.header("http_client_h2c_streams", "gauge", "Open HTTP/2 client streams")
+                    .sample("http_client_h2c_streams", this.h2c.getActiveStreams(), "pool", pool);
+            writer.header("http_client_h2c_streams_total", "counter", "HTTP/2 client streams opened")
+                    .sample("http_client_h2c_streams_total", this.h2c.getStreams(), "pool", pool);
+        }
+    }
+
+    @Override
+    public void destroy() {
+
+        this.connectionProvider.dispose();
+        if (this.h2c != null) {
+            this.h2c.dispose();
+        }
+    }
+
+    /**
+     * 可重试的状态码，最后一次尝试仍失败时把响应原样返回给调用方
+     */
+    private static class RetryableStatusException extends RuntimeException {
+
+        private static final long serialVersionUID = -2230566735151186416L;
+
+        RetryableStatusException() {
+
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ssk.webflux.common.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 共享 WebClient 的连接池、超时、重试和对冲请求配置，前缀 webflux.client
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:10
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.client")
+public class WebClientProperties {
+
+    /**
+     * 连接池名称，同时作为指标的 pool 标签
+     */
+    private String poolName = "webflux-client";
+
+    /**
+     * 每个目标地址的最大连接数
+     */
+    private int maxConnections = 200;
+
+    /**
+     * 连接全部占用时允许排队等待的请求数，超出后立即以 503 失败
+     */
+    private int maxPendingAcquires = 1000;
+
+    /**
+     * 从连接池获取连接的最长等待时间
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * 从发出请求到收到响应头的超时时间，不限制响应体的读取
+     */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 连接在池中空闲超过该时间后关闭
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private final Retry retry = new Retry();
+
+    private final Hedge hedge = new Hedge();
+
+    private final H2c h2c = new H2c();
+
+    /**
+     * 幂等请求在连接错误、超时或 502/503/504 时的重试
+     */
+    @Data
+    public static class Retry {
+
+        /**
+         * 最多重试的次数，0 表示不重试
+         */
+        private int maxRetries = 2;
+
+        private Duration firstBackoff = Duration.ofMillis(100);
+
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        /**
+         * 随机缩短退避时间的比例，0 到 1 之间，避免大量客户端同时重试
+         */
+        private double jitter = 0.5;
+    }
+
+    /**
+     * GET 请求的对冲：等待超过该地址最近响应时间的分位数后，再发出一个相同的请求，取先返回的结果
+     */
+    @Data
+    public static class Hedge {
+
+        private boolean enabled = false;
+
+        private double quantile = 0.95;
+
+        /**
+         * 对冲延迟的下限，避免响应很快时几乎每个请求都发出两次
+         */
+        private Duration minDelay = Duration.ofMillis(5);
+
+        /**
+         * 该地址的样本数少于该值时不对冲
+         */
+        private int minSamples = 100;
+    }
+
+    /**
+     * 以 HTTP/2 cleartext（prior-knowledge）访问目标地址，多个请求作为流复用少量连接，不经过上面的连接池
+     */
+    @Data
+    public static class H2c {
+
+        private boolean enabled = false;
+
+        /**
+         * 每个目标地址的连接数，请求按轮询分配到各连接
+         */
+        private int connections = 1;
+
+        /**
+         * 每个流的初始接收窗口，连接级窗口取相同的值
+         */
+        private DataSize initialWindowSize = DataSize.ofMegabytes(1);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ssk.webflux.common.codec;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 通过 CodecCustomizer 注册二进制编解码器，Spring Boot 会同时应用到服务端和自动配置的 WebClient.Builder。
+ * 各应用声明自己的 {@link ProtobufSchemaRegistry} bean 来登记需要支持 Protobuf 的领域类。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:50
+ */
+@Configuration
+public class BinaryCodecConfiguration {
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectProvider<ProtobufSchemaRegistry> schemaRegistry) {
+
+        ProtobufSchemaRegistry registry = schemaRegistry.getIfAvailable(ProtobufSchemaRegistry::new);
+        return configurer -> BinaryCodecs.register(configurer, registry);
+    }
+}
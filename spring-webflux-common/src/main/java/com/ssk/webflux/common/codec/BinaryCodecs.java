@@ -0,0 +1,26 @@
+package com.ssk.webflux.common.codec;
+
+import org.springframework.http.codec.CodecConfigurer;
+
+/**
+ * 把 CBOR 和 Protobuf 编解码器注册到 {@link CodecConfigurer}，服务端和 WebClient 共用。
+ * Smile 只要 jackson-dataformat-smile 在 classpath 上，Spring 就会默认注册，这里不再重复添加。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:45
+ */
+public final class BinaryCodecs {
+
+    private BinaryCodecs() {
+
+    }
+
+    public static void register(CodecConfigurer configurer, ProtobufSchemaRegistry schemaRegistry) {
+
+        configurer.customCodecs().encoder(new Jackson2CborEncoder());
+        configurer.customCodecs().decoder(new Jackson2CborDecoder());
+        configurer.customCodecs().encoder(new Jackson2ProtobufEncoder(schemaRegistry));
+        configurer.customCodecs().decoder(new Jackson2ProtobufDecoder(schemaRegistry));
+    }
+}
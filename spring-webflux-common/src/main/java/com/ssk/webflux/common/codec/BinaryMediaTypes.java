@@ -0,0 +1,30 @@
+package com.ssk.webflux.common.codec;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 服务间调用使用的二进制媒体类型。客户端通过 Accept / Content-Type 头在 JSON、CBOR、Smile 和 Protobuf 之间协商，
+ * 未声明时仍然默认返回 JSON。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+public final class BinaryMediaTypes {
+
+    public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf(APPLICATION_CBOR_VALUE);
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.valueOf(APPLICATION_PROTOBUF_VALUE);
+
+    private BinaryMediaTypes() {
+
+    }
+}
@@ -0,0 +1,81 @@
+package com.ssk.webflux.common.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.json.AbstractJackson2Decoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 基于 Jackson CBOR 的解码器。
+ * Jackson 2.9 的 CBORFactory 不支持非阻塞解析，父类基于 Jackson2Tokenizer 的实现无法使用，
+ * 因此这里先把请求体合并成一个 DataBuffer 再整体反序列化。
+ * 解码为 Flux 时，内容可以是一个 CBOR 数组（{@link Jackson2CborEncoder} 编码 Flux 的格式），也可以是首尾相连的多个顶层对象，
+ * 两种情况都逐个元素输出；整个内容仍然需要先全部读入内存。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:15
+ */
+public class Jackson2CborDecoder extends AbstractJackson2Decoder {
+
+    public Jackson2CborDecoder() {
+
+        this(Jackson2ObjectMapperBuilder.cbor().build(), BinaryMediaTypes.APPLICATION_CBOR);
+    }
+
+    public Jackson2CborDecoder(ObjectMapper mapper, MimeType... mimeTypes) {
+
+        super(mapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                               @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        ObjectReader reader = getObjectMapper().readerFor(this.javaType(elementType));
+        return DataBufferUtils.join(input).flatMapIterable(dataBuffer -> {
+            try (MappingIterator<Object> values = reader.readValues(dataBuffer.asInputStream())) {
+                return values.readAll();
+            } catch (IOException | RuntimeException ex) {
+                throw new DecodingException("CBOR 解码失败: " + ex.getMessage(), ex);
+            } finally {
+                DataBufferUtils.release(dataBuffer);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
+                                     @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        ObjectReader reader = getObjectMapper().readerFor(this.javaType(elementType));
+        return DataBufferUtils.join(input).map(dataBuffer -> {
+            try {
+                return reader.readValue(dataBuffer.asInputStream());
+            } catch (IOException ex) {
+                throw new DecodingException("CBOR 解码失败: " + ex.getMessage(), ex);
+            } finally {
+                DataBufferUtils.release(dataBuffer);
+            }
+        });
+    }
+
+    private JavaType javaType(ResolvableType elementType) {
+
+        return getObjectMapper().getTypeFactory().constructType(elementType.getType());
+    }
+}
@@ -0,0 +1,27 @@
+package com.ssk.webflux.common.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+/**
+ * 基于 Jackson CBOR 的编码器。Spring 5.1 只内置了 Smile 的编解码器，CBOR 需要自己注册。
+ * Flux 会被收集成一个 CBOR 数组后整体输出，与 JSON 编码器的非流式行为一致。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:12
+ */
+public class Jackson2CborEncoder extends AbstractJackson2Encoder {
+
+    public Jackson2CborEncoder() {
+
+        this(Jackson2ObjectMapperBuilder.cbor().build(), BinaryMediaTypes.APPLICATION_CBOR);
+    }
+
+    public Jackson2CborEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+
+        super(mapper, mimeTypes);
+    }
+}
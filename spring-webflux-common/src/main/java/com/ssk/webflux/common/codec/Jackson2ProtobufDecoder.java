@@ -0,0 +1,130 @@
+package com.ssk.webflux.common.codec;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.HttpMessageDecoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Jackson2ProtobufEncoder} 对应的解码器。Mono 按单条消息解析，Flux 按 varint 长度前缀逐条解析。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+public class Jackson2ProtobufDecoder implements HttpMessageDecoder<Object> {
+
+    private static final List<MimeType> MIME_TYPES = Collections.singletonList(BinaryMediaTypes.APPLICATION_PROTOBUF);
+
+    private final ProtobufMapper mapper;
+
+    private final ProtobufSchemaRegistry schemaRegistry;
+
+    public Jackson2ProtobufDecoder(ProtobufSchemaRegistry schemaRegistry) {
+
+        this(new ProtobufMapper(), schemaRegistry);
+    }
+
+    public Jackson2ProtobufDecoder(ProtobufMapper mapper, ProtobufSchemaRegistry schemaRegistry) {
+
+        this.mapper = mapper;
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+
+        return (mimeType == null || BinaryMediaTypes.APPLICATION_PROTOBUF.isCompatibleWith(mimeType))
+                && this.schemaRegistry.supports(elementType.resolve());
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                               @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        ObjectReader reader = readerFor(elementType);
+        return DataBufferUtils.join(inputStream).flatMapIterable(dataBuffer -> {
+            try {
+                byte[] bytes = toBytes(dataBuffer);
+                List<Object> values = new ArrayList<>();
+                int position = 0;
+                while (position < bytes.length) {
+                    long header = ProtobufVarint.read(bytes, position);
+                    position = (int) (header >>> 32);
+                    int length = (int) header;
+                    // 长度来自请求体，不可信：负数会让位置回退，超出剩余字节时输入流会静默截断
+                    if (length < 0 || length > bytes.length - position) {
+                        throw new DecodingException("Protobuf 长度前缀 " + length + " 超出剩余的 " + (bytes.length - position) + " 字节");
+                    }
+                    // jackson-dataformat-protobuf 2.9 的 readValue(byte[], offset, len) 把 len 当作结束位置处理，这里改用输入流
+                    values.add(reader.readValue(new ByteArrayInputStream(bytes, position, length)));
+                    position += length;
+                }
+                return values;
+            } catch (IOException | IllegalArgumentException ex) {
+                throw new DecodingException("Protobuf 解码失败: " + ex.getMessage(), ex);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                                     @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        ObjectReader reader = readerFor(elementType);
+        return DataBufferUtils.join(inputStream).map(dataBuffer -> {
+            try {
+                return reader.readValue(toBytes(dataBuffer));
+            } catch (IOException ex) {
+                throw new DecodingException("Protobuf 解码失败: " + ex.getMessage(), ex);
+            }
+        });
+    }
+
+    private ObjectReader readerFor(ResolvableType elementType) {
+
+        Class<?> type = elementType.toClass();
+        return this.mapper.readerFor(type).with(this.schemaRegistry.getSchema(type));
+    }
+
+    private static byte[] toBytes(DataBuffer dataBuffer) {
+
+        try {
+            byte[] bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+
+    @Override
+    public List<MimeType> getDecodableMimeTypes() {
+
+        return MIME_TYPES;
+    }
+
+    @Override
+    public Map<String, Object> getDecodeHints(ResolvableType actualType, ResolvableType elementType,
+                                              ServerHttpRequest request, ServerHttpResponse response) {
+
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ssk.webflux.common.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于 jackson-dataformat-protobuf 的编码器，直接使用 .proto 描述序列化现有的 POJO，不需要 protoc 生成代码。
+ * Mono 编码为单条消息；Flux 的每个元素带 varint 长度前缀（length-delimited）依次写出并逐条 flush，
+ * 与 Spring 自带的 ProtobufEncoder 对 Flux 的处理方式一致。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:30
+ */
+public class Jackson2ProtobufEncoder implements HttpMessageEncoder<Object> {
+
+    private static final List<MimeType> MIME_TYPES = Collections.singletonList(BinaryMediaTypes.APPLICATION_PROTOBUF);
+
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = Collections.singletonList(BinaryMediaTypes.APPLICATION_PROTOBUF);
+
+    private final ProtobufMapper mapper;
+
+    private final ProtobufSchemaRegistry schemaRegistry;
+
+    public Jackson2ProtobufEncoder(ProtobufSchemaRegistry schemaRegistry) {
+
+        this(new ProtobufMapper(), schemaRegistry);
+    }
+
+    public Jackson2ProtobufEncoder(ProtobufMapper mapper, ProtobufSchemaRegistry schemaRegistry) {
+
+        this.mapper = mapper;
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+
+        return (mimeType == null || BinaryMediaTypes.APPLICATION_PROTOBUF.isCompatibleWith(mimeType))
+                && this.schemaRegistry.supports(elementType.resolve());
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType,
+                                   @Nullable Map<String, Object> hints) {
+
+        Class<?> type = elementType.toClass();
+        ObjectWriter writer = this.mapper.writerFor(type).with(this.schemaRegistry.getSchema(type));
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream).map(value -> encodeValue(value, writer, bufferFactory, false)).flux();
+        }
+        return Flux.from(inputStream).map(value -> encodeValue(value, writer, bufferFactory, true));
+    }
+
+    private DataBuffer encodeValue(Object value, ObjectWriter writer, DataBufferFactory bufferFactory, boolean delimited) {
+
+        byte[] bytes;
+        try {
+            bytes = writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new EncodingException("Protobuf 编码失败: " + ex.getOriginalMessage(), ex);
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(bytes.length + (delimited ? ProtobufVarint.MAX_VARINT_SIZE : 0));
+        if (delimited) {
+            ProtobufVarint.write(buffer, bytes.length);
+        }
+        return buffer.write(bytes);
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+
+        return MIME_TYPES;
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+
+        return STREAMING_MEDIA_TYPES;
+    }
+}
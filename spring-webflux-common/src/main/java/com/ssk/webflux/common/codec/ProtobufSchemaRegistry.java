@@ -0,0 +1,55 @@
+package com.ssk.webflux.common.codec;
+
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 领域类与 .proto 描述文件之间的映射。每个应用在自己的 resources/proto 目录下维护 schema，
+ * 启动时通过该注册表登记，Protobuf 编解码器只处理已登记的类型。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+public class ProtobufSchemaRegistry {
+
+    private final Map<Class<?>, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * 从 classpath 加载 .proto 文件，以其中的 rootType 消息作为该类型的 schema
+     */
+    public ProtobufSchemaRegistry register(Class<?> type, String location, String rootType) {
+
+        try (InputStream in = new ClassPathResource(location).getInputStream()) {
+            this.schemas.put(type, ProtobufSchemaLoader.std.load(in, rootType));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("加载 protobuf schema 失败: " + location, ex);
+        }
+        return this;
+    }
+
+    public ProtobufSchemaRegistry register(Class<?> type, ProtobufSchema schema) {
+
+        this.schemas.put(type, schema);
+        return this;
+    }
+
+    @Nullable
+    public ProtobufSchema getSchema(@Nullable Class<?> type) {
+
+        return type == null ? null : this.schemas.get(type);
+    }
+
+    public boolean supports(@Nullable Class<?> type) {
+
+        return getSchema(type) != null;
+    }
+}
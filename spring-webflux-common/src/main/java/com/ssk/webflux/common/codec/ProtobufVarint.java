@@ -0,0 +1,48 @@
+package com.ssk.webflux.common.codec;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+/**
+ * Protobuf 的 varint 长度前缀读写，用于 Flux 的 length-delimited 编码，
+ * 格式与 protobuf-java 的 writeDelimitedTo / parseDelimitedFrom 相同。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:24
+ */
+final class ProtobufVarint {
+
+    static final int MAX_VARINT_SIZE = 5;
+
+    private ProtobufVarint() {
+
+    }
+
+    static void write(DataBuffer buffer, int value) {
+
+        while ((value & ~0x7F) != 0) {
+            buffer.write((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.write((byte) value);
+    }
+
+    /**
+     * @param position 读取的起始位置，返回值的高 32 位为读取后的位置，低 32 位为长度
+     */
+    static long read(byte[] bytes, int position) {
+
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("varint 长度前缀不完整");
+            }
+            byte b = bytes[position++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ((long) position << 32) | (result & 0xFFFFFFFFL);
+            }
+        }
+        throw new IllegalArgumentException("varint 长度前缀过长");
+    }
+}
@@ -0,0 +1,60 @@
+package com.ssk.webflux.common.diagnostics;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 安装 BlockHound，检测 Reactor 调度器和 Netty 事件循环线程上的阻塞调用（Thread.sleep、同步 IO、block() 等）。
+ * <p>
+ * BlockHound 通过字节码增强实现，一个 JVM 里只能安装一次，之后不能卸载也不能更换回调，
+ * 所以测试中的严格模式和运行时的诊断模式只有先安装的那个生效。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:10
+ */
+public final class BlockingCallDetector {
+
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    private BlockingCallDetector() {
+
+    }
+
+    /**
+     * 严格模式：阻塞调用直接抛出 BlockingOperationError，用于测试
+     */
+    public static boolean installStrict() {
+
+        return install(null);
+    }
+
+    /**
+     * 报告模式：阻塞调用照常执行，只通知 reporter
+     */
+    public static boolean installReporting(BlockingCallReporter reporter) {
+
+        return install(method -> reporter.onBlockingCall(method.toString()));
+    }
+
+    private static boolean install(Consumer<BlockingMethod> callback) {
+
+        if (!INSTALLED.compareAndSet(false, true)) {
+            return false;
+        }
+        BlockHound.Builder builder = BlockHound.builder().loadIntegrations();
+        if (callback != null) {
+            builder.blockingMethodCallback(callback);
+        }
+        builder.install();
+        return true;
+    }
+
+    public static boolean isInstalled() {
+
+        return INSTALLED.get();
+    }
+}
@@ -0,0 +1,135 @@
+package com.ssk.webflux.common.diagnostics;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 运行时诊断模式下阻塞调用的采样报告。
+ * <p>
+ * 回调运行在发生阻塞的线程上（往往就是事件循环），所以这里只做计数和按阻塞方法限频的堆栈采集，
+ * 堆栈放入无锁队列，由独立的守护线程定期写日志，避免日志输出本身再次在事件循环上阻塞。
+ * 每个阻塞方法的调用次数通过 /metrics 输出。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:20
+ */
+public class BlockingCallReporter implements MetricsCollector, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(BlockingCallReporter.class);
+
+    private final long sampleIntervalNanos;
+
+    private final int maxPendingReports;
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+
+    private final Queue<BlockingCallException> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final ScheduledExecutorService executor;
+
+    public BlockingCallReporter(BlockingDiagnosticsProperties properties) {
+
+        this.sampleIntervalNanos = properties.getSampleInterval().toNanos();
+        this.maxPendingReports = properties.getMaxPendingReports();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "blocking-call-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = properties.getReportInterval().toMillis();
+        this.executor.scheduleWithFixedDelay(this::report, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * BlockHound 回调，运行在发生阻塞调用的线程上
+     */
+    public void onBlockingCall(String method) {
+
+        Site site = this.sites.computeIfAbsent(method, key -> new Site(this.sampleIntervalNanos));
+        site.count.increment();
+        long now = System.nanoTime();
+        long last = site.lastSampled.get();
+        if (now - last < this.sampleIntervalNanos || !site.lastSampled.compareAndSet(last, now)) {
+            return;
+        }
+        if (this.pendingCount.incrementAndGet() > this.maxPendingReports) {
+            this.pendingCount.decrementAndGet();
+            this.dropped.increment();
+            return;
+        }
+        this.pending.offer(new BlockingCallException(method, Thread.currentThread().getName()));
+    }
+
+    void report() {
+
+        BlockingCallException sample;
+        while ((sample = this.pending.poll()) != null) {
+            this.pendingCount.decrementAndGet();
+            this.logger.warn(sample.getMessage(), sample);
+        }
+    }
+
+    public long getCount(String method) {
+
+        Site site = this.sites.get(method);
+        return site == null ? 0 : site.count.sum();
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("blocking_calls_total", "counter", "Blocking calls detected on non-blocking threads");
+        this.sites.forEach((method, site) -> writer.sample("blocking_calls_total", site.count.sum(), "method", method));
+        writer.header("blocking_call_reports_dropped_total", "counter", "Sampled stack traces dropped because the report queue was full")
+                .sample("blocking_call_reports_dropped_total", this.dropped.sum());
+    }
+
+    @Override
+    public void destroy() {
+
+        this.executor.shutdown();
+        report();
+    }
+
+    private static final class Site {
+
+        private final LongAdder count = new LongAdder();
+
+        private final AtomicLong lastSampled;
+
+        private Site(long sampleIntervalNanos) {
+
+            this.lastSampled = new AtomicLong(System.nanoTime() - sampleIntervalNanos);
+        }
+    }
+
+    /**
+     * 只用来携带阻塞调用处的堆栈
+     */
+    static final class BlockingCallException extends RuntimeException {
+
+        BlockingCallException(String method, String thread) {
+
+            super("Blocking call " + method + " on non-blocking thread " + thread);
+        }
+    }
+}
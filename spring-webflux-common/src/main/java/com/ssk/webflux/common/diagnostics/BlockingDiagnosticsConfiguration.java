@@ -0,0 +1,31 @@
+package com.ssk.webflux.common.diagnostics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * 运行时阻塞调用诊断，通过 --spring.profiles.active=blocking-diagnostics 开启。
+ * 与测试中的严格模式不同，阻塞调用不会让请求失败，只按采样输出堆栈并计数。
+ * 需要 classpath 上有 BlockHound（三个应用都以 runtime 依赖引入）。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:30
+ */
+@Configuration
+@Profile(BlockingDiagnosticsConfiguration.PROFILE)
+@EnableConfigurationProperties(BlockingDiagnosticsProperties.class)
+public class BlockingDiagnosticsConfiguration {
+
+    public static final String PROFILE = "blocking-diagnostics";
+
+    @Bean
+    public BlockingCallReporter blockingCallReporter(BlockingDiagnosticsProperties properties) {
+
+        BlockingCallReporter reporter = new BlockingCallReporter(properties);
+        BlockingCallDetector.installReporting(reporter);
+        return reporter;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ssk.webflux.common.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 阻塞调用诊断配置，前缀 webflux.diagnostics.blocking，只在 blocking-diagnostics profile 下生效
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:15
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.diagnostics.blocking")
+public class BlockingDiagnosticsProperties {
+
+    /**
+     * 同一个阻塞方法两次输出堆栈之间的最小间隔，间隔内的调用只计数
+     */
+    private Duration sampleInterval = Duration.ofSeconds(10);
+
+    /**
+     * 等待输出的堆栈上限，超出的直接丢弃
+     */
+    private int maxPendingReports = 64;
+
+    /**
+     * 输出堆栈的周期
+     */
+    private Duration reportInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,110 @@
+package com.ssk.webflux.common.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一个操作符（以从源头开始的操作符路径区分）发出的信号统计。
+ * selfNanos 是该操作符处理上游信号的时间，不包括它再向下游发出信号之后的时间
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+public class OperatorStats {
+
+    final AtomicLong subscriptions = new AtomicLong();
+
+    final AtomicLong onNext = new AtomicLong();
+
+    final AtomicLong requests = new AtomicLong();
+
+    final AtomicLong unboundedRequests = new AtomicLong();
+
+    final AtomicLong requested = new AtomicLong();
+
+    final AtomicLong gapNanos = new AtomicLong();
+
+    final AtomicLong maxGapNanos = new AtomicLong();
+
+    final AtomicLong selfNanos = new AtomicLong();
+
+    void recordGap(long nanos) {
+
+        this.gapNanos.addAndGet(nanos);
+        this.maxGapNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordRequest(long n) {
+
+        this.requests.incrementAndGet();
+        if (n == Long.MAX_VALUE) {
+            this.unboundedRequests.incrementAndGet();
+        } else {
+            this.requested.addAndGet(n);
+        }
+    }
+
+    void add(OperatorStats other) {
+
+        this.subscriptions.addAndGet(other.subscriptions.get());
+        this.onNext.addAndGet(other.onNext.get());
+        this.requests.addAndGet(other.requests.get());
+        this.unboundedRequests.addAndGet(other.unboundedRequests.get());
+        this.requested.addAndGet(other.requested.get());
+        this.gapNanos.addAndGet(other.gapNanos.get());
+        this.maxGapNanos.accumulateAndGet(other.maxGapNanos.get(), Math::max);
+        this.selfNanos.addAndGet(other.selfNanos.get());
+    }
+
+    public long getSubscriptions() {
+
+        return this.subscriptions.get();
+    }
+
+    public long getOnNext() {
+
+        return this.onNext.get();
+    }
+
+    /**
+     * request(n) 的调用次数
+     */
+    public long getRequests() {
+
+        return this.requests.get();
+    }
+
+    /**
+     * 其中 n 为 Long.MAX_VALUE（不限量）的次数
+     */
+    public long getUnboundedRequests() {
+
+        return this.unboundedRequests.get();
+    }
+
+    /**
+     * 有限的 request(n) 请求的元素总数
+     */
+    public long getRequested() {
+
+        return this.requested.get();
+    }
+
+    /**
+     * 相邻两次 onNext（第一次从订阅开始）之间的总时间
+     */
+    public long getGapNanos() {
+
+        return this.gapNanos.get();
+    }
+
+    public long getMaxGapNanos() {
+
+        return this.maxGapNanos.get();
+    }
+
+    public long getSelfNanos() {
+
+        return this.selfNanos.get();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ssk.webflux.common.diagnostics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 一个被采样请求的剖析数据，放在 Reactor Context 中，key 为 ProfiledRequest.class；请求结束后合并到按路由的汇总中
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+public final class ProfiledRequest {
+
+    private final Map<String, OperatorStats> operators = new ConcurrentHashMap<>();
+
+    private String route;
+
+    OperatorStats operator(String path) {
+
+        return this.operators.computeIfAbsent(path, key -> new OperatorStats());
+    }
+
+    String getRoute() {
+
+        return this.route;
+    }
+
+    void setRoute(String route) {
+
+        this.route = route;
+    }
+
+    Map<String, OperatorStats> getOperators() {
+
+        return this.operators;
+    }
+}
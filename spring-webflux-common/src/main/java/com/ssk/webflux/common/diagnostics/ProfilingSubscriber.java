@@ -0,0 +1,188 @@
+package com.ssk.webflux.common.diagnostics;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.util.context.Context;
+
+import java.util.Arrays;
+
+/**
+ * 包在被剖析的操作符与它的下游之间，记录操作符发出的 onNext、信号间隔和下游的 request(n)。
+ * <p>
+ * 向下游传递信号所花的时间减去其中更下游的被剖析操作符所花的时间，就是下游操作符自身的处理时间，
+ * 记在下游操作符（consumer）的统计上。嵌套关系用线程本地的栈计算，异步边界（publishOn 等）之后的处理发生在其他线程，
+ * 不会算进当前操作符。
+ * <p>
+ * 可融合（Fuseable）的操作符经 lift 之后要求订阅者同时是 QueueSubscription，这里总是拒绝融合，信号逐个经过本类。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+final class ProfilingSubscriber<T> implements CoreSubscriber<T>, Fuseable.QueueSubscription<T>, Scannable {
+
+    private static final ThreadLocal<Nesting> NESTING = ThreadLocal.withInitial(Nesting::new);
+
+    private final CoreSubscriber<? super T> actual;
+
+    private final OperatorStats stats;
+
+    private final OperatorStats consumer;
+
+    private Subscription s;
+
+    private long lastSignal;
+
+    ProfilingSubscriber(CoreSubscriber<? super T> actual, OperatorStats stats, OperatorStats consumer) {
+
+        this.actual = actual;
+        this.stats = stats;
+        this.consumer = consumer;
+    }
+
+    OperatorStats getStats() {
+
+        return this.stats;
+    }
+
+    @Override
+    public Context currentContext() {
+
+        return this.actual.currentContext();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+
+        this.s = s;
+        this.stats.subscriptions.incrementAndGet();
+        this.lastSignal = System.nanoTime();
+        this.actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T t) {
+
+        long start = System.nanoTime();
+        this.stats.onNext.incrementAndGet();
+        this.stats.recordGap(start - this.lastSignal);
+        this.lastSignal = start;
+        Nesting nesting = NESTING.get();
+        nesting.enter();
+        try {
+            this.actual.onNext(t);
+        } finally {
+            this.consumer.selfNanos.addAndGet(nesting.exit(System.nanoTime() - start));
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+
+        long start = System.nanoTime();
+        Nesting nesting = NESTING.get();
+        nesting.enter();
+        try {
+            this.actual.onError(t);
+        } finally {
+            this.consumer.selfNanos.addAndGet(nesting.exit(System.nanoTime() - start));
+        }
+    }
+
+    @Override
+    public void onComplete() {
+
+        long start = System.nanoTime();
+        Nesting nesting = NESTING.get();
+        nesting.enter();
+        try {
+            this.actual.onComplete();
+        } finally {
+            this.consumer.selfNanos.addAndGet(nesting.exit(System.nanoTime() - start));
+        }
+    }
+
+    @Override
+    public void request(long n) {
+
+        this.stats.recordRequest(n);
+        this.s.request(n);
+    }
+
+    @Override
+    public void cancel() {
+
+        this.s.cancel();
+    }
+
+    @Override
+    public int requestFusion(int requestedMode) {
+
+        return Fuseable.NONE;
+    }
+
+    @Override
+    public T poll() {
+
+        return null;
+    }
+
+    @Override
+    public int size() {
+
+        return 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+
+        return true;
+    }
+
+    @Override
+    public void clear() {
+
+    }
+
+    @Override
+    public Object scanUnsafe(Attr key) {
+
+        if (key == Attr.PARENT) {
+            return this.s;
+        }
+        if (key == Attr.ACTUAL) {
+            return this.actual;
+        }
+        return null;
+    }
+
+    /**
+     * 当前线程上正在传递信号的嵌套层次，每层累计更下游各层所花的时间
+     */
+    private static final class Nesting {
+
+        private long[] children = new long[32];
+
+        private int depth;
+
+        void enter() {
+
+            if (++this.depth == this.children.length) {
+                this.children = Arrays.copyOf(this.children, this.depth * 2);
+            }
+            this.children[this.depth] = 0;
+        }
+
+        /**
+         * 返回本层去掉更下游各层之后的时间，并把本层的时间计入上一层
+         */
+        long exit(long elapsed) {
+
+            long self = elapsed - this.children[this.depth--];
+            this.children[this.depth] += elapsed;
+            return self;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ssk.webflux.common.diagnostics;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * BlockHound 自带的 Reactor 集成面向 Reactor 3.3，这里补齐当前版本（Reactor 3.2 / Reactor Netty 0.8）需要的部分：
+ * <ul>
+ * <li>Netty 事件循环线程（reactor-http-*）也是不允许阻塞的线程</li>
+ * <li>Reactor 调度器内部使用 ScheduledThreadPoolExecutor 排队、取任务以及 worker 退出时的等待是正常的</li>
+ * <li>Netty 事件循环关闭时 confirmShutdown 中的 sleep、出现异常后 handleLoopException 中防止空转的 sleep 是正常的</li>
+ * <li>toIterable() / toStream() 的生产者一侧唤醒消费者时会短暂竞争同一把锁，阻塞的是消费者线程，不算生产者阻塞</li>
+ * </ul>
+ * 通过 META-INF/services 注册，测试和运行时诊断模式安装 BlockHound 时都会自动加载。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:00
+ */
+public class ReactorNettyBlockHoundIntegration implements BlockHoundIntegration {
+
+    static final String EVENT_LOOP_THREAD_PREFIX = "reactor-http-";
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+
+        builder.nonBlockingThreadPredicate(current -> current.or(ReactorNettyBlockHoundIntegration::isEventLoopThread));
+        builder.allowBlockingCallsInside(ScheduledThreadPoolExecutor.class.getName(), "scheduleAtFixedRate");
+        builder.allowBlockingCallsInside(ScheduledThreadPoolExecutor.class.getName() + "$DelayedWorkQueue", "take");
+        builder.allowBlockingCallsInside(ScheduledThreadPoolExecutor.class.getName() + "$DelayedWorkQueue", "offer");
+        builder.allowBlockingCallsInside(ThreadPoolExecutor.class.getName(), "processWorkerExit");
+        builder.allowBlockingCallsInside(ThreadPoolExecutor.class.getName(), "tryTerminate");
+        builder.allowBlockingCallsInside("io.netty.util.concurrent.SingleThreadEventExecutor", "confirmShutdown");
+        builder.allowBlockingCallsInside("io.netty.channel.epoll.EpollEventLoop", "handleLoopException");
+        builder.allowBlockingCallsInside("io.netty.channel.nio.NioEventLoop", "handleLoopException");
+        builder.allowBlockingCallsInside("reactor.core.publisher.BlockingIterable$SubscriberIterator", "signalConsumer");
+    }
+
+    static boolean isEventLoopThread(Thread thread) {
+
+        return thread.getName().startsWith(EVENT_LOOP_THREAD_PREFIX);
+    }
+}
@@ -0,0 +1,224 @@
+package com.ssk.webflux.common.diagnostics;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Operators;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 操作符级别的 Reactor 剖析。
+ * <p>
+ * 通过 Hooks.onEachOperator 在每个操作符之后插入一层 lift，订阅时只有 Context 中带有 {@link ProfiledRequest}
+ * （即被采样的请求）才包上 {@link ProfilingSubscriber}，其余订阅原样返回。操作符以从源头开始的操作符名路径区分，
+ * 例如 source(MonoJust);map;switchIfEmpty，按路由汇总后以火焰图的 folded 格式输出。
+ * <p>
+ * 钩子生效期间所有新组装的操作符都会多一层 lift，并且不再进行操作符融合（fusion），因此只用于诊断。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:00
+ */
+public class ReactorProfiler implements MetricsCollector, DisposableBean {
+
+    static final String HOOK_KEY = "reactor-profiler";
+
+    private static final String LIFT = "lift";
+
+    /**
+     * 已结束但还未合并的请求数超过该值时合并较早的一半
+     */
+    private static final int MAX_PENDING = 256;
+
+    private final double sampleRate;
+
+    private final int maxOperatorsPerRoute;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    private final Queue<ProfiledRequest> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final LongAdder droppedOperators = new LongAdder();
+
+    public ReactorProfiler(ReactorProfilerProperties properties) {
+
+        this.sampleRate = properties.getSampleRate();
+        this.maxOperatorsPerRoute = properties.getMaxOperatorsPerRoute();
+        Hooks.onEachOperator(HOOK_KEY, Operators.<Object, Object>lift(this::lift));
+    }
+
+    private CoreSubscriber<? super Object> lift(Scannable operator, CoreSubscriber<? super Object> actual) {
+
+        ProfiledRequest request = actual.currentContext().getOrDefault(ProfiledRequest.class, null);
+        // 有的操作符在组装时会被钩子再 lift 一次，只包装真正的操作符
+        if (request == null || LIFT.equals(operator.name())) {
+            return actual;
+        }
+        String path = path(operator);
+        // 下游操作符的订阅者的下游如果也被剖析，它的统计就是下游操作符的统计，否则下游是最终的订阅者
+        Object downstream = Scannable.from(actual).scan(Scannable.Attr.ACTUAL);
+        OperatorStats consumer = downstream instanceof ProfilingSubscriber
+                ? ((ProfilingSubscriber<?>) downstream).getStats()
+                : request.operator(path + ";" + frame(Scannable.from(actual).name()));
+        return new ProfilingSubscriber<>(actual, request.operator(path), consumer);
+    }
+
+    static String path(Scannable operator) {
+
+        List<String> names = operator.parents()
+                .map(Scannable::name)
+                .filter(name -> !LIFT.equals(name))
+                .map(ReactorProfiler::frame)
+                .collect(Collectors.toList());
+        Collections.reverse(names);
+        names.add(frame(operator.name()));
+        return String.join(";", names);
+    }
+
+    private static String frame(String name) {
+
+        return name.replace(';', ',');
+    }
+
+    public boolean sample() {
+
+        return this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+    }
+
+    /**
+     * 请求结束时调用。此时上游各层的 finally 还没有执行完，所以先放入队列，在输出报告或队列过长时再合并
+     */
+    public void record(String route, ProfiledRequest request) {
+
+        request.setRoute(route);
+        this.pending.offer(request);
+        if (this.pendingCount.incrementAndGet() > MAX_PENDING) {
+            this.drain(MAX_PENDING / 2);
+        }
+    }
+
+    private void drain(int max) {
+
+        ProfiledRequest request;
+        for (int i = 0; i < max && (request = this.pending.poll()) != null; i++) {
+            this.pendingCount.decrementAndGet();
+            Route route = this.routes.computeIfAbsent(request.getRoute(), key -> new Route());
+            route.requests.increment();
+            for (Map.Entry<String, OperatorStats> entry : request.getOperators().entrySet()) {
+                OperatorStats stats = route.operators.get(entry.getKey());
+                if (stats == null) {
+                    if (route.operators.size() >= this.maxOperatorsPerRoute) {
+                        this.droppedOperators.increment();
+                        continue;
+                    }
+                    stats = route.operators.computeIfAbsent(entry.getKey(), key -> new OperatorStats());
+                }
+                stats.add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 按路由汇总的操作符统计，路由和操作符路径按字典序排列
+     */
+    public Map<String, Route> snapshot() {
+
+        this.drain(Integer.MAX_VALUE);
+        return new TreeMap<>(this.routes);
+    }
+
+    /**
+     * 火焰图的 folded 格式，每行为 "路由;操作符路径 数值"，可以直接交给 flamegraph.pl 或 speedscope
+     */
+    public String folded(Metric metric) {
+
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Route> route : this.snapshot().entrySet()) {
+            for (Map.Entry<String, OperatorStats> operator : route.getValue().getOperators().entrySet()) {
+                long value = metric.value.applyAsLong(operator.getValue());
+                if (value > 0) {
+                    builder.append(frame(route.getKey())).append(';').append(operator.getKey())
+                            .append(' ').append(value).append('\n');
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        Map<String, Route> routes = this.snapshot();
+        writer.header("reactor_profiler_requests_total", "counter", "Requests profiled at operator level");
+        routes.forEach((route, stats) -> writer.sample("reactor_profiler_requests_total", stats.getRequests(), "route", route));
+        writer.header("reactor_profiler_dropped_operators_total", "counter", "Operator paths not recorded because a route reached its limit")
+                .sample("reactor_profiler_dropped_operators_total", this.droppedOperators.sum());
+    }
+
+    @Override
+    public void destroy() {
+
+        Hooks.resetOnEachOperator(HOOK_KEY);
+    }
+
+    /**
+     * folded 输出的数值
+     */
+    public enum Metric {
+
+        /**
+         * 操作符自身的处理时间，微秒
+         */
+        SELF(stats -> stats.getSelfNanos() / 1000),
+
+        /**
+         * 操作符发出 onNext 之前等待的时间，微秒；数值大说明瓶颈在它的上游（往往是 I/O 或线程切换）
+         */
+        GAP(stats -> stats.getGapNanos() / 1000),
+
+        ON_NEXT(OperatorStats::getOnNext),
+
+        REQUESTS(OperatorStats::getRequests);
+
+        private final ToLongFunction<OperatorStats> value;
+
+        Metric(ToLongFunction<OperatorStats> value) {
+
+            this.value = value;
+        }
+    }
+
+    public static final class Route {
+
+        private final LongAdder requests = new LongAdder();
+
+        private final Map<String, OperatorStats> operators = new ConcurrentHashMap<>();
+
+        public long getRequests() {
+
+            return this.requests.sum();
+        }
+
+        public Map<String, OperatorStats> getOperators() {
+
+            return new TreeMap<>(this.operators);
+        }
+    }
+}
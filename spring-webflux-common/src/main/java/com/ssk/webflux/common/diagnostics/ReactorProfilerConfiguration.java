@@ -0,0 +1,60 @@
+package com.ssk.webflux.common.diagnostics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.Locale;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 操作符级别的 Reactor 剖析，通过 --spring.profiles.active=reactor-profiler 开启。
+ * webflux.diagnostics.profiler.path（默认 /profiler）以火焰图的 folded 格式输出，metric 参数可选
+ * self（默认，操作符自身处理时间）、gap（等待上游的时间）、on_next、requests；view=operators 时输出每个操作符的全部统计
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:40
+ */
+@Configuration
+@Profile(ReactorProfilerConfiguration.PROFILE)
+@EnableConfigurationProperties(ReactorProfilerProperties.class)
+public class ReactorProfilerConfiguration {
+
+    public static final String PROFILE = "reactor-profiler";
+
+    @Bean
+    public ReactorProfiler reactorProfiler(ReactorProfilerProperties properties) {
+
+        return new ReactorProfiler(properties);
+    }
+
+    @Bean
+    public ReactorProfilerWebFilter reactorProfilerWebFilter(ReactorProfiler profiler) {
+
+        return new ReactorProfilerWebFilter(profiler);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> profilerRouterFunction(ReactorProfilerProperties properties, ReactorProfiler profiler) {
+
+        return route(GET(properties.getPath()), request -> {
+            if ("operators".equals(request.queryParam("view").orElse(null))) {
+                return ServerResponse.ok().syncBody(profiler.snapshot());
+            }
+            ReactorProfiler.Metric metric;
+            try {
+                metric = ReactorProfiler.Metric.valueOf(request.queryParam("metric").orElse("self").toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ServerResponse.badRequest().syncBody("metric must be one of self, gap, on_next, requests");
+            }
+            return ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).syncBody(profiler.folded(metric));
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.ssk.webflux.common.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 操作符级别的 Reactor 剖析配置，前缀 webflux.diagnostics.profiler，只在 reactor-profiler profile 下生效
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:00
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.diagnostics.profiler")
+public class ReactorProfilerProperties {
+
+    /**
+     * 被剖析的请求比例，0 ~ 1
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * 输出报告的地址
+     */
+    private String path = "/profiler";
+
+    /**
+     * 每个路由最多记录的操作符路径数，超出的不再记录
+     */
+    private int maxOperatorsPerRoute = 512;
+}
@@ -0,0 +1,55 @@
+package com.ssk.webflux.common.diagnostics;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * 按采样率选出要剖析的请求，把 {@link ProfiledRequest} 放入后续处理链的 Context，请求结束后按路由汇总
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:30
+ */
+public class ReactorProfilerWebFilter implements WebFilter, Ordered {
+
+    private final ReactorProfiler profiler;
+
+    public ReactorProfilerWebFilter(ReactorProfiler profiler) {
+
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        if (!this.profiler.sample()) {
+            return chain.filter(exchange);
+        }
+        ProfiledRequest request = new ProfiledRequest();
+        // doFinally 在 subscriberContext 的下游，看不到 ProfiledRequest，自身不会被剖析
+        return chain.filter(exchange)
+                .subscriberContext(context -> context.put(ProfiledRequest.class, request))
+                .doFinally(signal -> this.profiler.record(route(exchange), request));
+    }
+
+    private static String route(ServerWebExchange exchange) {
+
+        Object route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            return route.toString();
+        }
+        return exchange.getResponse().getStatusCode() == HttpStatus.NOT_FOUND ? "UNMATCHED" : exchange.getRequest().getPath().value();
+    }
+
+    @Override
+    public int getOrder() {
+
+        // 在追踪之后，被剖析的处理链包括追踪自身的操作符
+        return Ordered.HIGHEST_PRECEDENCE + 4;
+    }
+}
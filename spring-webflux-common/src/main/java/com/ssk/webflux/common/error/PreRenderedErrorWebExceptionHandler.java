@@ -0,0 +1,44 @@
+package com.ssk.webflux.common.error;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+/**
+ * 处理 {@link StacklessException}：直接写出异常中预先编码好的 JSON 响应体。
+ * 顺序排在 Spring Boot 的 DefaultErrorWebExceptionHandler（-1）之前，其它异常仍交给它处理。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:40
+ */
+@Component
+public class PreRenderedErrorWebExceptionHandler implements WebExceptionHandler, Ordered {
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        if (!(ex instanceof StacklessException) || response.isCommitted()) {
+            return Mono.error(ex);
+        }
+        StacklessException error = (StacklessException) ex;
+        byte[] body = error.getBody();
+        response.setStatusCode(error.getStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON_UTF8);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    @Override
+    public int getOrder() {
+
+        return -2;
+    }
+}
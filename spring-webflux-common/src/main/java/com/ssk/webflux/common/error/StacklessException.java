@@ -0,0 +1,54 @@
+package com.ssk.webflux.common.error;
+
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 不记录堆栈的业务异常，可以作为常量在所有请求之间共享。
+ * 构造时就把错误响应体编码成 JSON 字节，{@link PreRenderedErrorWebExceptionHandler} 直接写出，
+ * 失败请求不再需要填充堆栈、收集错误属性和序列化响应体。
+ * <p>
+ * 由于实例是共享的，不要对其调用 addSuppressed 或 initCause。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:30
+ */
+public class StacklessException extends RuntimeException {
+
+    private static final long serialVersionUID = 2937263212861462380L;
+
+    private final HttpStatus status;
+
+    private final transient byte[] body;
+
+    public StacklessException(HttpStatus status, String message) {
+
+        super(message, null, false, false);
+        this.status = status;
+        this.body = render(status, message);
+    }
+
+    public HttpStatus getStatus() {
+
+        return this.status;
+    }
+
+    byte[] getBody() {
+
+        return this.body;
+    }
+
+    private static byte[] render(HttpStatus status, String message) {
+
+        return ("{\"status\":" + status.value()
+                + ",\"error\":\"" + escape(status.getReasonPhrase())
+                + "\",\"message\":\"" + escape(message) + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String value) {
+
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
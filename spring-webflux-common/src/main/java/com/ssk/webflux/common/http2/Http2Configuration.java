@@ -0,0 +1,34 @@
+package com.ssk.webflux.common.http2;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 三个应用共用的 h2c 支持，可以通过 webflux.http2.enabled=false 关闭。
+ * {@link Http2FlushWebFilter} 绕过 Reactor Netty 0.8 在 HTTP/2 流上按组写出的问题，SSE 依赖它才能推送事件
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:40
+ */
+@Configuration
+@EnableConfigurationProperties(Http2Properties.class)
+@ConditionalOnProperty(prefix = "webflux.http2", name = "enabled", matchIfMissing = true)
+public class Http2Configuration {
+
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> http2ServerFactoryCustomizer(Http2Properties properties) {
+
+        return factory -> factory.addServerCustomizers(new Http2ServerCustomizer(properties));
+    }
+
+    @Bean
+    public Http2FlushWebFilter http2FlushWebFilter() {
+
+        return new Http2FlushWebFilter();
+    }
+}
@@ -0,0 +1,61 @@
+package com.ssk.webflux.common.http2;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * HTTP/2 流上的 writeAndFlushWith 把每一组数据合并成一个 DataBuffer 再写出。
+ * <p>
+ * Reactor Netty 0.8 在 HTTP/2 流上按组写出时，一组包含多个 buffer 就不再写出后续数据，
+ * 而 SSE 每个事件正好由多个 buffer 组成，表现为只收到响应头。Netty 的 DataBuffer 合并为 CompositeByteBuf，不复制数据。
+ * HTTP/1.1 请求原样通过。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 7:30
+ */
+public class Http2FlushWebFilter implements WebFilter, Ordered {
+
+    /**
+     * Netty 把 HTTP/2 流转换为 HTTP/1.1 请求时加上的流 ID 请求头
+     */
+    static final String STREAM_ID_HEADER = "x-http2-stream-id";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        if (!exchange.getRequest().getHeaders().containsKey(STREAM_ID_HEADER)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new JoiningResponse(exchange.getResponse())).build());
+    }
+
+    @Override
+    public int getOrder() {
+
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    private static class JoiningResponse extends ServerHttpResponseDecorator {
+
+        JoiningResponse(ServerHttpResponse delegate) {
+
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+
+            return super.writeAndFlushWith(Flux.from(body).map(group -> DataBufferUtils.join(Flux.from(group))));
+        }
+    }
+}
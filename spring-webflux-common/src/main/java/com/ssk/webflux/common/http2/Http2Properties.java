@@ -0,0 +1,42 @@
+package com.ssk.webflux.common.http2;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 服务端 HTTP/2 cleartext（h2c）配置，前缀 webflux.http2
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:00
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.http2")
+public class Http2Properties {
+
+    /**
+     * 是否在 HTTP/1.1 之外接受 h2c，关闭后只服务 HTTP/1.1
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每个连接上同时打开的流的上限，超出的流由客户端排队或被拒绝
+     */
+    private int maxConcurrentStreams = 256;
+
+    /**
+     * 每个流的初始接收窗口，决定客户端在等待 WINDOW_UPDATE 之前能发送多少请求体
+     */
+    private DataSize initialWindowSize = DataSize.ofMegabytes(1);
+
+    /**
+     * 整个连接的接收窗口，所有流共享，不小于 initialWindowSize
+     */
+    private DataSize connectionWindowSize = DataSize.ofMegabytes(4);
+
+    /**
+     * 允许客户端发送的最大帧
+     */
+    private DataSize maxFrameSize = DataSize.ofKilobytes(16);
+}
@@ -0,0 +1,67 @@
+package com.ssk.webflux.common.http2;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Settings;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import reactor.netty.channel.BootstrapHandlers;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 在 HTTP/1.1 之外接受 h2c：既支持 HTTP/1.1 Upgrade，也支持直接以 HTTP/2 连接前言开始的 prior-knowledge 方式。
+ * 同一个连接上的多个请求以流的形式并发处理，流数和接收窗口按 {@link Http2Properties} 设置。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:30
+ */
+public class Http2ServerCustomizer implements NettyServerCustomizer {
+
+    private final Http2Settings settings;
+
+    private final int connectionWindowIncrement;
+
+    public Http2ServerCustomizer(Http2Properties properties) {
+
+        int initialWindowSize = (int) properties.getInitialWindowSize().toBytes();
+        this.settings = new Http2Settings()
+                .maxConcurrentStreams(properties.getMaxConcurrentStreams())
+                .initialWindowSize(initialWindowSize)
+                .maxFrameSize((int) properties.getMaxFrameSize().toBytes());
+        int connectionWindowSize = (int) Math.max(properties.getConnectionWindowSize().toBytes(), initialWindowSize);
+        this.connectionWindowIncrement = connectionWindowSize - Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+    }
+
+    @Override
+    public HttpServer apply(HttpServer server) {
+
+        return server.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .tcpConfiguration(tcp -> tcp.bootstrap(bootstrap ->
+                        BootstrapHandlers.updateConfiguration(bootstrap, Http2SettingsHandler.NAME, (observer, channel) ->
+                                channel.pipeline().addLast(Http2SettingsHandler.NAME, new Installer()))));
+    }
+
+    /**
+     * 这里的配置先于 Reactor Netty 初始化 HTTP 编解码器执行，而升级事件只会传给升级处理器之后的处理器，
+     * 因此等连接激活、pipeline 已经完整时再把 {@link Http2SettingsHandler} 放到 HttpServerUpgradeHandler 之后
+     */
+    private class Installer extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+
+            ChannelPipeline pipeline = ctx.pipeline();
+            pipeline.remove(this);
+            ChannelHandlerContext upgrade = pipeline.context(HttpServerUpgradeHandler.class);
+            if (upgrade != null) {
+                pipeline.addAfter(upgrade.name(), Http2SettingsHandler.NAME,
+                        new Http2SettingsHandler(Http2ServerCustomizer.this.settings, Http2ServerCustomizer.this.connectionWindowIncrement));
+            }
+            ctx.fireChannelActive();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ssk.webflux.common.http2;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.DefaultHttp2SettingsFrame;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2Settings;
+
+/**
+ * 连接切换到 HTTP/2 之后发送配置的 SETTINGS，并扩大连接级的接收窗口，随后把自己从 pipeline 中移除。
+ * <p>
+ * Reactor Netty 0.8 创建 HTTP/2 编解码器时只使用默认设置，没有提供配置入口，因此在升级事件之后补发一次 SETTINGS；
+ * 本地设置在收到客户端的 ACK 后生效。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:20
+ */
+class Http2SettingsHandler extends ChannelInboundHandlerAdapter {
+
+    static final String NAME = "webflux.http2Settings";
+
+    private final Http2Settings settings;
+
+    private final int connectionWindowIncrement;
+
+    Http2SettingsHandler(Http2Settings settings, int connectionWindowIncrement) {
+
+        this.settings = settings;
+        this.connectionWindowIncrement = connectionWindowIncrement;
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+
+        if (evt instanceof CleartextHttp2ServerUpgradeHandler.PriorKnowledgeUpgradeEvent
+                || evt instanceof HttpServerUpgradeHandler.UpgradeEvent) {
+            ctx.write(new DefaultHttp2SettingsFrame(this.settings));
+            if (this.connectionWindowIncrement > 0) {
+                ctx.write(new DefaultHttp2WindowUpdateFrame(this.connectionWindowIncrement));
+            }
+            ctx.flush();
+            ctx.pipeline().remove(this);
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+}
@@ -0,0 +1,162 @@
+package com.ssk.webflux.common.metrics;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Netty 事件循环延迟探测。按固定周期向每个 EventLoop 投递一个空任务，
+ * 任务真正执行的时间与投递时间之差就是该事件循环当前的排队延迟。
+ * 每个事件循环同时只有一个探测任务，上一个任务还没执行时不再投递，此时的延迟按已经等待的时间计算，
+ * 卡住或长时间忙碌的事件循环的延迟会随时间增长，而不是停留在卡住之前的值。
+ * <p>
+ * 只有在 Netty 服务器启动之后才开始探测，使用 mock 环境的测试中延迟始终为 0。
+ * 默认探测 Reactor Netty 全局资源中的服务端事件循环，服务端使用自己的事件循环时由构造参数指定。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:20
+ */
+public class EventLoopLagMonitor implements ApplicationListener<ReactiveWebServerInitializedEvent>, DisposableBean {
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final Duration probeInterval;
+
+    private final Supplier<EventLoopGroup> serverLoops;
+
+    private volatile List<EventExecutor> executors = new ArrayList<>();
+
+    /**
+     * 每个事件循环最近一次探测到的延迟（纳秒）
+     */
+    private volatile AtomicLongArray lags = new AtomicLongArray(0);
+
+    /**
+     * 每个事件循环上尚未执行的探测任务的投递时间，没有时为 {@link #IDLE}
+     */
+    private volatile AtomicLongArray submitted = new AtomicLongArray(0);
+
+    private Scheduler scheduler;
+
+    private Disposable probe;
+
+    public EventLoopLagMonitor(Duration probeInterval) {
+
+        this(probeInterval, () -> HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE));
+    }
+
+    public EventLoopLagMonitor(Duration probeInterval, Supplier<EventLoopGroup> serverLoops) {
+
+        this.probeInterval = probeInterval;
+        this.serverLoops = serverLoops;
+    }
+
+    @Override
+    public synchronized void onApplicationEvent(ReactiveWebServerInitializedEvent event) {
+
+        if (this.probe != null) {
+            return;
+        }
+        start(this.serverLoops.get());
+    }
+
+    synchronized void start(EventLoopGroup group) {
+
+        List<EventExecutor> loops = new ArrayList<>();
+        group.forEach(loops::add);
+        AtomicLongArray pending = new AtomicLongArray(loops.size());
+        for (int i = 0; i < loops.size(); i++) {
+            pending.set(i, IDLE);
+        }
+        this.submitted = pending;
+        this.lags = new AtomicLongArray(loops.size());
+        this.executors = loops;
+        this.scheduler = Schedulers.newSingle("event-loop-lag", true);
+        this.probe = Flux.interval(this.probeInterval, this.scheduler).subscribe(tick -> this.probe());
+    }
+
+    private void probe() {
+
+        List<EventExecutor> loops = this.executors;
+        AtomicLongArray current = this.lags;
+        AtomicLongArray pending = this.submitted;
+        for (int i = 0; i < loops.size(); i++) {
+            final int index = i;
+            final long now = System.nanoTime();
+            EventExecutor loop = loops.get(i);
+            if (loop.isShuttingDown() || !pending.compareAndSet(index, IDLE, now)) {
+                continue;
+            }
+            try {
+                loop.execute(() -> {
+                    current.set(index, System.nanoTime() - now);
+                    pending.set(index, IDLE);
+                });
+            } catch (RejectedExecutionException ex) {
+                pending.set(index, IDLE);
+            }
+        }
+    }
+
+    /**
+     * 所有事件循环中最大的延迟（纳秒）
+     */
+    public long getMaxLagNanos() {
+
+        long max = 0;
+        for (int i = 0; i < this.lags.length(); i++) {
+            max = Math.max(max, this.getLagNanos(i));
+        }
+        return max;
+    }
+
+    /**
+     * 第 index 个事件循环的延迟（纳秒），有尚未执行的探测任务时为该任务已经等待的时间
+     */
+    public long getLagNanos(int index) {
+
+        long submittedAt = this.submitted.get(index);
+        return submittedAt == IDLE ? this.lags.get(index) : System.nanoTime() - submittedAt;
+    }
+
+    public int getEventLoopCount() {
+
+        return this.lags.length();
+    }
+
+    /**
+     * 第 index 个事件循环中尚未执行的任务数
+     */
+    public int getPendingTasks(int index) {
+
+        EventExecutor loop = this.executors.get(index);
+        return loop instanceof SingleThreadEventExecutor ? ((SingleThreadEventExecutor) loop).pendingTasks() : 0;
+    }
+
+    @Override
+    public synchronized void destroy() {
+
+        if (this.probe != null) {
+            this.probe.dispose();
+            this.scheduler.dispose();
+            this.probe = null;
+        }
+    }
+}
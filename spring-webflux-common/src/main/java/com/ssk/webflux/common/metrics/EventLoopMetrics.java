@@ -0,0 +1,32 @@
+package com.ssk.webflux.common.metrics;
+
+/**
+ * Netty 事件循环的延迟和待执行任务数，数据来自 {@link EventLoopLagMonitor}
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:10
+ */
+public class EventLoopMetrics implements MetricsCollector {
+
+    private final EventLoopLagMonitor monitor;
+
+    public EventLoopMetrics(EventLoopLagMonitor monitor) {
+
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        int count = this.monitor.getEventLoopCount();
+        writer.header("netty_event_loop_lag_seconds", "gauge", "Delay between scheduling and running a probe task");
+        for (int i = 0; i < count; i++) {
+            writer.sample("netty_event_loop_lag_seconds", this.monitor.getLagNanos(i) / 1e9, "loop", String.valueOf(i));
+        }
+        writer.header("netty_event_loop_pending_tasks", "gauge", "Tasks waiting in the event loop queue");
+        for (int i = 0; i < count; i++) {
+            writer.sample("netty_event_loop_pending_tasks", this.monitor.getPendingTasks(i), "loop", String.valueOf(i));
+        }
+    }
+}
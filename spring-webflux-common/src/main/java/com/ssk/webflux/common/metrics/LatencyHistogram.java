@@ -0,0 +1,96 @@
+package com.ssk.webflux.common.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于 HdrHistogram 的延迟统计。请求线程通过 {@link Recorder} 无锁、无分配地记录（单位微秒），
+ * 抓取指标时才把区间直方图合并到当前窗口，窗口到期后滚动。分位数取上一个窗口与当前窗口的合并结果，
+ * 因此覆盖最近一到两个窗口内的请求。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+public class LatencyHistogram {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 2);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sumMicros = new LongAdder();
+
+    private final long windowNanos;
+
+    private Histogram interval;
+
+    private Histogram current = new Histogram(HIGHEST_TRACKABLE_MICROS, 2);
+
+    private Histogram previous = new Histogram(HIGHEST_TRACKABLE_MICROS, 2);
+
+    private long windowStart = System.nanoTime();
+
+    public LatencyHistogram(long windowNanos) {
+
+        this.windowNanos = windowNanos;
+    }
+
+    public void recordNanos(long nanos) {
+
+        long micros = Math.min(Math.max(0, nanos / 1000), HIGHEST_TRACKABLE_MICROS);
+        this.recorder.recordValue(micros);
+        this.count.increment();
+        this.sumMicros.add(micros);
+    }
+
+    public long getCount() {
+
+        return this.count.sum();
+    }
+
+    /**
+     * 合并最近的记录并返回当前统计窗口的快照，只在抓取时调用
+     */
+    public synchronized Histogram snapshot() {
+
+        this.interval = this.recorder.getIntervalHistogram(this.interval);
+        long now = System.nanoTime();
+        if (now - this.windowStart > this.windowNanos) {
+            Histogram recycled = this.previous;
+            this.previous = this.current;
+            recycled.reset();
+            this.current = recycled;
+            this.windowStart = now;
+        }
+        this.current.add(this.interval);
+        Histogram snapshot = this.previous.copy();
+        snapshot.add(this.current);
+        return snapshot;
+    }
+
+    void collect(PrometheusWriter writer, String name, String... labels) {
+
+        Histogram snapshot = snapshot();
+        String[] quantileLabels = new String[labels.length + 2];
+        System.arraycopy(labels, 0, quantileLabels, 0, labels.length);
+        quantileLabels[labels.length] = "quantile";
+        for (double quantile : QUANTILES) {
+            quantileLabels[labels.length + 1] = String.valueOf(quantile);
+            writer.sample(name, microsToSeconds(snapshot.getValueAtPercentile(quantile * 100)), quantileLabels);
+        }
+        writer.sample(name + "_count", getCount(), labels);
+        writer.sample(name + "_sum", microsToSeconds(this.sumMicros.sum()), labels);
+    }
+
+    static double microsToSeconds(double micros) {
+
+        return micros / 1_000_000d;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ssk.webflux.common.metrics;
+
+/**
+ * 在抓取指标时把一组指标按 Prometheus 文本格式写入 {@link PrometheusWriter}。
+ * 应用可以声明该类型的 bean 来追加自己的指标。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:12
+ */
+@FunctionalInterface
+public interface MetricsCollector {
+
+    void collect(PrometheusWriter writer);
+}
@@ -0,0 +1,38 @@
+package com.ssk.webflux.common.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 运行时指标配置，前缀 webflux.metrics
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.metrics")
+public class MetricsProperties {
+
+    /**
+     * Prometheus 文本格式的指标地址
+     */
+    private String path = "/metrics";
+
+    /**
+     * 延迟分位数的统计窗口，分位数覆盖最近一到两个窗口内的请求
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * 最多记录的路由数，超出之后的请求记入 route="OTHER"
+     */
+    private int maxRoutes = 256;
+
+    /**
+     * Netty 事件循环延迟的探测周期
+     */
+    private Duration eventLoopProbeInterval = Duration.ofMillis(100);
+}
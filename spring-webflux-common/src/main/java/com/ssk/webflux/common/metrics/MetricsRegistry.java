@@ -0,0 +1,97 @@
+package com.ssk.webflux.common.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpMethod;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 路由指标的注册表，同时负责在抓取时汇总所有 {@link MetricsCollector} 的输出。
+ * <p>
+ * 路由按 HTTP 方法分组，key 直接使用 HandlerMapping 给出的 PathPattern 对象，命中已有路由时不产生任何分配；
+ * 路由数量超过上限之后的请求统一记入 route="OTHER"，防止标签基数失控。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+public class MetricsRegistry implements MetricsCollector {
+
+    static final String OTHER_ROUTE = "OTHER";
+
+    private final Map<HttpMethod, ConcurrentMap<Object, RouteMetrics>> routes = new EnumMap<>(HttpMethod.class);
+
+    private final Map<HttpMethod, RouteMetrics> others = new EnumMap<>(HttpMethod.class);
+
+    private final AtomicInteger routeCount = new AtomicInteger();
+
+    private final int maxRoutes;
+
+    private final long windowNanos;
+
+    private final ObjectProvider<MetricsCollector> collectors;
+
+    public MetricsRegistry(MetricsProperties properties, ObjectProvider<MetricsCollector> collectors) {
+
+        this.maxRoutes = properties.getMaxRoutes();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.collectors = collectors;
+        for (HttpMethod method : HttpMethod.values()) {
+            this.routes.put(method, new ConcurrentHashMap<>());
+            this.others.put(method, new RouteMetrics(method.name(), OTHER_ROUTE, this.windowNanos));
+        }
+    }
+
+    public RouteMetrics route(HttpMethod method, Object route) {
+
+        ConcurrentMap<Object, RouteMetrics> byRoute = this.routes.get(method);
+        RouteMetrics metrics = byRoute.get(route);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (this.routeCount.get() >= this.maxRoutes) {
+            return this.others.get(method);
+        }
+        return byRoute.computeIfAbsent(route, key -> {
+            this.routeCount.incrementAndGet();
+            return new RouteMetrics(method.name(), key.toString(), this.windowNanos);
+        });
+    }
+
+    /**
+     * 按 Prometheus 文本格式输出所有指标
+     */
+    public String scrape() {
+
+        PrometheusWriter writer = new PrometheusWriter();
+        this.collect(writer);
+        this.collectors.orderedStream()
+                .filter(collector -> collector != this)
+                .forEach(collector -> collector.collect(writer));
+        return writer.toString();
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("http_server_requests_seconds", "summary", "HTTP request latency by route");
+        forEachRoute(route -> route.collectLatency(writer, "http_server_requests_seconds"));
+        writer.header("http_server_responses_total", "counter", "HTTP responses by route and status class");
+        forEachRoute(route -> route.collectStatuses(writer, "http_server_responses_total"));
+    }
+
+    private void forEachRoute(java.util.function.Consumer<RouteMetrics> action) {
+
+        for (HttpMethod method : HttpMethod.values()) {
+            this.routes.get(method).values().forEach(action);
+            RouteMetrics other = this.others.get(method);
+            if (other.getLatency().getCount() > 0) {
+                action.accept(other);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ssk.webflux.common.metrics;
+
+/**
+ * Prometheus 文本格式（0.0.4）的简单写入器，只在抓取指标时使用
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:15
+ */
+public class PrometheusWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    public PrometheusWriter header(String name, String type, String help) {
+
+        this.out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        this.out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /**
+     * @param labels 依次为标签名和标签值
+     */
+    public PrometheusWriter sample(String name, double value, String... labels) {
+
+        this.out.append(name);
+        if (labels.length > 0) {
+            this.out.append('{');
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    this.out.append(',');
+                }
+                this.out.append(labels[i]).append("=\"");
+                escape(labels[i + 1]);
+                this.out.append('"');
+            }
+            this.out.append('}');
+        }
+        this.out.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            this.out.append((long) value);
+        } else {
+            this.out.append(value);
+        }
+        this.out.append('\n');
+        return this;
+    }
+
+    private void escape(String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                this.out.append('\\').append(c);
+            } else if (c == '\n') {
+                this.out.append("\\n");
+            } else {
+                this.out.append(c);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return this.out.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.ssk.webflux.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个路由的延迟直方图和按状态码分类（1xx ~ 5xx）的计数器
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:30
+ */
+public class RouteMetrics {
+
+    private static final String[] STATUS_CLASSES = {"unknown", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final String method;
+
+    private final String route;
+
+    private final LatencyHistogram latency;
+
+    private final LongAdder[] statuses = new LongAdder[STATUS_CLASSES.length];
+
+    RouteMetrics(String method, String route, long windowNanos) {
+
+        this.method = method;
+        this.route = route;
+        this.latency = new LatencyHistogram(windowNanos);
+        for (int i = 0; i < this.statuses.length; i++) {
+            this.statuses[i] = new LongAdder();
+        }
+    }
+
+    public void record(int status, long elapsedNanos) {
+
+        this.latency.recordNanos(elapsedNanos);
+        int index = status / 100;
+        this.statuses[index > 0 && index < this.statuses.length ? index : 0].increment();
+    }
+
+    public String getMethod() {
+
+        return this.method;
+    }
+
+    public String getRoute() {
+
+        return this.route;
+    }
+
+    public LatencyHistogram getLatency() {
+
+        return this.latency;
+    }
+
+    public long getCount(int statusClass) {
+
+        return this.statuses[statusClass].sum();
+    }
+
+    void collectLatency(PrometheusWriter writer, String name) {
+
+        this.latency.collect(writer, name, "method", this.method, "route", this.route);
+    }
+
+    void collectStatuses(PrometheusWriter writer, String name) {
+
+        for (int i = 0; i < this.statuses.length; i++) {
+            long count = this.statuses[i].sum();
+            if (count > 0) {
+                writer.sample(name, count, "method", this.method, "route", this.route, "status", STATUS_CLASSES[i]);
+            }
+        }
+    }
+}
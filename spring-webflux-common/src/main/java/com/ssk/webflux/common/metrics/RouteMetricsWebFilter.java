@@ -0,0 +1,64 @@
+package com.ssk.webflux.common.metrics;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * 记录每个路由的处理延迟。路由取 HandlerMapping 匹配到的路径模板（例如 /user/{id}），
+ * 函数式路由取 RouterFunction 路径谓词匹配到的模板（不经过 RouterFunctionMapping 时也有，例如 RouterFunctions.toHttpHandler），
+ * 都没有时才退回到请求路径；没有匹配到处理器的 404 记入 route="UNMATCHED"。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:50
+ */
+public class RouteMetricsWebFilter implements WebFilter, Ordered {
+
+    static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private final MetricsRegistry registry;
+
+    public RouteMetricsWebFilter(MetricsRegistry registry) {
+
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (method == null) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> this.record(exchange, method, start));
+    }
+
+    private void record(ServerWebExchange exchange, HttpMethod method, long start) {
+
+        long elapsed = System.nanoTime() - start;
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        int code = status != null ? status.value() : 200;
+        Object route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route == null) {
+            route = exchange.getAttribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE);
+        }
+        if (route == null) {
+            route = code == HttpStatus.NOT_FOUND.value() ? UNMATCHED_ROUTE : exchange.getRequest().getPath().value();
+        }
+        this.registry.route(method, route).record(code, elapsed);
+    }
+
+    @Override
+    public int getOrder() {
+
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
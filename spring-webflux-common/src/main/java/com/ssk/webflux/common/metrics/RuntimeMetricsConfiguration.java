@@ -0,0 +1,68 @@
+package com.ssk.webflux.common.metrics;
+
+import com.ssk.webflux.common.netty.NettyServerResources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 三个应用共用的运行时指标：路由延迟分位数、Netty 事件循环延迟、Reactor 调度器队列，
+ * 以 Prometheus 文本格式通过 webflux.metrics.path（默认 /metrics）输出。
+ * 其他组件只需要声明 {@link MetricsCollector} 类型的 bean 即可加入输出。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:20
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+public class RuntimeMetricsConfiguration {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType(PrometheusWriter.CONTENT_TYPE);
+
+    @Bean
+    public EventLoopLagMonitor eventLoopLagMonitor(MetricsProperties properties, ObjectProvider<NettyServerResources> serverResources) {
+
+        NettyServerResources resources = serverResources.getIfAvailable();
+        return resources == null ? new EventLoopLagMonitor(properties.getEventLoopProbeInterval())
+                : new EventLoopLagMonitor(properties.getEventLoopProbeInterval(), resources::getServerLoops);
+    }
+
+    @Bean
+    public MetricsRegistry metricsRegistry(MetricsProperties properties, ObjectProvider<MetricsCollector> collectors) {
+
+        return new MetricsRegistry(properties, collectors);
+    }
+
+    @Bean
+    public RouteMetricsWebFilter routeMetricsWebFilter(MetricsRegistry metricsRegistry) {
+
+        return new RouteMetricsWebFilter(metricsRegistry);
+    }
+
+    @Bean
+    public EventLoopMetrics eventLoopMetrics(EventLoopLagMonitor eventLoopLagMonitor) {
+
+        return new EventLoopMetrics(eventLoopLagMonitor);
+    }
+
+    @Bean
+    public SchedulerMetrics schedulerMetrics() {
+
+        return new SchedulerMetrics();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> metricsRouterFunction(MetricsProperties properties, MetricsRegistry metricsRegistry) {
+
+        return route(GET(properties.getPath()),
+                request -> ServerResponse.ok().contentType(PROMETHEUS_TEXT).syncBody(metricsRegistry.scrape()));
+    }
+}
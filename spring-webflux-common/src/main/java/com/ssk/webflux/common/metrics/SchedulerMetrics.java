@@ -0,0 +1,84 @@
+package com.ssk.webflux.common.metrics;
+
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Reactor 调度器的队列指标。通过 {@link Schedulers#setExecutorServiceDecorator} 登记之后创建的每个 worker 线程池，
+ * 抓取时按调度器名称汇总排队任务数、活跃线程数和已完成任务数；已经关闭的线程池（例如被回收的 elastic worker）在抓取时移除。
+ * <p>
+ * 装饰器只对登记之后创建的调度器生效，Schedulers.parallel() 等共享调度器如果在此之前已经创建，需要等它们被重建之后才会出现。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:00
+ */
+public class SchedulerMetrics implements MetricsCollector, DisposableBean {
+
+    static final String DECORATOR_KEY = "webflux.metrics";
+
+    private final Map<ScheduledExecutorService, String> executors = new ConcurrentHashMap<>();
+
+    public SchedulerMetrics() {
+
+        Schedulers.setExecutorServiceDecorator(DECORATOR_KEY, (scheduler, executor) -> {
+            this.executors.put(executor, nameOf(scheduler));
+            return executor;
+        });
+    }
+
+    /**
+     * 调度器的 toString 形如 parallel(4,"parallel")，取引号中的名称
+     */
+    static String nameOf(Scheduler scheduler) {
+
+        String description = scheduler.toString();
+        int start = description.indexOf('"');
+        int end = description.indexOf('"', start + 1);
+        return start >= 0 && end > start ? description.substring(start + 1, end) : description;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        Map<String, long[]> byScheduler = new TreeMap<>();
+        this.executors.forEach((executor, name) -> {
+            if (executor.isShutdown()) {
+                this.executors.remove(executor);
+                return;
+            }
+            long[] values = byScheduler.computeIfAbsent(name, key -> new long[4]);
+            values[0]++;
+            if (executor instanceof ThreadPoolExecutor) {
+                ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+                values[1] += pool.getQueue().size();
+                values[2] += pool.getActiveCount();
+                values[3] += pool.getCompletedTaskCount();
+            }
+        });
+        write(writer, byScheduler, "reactor_scheduler_executors", "gauge", "Live executors per scheduler", 0);
+        write(writer, byScheduler, "reactor_scheduler_queued_tasks", "gauge", "Tasks waiting in scheduler queues", 1);
+        write(writer, byScheduler, "reactor_scheduler_active_threads", "gauge", "Threads currently running tasks", 2);
+        write(writer, byScheduler, "reactor_scheduler_completed_tasks", "gauge", "Tasks completed by live executors", 3);
+    }
+
+    private static void write(PrometheusWriter writer, Map<String, long[]> byScheduler, String name, String type, String help, int index) {
+
+        writer.header(name, type, help);
+        byScheduler.forEach((scheduler, values) -> writer.sample(name, values[index], "scheduler", scheduler));
+    }
+
+    @Override
+    public void destroy() {
+
+        Schedulers.removeExecutorServiceDecorator(DECORATOR_KEY);
+        this.executors.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ssk.webflux.common.metrics;
+
+import com.ssk.webflux.common.reactive.SingleFlight;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link SingleFlight} 的调用次数、合并次数和正在执行的 key 数。
+ * 同一个指标名只能输出一次 HELP/TYPE，所以一个应用中的所有 SingleFlight 应当放在同一个实例里登记。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:15
+ */
+public class SingleFlightMetrics implements MetricsCollector {
+
+    private final List<SingleFlight<?, ?>> flights;
+
+    @SafeVarargs
+    public SingleFlightMetrics(SingleFlight<?, ?>... flights) {
+
+        this.flights = Arrays.asList(flights);
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("single_flight_calls_total", "counter", "Calls to single-flight loaders");
+        this.flights.forEach(flight -> writer.sample("single_flight_calls_total", flight.getCalls(), "name", flight.getName()));
+        writer.header("single_flight_coalesced_total", "counter", "Calls that joined an in-flight load");
+        this.flights.forEach(flight -> writer.sample("single_flight_coalesced_total", flight.getCoalesced(), "name", flight.getName()));
+        writer.header("single_flight_in_flight", "gauge", "Keys currently being loaded");
+        this.flights.forEach(flight -> writer.sample("single_flight_in_flight", flight.getInFlight(), "name", flight.getName()));
+    }
+}
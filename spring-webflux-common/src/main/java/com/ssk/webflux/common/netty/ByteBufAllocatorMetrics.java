@@ -0,0 +1,95 @@
+package com.ssk.webflux.common.netty;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * 服务端 ByteBuf 分配器的内存占用，池化分配器另外按 arena 输出正在使用的分配数和字节数、累计分配与释放次数。
+ * arena 占用的字节数按正在使用的 chunk 整块计算，需要在 arena 的锁内遍历 chunk，只在抓取指标时计算
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:00
+ */
+public class ByteBufAllocatorMetrics implements MetricsCollector {
+
+    private static final String[] SIZE_CLASSES = {"tiny", "small", "normal", "huge"};
+
+    private final NettyServerResources resources;
+
+    public ByteBufAllocatorMetrics(NettyServerResources resources) {
+
+        this.resources = resources;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("netty_server_transport", "gauge", "Transport used by the HTTP server")
+                .sample("netty_server_transport", 1, "transport", this.resources.isPreferNative() ? "epoll" : "nio");
+        ByteBufAllocator allocator = this.resources.getAllocator();
+        if (!(allocator instanceof ByteBufAllocatorMetricProvider)) {
+            return;
+        }
+        ByteBufAllocatorMetric metric = ((ByteBufAllocatorMetricProvider) allocator).metric();
+        writer.header("netty_allocator_used_memory_bytes", "gauge", "Memory reserved by the allocator")
+                .sample("netty_allocator_used_memory_bytes", metric.usedDirectMemory(), "type", "direct")
+                .sample("netty_allocator_used_memory_bytes", metric.usedHeapMemory(), "type", "heap");
+        if (!(allocator instanceof PooledByteBufAllocator)) {
+            return;
+        }
+        PooledByteBufAllocatorMetric pooled = ((PooledByteBufAllocator) allocator).metric();
+        writer.header("netty_allocator_chunk_size_bytes", "gauge", "Size of an arena chunk")
+                .sample("netty_allocator_chunk_size_bytes", pooled.chunkSize());
+        writer.header("netty_allocator_thread_local_caches", "gauge", "Threads holding an allocator cache")
+                .sample("netty_allocator_thread_local_caches", pooled.numThreadLocalCaches());
+
+        List<PoolArenaMetric> direct = pooled.directArenas();
+        List<PoolArenaMetric> heap = pooled.heapArenas();
+        writer.header("netty_allocator_arena_active_allocations", "gauge", "Buffers currently allocated from the arena");
+        this.arenas(writer, direct, heap, "netty_allocator_arena_active_allocations", PoolArenaMetric::numActiveAllocations);
+        writer.header("netty_allocator_arena_active_bytes", "gauge", "Bytes of the chunks and huge buffers the arena holds");
+        this.arenas(writer, direct, heap, "netty_allocator_arena_active_bytes", PoolArenaMetric::numActiveBytes);
+        writer.header("netty_allocator_arena_thread_caches", "gauge", "Thread caches bound to the arena");
+        this.arenas(writer, direct, heap, "netty_allocator_arena_thread_caches", PoolArenaMetric::numThreadCaches);
+        writer.header("netty_allocator_arena_allocations_total", "counter", "Allocations from the arena by size class");
+        this.sizeClasses(writer, direct, "direct", "netty_allocator_arena_allocations_total", true);
+        this.sizeClasses(writer, heap, "heap", "netty_allocator_arena_allocations_total", true);
+        writer.header("netty_allocator_arena_deallocations_total", "counter", "Deallocations from the arena by size class");
+        this.sizeClasses(writer, direct, "direct", "netty_allocator_arena_deallocations_total", false);
+        this.sizeClasses(writer, heap, "heap", "netty_allocator_arena_deallocations_total", false);
+    }
+
+    private void arenas(PrometheusWriter writer, List<PoolArenaMetric> direct, List<PoolArenaMetric> heap, String name,
+                        ToLongFunction<PoolArenaMetric> value) {
+
+        for (int i = 0; i < direct.size(); i++) {
+            writer.sample(name, value.applyAsLong(direct.get(i)), "type", "direct", "arena", String.valueOf(i));
+        }
+        for (int i = 0; i < heap.size(); i++) {
+            writer.sample(name, value.applyAsLong(heap.get(i)), "type", "heap", "arena", String.valueOf(i));
+        }
+    }
+
+    private void sizeClasses(PrometheusWriter writer, List<PoolArenaMetric> arenas, String type, String name, boolean allocations) {
+
+        for (int i = 0; i < arenas.size(); i++) {
+            PoolArenaMetric arena = arenas.get(i);
+            long[] counts = allocations
+                    ? new long[]{arena.numTinyAllocations(), arena.numSmallAllocations(), arena.numNormalAllocations(), arena.numHugeAllocations()}
+                    : new long[]{arena.numTinyDeallocations(), arena.numSmallDeallocations(), arena.numNormalDeallocations(), arena.numHugeDeallocations()};
+            for (int size = 0; size < SIZE_CLASSES.length; size++) {
+                writer.sample(name, counts[size], "type", type, "arena", String.valueOf(i), "size", SIZE_CLASSES[size]);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ssk.webflux.common.netty;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 三个应用共用的 Netty 服务端调优，可以通过 webflux.netty.enabled=false 关闭，关闭后使用 Reactor Netty 的全局资源
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:20
+ */
+@Configuration
+@EnableConfigurationProperties(NettyServerProperties.class)
+@ConditionalOnProperty(prefix = "webflux.netty", name = "enabled", matchIfMissing = true)
+public class NettyServerConfiguration {
+
+    @Bean
+    public NettyServerResources nettyServerResources(NettyServerProperties properties) {
+
+        return new NettyServerResources(properties);
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettyTuningServerFactoryCustomizer(
+            NettyServerResources resources, NettyServerProperties properties) {
+
+        return factory -> {
+            // 工厂默认在 ReactorResourceFactory 的事件循环上启动服务，而 bootstrap 只能设置一次事件循环，这里改由定制器设置
+            factory.setResourceFactory(null);
+            factory.addServerCustomizers(new NettyServerTuningCustomizer(resources, properties));
+        };
+    }
+
+    @Bean
+    public ByteBufAllocatorMetrics byteBufAllocatorMetrics(NettyServerResources resources) {
+
+        return new ByteBufAllocatorMetrics(resources);
+    }
+}
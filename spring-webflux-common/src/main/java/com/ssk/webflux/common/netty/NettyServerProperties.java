@@ -0,0 +1,102 @@
+package com.ssk.webflux.common.netty;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Netty 服务端的传输、事件循环、内存分配和 socket 参数，前缀 webflux.netty。
+ * 默认值与 Reactor Netty / Netty 自身的默认值一致（SO_BACKLOG 除外）
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:00
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.netty")
+public class NettyServerProperties {
+
+    /**
+     * 是否由应用自己创建事件循环和分配器，关闭后使用 Reactor Netty 的全局资源
+     */
+    private boolean enabled = true;
+
+    private Transport transport = Transport.AUTO;
+
+    /**
+     * 处理连接读写的事件循环线程数
+     */
+    private int workerThreads = LoopResources.DEFAULT_IO_WORKER_COUNT;
+
+    /**
+     * 专门接受新连接的线程数，不大于 0 时由 worker 线程兼任
+     */
+    private int selectorThreads = LoopResources.DEFAULT_IO_SELECT_COUNT;
+
+    private boolean tcpNoDelay = true;
+
+    /**
+     * 已完成握手、等待 accept 的连接队列长度，实际值不超过内核的 net.core.somaxconn
+     */
+    private int backlog = 1024;
+
+    /**
+     * Netty 的 ByteBuf 泄漏检测级别，进程内全局生效；不设置时不覆盖 -Dio.netty.leakDetection.level 或 Netty 的默认值
+     */
+    private ResourceLeakDetector.Level leakDetection;
+
+    private final Allocator allocator = new Allocator();
+
+    public enum Transport {
+
+        /**
+         * 有 epoll 本地库时使用 epoll，否则使用 NIO
+         */
+        AUTO,
+
+        /**
+         * 必须使用 epoll，本地库不可用时启动失败
+         */
+        EPOLL,
+
+        NIO
+    }
+
+    /**
+     * 池化分配器参数，对应 PooledByteBufAllocator 的构造参数
+     */
+    @Data
+    public static class Allocator {
+
+        /**
+         * 关闭后使用非池化分配器，每次分配都向 JVM 申请内存
+         */
+        private boolean pooled = true;
+
+        private boolean preferDirect = true;
+
+        private int directArenas = PooledByteBufAllocator.defaultNumDirectArena();
+
+        private int heapArenas = PooledByteBufAllocator.defaultNumHeapArena();
+
+        private int pageSize = PooledByteBufAllocator.defaultPageSize();
+
+        /**
+         * chunk 大小为 pageSize << maxOrder，默认 16MB
+         */
+        private int maxOrder = PooledByteBufAllocator.defaultMaxOrder();
+
+        private int tinyCacheSize = PooledByteBufAllocator.defaultTinyCacheSize();
+
+        private int smallCacheSize = PooledByteBufAllocator.defaultSmallCacheSize();
+
+        private int normalCacheSize = PooledByteBufAllocator.defaultNormalCacheSize();
+
+        /**
+         * 非 FastThreadLocalThread 线程是否也使用线程本地缓存
+         */
+        private boolean useCacheForAllThreads = PooledByteBufAllocator.defaultUseCacheForAllThreads();
+    }
+}
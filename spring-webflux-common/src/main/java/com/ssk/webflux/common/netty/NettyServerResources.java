@@ -0,0 +1,99 @@
+package com.ssk.webflux.common.netty;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.util.ResourceLeakDetector;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * 按 {@link NettyServerProperties} 创建服务端的事件循环和 ByteBuf 分配器，应用关闭时释放事件循环。
+ * <p>
+ * 事件循环线程以 reactor-http-server 开头，与 Reactor Netty 默认的 reactor-http 同属一类，阻塞调用检测照常生效。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+public class NettyServerResources implements DisposableBean {
+
+    static final String THREAD_PREFIX = "reactor-http-server";
+
+    private final LoopResources loops;
+
+    private final boolean preferNative;
+
+    private final ByteBufAllocator allocator;
+
+    public NettyServerResources(NettyServerProperties properties) {
+
+        if (properties.getLeakDetection() != null) {
+            ResourceLeakDetector.setLevel(properties.getLeakDetection());
+        }
+        this.preferNative = preferNative(properties.getTransport());
+        this.loops = properties.getSelectorThreads() > 0
+                ? LoopResources.create(THREAD_PREFIX, properties.getSelectorThreads(), properties.getWorkerThreads(), true)
+                : LoopResources.create(THREAD_PREFIX, properties.getWorkerThreads(), true);
+        this.allocator = allocator(properties.getAllocator());
+    }
+
+    private static boolean preferNative(NettyServerProperties.Transport transport) {
+
+        switch (transport) {
+            case EPOLL:
+                if (!Epoll.isAvailable()) {
+                    throw new IllegalStateException("webflux.netty.transport=epoll but native epoll is unavailable",
+                            Epoll.unavailabilityCause());
+                }
+                return true;
+            case NIO:
+                return false;
+            default:
+                return Epoll.isAvailable();
+        }
+    }
+
+    private static ByteBufAllocator allocator(NettyServerProperties.Allocator properties) {
+
+        if (!properties.isPooled()) {
+            return new UnpooledByteBufAllocator(properties.isPreferDirect());
+        }
+        return new PooledByteBufAllocator(properties.isPreferDirect(), properties.getHeapArenas(), properties.getDirectArenas(),
+                properties.getPageSize(), properties.getMaxOrder(), properties.getTinyCacheSize(),
+                properties.getSmallCacheSize(), properties.getNormalCacheSize(), properties.isUseCacheForAllThreads());
+    }
+
+    public LoopResources getLoops() {
+
+        return this.loops;
+    }
+
+    /**
+     * 服务端处理连接读写的事件循环
+     */
+    public EventLoopGroup getServerLoops() {
+
+        return this.loops.onServer(this.preferNative);
+    }
+
+    public boolean isPreferNative() {
+
+        return this.preferNative;
+    }
+
+    public ByteBufAllocator getAllocator() {
+
+        return this.allocator;
+    }
+
+    @Override
+    public void destroy() {
+
+        this.loops.disposeLater().block(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,36 @@
+package com.ssk.webflux.common.netty;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 让 HTTP 服务运行在 {@link NettyServerResources} 的事件循环上，并设置分配器和 socket 参数。
+ * SO_BACKLOG 作用于监听 socket，TCP_NODELAY 和分配器作用于每个接受的连接
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+public class NettyServerTuningCustomizer implements NettyServerCustomizer {
+
+    private final NettyServerResources resources;
+
+    private final NettyServerProperties properties;
+
+    public NettyServerTuningCustomizer(NettyServerResources resources, NettyServerProperties properties) {
+
+        this.resources = resources;
+        this.properties = properties;
+    }
+
+    @Override
+    public HttpServer apply(HttpServer server) {
+
+        return server.tcpConfiguration(tcp -> tcp
+                .runOn(this.resources.getLoops(), this.resources.isPreferNative())
+                .selectorOption(ChannelOption.SO_BACKLOG, this.properties.getBacklog())
+                .option(ChannelOption.TCP_NODELAY, this.properties.isTcpNoDelay())
+                .option(ChannelOption.ALLOCATOR, this.resources.getAllocator()));
+    }
+}
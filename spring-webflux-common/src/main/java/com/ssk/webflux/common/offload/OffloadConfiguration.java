@@ -0,0 +1,24 @@
+package com.ssk.webflux.common.offload;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 存储调用的执行方式，默认 inline（三个应用的存储都是内存中的 Map），
+ * 换成阻塞的存储实现时通过 webflux.offload.mode 切换为 bounded-elastic 或 virtual-threads
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:20
+ */
+@Configuration
+@EnableConfigurationProperties(OffloadProperties.class)
+public class OffloadConfiguration {
+
+    @Bean
+    public Offloader offloader(OffloadProperties properties) {
+
+        return new Offloader(properties);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ssk.webflux.common.offload;
+
+/**
+ * 存储调用的执行方式
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:00
+ */
+public enum OffloadMode {
+
+    /**
+     * 直接在调用线程（通常是事件循环）上执行，只适用于内存存储这类不阻塞的实现
+     */
+    INLINE,
+
+    /**
+     * 在有上限的线程池上执行，线程数和排队任务数都有上限，超出时任务被拒绝
+     */
+    BOUNDED_ELASTIC,
+
+    /**
+     * 每个任务一个虚拟线程，需要 JDK 21 及以上，低版本 JDK 退回 BOUNDED_ELASTIC
+     */
+    VIRTUAL_THREADS
+}
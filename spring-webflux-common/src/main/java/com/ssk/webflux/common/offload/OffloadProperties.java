@@ -0,0 +1,38 @@
+package com.ssk.webflux.common.offload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 存储调用的执行方式配置，前缀 webflux.offload
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:05
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.offload")
+public class OffloadProperties {
+
+    /**
+     * inline、bounded-elastic 或 virtual-threads
+     */
+    private OffloadMode mode = OffloadMode.INLINE;
+
+    /**
+     * bounded-elastic 模式的线程数上限，默认与 Reactor 3.3 的 boundedElastic 一致，为 CPU 核数的 10 倍
+     */
+    private int threadCap = 10 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * bounded-elastic 模式的排队任务数上限
+     */
+    private int queuedTaskCap = 100000;
+
+    /**
+     * bounded-elastic 模式空闲线程的存活时间
+     */
+    private Duration threadTtl = Duration.ofSeconds(60);
+}
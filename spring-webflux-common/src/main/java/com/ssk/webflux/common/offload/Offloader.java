@@ -0,0 +1,163 @@
+package com.ssk.webflux.common.offload;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 把可能阻塞的存储调用移出事件循环。执行方式由 {@link OffloadMode} 决定：
+ * inline 直接在订阅线程上执行；bounded-elastic 和 virtual-threads 通过 subscribeOn 切换到对应的调度器，
+ * 结果在该线程上发出，后续操作符也在该线程上执行。
+ * <p>
+ * Reactor 3.2 还没有 Schedulers.boundedElastic()，这里用线程数和队列长度都有上限的 ThreadPoolExecutor 实现同样的语义；
+ * 虚拟线程通过反射创建，编译目标仍然是 Java 8。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:10
+ */
+public class Offloader implements MetricsCollector, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(Offloader.class);
+
+    private final OffloadMode mode;
+
+    private final ExecutorService executor;
+
+    private final Scheduler scheduler;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+
+    public Offloader(OffloadProperties properties) {
+
+        OffloadMode mode = properties.getMode();
+        ExecutorService executor = null;
+        if (mode == OffloadMode.VIRTUAL_THREADS) {
+            executor = newVirtualThreadPerTaskExecutor();
+            if (executor == null) {
+                this.logger.warn("Virtual threads require JDK 21+, falling back to {}", OffloadMode.BOUNDED_ELASTIC);
+                mode = OffloadMode.BOUNDED_ELASTIC;
+            }
+        }
+        if (mode == OffloadMode.BOUNDED_ELASTIC) {
+            executor = newBoundedExecutor(properties);
+        }
+        this.mode = mode;
+        this.executor = executor;
+        this.scheduler = executor == null ? Schedulers.immediate() : Schedulers.fromExecutorService(executor);
+    }
+
+    /**
+     * 执行一次存储调用，返回 null 时得到空的 Mono
+     */
+    public <T> Mono<T> mono(Supplier<? extends T> call) {
+
+        Mono<T> mono = Mono.fromSupplier(this.track(call));
+        return this.mode == OffloadMode.INLINE ? mono : mono.subscribeOn(this.scheduler);
+    }
+
+    /**
+     * 执行一次返回多个结果的存储调用。只有 call 本身和第一次读取在卸载线程上，
+     * 之后下游每次 request 时的遍历在发出请求的线程上进行，适用于已经读出的集合
+     */
+    public <T> Flux<T> flux(Supplier<? extends Iterable<? extends T>> call) {
+
+        return this.<Iterable<? extends T>>mono(call).flatMapIterable(iterable -> iterable);
+    }
+
+    /**
+     * 与 {@link #flux} 相同，但下游每次 request 时的遍历也切换到卸载线程上，
+     * 适用于按需读取、每取一个元素都要访问存储的视图。active 和 completed 只统计 call 本身
+     */
+    public <T> Flux<T> iterate(Supplier<? extends Iterable<? extends T>> call) {
+
+        Flux<T> flux = Flux.defer(() -> Flux.fromIterable(this.track(call).get()));
+        return this.mode == OffloadMode.INLINE ? flux : flux.subscribeOn(this.scheduler);
+    }
+
+    private <T> Supplier<T> track(Supplier<? extends T> call) {
+
+        return () -> {
+            this.active.incrementAndGet();
+            try {
+                return call.get();
+            } finally {
+                this.active.decrementAndGet();
+                this.completed.increment();
+            }
+        };
+    }
+
+    public OffloadMode getMode() {
+
+        return this.mode;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        String mode = this.mode.name().toLowerCase();
+        writer.header("offload_active_calls", "gauge", "Store calls currently executing")
+                .sample("offload_active_calls", this.active.get(), "mode", mode);
+        writer.header("offload_completed_calls_total", "counter", "Store calls completed")
+                .sample("offload_completed_calls_total", this.completed.sum(), "mode", mode);
+        if (this.executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) this.executor;
+            writer.header("offload_queued_calls", "gauge", "Store calls waiting for a thread")
+                    .sample("offload_queued_calls", pool.getQueue().size(), "mode", mode);
+            writer.header("offload_threads", "gauge", "Threads in the offload pool")
+                    .sample("offload_threads", pool.getPoolSize(), "mode", mode);
+        }
+    }
+
+    @Override
+    public void destroy() {
+
+        if (this.executor != null) {
+            this.scheduler.dispose();
+            this.executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newBoundedExecutor(OffloadProperties properties) {
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "offload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getThreadCap(), properties.getThreadCap(),
+                properties.getThreadTtl().toMillis(), TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(properties.getQueuedTaskCap()), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ssk.webflux.common.overload;
+
+import com.ssk.webflux.common.metrics.EventLoopLagMonitor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 三个应用共用的过载保护，可以通过 webflux.overload.enabled=false 关闭
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:50
+ */
+@Configuration
+@EnableConfigurationProperties(OverloadProperties.class)
+@ConditionalOnProperty(prefix = "webflux.overload", name = "enabled", matchIfMissing = true)
+public class OverloadConfiguration {
+
+    @Bean
+    public OverloadProtectionFilter overloadProtectionFilter(OverloadProperties properties, EventLoopLagMonitor eventLoopLagMonitor) {
+
+        return new OverloadProtectionFilter(properties, eventLoopLagMonitor);
+    }
+}
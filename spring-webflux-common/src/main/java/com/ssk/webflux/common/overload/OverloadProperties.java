@@ -0,0 +1,85 @@
+package com.ssk.webflux.common.overload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 过载保护配置，前缀 webflux.overload
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:00
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.overload")
+public class OverloadProperties {
+
+    /**
+     * 是否启用过载保护过滤器
+     */
+    private boolean enabled = true;
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final Shedding shedding = new Shedding();
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * 默认关闭：本机压测工具的所有请求来自同一个地址，开启后会被限流
+         */
+        private boolean enabled;
+
+        /**
+         * 每个客户端每秒允许的请求数
+         */
+        private int permitsPerSecond = 1000;
+
+        /**
+         * 允许的突发请求数，即令牌桶容量
+         */
+        private int burst = 2000;
+
+        /**
+         * 令牌桶分段数，向上取整为 2 的幂。客户端按哈希落到分段上，同一分段的客户端共享一个桶
+         */
+        private int stripes = 4096;
+
+        /**
+         * 由代理写入的客户端地址请求头，例如 X-Forwarded-For，默认不使用。
+         * 只有连接的远端地址在 trustedProxies 中时才读取该请求头，否则客户端可以每次换一个值绕过限流
+         */
+        private String clientHeader;
+
+        /**
+         * 可信代理的 IP 地址。请求头中的地址从右向左跳过可信代理，第一个不可信的地址作为客户端
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+    }
+
+    @Data
+    public static class Shedding {
+
+        private boolean enabled = true;
+
+        /**
+         * 正在处理的请求数上限，SSE 和 WebSocket 长连接不计入
+         */
+        private int maxInFlight = 10000;
+
+        /**
+         * Netty 事件循环延迟的上限，探测周期见 webflux.metrics.event-loop-probe-interval
+         */
+        private Duration maxEventLoopLag = Duration.ofMillis(200);
+
+        /**
+         * 拒绝时 Retry-After 响应头的秒数
+         */
+        private int retryAfterSeconds = 1;
+    }
+}
@@ -0,0 +1,169 @@
+package com.ssk.webflux.common.overload;
+
+import com.ssk.webflux.common.metrics.EventLoopLagMonitor;
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 过载保护过滤器，排在所有过滤器之前执行：
+ * <ul>
+ * <li>自适应降级：正在处理的请求数或 Netty 事件循环延迟超过阈值时，直接返回 503 和 Retry-After，
+ * 不再进入后续的过滤器和处理器，保证过载时尾延迟有上界</li>
+ * <li>限流：按客户端做令牌桶限流，超出时返回 429 和 Retry-After。客户端默认按连接的远端地址识别，
+ * 只有来自可信代理的连接才采用代理写入的请求头。无法识别客户端的请求（例如测试中的 mock 请求）不限流</li>
+ * </ul>
+ * SSE 和 WebSocket 长连接只参与限流，不计入正在处理的请求数。拒绝次数和正在处理的请求数通过 /metrics 输出。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:40
+ */
+public class OverloadProtectionFilter implements WebFilter, Ordered, MetricsCollector {
+
+    private final OverloadProperties properties;
+
+    private final StripedTokenBucket tokenBucket;
+
+    private final EventLoopLagMonitor lagMonitor;
+
+    private final long maxLagNanos;
+
+    private final String retryAfter;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rateLimited = new LongAdder();
+
+    private final LongAdder shed = new LongAdder();
+
+    public OverloadProtectionFilter(OverloadProperties properties, EventLoopLagMonitor lagMonitor) {
+
+        OverloadProperties.RateLimit rateLimit = properties.getRateLimit();
+        this.properties = properties;
+        this.tokenBucket = new StripedTokenBucket(rateLimit.getPermitsPerSecond(), rateLimit.getBurst(), rateLimit.getStripes());
+        this.lagMonitor = lagMonitor;
+        this.maxLagNanos = properties.getShedding().getMaxEventLoopLag().toNanos();
+        this.retryAfter = String.valueOf(properties.getShedding().getRetryAfterSeconds());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        ServerHttpRequest request = exchange.getRequest();
+        OverloadProperties.Shedding shedding = this.properties.getShedding();
+        if (shedding.isEnabled() && (this.inFlight.get() >= shedding.getMaxInFlight()
+                || this.lagMonitor.getMaxLagNanos() > this.maxLagNanos)) {
+            this.shed.increment();
+            return reject(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, this.retryAfter);
+        }
+        if (this.properties.getRateLimit().isEnabled()) {
+            String client = clientKey(request);
+            if (client != null) {
+                long waitNanos = this.tokenBucket.tryAcquire(client, System.nanoTime());
+                if (waitNanos > 0) {
+                    this.rateLimited.increment();
+                    long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                    return reject(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS, String.valueOf(seconds));
+                }
+            }
+        }
+        if (isLongLived(request)) {
+            return chain.filter(exchange);
+        }
+        this.inFlight.incrementAndGet();
+        return chain.filter(exchange).doFinally(signal -> this.inFlight.decrementAndGet());
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        String remote = remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+        OverloadProperties.RateLimit rateLimit = this.properties.getRateLimit();
+        String header = rateLimit.getClientHeader();
+        if (!StringUtils.hasLength(header) || !rateLimit.getTrustedProxies().contains(remote)) {
+            return remote;
+        }
+        List<String> forwarded = request.getHeaders().get(header);
+        if (forwarded == null) {
+            return remote;
+        }
+        String[] addresses = StringUtils.commaDelimitedListToStringArray(String.join(",", forwarded));
+        String client = remote;
+        for (int i = addresses.length - 1; i >= 0; i--) {
+            String address = addresses[i].trim();
+            if (address.isEmpty()) {
+                continue;
+            }
+            client = address;
+            if (!rateLimit.getTrustedProxies().contains(address)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private static boolean isLongLived(ServerHttpRequest request) {
+
+        HttpHeaders headers = request.getHeaders();
+        return "websocket".equalsIgnoreCase(headers.getUpgrade())
+                || headers.getAccept().contains(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, HttpStatus status, String retryAfter) {
+
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return response.setComplete();
+    }
+
+    public int getInFlight() {
+
+        return this.inFlight.get();
+    }
+
+    public long getRateLimited() {
+
+        return this.rateLimited.sum();
+    }
+
+    public long getShed() {
+
+        return this.shed.sum();
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("overload_in_flight_requests", "gauge", "Requests currently being processed")
+                .sample("overload_in_flight_requests", getInFlight());
+        writer.header("overload_rejected_requests_total", "counter", "Requests rejected by overload protection")
+                .sample("overload_rejected_requests_total", getRateLimited(), "reason", "rate_limited")
+                .sample("overload_rejected_requests_total", getShed(), "reason", "shed");
+    }
+
+    @Override
+    public int getOrder() {
+
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ssk.webflux.common.overload;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分段的无锁令牌桶，采用 GCRA（generic cell rate algorithm）实现：
+ * 每个桶只保存一个"理论到达时间"（TAT），获取令牌就是对它做一次 CAS，没有锁也不需要后台补充令牌的线程。
+ * <p>
+ * 桶的数量固定，客户端按 key 的哈希落到某个分段，内存占用与客户端数量无关；哈希冲突的客户端共享同一个桶。
+ * 相邻的分段间隔 8 个 long（64 字节），避免不同分段之间的伪共享。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:10
+ */
+public class StripedTokenBucket {
+
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray tats;
+
+    private final int mask;
+
+    /**
+     * 每个令牌对应的时间间隔（纳秒）
+     */
+    private final long emissionInterval;
+
+    /**
+     * 允许 TAT 超前当前时间的最大值，对应桶的容量
+     */
+    private final long tolerance;
+
+    public StripedTokenBucket(int permitsPerSecond, int burst, int stripes) {
+
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond 和 burst 必须大于 0");
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.tats = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+        this.emissionInterval = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.tolerance = this.emissionInterval * burst;
+    }
+
+    /**
+     * 尝试为 key 获取一个令牌
+     *
+     * @return 0 表示获取成功，否则为需要等待的纳秒数
+     */
+    public long tryAcquire(Object key, long nowNanos) {
+
+        int index = spread(key.hashCode()) & this.mask;
+        int slot = index * PADDING;
+        for (;;) {
+            long tat = this.tats.get(slot);
+            long base = tat == 0 || tat - nowNanos < 0 ? nowNanos : tat;
+            long newTat = base + this.emissionInterval;
+            long ahead = newTat - nowNanos;
+            if (ahead > this.tolerance) {
+                return ahead - this.tolerance;
+            }
+            if (this.tats.compareAndSet(slot, tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    public int getStripes() {
+
+        return this.mask + 1;
+    }
+
+    private static int spread(int hash) {
+
+        return hash ^ (hash >>> 16);
+    }
+}
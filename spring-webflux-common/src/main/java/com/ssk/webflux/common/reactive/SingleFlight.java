@@ -0,0 +1,92 @@
+package com.ssk.webflux.common.reactive;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 相同 key 的并发读取合并（single-flight）。同一时刻对同一个 key 的所有订阅者共享同一个正在执行的 Mono，
+ * 后端存储只会被访问一次；执行结束（成功、为空或出错）后立即移除，之后的调用会重新加载，不做结果缓存。
+ * <p>
+ * 查找发生在订阅时而不是组装时，返回的 Mono 可以被多次订阅。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:00
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder executions = new LongAdder();
+
+    public SingleFlight(String name) {
+
+        this.name = name;
+    }
+
+    public Mono<V> execute(K key, Supplier<? extends Mono<V>> loader) {
+
+        return Mono.defer(() -> {
+            this.calls.increment();
+            return this.inFlight.computeIfAbsent(key, k -> {
+                this.executions.increment();
+                // 只移除自己，不误删之后为同一个 key 放入的新请求
+                AtomicReference<Mono<V>> flight = new AtomicReference<>();
+                flight.set(Mono.defer(loader)
+                        .doFinally(signal -> this.inFlight.remove(k, flight.get()))
+                        .cache());
+                return flight.get();
+            });
+        });
+    }
+
+    public String getName() {
+
+        return this.name;
+    }
+
+    /**
+     * 调用总次数
+     */
+    public long getCalls() {
+
+        return this.calls.sum();
+    }
+
+    /**
+     * 实际访问后端存储的次数
+     */
+    public long getExecutions() {
+
+        return this.executions.sum();
+    }
+
+    /**
+     * 被合并到已有请求上的调用次数
+     */
+    public long getCoalesced() {
+
+        return getCalls() - getExecutions();
+    }
+
+    public int getInFlight() {
+
+        return this.inFlight.size();
+    }
+
+    @Override
+    public String toString() {
+
+        return "SingleFlight[" + this.name + "] calls=" + getCalls() + ", coalesced=" + getCoalesced()
+                + ", inFlight=" + getInFlight();
+    }
+}
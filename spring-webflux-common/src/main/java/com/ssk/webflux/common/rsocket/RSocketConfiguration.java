@@ -0,0 +1,30 @@
+package com.ssk.webflux.common.rsocket;
+
+import com.ssk.webflux.common.netty.NettyServerResources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+/**
+ * 收集应用声明的 {@link RSocketRoutes} 并启动 RSocket 服务，可以通过 webflux.rsocket.enabled=false 关闭
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:30
+ */
+@Configuration
+@EnableConfigurationProperties(RSocketProperties.class)
+@ConditionalOnProperty(prefix = "webflux.rsocket", name = "enabled", matchIfMissing = true)
+public class RSocketConfiguration {
+
+    @Bean
+    public RSocketServer rSocketServer(RSocketProperties properties, ObjectProvider<RSocketRoutes> routes,
+                                       ObjectProvider<NettyServerResources> resources) {
+
+        return new RSocketServer(properties, routes.orderedStream().collect(Collectors.toList()), resources.getIfAvailable());
+    }
+}
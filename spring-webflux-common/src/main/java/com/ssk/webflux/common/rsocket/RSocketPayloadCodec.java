@@ -0,0 +1,94 @@
+package com.ssk.webflux.common.rsocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssk.webflux.common.codec.BinaryMediaTypes;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.rsocket.Payload;
+import io.rsocket.util.DefaultPayload;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 按连接的 dataMimeType 用 Jackson 编解码 payload 的 data，支持 JSON、CBOR 和 Smile，与 HTTP 接口的编码一致
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:30
+ */
+public final class RSocketPayloadCodec {
+
+    private static final Map<String, RSocketPayloadCodec> CODECS = new HashMap<>();
+
+    static {
+        CODECS.put(MediaType.APPLICATION_JSON_VALUE, new RSocketPayloadCodec(Jackson2ObjectMapperBuilder.json().build()));
+        CODECS.put(BinaryMediaTypes.APPLICATION_CBOR_VALUE, new RSocketPayloadCodec(Jackson2ObjectMapperBuilder.cbor().build()));
+        CODECS.put(BinaryMediaTypes.APPLICATION_SMILE_VALUE, new RSocketPayloadCodec(Jackson2ObjectMapperBuilder.smile().build()));
+    }
+
+    private final ObjectMapper mapper;
+
+    private RSocketPayloadCodec(ObjectMapper mapper) {
+
+        this.mapper = mapper;
+    }
+
+    /**
+     * 不支持的类型返回 null
+     */
+    public static RSocketPayloadCodec forMimeType(String mimeType) {
+
+        return mimeType == null ? null : CODECS.get(mimeType);
+    }
+
+    /**
+     * data 为空时返回 null
+     */
+    public <T> T decode(ByteBuf data, Class<T> type) {
+
+        if (!data.isReadable() || type == Void.class) {
+            return null;
+        }
+        // ByteBufInputStream 同时实现了 DataInput，声明为 InputStream 以选择流式的重载
+        InputStream in = new ByteBufInputStream(data);
+        try {
+            return this.mapper.readValue(in, type);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Cannot decode " + type.getSimpleName() + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    public Payload encode(Object value) {
+
+        return DefaultPayload.create(this.write(value));
+    }
+
+    /**
+     * 客户端使用：metadata 为路由名，value 为 null 时 data 为空
+     */
+    public Payload encode(String route, Object value) {
+
+        byte[] data = value == null ? new byte[0] : this.write(value);
+        return DefaultPayload.create(data, route.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] write(Object value) {
+
+        try {
+            return this.mapper.writeValueAsBytes(value);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot encode " + value.getClass().getSimpleName(), ex);
+        }
+    }
+
+    public ObjectMapper getMapper() {
+
+        return this.mapper;
+    }
+}
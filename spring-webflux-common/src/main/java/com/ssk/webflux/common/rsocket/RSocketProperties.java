@@ -0,0 +1,28 @@
+package com.ssk.webflux.common.rsocket;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * RSocket 服务的监听地址，前缀 webflux.rsocket。应用中没有 {@link RSocketRoutes} 时不会启动服务
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:00
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.rsocket")
+public class RSocketProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 为空时监听所有网卡
+     */
+    private String host;
+
+    /**
+     * TCP 端口，为 0 时随机分配
+     */
+    private int port = 7000;
+}
@@ -0,0 +1,138 @@
+package com.ssk.webflux.common.rsocket;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * RSocket 的路由表，由各应用声明为 bean。请求的 metadata 是 UTF-8 编码的路由名，data 按连接建立时声明的
+ * dataMimeType 解码为路由的参数类型；没有参数的路由使用 Void.class，收到的参数为 null。
+ * <p>
+ * request-stream 和 request-channel 的处理函数直接返回存储的 Flux，客户端通过 REQUEST_N 下发的额度原样作为
+ * 对 Flux 的 request(n)，存储按额度逐个发出元素；channel 的输入 Flux 也只按处理函数中操作符的预取量向客户端请求数据
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+public class RSocketRoutes {
+
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+
+    public <I> RSocketRoutes requestResponse(String route, Class<I> type, Function<? super I, ? extends Mono<?>> handler) {
+
+        return this.add(new Route(route, Interaction.REQUEST_RESPONSE, type, input -> handler.apply(type.cast(input))));
+    }
+
+    public <I> RSocketRoutes requestStream(String route, Class<I> type, Function<? super I, ? extends Flux<?>> handler) {
+
+        return this.add(new Route(route, Interaction.REQUEST_STREAM, type, input -> handler.apply(type.cast(input))));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <I> RSocketRoutes requestChannel(String route, Class<I> type, Function<Flux<I>, ? extends Publisher<?>> handler) {
+
+        return this.add(new Route(route, Interaction.REQUEST_CHANNEL, type, inputs -> handler.apply((Flux<I>) inputs)));
+    }
+
+    private RSocketRoutes add(Route route) {
+
+        if (this.routes.putIfAbsent(route.getName(), route) != null) {
+            throw new IllegalStateException("Duplicate RSocket route '" + route.getName() + "'");
+        }
+        return this;
+    }
+
+    public Collection<Route> getRoutes() {
+
+        return Collections.unmodifiableCollection(this.routes.values());
+    }
+
+    public enum Interaction {
+
+        REQUEST_RESPONSE("request-response"),
+
+        REQUEST_STREAM("request-stream"),
+
+        REQUEST_CHANNEL("request-channel");
+
+        private final String value;
+
+        Interaction(String value) {
+
+            this.value = value;
+        }
+
+        public String getValue() {
+
+            return this.value;
+        }
+    }
+
+    /**
+     * 单个路由及其请求数、失败数
+     */
+    public static final class Route {
+
+        private final String name;
+
+        private final Interaction interaction;
+
+        private final Class<?> type;
+
+        private final Function<Object, ? extends Publisher<?>> handler;
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        Route(String name, Interaction interaction, Class<?> type, Function<Object, ? extends Publisher<?>> handler) {
+
+            this.name = name;
+            this.interaction = interaction;
+            this.type = type;
+            this.handler = handler;
+        }
+
+        /**
+         * request-channel 的参数是解码后的输入 Flux，其他交互是单个参数
+         */
+        Flux<Object> handle(Object input) {
+
+            this.requests.increment();
+            return Flux.defer(() -> Flux.<Object>from(this.handler.apply(input))).doOnError(ex -> this.errors.increment());
+        }
+
+        public String getName() {
+
+            return this.name;
+        }
+
+        public Interaction getInteraction() {
+
+            return this.interaction;
+        }
+
+        public Class<?> getType() {
+
+            return this.type;
+        }
+
+        public long getRequests() {
+
+            return this.requests.sum();
+        }
+
+        public long getErrors() {
+
+            return this.errors.sum();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ssk.webflux.common.rsocket;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import com.ssk.webflux.common.netty.NettyServerResources;
+import io.netty.channel.ChannelOption;
+import io.rsocket.ConnectionSetupPayload;
+import io.rsocket.RSocket;
+import io.rsocket.RSocketFactory;
+import io.rsocket.exceptions.RejectedSetupException;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.netty.tcp.TcpServer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 与 HTTP 服务并列的 RSocket TCP 服务，在 HTTP 服务启动之后启动，随应用上下文关闭。
+ * 没有真实 HTTP 服务的上下文（例如 MOCK 环境的 {@code @SpringBootTest}）不会监听端口，测试需要时自己用端口 0 创建。
+ * 有 {@link NettyServerResources} 时与 HTTP 服务共用事件循环和 ByteBuf 分配器，否则使用 Reactor Netty 的全局 TCP 资源
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:10
+ */
+public class RSocketServer implements SmartLifecycle, ApplicationListener<ReactiveWebServerInitializedEvent>,
+        MetricsCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(RSocketServer.class);
+
+    private final RSocketProperties properties;
+
+    private final Map<String, RSocketRoutes.Route> routes = new LinkedHashMap<>();
+
+    private final NettyServerResources resources;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private volatile CloseableChannel channel;
+
+    public RSocketServer(RSocketProperties properties, List<RSocketRoutes> routes, NettyServerResources resources) {
+
+        this.properties = properties;
+        this.resources = resources;
+        for (RSocketRoutes each : routes) {
+            for (RSocketRoutes.Route route : each.getRoutes()) {
+                if (this.routes.putIfAbsent(route.getName(), route) != null) {
+                    throw new IllegalStateException("Duplicate RSocket route '" + route.getName() + "'");
+                }
+            }
+        }
+    }
+
+    /**
+     * 不随上下文刷新自动启动，由 {@link #onApplicationEvent} 在 HTTP 服务启动后启动
+     */
+    @Override
+    public boolean isAutoStartup() {
+
+        return false;
+    }
+
+    @Override
+    public void onApplicationEvent(ReactiveWebServerInitializedEvent event) {
+
+        this.start();
+    }
+
+    @Override
+    public synchronized void start() {
+
+        if (this.routes.isEmpty() || this.channel != null) {
+            return;
+        }
+        TcpServer tcp = TcpServer.create().port(this.properties.getPort());
+        if (StringUtils.hasText(this.properties.getHost())) {
+            tcp = tcp.host(this.properties.getHost());
+        }
+        RSocketFactory.ServerRSocketFactory factory = RSocketFactory.receive()
+                .errorConsumer(ex -> logger.debug("RSocket connection error", ex));
+        if (this.resources != null) {
+            tcp = tcp.runOn(this.resources.getLoops(), this.resources.isPreferNative())
+                    .option(ChannelOption.ALLOCATOR, this.resources.getAllocator());
+            factory = factory.byteBufAllocator(this.resources.getAllocator());
+        }
+        this.channel = factory.acceptor(this::accept).transport(TcpServerTransport.create(tcp)).start()
+                .block(Duration.ofSeconds(10));
+        logger.info("RSocket server started on port {} with routes {}", this.getPort(), this.routes.keySet());
+    }
+
+    private Mono<RSocket> accept(ConnectionSetupPayload setup, RSocket sendingSocket) {
+
+        RSocketPayloadCodec codec = RSocketPayloadCodec.forMimeType(setup.dataMimeType());
+        if (codec == null) {
+            return Mono.error(new RejectedSetupException("Unsupported data mime type " + setup.dataMimeType()));
+        }
+        this.connections.incrementAndGet();
+        sendingSocket.onClose().doFinally(signal -> this.connections.decrementAndGet()).subscribe();
+        return Mono.just(new RoutingRSocket(this.routes, codec));
+    }
+
+    @Override
+    public synchronized void stop() {
+
+        CloseableChannel channel = this.channel;
+        if (channel != null) {
+            this.channel = null;
+            channel.dispose();
+            channel.onClose().block(Duration.ofSeconds(10));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+
+        return this.channel != null;
+    }
+
+    /**
+     * 实际监听的端口，未启动时返回 -1
+     */
+    public int getPort() {
+
+        CloseableChannel channel = this.channel;
+        return channel == null ? -1 : channel.address().getPort();
+    }
+
+    public Collection<RSocketRoutes.Route> getRoutes() {
+
+        return Collections.unmodifiableCollection(this.routes.values());
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        if (this.routes.isEmpty()) {
+            return;
+        }
+        writer.header("rsocket_connections", "gauge", "Open RSocket connections")
+                .sample("rsocket_connections", this.connections.get());
+        writer.header("rsocket_requests_total", "counter", "RSocket requests by route");
+        for (RSocketRoutes.Route route : this.routes.values()) {
+            writer.sample("rsocket_requests_total", route.getRequests(),
+                    "route", route.getName(), "interaction", route.getInteraction().getValue());
+        }
+        writer.header("rsocket_request_errors_total", "counter", "RSocket requests completed with an error");
+        for (RSocketRoutes.Route route : this.routes.values()) {
+            writer.sample("rsocket_request_errors_total", route.getErrors(),
+                    "route", route.getName(), "interaction", route.getInteraction().getValue());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ssk.webflux.common.rsocket;
+
+import io.rsocket.AbstractRSocket;
+import io.rsocket.Payload;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 单个连接的请求处理：按 metadata 中的路由名找到 {@link RSocketRoutes.Route}，解码 data 后调用处理函数，再按连接的编码写回结果。
+ * 请求的 payload 在解码后立即释放；找不到路由、交互方式不匹配、解码失败和处理函数的错误都以 ERROR 帧返回给客户端
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:50
+ */
+class RoutingRSocket extends AbstractRSocket {
+
+    private final Map<String, RSocketRoutes.Route> routes;
+
+    private final RSocketPayloadCodec codec;
+
+    RoutingRSocket(Map<String, RSocketRoutes.Route> routes, RSocketPayloadCodec codec) {
+
+        this.routes = routes;
+        this.codec = codec;
+    }
+
+    @Override
+    public Mono<Payload> requestResponse(Payload payload) {
+
+        return this.handle(payload, RSocketRoutes.Interaction.REQUEST_RESPONSE).next();
+    }
+
+    @Override
+    public Flux<Payload> requestStream(Payload payload) {
+
+        return this.handle(payload, RSocketRoutes.Interaction.REQUEST_STREAM);
+    }
+
+    @Override
+    public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
+
+        // 第一个 payload 的 metadata 决定路由，它同时也是输入 Flux 的第一个元素
+        return Flux.from(payloads).switchOnFirst((signal, inbound) -> {
+            if (!signal.hasValue()) {
+                return signal.isOnError() ? Flux.error(signal.getThrowable()) : Flux.empty();
+            }
+            RSocketRoutes.Route route = this.route(signal.get(), RSocketRoutes.Interaction.REQUEST_CHANNEL);
+            Flux<Object> inputs = inbound.map(payload -> this.decode(payload, route));
+            return route.handle(inputs).map(this.codec::encode);
+        });
+    }
+
+    private Flux<Payload> handle(Payload payload, RSocketRoutes.Interaction interaction) {
+
+        RSocketRoutes.Route route;
+        Object input;
+        try {
+            route = this.route(payload, interaction);
+            input = this.decode(payload, route);
+        } catch (RuntimeException ex) {
+            return Flux.error(ex);
+        }
+        return route.handle(input).map(this.codec::encode);
+    }
+
+    private RSocketRoutes.Route route(Payload payload, RSocketRoutes.Interaction interaction) {
+
+        String name = payload.hasMetadata() ? payload.sliceMetadata().toString(StandardCharsets.UTF_8) : "";
+        RSocketRoutes.Route route = this.routes.get(name);
+        if (route == null) {
+            payload.release();
+            throw new ApplicationErrorException("No route '" + name + "'");
+        }
+        if (route.getInteraction() != interaction) {
+            payload.release();
+            throw new ApplicationErrorException("Route '" + name + "' only supports " + route.getInteraction().getValue());
+        }
+        return route;
+    }
+
+    private Object decode(Payload payload, RSocketRoutes.Route route) {
+
+        try {
+            return this.codec.decode(payload.sliceData(), route.getType());
+        } finally {
+            payload.release();
+        }
+    }
+}
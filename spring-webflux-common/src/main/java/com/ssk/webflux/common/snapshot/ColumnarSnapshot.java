@@ -0,0 +1,206 @@
+package com.ssk.webflux.common.snapshot;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 列式二进制快照文件的读写。
+ * <pre>
+ * 文件头    MAGIC
+ * 数据块 *  varint 行数，各列依次编码（见 {@link SnapshotColumn}）
+ * 索引      varint 块数，每块 long 偏移、varint 长度；varint 列数，每列 varint 名字长度、名字、类型
+ * 文件尾    long 索引偏移，long 总行数，MAGIC
+ * </pre>
+ * 写入先写临时文件再改名，导入时不会读到写了一半的快照。读取时每个数据块单独做内存映射，
+ * 在 parallel 调度器上并行解码，解码出的每块记录交给调用方。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:30
+ */
+public final class ColumnarSnapshot {
+
+    private static final byte[] MAGIC = {'W', 'F', 'S', 'N', 'A', 'P', 0, 1};
+
+    private static final int TRAILER_SIZE = 16 + MAGIC.length;
+
+    private ColumnarSnapshot() {
+
+    }
+
+    /**
+     * 在调用线程上同步写入，返回文件字节数。rows 会按 schema 的顺序原地排序。
+     * 先写入同目录下名字唯一的临时文件再原子替换，同一份快照的并发导出互不覆盖，最后完成的一次生效
+     */
+    public static <T> long write(Path file, SnapshotSchema<T> schema, List<T> rows, int blockRows) throws IOException {
+
+        if (schema.getOrder() != null) {
+            rows.sort(schema.getOrder());
+        }
+        List<T> sorted = rows;
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName() + ".", ".tmp");
+        try {
+            long size = writeBlocks(temporary, schema, sorted, blockRows);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static <T> long writeBlocks(Path temporary, SnapshotSchema<T> schema, List<T> sorted, int blockRows) throws IOException {
+
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        List<long[]> blocks = new ArrayList<>();
+        long position;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.writeBytes(MAGIC);
+            buffer.writeTo(channel);
+            position = buffer.size();
+            for (int start = 0; start < sorted.size(); start += blockRows) {
+                List<T> block = sorted.subList(start, Math.min(start + blockRows, sorted.size()));
+                buffer.reset();
+                buffer.writeVarLong(block.size());
+                for (SnapshotColumn<T> column : schema.getColumns()) {
+                    column.encode(block, buffer);
+                }
+                buffer.writeTo(channel);
+                blocks.add(new long[]{position, buffer.size()});
+                position += buffer.size();
+            }
+            buffer.reset();
+            buffer.writeVarLong(blocks.size());
+            for (long[] block : blocks) {
+                buffer.writeLong(block[0]);
+                buffer.writeVarLong(block[1]);
+            }
+            buffer.writeVarLong(schema.getColumns().size());
+            for (SnapshotColumn<T> column : schema.getColumns()) {
+                byte[] name = column.getName().getBytes(StandardCharsets.UTF_8);
+                buffer.writeVarLong(name.length);
+                buffer.writeBytes(name);
+                buffer.writeByte(column.getType());
+            }
+            buffer.writeLong(position);
+            buffer.writeLong(sorted.size());
+            buffer.writeBytes(MAGIC);
+            buffer.writeTo(channel);
+            position += buffer.size();
+        }
+        return position;
+    }
+
+    /**
+     * 读取快照，每解码出一块记录就交给 sink；sink 会在多个线程上并发调用。返回读取的总行数
+     */
+    public static <T> Mono<Long> read(Path file, SnapshotSchema<T> schema, Consumer<List<T>> sink) {
+
+        return Mono.fromCallable(() -> map(file, schema))
+                .subscribeOn(Schedulers.elastic())
+                .flatMapMany(blocks -> Flux.fromIterable(blocks)
+                        .parallel()
+                        .runOn(Schedulers.parallel())
+                        .map(block -> decode(block, schema))
+                        .doOnNext(sink)
+                        .sequential())
+                .reduce(0L, (count, rows) -> count + rows.size());
+    }
+
+    private static <T> List<T> decode(ByteBuffer block, SnapshotSchema<T> schema) {
+
+        int size = SnapshotBuffer.readVarInt(block);
+        List<T> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(schema.newRow());
+        }
+        for (SnapshotColumn<T> column : schema.getColumns()) {
+            column.decode(block, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * 校验文件头尾和列定义，返回每个数据块的映射。映射在通道关闭后仍然有效，随 ByteBuffer 被回收时释放
+     */
+    private static List<ByteBuffer> map(Path file, SnapshotSchema<?> schema) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAGIC.length + TRAILER_SIZE) {
+                throw new IOException(file + " is not a snapshot");
+            }
+            ByteBuffer head = read(channel, 0, MAGIC.length);
+            ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            long indexOffset = trailer.getLong();
+            trailer.getLong();
+            if (!Arrays.equals(bytes(head, MAGIC.length), MAGIC) || !Arrays.equals(bytes(trailer, MAGIC.length), MAGIC)
+                    || indexOffset < MAGIC.length || indexOffset > size - TRAILER_SIZE) {
+                throw new IOException(file + " is not a snapshot or is truncated");
+            }
+            ByteBuffer index = read(channel, indexOffset, (int) (size - TRAILER_SIZE - indexOffset));
+            int count = SnapshotBuffer.readVarInt(index);
+            long[] offsets = new long[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = index.getLong();
+                lengths[i] = SnapshotBuffer.readVarInt(index);
+            }
+            verifyColumns(file, index, schema);
+            List<ByteBuffer> blocks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                blocks.add(channel.map(FileChannel.MapMode.READ_ONLY, offsets[i], lengths[i]));
+            }
+            return blocks;
+        }
+    }
+
+    private static void verifyColumns(Path file, ByteBuffer index, SnapshotSchema<?> schema) {
+
+        List<String> actual = new ArrayList<>();
+        int count = SnapshotBuffer.readVarInt(index);
+        for (int i = 0; i < count; i++) {
+            String name = new String(bytes(index, SnapshotBuffer.readVarInt(index)), StandardCharsets.UTF_8);
+            actual.add(name + ":" + index.get());
+        }
+        List<String> expected = new ArrayList<>();
+        for (SnapshotColumn<?> column : schema.getColumns()) {
+            expected.add(column.getName() + ":" + column.getType());
+        }
+        if (!actual.equals(expected)) {
+            throw new IllegalStateException(file + " has columns " + actual + ", expected " + expected);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of snapshot");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int length) {
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ssk.webflux.common.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * 快照编码用的可增长字节数组，整数按 varint 写入，有符号数先做 zigzag 变换
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:00
+ */
+final class SnapshotBuffer {
+
+    private byte[] bytes = new byte[8192];
+
+    private int size;
+
+    int size() {
+
+        return this.size;
+    }
+
+    void reset() {
+
+        this.size = 0;
+    }
+
+    private void ensure(int extra) {
+
+        if (this.size + extra > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + extra));
+        }
+    }
+
+    void writeByte(int value) {
+
+        this.ensure(1);
+        this.bytes[this.size++] = (byte) value;
+    }
+
+    void writeBytes(byte[] value) {
+
+        this.ensure(value.length);
+        System.arraycopy(value, 0, this.bytes, this.size, value.length);
+        this.size += value.length;
+    }
+
+    void append(SnapshotBuffer other) {
+
+        this.ensure(other.size);
+        System.arraycopy(other.bytes, 0, this.bytes, this.size, other.size);
+        this.size += other.size;
+    }
+
+    void writeVarLong(long value) {
+
+        this.ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            this.bytes[this.size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.bytes[this.size++] = (byte) value;
+    }
+
+    void writeZigZag(long value) {
+
+        this.writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeLong(long value) {
+
+        this.ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.bytes[this.size++] = (byte) (value >>> shift);
+        }
+    }
+
+    void writeTo(FileChannel channel) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.wrap(this.bytes, 0, this.size);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("malformed varint in snapshot");
+    }
+
+    static long readZigZag(ByteBuffer buffer) {
+
+        long value = readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+
+        long value = readVarLong(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalStateException("snapshot length out of range: " + value);
+        }
+        return (int) value;
+    }
+}
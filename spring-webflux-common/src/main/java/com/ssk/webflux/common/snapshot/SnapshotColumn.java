@@ -0,0 +1,246 @@
+package com.ssk.webflux.common.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 快照中的一列。每个数据块内各列依次存放，列的编码只依赖本块的数据，数据块之间可以并行解码。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:10
+ */
+abstract class SnapshotColumn<T> {
+
+    static final byte LONG = 1;
+
+    static final byte STRING = 2;
+
+    private final String name;
+
+    SnapshotColumn(String name) {
+
+        this.name = name;
+    }
+
+    String getName() {
+
+        return this.name;
+    }
+
+    abstract byte getType();
+
+    abstract void encode(List<T> rows, SnapshotBuffer buffer);
+
+    abstract void decode(ByteBuffer buffer, List<T> rows);
+
+    /**
+     * 可为 null 的 long 列：有 null 时先写一个位图，非 null 的值按与前一个值的差做 zigzag varint。
+     * 按 id 排序后的 id 列每行通常只占 1 个字节
+     */
+    static final class LongColumn<T> extends SnapshotColumn<T> {
+
+        private final Function<T, Long> getter;
+
+        private final BiConsumer<T, Long> setter;
+
+        LongColumn(String name, Function<T, Long> getter, BiConsumer<T, Long> setter) {
+
+            super(name);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        byte getType() {
+
+            return LONG;
+        }
+
+        @Override
+        void encode(List<T> rows, SnapshotBuffer buffer) {
+
+            int size = rows.size();
+            byte[] nulls = null;
+            for (int i = 0; i < size; i++) {
+                if (this.getter.apply(rows.get(i)) == null) {
+                    if (nulls == null) {
+                        nulls = new byte[(size + 7) >>> 3];
+                    }
+                    nulls[i >>> 3] |= 1 << (i & 7);
+                }
+            }
+            buffer.writeByte(nulls == null ? 0 : 1);
+            if (nulls != null) {
+                buffer.writeBytes(nulls);
+            }
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                Long value = this.getter.apply(rows.get(i));
+                if (value != null) {
+                    buffer.writeZigZag(value - previous);
+                    previous = value;
+                }
+            }
+        }
+
+        @Override
+        void decode(ByteBuffer buffer, List<T> rows) {
+
+            int size = rows.size();
+            byte[] nulls = null;
+            if (buffer.get() != 0) {
+                nulls = new byte[(size + 7) >>> 3];
+                buffer.get(nulls);
+            }
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                if (nulls == null || (nulls[i >>> 3] & (1 << (i & 7))) == 0) {
+                    previous += SnapshotBuffer.readZigZag(buffer);
+                    this.setter.accept(rows.get(i), previous);
+                }
+            }
+        }
+    }
+
+    /**
+     * 字符串列，每块选择一种编码：
+     * 字典编码，块内不同的值各存一次 UTF-8，每行存 varint 编号（0 表示 null），解码出的相同值共用一个 String；
+     * 或者块内全部是规范的十进制整数且大多互不相同（数字形式的 id）时，按 long 做差值编码
+     */
+    static final class StringColumn<T> extends SnapshotColumn<T> {
+
+        private static final byte DICTIONARY = 0;
+
+        private static final byte NUMERIC = 1;
+
+        private final Function<T, String> getter;
+
+        private final BiConsumer<T, String> setter;
+
+        StringColumn(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+
+            super(name);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        byte getType() {
+
+            return STRING;
+        }
+
+        @Override
+        void encode(List<T> rows, SnapshotBuffer buffer) {
+
+            int size = rows.size();
+            if (this.isNumeric(rows)) {
+                buffer.writeByte(NUMERIC);
+                long previous = 0;
+                for (int i = 0; i < size; i++) {
+                    long value = Long.parseLong(this.getter.apply(rows.get(i)));
+                    buffer.writeZigZag(value - previous);
+                    previous = value;
+                }
+                return;
+            }
+            buffer.writeByte(DICTIONARY);
+            Map<String, Integer> codes = new HashMap<>();
+            int[] rowCodes = new int[size];
+            SnapshotBuffer dictionary = new SnapshotBuffer();
+            for (int i = 0; i < size; i++) {
+                String value = this.getter.apply(rows.get(i));
+                if (value == null) {
+                    continue;
+                }
+                Integer code = codes.get(value);
+                if (code == null) {
+                    code = codes.size() + 1;
+                    codes.put(value, code);
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    dictionary.writeVarLong(bytes.length);
+                    dictionary.writeBytes(bytes);
+                }
+                rowCodes[i] = code;
+            }
+            buffer.writeVarLong(codes.size());
+            buffer.writeVarLong(dictionary.size());
+            buffer.append(dictionary);
+            for (int code : rowCodes) {
+                buffer.writeVarLong(code);
+            }
+        }
+
+        private boolean isNumeric(List<T> rows) {
+
+            Set<String> distinct = new HashSet<>();
+            for (T row : rows) {
+                String value = this.getter.apply(row);
+                if (!isCanonicalLong(value)) {
+                    return false;
+                }
+                distinct.add(value);
+            }
+            return distinct.size() * 2 > rows.size();
+        }
+
+        /**
+         * 能原样还原的十进制整数：不超过 18 位数字，没有多余的前导 0 和正号，不是 -0
+         */
+        private static boolean isCanonicalLong(String value) {
+
+            if (value == null) {
+                return false;
+            }
+            int start = value.startsWith("-") ? 1 : 0;
+            int digits = value.length() - start;
+            if (digits < 1 || digits > 18 || (value.charAt(start) == '0' && (digits > 1 || start == 1))) {
+                return false;
+            }
+            for (int i = start; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void decode(ByteBuffer buffer, List<T> rows) {
+
+            int size = rows.size();
+            if (buffer.get() == NUMERIC) {
+                long previous = 0;
+                for (int i = 0; i < size; i++) {
+                    previous += SnapshotBuffer.readZigZag(buffer);
+                    this.setter.accept(rows.get(i), Long.toString(previous));
+                }
+                return;
+            }
+            String[] dictionary = new String[SnapshotBuffer.readVarInt(buffer)];
+            byte[] bytes = new byte[SnapshotBuffer.readVarInt(buffer)];
+            buffer.get(bytes);
+            ByteBuffer entries = ByteBuffer.wrap(bytes);
+            for (int i = 0; i < dictionary.length; i++) {
+                int length = SnapshotBuffer.readVarInt(entries);
+                dictionary[i] = new String(bytes, entries.position(), length, StandardCharsets.UTF_8);
+                entries.position(entries.position() + length);
+            }
+            for (int i = 0; i < size; i++) {
+                int code = SnapshotBuffer.readVarInt(buffer);
+                if (code != 0) {
+                    this.setter.accept(rows.get(i), dictionary[code - 1]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ssk.webflux.common.snapshot;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.stream.Collectors;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 快照的导出、导入管理接口和启动时导入，可以通过 webflux.snapshot.enabled=false 关闭；
+ * 管理接口另外需要 webflux.snapshot.admin-enabled=true 才会注册。
+ * 应用声明 {@link SnapshotStore} bean 登记自己的数据，没有登记的应用上接口对任何名字都返回 404
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:20
+ */
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+@ConditionalOnProperty(prefix = "webflux.snapshot", name = "enabled", matchIfMissing = true)
+public class SnapshotConfiguration {
+
+    @Bean
+    public SnapshotService snapshotService(SnapshotProperties properties, ObjectProvider<SnapshotStore<?>> stores) {
+
+        return new SnapshotService(properties, stores.orderedStream().collect(Collectors.toList()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "webflux.snapshot", name = "admin-enabled")
+    public RouterFunction<ServerResponse> snapshotRouterFunction(SnapshotProperties properties, SnapshotService service) {
+
+        return route(POST(properties.getPath() + "/{name}/export"),
+                request -> service.export(request.pathVariable("name"))
+                        .flatMap(result -> ServerResponse.ok().syncBody(result))
+                        .switchIfEmpty(ServerResponse.notFound().build()))
+                .andRoute(POST(properties.getPath() + "/{name}/import"),
+                        request -> service.load(request.pathVariable("name"))
+                                .flatMap(result -> ServerResponse.ok().syncBody(result))
+                                .switchIfEmpty(ServerResponse.notFound().build()));
+    }
+}
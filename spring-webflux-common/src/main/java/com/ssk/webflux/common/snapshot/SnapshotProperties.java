@@ -0,0 +1,43 @@
+package com.ssk.webflux.common.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 快照导出和导入，前缀 webflux.snapshot
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:40
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 快照文件所在目录，每份快照为其中的 {name}.snap
+     */
+    private String directory = "snapshots";
+
+    /**
+     * 启动时在开始接受请求之前导入目录中已有的快照
+     */
+    private boolean importOnStartup = false;
+
+    /**
+     * 每个数据块的行数，数据块是并行解码的单位
+     */
+    private int blockRows = 65536;
+
+    /**
+     * 是否开放管理接口；接口可以覆盖或整体替换内存中的数据，默认关闭，只在受信任的网络中打开
+     */
+    private boolean adminEnabled = false;
+
+    /**
+     * 管理接口的路径前缀，POST {path}/{name}/export 和 POST {path}/{name}/import
+     */
+    private String path = "/admin/snapshot";
+}
@@ -0,0 +1,63 @@
+package com.ssk.webflux.common.snapshot;
+
+/**
+ * 一次导出或导入的结果
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:50
+ */
+public class SnapshotResult {
+
+    private final String name;
+
+    private final String operation;
+
+    private final String file;
+
+    private final long rows;
+
+    private final long bytes;
+
+    private final long millis;
+
+    SnapshotResult(String name, String operation, String file, long rows, long bytes, long millis) {
+
+        this.name = name;
+        this.operation = operation;
+        this.file = file;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.millis = millis;
+    }
+
+    public String getName() {
+
+        return this.name;
+    }
+
+    public String getOperation() {
+
+        return this.operation;
+    }
+
+    public String getFile() {
+
+        return this.file;
+    }
+
+    public long getRows() {
+
+        return this.rows;
+    }
+
+    public long getBytes() {
+
+        return this.bytes;
+    }
+
+    public long getMillis() {
+
+        return this.millis;
+    }
+}
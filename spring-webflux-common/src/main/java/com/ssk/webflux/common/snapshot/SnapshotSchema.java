@@ -0,0 +1,89 @@
+package com.ssk.webflux.common.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 一种记录在快照中的列定义，以及导出时的排序方式（按 id 排序后 id 的差值最小）
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:20
+ */
+public final class SnapshotSchema<T> {
+
+    private final Supplier<T> factory;
+
+    private final List<SnapshotColumn<T>> columns;
+
+    private final Comparator<? super T> order;
+
+    private SnapshotSchema(Builder<T> builder) {
+
+        this.factory = builder.factory;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(builder.columns));
+        this.order = builder.order;
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+
+        return new Builder<>(factory);
+    }
+
+    T newRow() {
+
+        return this.factory.get();
+    }
+
+    List<SnapshotColumn<T>> getColumns() {
+
+        return this.columns;
+    }
+
+    Comparator<? super T> getOrder() {
+
+        return this.order;
+    }
+
+    public static final class Builder<T> {
+
+        private final Supplier<T> factory;
+
+        private final List<SnapshotColumn<T>> columns = new ArrayList<>();
+
+        private Comparator<? super T> order;
+
+        private Builder(Supplier<T> factory) {
+
+            this.factory = factory;
+        }
+
+        public Builder<T> longColumn(String name, Function<T, Long> getter, BiConsumer<T, Long> setter) {
+
+            this.columns.add(new SnapshotColumn.LongColumn<>(name, getter, setter));
+            return this;
+        }
+
+        public Builder<T> stringColumn(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+
+            this.columns.add(new SnapshotColumn.StringColumn<>(name, getter, setter));
+            return this;
+        }
+
+        public Builder<T> orderBy(Comparator<? super T> order) {
+
+            this.order = order;
+            return this;
+        }
+
+        public SnapshotSchema<T> build() {
+
+            return new SnapshotSchema<>(this);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ssk.webflux.common.snapshot;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 管理应用登记的 {@link SnapshotStore}：导出到 {directory}/{name}.snap，从同一文件导入。
+ * 开启 import-on-startup 时在所有单例创建之后、HTTP 服务启动之前同步导入已有的快照
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:00
+ */
+public class SnapshotService implements MetricsCollector, SmartInitializingSingleton {
+
+    static final String EXPORT = "export";
+
+    static final String IMPORT = "import";
+
+    private final Logger logger = LoggerFactory.getLogger(SnapshotService.class);
+
+    private final Map<String, SnapshotStore<?>> stores = new TreeMap<>();
+
+    private final Map<String, SnapshotResult> results = new ConcurrentHashMap<>();
+
+    private final Path directory;
+
+    private final int blockRows;
+
+    private final boolean importOnStartup;
+
+    public SnapshotService(SnapshotProperties properties, List<SnapshotStore<?>> stores) {
+
+        this.directory = Paths.get(properties.getDirectory());
+        this.blockRows = properties.getBlockRows();
+        this.importOnStartup = properties.isImportOnStartup();
+        stores.forEach(store -> this.stores.put(store.getName(), store));
+    }
+
+    public Path file(String name) {
+
+        return this.directory.resolve(name + ".snap");
+    }
+
+    /**
+     * 未登记的快照名得到空的 Mono
+     */
+    public Mono<SnapshotResult> export(String name) {
+
+        SnapshotStore<?> store = this.stores.get(name);
+        if (store == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> this.write(store)).subscribeOn(Schedulers.elastic()).doOnNext(this::completed);
+    }
+
+    private <T> SnapshotResult write(SnapshotStore<T> store) throws Exception {
+
+        long start = System.nanoTime();
+        Files.createDirectories(this.directory);
+        Path file = this.file(store.getName());
+        List<T> rows = new ArrayList<>();
+        store.rows().forEach(rows::add);
+        long bytes = ColumnarSnapshot.write(file, store.getSchema(), rows, this.blockRows);
+        return new SnapshotResult(store.getName(), EXPORT, file.toString(), rows.size(), bytes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 未登记的快照名或快照文件不存在时得到空的 Mono
+     */
+    public Mono<SnapshotResult> load(String name) {
+
+        SnapshotStore<?> store = this.stores.get(name);
+        if (store == null) {
+            return Mono.empty();
+        }
+        Path file = this.file(name);
+        return Mono.fromCallable(() -> Files.exists(file) ? Files.size(file) : -1L)
+                .subscribeOn(Schedulers.elastic())
+                .filter(bytes -> bytes >= 0)
+                .flatMap(bytes -> this.read(store, file, bytes))
+                .doOnNext(this::completed);
+    }
+
+    private <T> Mono<SnapshotResult> read(SnapshotStore<T> store, Path file, long bytes) {
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return ColumnarSnapshot.read(file, store.getSchema(), store.getRestore())
+                    .map(rows -> new SnapshotResult(store.getName(), IMPORT, file.toString(), rows, bytes,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        });
+    }
+
+    private void completed(SnapshotResult result) {
+
+        this.results.put(result.getName() + "/" + result.getOperation(), result);
+        this.logger.info("Snapshot {} {}: {} rows, {} bytes, {} ms, {}", result.getName(), result.getOperation(),
+                result.getRows(), result.getBytes(), result.getMillis(), result.getFile());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        if (!this.importOnStartup) {
+            return;
+        }
+        for (String name : this.stores.keySet()) {
+            if (this.load(name).block() == null) {
+                this.logger.info("Snapshot {} not imported on startup, {} does not exist", name, this.file(name));
+            }
+        }
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("snapshot_last_rows", "gauge", "Rows in the last snapshot export or import");
+        this.results.values().forEach(result -> writer.sample("snapshot_last_rows", result.getRows(),
+                "name", result.getName(), "operation", result.getOperation()));
+        writer.header("snapshot_last_bytes", "gauge", "Size of the snapshot file in the last export or import");
+        this.results.values().forEach(result -> writer.sample("snapshot_last_bytes", result.getBytes(),
+                "name", result.getName(), "operation", result.getOperation()));
+        writer.header("snapshot_last_duration_seconds", "gauge", "Duration of the last snapshot export or import");
+        this.results.values().forEach(result -> writer.sample("snapshot_last_duration_seconds", result.getMillis() / 1000.0,
+                "name", result.getName(), "operation", result.getOperation()));
+    }
+}
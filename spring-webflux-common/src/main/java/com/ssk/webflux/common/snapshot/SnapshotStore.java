@@ -0,0 +1,56 @@
+package com.ssk.webflux.common.snapshot;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 应用登记的一份可以导出和导入快照的数据，声明为 bean 后由 {@link SnapshotService} 管理
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:40
+ */
+public final class SnapshotStore<T> {
+
+    private final String name;
+
+    private final SnapshotSchema<T> schema;
+
+    private final Supplier<? extends Iterable<T>> rows;
+
+    private final Consumer<List<T>> restore;
+
+    /**
+     * @param name    快照名，对应文件名和管理接口路径中的 {name}
+     * @param rows    导出时读取当前全部记录
+     * @param restore 导入时按块写入记录，同 id 的记录被覆盖；会在多个线程上并发调用
+     */
+    public SnapshotStore(String name, SnapshotSchema<T> schema, Supplier<? extends Iterable<T>> rows, Consumer<List<T>> restore) {
+
+        this.name = name;
+        this.schema = schema;
+        this.rows = rows;
+        this.restore = restore;
+    }
+
+    public String getName() {
+
+        return this.name;
+    }
+
+    SnapshotSchema<T> getSchema() {
+
+        return this.schema;
+    }
+
+    Iterable<T> rows() {
+
+        return this.rows.get();
+    }
+
+    Consumer<List<T>> getRestore() {
+
+        return this.restore;
+    }
+}
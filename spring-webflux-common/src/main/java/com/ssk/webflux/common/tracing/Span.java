@@ -0,0 +1,110 @@
+package com.ssk.webflux.common.tracing;
+
+/**
+ * 一个已经结束的 span。id 以十六进制字符串输出（trace id 为 32 个字符），开始时间为微秒级的 epoch 时间，耗时为微秒
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:20
+ */
+public final class Span {
+
+    private final long sequence;
+
+    private final long traceIdHigh;
+
+    private final long traceIdLow;
+
+    private final long spanId;
+
+    private final long parentId;
+
+    private final String name;
+
+    private final long startMicros;
+
+    private final long durationNanos;
+
+    private final String error;
+
+    private final boolean cancelled;
+
+    Span(long sequence, long traceIdHigh, long traceIdLow, long spanId, long parentId, String name, long startMicros,
+         long durationNanos, String error, boolean cancelled) {
+
+        this.sequence = sequence;
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.startMicros = startMicros;
+        this.durationNanos = durationNanos;
+        this.error = error;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * 写入环形缓冲区的序号，从 0 开始递增
+     */
+    public long getSequence() {
+
+        return this.sequence;
+    }
+
+    public String getTraceId() {
+
+        return TraceContext.traceId(this.traceIdHigh, this.traceIdLow);
+    }
+
+    public String getSpanId() {
+
+        return TraceContext.hex(this.spanId);
+    }
+
+    /**
+     * 根 span 为 null
+     */
+    public String getParentId() {
+
+        return this.parentId == 0 ? null : TraceContext.hex(this.parentId);
+    }
+
+    public String getName() {
+
+        return this.name;
+    }
+
+    public long getStartMicros() {
+
+        return this.startMicros;
+    }
+
+    public long getDurationMicros() {
+
+        return this.durationNanos / 1000;
+    }
+
+    /**
+     * 出错时为异常类名和消息，正常结束或被取消时为 null
+     */
+    public String getError() {
+
+        return this.error;
+    }
+
+    /**
+     * 下游在终止信号之前取消了订阅
+     */
+    public boolean isCancelled() {
+
+        return this.cancelled;
+    }
+
+    @Override
+    public String toString() {
+
+        return this.name + " " + getTraceId() + "/" + getSpanId() + " " + getDurationMicros() + "us"
+                + (this.error == null ? "" : " " + this.error) + (this.cancelled ? " cancelled" : "");
+    }
+}
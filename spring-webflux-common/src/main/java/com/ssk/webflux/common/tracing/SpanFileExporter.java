@@ -0,0 +1,124 @@
+package com.ssk.webflux.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 把环形缓冲区中新写入的 span 以每行一个 JSON 追加到文件。写文件是阻塞操作，在单独的守护线程上定期执行；
+ * 两次导出之间被覆盖的 span 计入 tracing_spans_dropped_total
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:10
+ */
+public class SpanFileExporter implements MetricsCollector, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpanFileExporter.class);
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writer();
+
+    private final Tracer tracer;
+
+    private final Path file;
+
+    private final LongAdder exported = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private ScheduledExecutorService executor;
+
+    private long cursor;
+
+    public SpanFileExporter(Tracer tracer, Path file) {
+
+        this.tracer = tracer;
+        this.file = file;
+    }
+
+    /**
+     * 每隔 interval 导出一次
+     */
+    public SpanFileExporter start(Duration interval) {
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "span-file-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(() -> {
+            try {
+                this.export();
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to export spans to {}", this.file, ex);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * 导出上次导出之后的 span，返回导出的数量
+     */
+    public synchronized int export() {
+
+        long end = this.tracer.getSpans().getWritten();
+        List<Span> spans = this.tracer.getSpans().range(this.cursor, end);
+        this.dropped.add(end - this.cursor - spans.size());
+        this.cursor = end;
+        if (spans.isEmpty()) {
+            return 0;
+        }
+        try (Writer writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Span span : spans) {
+                writer.write(WRITER.writeValueAsString(span));
+                writer.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.exported.add(spans.size());
+        return spans.size();
+    }
+
+    public Path getFile() {
+
+        return this.file;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("tracing_spans_exported_total", "counter", "Spans appended to the export file")
+                .sample("tracing_spans_exported_total", this.exported.sum());
+        writer.header("tracing_spans_dropped_total", "counter", "Spans overwritten before they were exported")
+                .sample("tracing_spans_dropped_total", this.dropped.sum());
+    }
+
+    @Override
+    public void destroy() {
+
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+        this.export();
+    }
+}
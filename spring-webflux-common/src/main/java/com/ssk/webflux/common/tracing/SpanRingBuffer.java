@@ -0,0 +1,80 @@
+package com.ssk.webflux.common.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 无锁的 span 环形缓冲区。写入时用 getAndIncrement 取得序号，再写入序号对应的槽位，写满后覆盖最旧的 span；
+ * 读取方按序号检查槽位中的 span，已被覆盖或尚未写完的槽位直接跳过，读写之间互不阻塞
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:30
+ */
+public class SpanRingBuffer {
+
+    private final AtomicReferenceArray<Span> slots;
+
+    private final int mask;
+
+    private final AtomicLong next = new AtomicLong();
+
+    public SpanRingBuffer(int size) {
+
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void record(long traceIdHigh, long traceIdLow, long spanId, long parentId, String name, long startMicros,
+                long durationNanos, String error, boolean cancelled) {
+
+        long sequence = this.next.getAndIncrement();
+        this.slots.set((int) (sequence & this.mask), new Span(sequence, traceIdHigh, traceIdLow, spanId, parentId, name,
+                startMicros, durationNanos, error, cancelled));
+    }
+
+    /**
+     * 序号不小于 from 且仍在缓冲区中的 span，按序号排列
+     */
+    public List<Span> since(long from) {
+
+        return this.range(from, this.next.get());
+    }
+
+    /**
+     * 序号在 [from, end) 之间且仍在缓冲区中的 span，按序号排列
+     */
+    public List<Span> range(long from, long end) {
+
+        long start = Math.max(from, end - this.slots.length());
+        List<Span> spans = new ArrayList<>((int) Math.max(0, end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Span span = this.slots.get((int) (sequence & this.mask));
+            if (span != null && span.getSequence() == sequence) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    public List<Span> snapshot() {
+
+        return this.since(0);
+    }
+
+    /**
+     * 已写入的 span 总数，也是下一个 span 的序号
+     */
+    public long getWritten() {
+
+        return this.next.get();
+    }
+
+    public int getCapacity() {
+
+        return this.slots.length();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ssk.webflux.common.tracing;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 记录一个 span：从 onSubscribe 到第一个终止信号（完成、出错或取消）。
+ * 上游看到的 Context 中是新 span 的 {@link TraceContext}，上游再创建的 span 以它为父
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:00
+ */
+final class SpanSubscriber<T> implements CoreSubscriber<T>, Subscription {
+
+    private static final AtomicIntegerFieldUpdater<SpanSubscriber> FINISHED =
+            AtomicIntegerFieldUpdater.newUpdater(SpanSubscriber.class, "finished");
+
+    private final CoreSubscriber<? super T> actual;
+
+    private final TraceContext parent;
+
+    private final TraceContext span;
+
+    private final String name;
+
+    private final Context context;
+
+    private Subscription subscription;
+
+    private long startMicros;
+
+    private long startNanos;
+
+    private volatile int finished;
+
+    SpanSubscriber(CoreSubscriber<? super T> actual, TraceContext parent, String name) {
+
+        this.actual = actual;
+        this.parent = parent;
+        this.span = parent.child();
+        this.name = name;
+        this.context = actual.currentContext().put(TraceContext.class, this.span);
+    }
+
+    @Override
+    public Context currentContext() {
+
+        return this.context;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+
+        this.startMicros = System.currentTimeMillis() * 1000;
+        this.startNanos = System.nanoTime();
+        this.subscription = subscription;
+        this.actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T value) {
+
+        this.actual.onNext(value);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+
+        this.finish(error.getClass().getSimpleName() + ": " + error.getMessage(), false);
+        this.actual.onError(error);
+    }
+
+    @Override
+    public void onComplete() {
+
+        this.finish(null, false);
+        this.actual.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+
+        this.subscription.request(n);
+    }
+
+    @Override
+    public void cancel() {
+
+        this.finish(null, true);
+        this.subscription.cancel();
+    }
+
+    private void finish(String error, boolean cancelled) {
+
+        if (FINISHED.compareAndSet(this, 0, 1)) {
+            this.span.getTracer().record(this.span, this.parent.getSpanId(), this.name, this.startMicros,
+                    System.nanoTime() - this.startNanos, error, cancelled);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ssk.webflux.common.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 当前 span 的标识，只有被采样的调用链才会放入 Reactor Context，key 为 TraceContext.class。
+ * 同时持有记录 span 的 {@link Tracer}，业务代码通过 {@link Tracing} 创建子 span 时不需要注入任何对象。
+ * <p>
+ * 与 W3C traceparent 互转：trace id 为 128 位，分为高、低两个 64 位保存，原样解析和输出，任意一半可以为 0 但不能全为 0
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:10
+ */
+public final class TraceContext {
+
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final String TRACE_ID_PADDING = "0000000000000000";
+
+    private final long traceIdHigh;
+
+    private final long traceIdLow;
+
+    private final long spanId;
+
+    private final Tracer tracer;
+
+    TraceContext(long traceIdHigh, long traceIdLow, long spanId, Tracer tracer) {
+
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = spanId;
+        this.tracer = tracer;
+    }
+
+    /**
+     * 同一调用链上的新 span
+     */
+    TraceContext child() {
+
+        return new TraceContext(this.traceIdHigh, this.traceIdLow, nextId(), this.tracer);
+    }
+
+    /**
+     * 32 个十六进制字符的 trace id
+     */
+    public String getTraceId() {
+
+        return traceId(this.traceIdHigh, this.traceIdLow);
+    }
+
+    public long getTraceIdHigh() {
+
+        return this.traceIdHigh;
+    }
+
+    public long getTraceIdLow() {
+
+        return this.traceIdLow;
+    }
+
+    public long getSpanId() {
+
+        return this.spanId;
+    }
+
+    Tracer getTracer() {
+
+        return this.tracer;
+    }
+
+    public String traceparent() {
+
+        return "00-" + this.getTraceId() + "-" + hex(this.spanId) + "-01";
+    }
+
+    static String traceId(long high, long low) {
+
+        return hex(high) + hex(low);
+    }
+
+    static long nextId() {
+
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    static String hex(long id) {
+
+        String hex = Long.toHexString(id);
+        return hex.length() == 16 ? hex : TRACE_ID_PADDING.substring(hex.length()) + hex;
+    }
+
+    @Override
+    public String toString() {
+
+        return traceparent();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ssk.webflux.common.tracing;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 在调用链的入口做采样决定（head-based sampling）并把结束的 span 写入 {@link SpanRingBuffer}。
+ * 带有上游 traceparent 的请求沿用上游的决定，否则按 sampleRate 随机采样；
+ * 未被采样的调用链不放入 {@link TraceContext}，后续的 {@link Tracing} 操作符直接透传，不产生额外开销
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:40
+ */
+public class Tracer implements MetricsCollector {
+
+    private final double sampleRate;
+
+    private final SpanRingBuffer spans;
+
+    private final LongAdder sampled = new LongAdder();
+
+    private final LongAdder unsampled = new LongAdder();
+
+    public Tracer(TracingProperties properties) {
+
+        this.sampleRate = properties.getSampleRate();
+        this.spans = new SpanRingBuffer(properties.getBufferSize());
+    }
+
+    /**
+     * 新的调用链，未被采样时返回 null。返回的上下文只携带 trace id（span id 为 0），在它之下创建的第一个 span 就是根 span
+     */
+    public TraceContext startTrace() {
+
+        if (this.sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= this.sampleRate) {
+            this.unsampled.increment();
+            return null;
+        }
+        this.sampled.increment();
+        return new TraceContext(ThreadLocalRandom.current().nextLong(), TraceContext.nextId(), 0, this);
+    }
+
+    /**
+     * 延续上游的调用链：traceparent 标记为已采样时返回以上游 span 为父的上下文，标记为未采样时返回 null，
+     * 没有或无法解析时按 {@link #startTrace()} 重新决定
+     */
+    public TraceContext continueTrace(String traceparent) {
+
+        // 00-<32 位 trace id>-<16 位 parent id>-<flags>
+        if (traceparent == null || traceparent.length() != 55 || traceparent.charAt(2) != '-'
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return this.startTrace();
+        }
+        long traceIdHigh;
+        long traceIdLow;
+        long parentId;
+        int flags;
+        try {
+            traceIdHigh = Long.parseUnsignedLong(traceparent.substring(3, 19), 16);
+            traceIdLow = Long.parseUnsignedLong(traceparent.substring(19, 35), 16);
+            parentId = Long.parseUnsignedLong(traceparent.substring(36, 52), 16);
+            flags = Integer.parseInt(traceparent.substring(53), 16);
+        } catch (NumberFormatException ex) {
+            return this.startTrace();
+        }
+        if (traceIdHigh == 0 && traceIdLow == 0 || parentId == 0) {
+            return this.startTrace();
+        }
+        if ((flags & 1) == 0) {
+            this.unsampled.increment();
+            return null;
+        }
+        this.sampled.increment();
+        return new TraceContext(traceIdHigh, traceIdLow, parentId, this);
+    }
+
+    void record(TraceContext span, long parentId, String name, long startMicros, long durationNanos, String error,
+                boolean cancelled) {
+
+        this.spans.record(span.getTraceIdHigh(), span.getTraceIdLow(), span.getSpanId(), parentId, name, startMicros,
+                durationNanos, error, cancelled);
+    }
+
+    public SpanRingBuffer getSpans() {
+
+        return this.spans;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("tracing_traces_total", "counter", "Traces started or continued, by sampling decision")
+                .sample("tracing_traces_total", this.sampled.sum(), "sampled", "true")
+                .sample("tracing_traces_total", this.unsampled.sum(), "sampled", "false");
+        writer.header("tracing_spans_recorded_total", "counter", "Spans written to the ring buffer")
+                .sample("tracing_spans_recorded_total", this.spans.getWritten());
+    }
+}
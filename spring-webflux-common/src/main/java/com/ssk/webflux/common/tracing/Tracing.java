@@ -0,0 +1,71 @@
+package com.ssk.webflux.common.tracing;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+
+/**
+ * 在 Reactor Context 中传递的追踪。用法：{@code Tracing.mono("UserService.getById", mono)}。
+ * <p>
+ * 订阅时从下游的 Context 中读取 {@link TraceContext}：没有（未采样或不在请求中）时直接订阅源，不包装任何对象；
+ * 有时插入一个 {@link SpanSubscriber}，它把子 span 放入上游可见的 Context。
+ * span 的父子关系只依赖订阅链，不使用 ThreadLocal，调度器切换线程后仍然正确
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:10
+ */
+public final class Tracing {
+
+    private Tracing() {
+
+    }
+
+    public static <T> Mono<T> mono(String name, Mono<T> source) {
+
+        return new SpanMono<>(source, name);
+    }
+
+    public static <T> Flux<T> flux(String name, Flux<T> source) {
+
+        return new SpanFlux<>(source, name);
+    }
+
+    private static final class SpanMono<T> extends MonoOperator<T, T> {
+
+        private final String name;
+
+        SpanMono(Mono<? extends T> source, String name) {
+
+            super(source);
+            this.name = name;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+
+            TraceContext parent = actual.currentContext().getOrDefault(TraceContext.class, null);
+            this.source.subscribe(parent == null ? actual : new SpanSubscriber<>(actual, parent, this.name));
+        }
+    }
+
+    private static final class SpanFlux<T> extends FluxOperator<T, T> {
+
+        private final String name;
+
+        SpanFlux(Flux<? extends T> source, String name) {
+
+            super(source);
+            this.name = name;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+
+            TraceContext parent = actual.currentContext().getOrDefault(TraceContext.class, null);
+            this.source.subscribe(parent == null ? actual : new SpanSubscriber<>(actual, parent, this.name));
+        }
+    }
+}
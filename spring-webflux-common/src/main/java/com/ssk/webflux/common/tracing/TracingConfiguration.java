@@ -0,0 +1,62 @@
+package com.ssk.webflux.common.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 三个应用共用的采样追踪，可以通过 webflux.tracing.enabled=false 关闭。
+ * 缓冲区中的 span 通过 webflux.tracing.path（默认 /traces，可用 traceId 参数过滤）输出，
+ * 设置了 webflux.tracing.export-file 时同时追加到文件
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:30
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+@ConditionalOnProperty(prefix = "webflux.tracing", name = "enabled", matchIfMissing = true)
+public class TracingConfiguration {
+
+    @Bean
+    public Tracer tracer(TracingProperties properties) {
+
+        return new Tracer(properties);
+    }
+
+    @Bean
+    public TracingWebFilter tracingWebFilter(Tracer tracer) {
+
+        return new TracingWebFilter(tracer);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "webflux.tracing", name = "export-file")
+    public SpanFileExporter spanFileExporter(Tracer tracer, TracingProperties properties) {
+
+        return new SpanFileExporter(tracer, Paths.get(properties.getExportFile())).start(properties.getExportInterval());
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> tracesRouterFunction(TracingProperties properties, Tracer tracer) {
+
+        return route(GET(properties.getPath()), request -> {
+            List<Span> spans = tracer.getSpans().snapshot();
+            String traceId = request.queryParam("traceId").orElse(null);
+            if (traceId != null) {
+                spans = spans.stream().filter(span -> span.getTraceId().equals(traceId)).collect(Collectors.toList());
+            }
+            return ServerResponse.ok().syncBody(spans);
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.ssk.webflux.common.tracing;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * WebClient 的追踪：Context 中已有调用链时记录子 span，否则由客户端作为入口按采样率决定。
+ * span 从发出请求到收到响应头为止，请求头 traceparent 携带该 span 的 id；
+ * 未被采样时也发送标记为未采样的 traceparent，服务端不再重新采样
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:50
+ */
+public class TracingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private final Tracer tracer;
+
+    public TracingExchangeFilterFunction(Tracer tracer) {
+
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+
+        return Mono.subscriberContext().flatMap(context -> {
+            TraceContext parent = context.getOrDefault(TraceContext.class, null);
+            if (parent == null) {
+                parent = this.tracer.startTrace();
+                if (parent == null) {
+                    return next.exchange(this.withTraceparent(request, unsampledTraceparent()));
+                }
+            }
+            TraceContext root = parent;
+            String name = "http.client " + request.method() + " " + request.url().getRawAuthority() + request.url().getRawPath();
+            return Tracing.mono(name, Mono.subscriberContext()
+                    .flatMap(span -> next.exchange(this.withTraceparent(request, span.get(TraceContext.class).traceparent()))))
+                    .subscriberContext(span -> span.put(TraceContext.class, root));
+        });
+    }
+
+    private ClientRequest withTraceparent(ClientRequest request, String traceparent) {
+
+        return ClientRequest.from(request).headers(headers -> headers.set(TraceContext.TRACEPARENT, traceparent)).build();
+    }
+
+    private static String unsampledTraceparent() {
+
+        return "00-" + TraceContext.traceId(ThreadLocalRandom.current().nextLong(), TraceContext.nextId())
+                + "-" + TraceContext.hex(TraceContext.nextId()) + "-00";
+    }
+}
@@ -0,0 +1,42 @@
+package com.ssk.webflux.common.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 采样追踪配置，前缀 webflux.tracing
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:00
+ */
+@Data
+@ConfigurationProperties(prefix = "webflux.tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 没有上游 traceparent 的请求被采样的比例，0 ~ 1
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * 环形缓冲区保存的 span 数，向上取整为 2 的幂，写满后覆盖最旧的 span
+     */
+    private int bufferSize = 4096;
+
+    /**
+     * 以 JSON 数组输出缓冲区中 span 的地址
+     */
+    private String path = "/traces";
+
+    /**
+     * 不为空时定期把新的 span 以每行一个 JSON 追加到该文件
+     */
+    private String exportFile;
+
+    private Duration exportInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,74 @@
+package com.ssk.webflux.common.tracing;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * 服务端调用链的入口：按请求头 traceparent 延续上游的调用链，没有时按采样率决定。
+ * 被采样的请求记录整个处理过程的 span，以及其中写出响应体的 span（包括编码和写入 socket），
+ * 并在响应头 X-Trace-Id 中返回 trace id；未被采样的请求原样交给后续过滤器
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:30
+ */
+public class TracingWebFilter implements WebFilter, Ordered {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final Tracer tracer;
+
+    public TracingWebFilter(Tracer tracer) {
+
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        ServerHttpRequest request = exchange.getRequest();
+        TraceContext parent = this.tracer.continueTrace(request.getHeaders().getFirst(TraceContext.TRACEPARENT));
+        if (parent == null) {
+            return chain.filter(exchange);
+        }
+        exchange.getResponse().getHeaders().set(TRACE_ID_HEADER, parent.getTraceId());
+        ServerWebExchange traced = exchange.mutate().response(new TracedResponse(exchange.getResponse())).build();
+        return Tracing.mono("http.server " + request.getMethodValue() + " " + request.getPath().value(), chain.filter(traced))
+                .subscriberContext(context -> context.put(TraceContext.class, parent));
+    }
+
+    @Override
+    public int getOrder() {
+
+        // 在过载保护、路由指标和 HTTP/2 合并写出之后，被过载保护拒绝的请求不记录
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    private static final class TracedResponse extends ServerHttpResponseDecorator {
+
+        TracedResponse(ServerHttpResponse delegate) {
+
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+            return Tracing.mono("http.server.write", super.writeWith(body));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+
+            return Tracing.mono("http.server.write", super.writeAndFlushWith(body));
+        }
+    }
+}
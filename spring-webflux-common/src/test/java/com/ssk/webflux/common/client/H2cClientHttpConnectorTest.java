@@ -0,0 +1,151 @@
+package com.ssk.webflux.common.client;
+
+import com.ssk.webflux.common.http2.Http2FlushWebFilter;
+import com.ssk.webflux.common.http2.Http2Properties;
+import com.ssk.webflux.common.http2.Http2ServerCustomizer;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 6:40
+ */
+public class H2cClientHttpConnectorTest {
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    private DisposableServer server;
+
+    private WebClientFactory factory;
+
+    @After
+    public void destroy() {
+
+        if (this.factory != null) {
+            this.factory.destroy();
+        }
+        if (this.server != null) {
+            this.server.disposeNow();
+        }
+    }
+
+    @Test
+    public void testRequestsShareOneConnection() {
+
+        WebClient client = this.client(new Http2Properties());
+        List<String> replies = Flux.range(0, 50)
+                .flatMap(i -> client.get().uri("/slow?i=" + i).retrieve().bodyToMono(String.class))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(50, replies.size());
+        assertEquals(1, this.factory.getH2c().getCreatedConnections());
+        assertEquals(50, this.factory.getH2c().getStreams());
+        assertTrue(this.maxActive.get() > 1);
+    }
+
+    @Test
+    public void testRequestBodiesAreStreamed() {
+
+        WebClient client = this.client(new Http2Properties());
+        assertEquals("hello", client.post().uri("/echo").syncBody("hello").retrieve().bodyToMono(String.class).block());
+
+        DefaultDataBufferFactory buffers = new DefaultDataBufferFactory();
+        Flux<DataBuffer> chunks = Flux.range(0, 100)
+                .map(i -> buffers.wrap(String.format("%04d", i).getBytes(StandardCharsets.US_ASCII)));
+        String echoed = client.post().uri("/echo").body(chunks, DataBuffer.class)
+                .retrieve().bodyToMono(String.class).block(Duration.ofSeconds(10));
+        assertEquals(400, echoed.length());
+        assertTrue(echoed.startsWith("00000001") && echoed.endsWith("0099"));
+    }
+
+    @Test
+    public void testServerLimitsConcurrentStreams() {
+
+        Http2Properties properties = new Http2Properties();
+        properties.setMaxConcurrentStreams(4);
+        WebClient client = this.client(properties);
+        // 第一个请求之后客户端才收到服务端补发的 SETTINGS
+        client.get().uri("/slow").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5));
+        this.maxActive.set(0);
+
+        Flux.range(0, 20)
+                .flatMap(i -> client.get().uri("/slow").retrieve().bodyToMono(String.class))
+                .blockLast(Duration.ofSeconds(10));
+        assertEquals(4, this.maxActive.get());
+        assertEquals(1, this.factory.getH2c().getCreatedConnections());
+    }
+
+    @Test
+    public void testFlushedGroupsAreStreamed() {
+
+        // 每组由三个 buffer 组成，与 SSE 事件的写出方式相同
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder
+                .webHandler(exchange -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    return response.writeAndFlushWith(Flux.range(0, 3).delayElements(Duration.ofMillis(200))
+                            .map(i -> Flux.just("data:", String.valueOf(i), "\n\n")
+                                    .map(text -> response.bufferFactory().wrap(text.getBytes(StandardCharsets.US_ASCII)))));
+                })
+                .filter(new Http2FlushWebFilter())
+                .build());
+        this.server = new Http2ServerCustomizer(new Http2Properties()).apply(HttpServer.create().port(0))
+                .handle(adapter)
+                .bindNow();
+
+        // 没有 Http2FlushWebFilter 时客户端只收到响应头
+        List<String> events = this.client().get().uri("/events").retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .map(ServerSentEvent::data)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        assertEquals(Arrays.asList("0", "1", "2"), events);
+    }
+
+    private WebClient client(Http2Properties serverProperties) {
+
+        this.server = new Http2ServerCustomizer(serverProperties).apply(HttpServer.create().port(0))
+                .route(routes -> routes
+                        .get("/slow", (request, response) -> response.sendString(Mono.defer(() -> {
+                            this.maxActive.accumulateAndGet(this.active.incrementAndGet(), Math::max);
+                            return Mono.just("ok").delayElement(Duration.ofMillis(50))
+                                    .doFinally(signal -> this.active.decrementAndGet());
+                        })))
+                        .post("/echo", (request, response) -> response.send(request.receive().retain())))
+                .bindNow();
+        return this.client();
+    }
+
+    private WebClient client() {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.getH2c().setEnabled(true);
+        this.factory = new WebClientFactory(properties);
+        return this.factory.create("http://localhost:" + this.server.port());
+    }
+}
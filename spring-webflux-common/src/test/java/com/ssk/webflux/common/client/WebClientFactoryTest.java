@@ -0,0 +1,186 @@
+package com.ssk.webflux.common.client;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:20
+ */
+public class WebClientFactoryTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final DisposableServer server = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .get("/ok", (request, response) -> response.sendString(Mono.just("ok")))
+                    .get("/flaky", (request, response) -> this.calls.incrementAndGet() <= 2
+                            ? response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send()
+                            : response.sendString(Mono.just("ok")))
+                    .route(request -> request.uri().equals("/unavailable"), (request, response) -> {
+                        this.calls.incrementAndGet();
+                        return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send();
+                    })
+                    .get("/delayed", (request, response) -> response.sendString(Mono.just("delayed").delayElement(Duration.ofMillis(300))))
+                    .get("/slow", (request, response) -> this.calls.incrementAndGet() == 1
+                            ? response.sendString(Mono.just("slow").delayElement(Duration.ofSeconds(3)))
+                            : response.sendString(Mono.just("fast"))))
+            .bindNow();
+
+    private WebClientFactory factory;
+
+    @After
+    public void destroy() {
+
+        if (this.factory != null) {
+            this.factory.destroy();
+        }
+        this.server.disposeNow();
+    }
+
+    @Test
+    public void testConnectionsAreReusedAndEvicted() throws InterruptedException {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.setMaxIdleTime(Duration.ofMillis(200));
+        WebClient client = this.client(properties);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ok", client.get().uri("/ok").retrieve().bodyToMono(String.class).block());
+        }
+        // 连接在响应体读完之后才异步归还
+        await(() -> this.factory.getActiveConnections() == 0);
+        assertEquals(1, this.factory.getIdleConnections());
+
+        await(() -> this.factory.getIdleConnections() == 0);
+        assertEquals(1, this.factory.getEvictedConnections());
+        assertEquals("ok", client.get().uri("/ok").retrieve().bodyToMono(String.class).block());
+    }
+
+    @Test
+    public void testIdempotentRequestsAreRetried() {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.getRetry().setFirstBackoff(Duration.ofMillis(10));
+        WebClient client = this.client(properties);
+
+        assertEquals("ok", client.get().uri("/flaky").retrieve().bodyToMono(String.class).block());
+        assertEquals(2, this.factory.getRetries());
+
+        this.calls.set(0);
+        ClientResponse response = client.get().uri("/unavailable").exchange().block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.statusCode());
+        assertEquals(3, this.calls.get());
+
+        this.calls.set(0);
+        response = client.post().uri("/unavailable").exchange().block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.statusCode());
+        assertEquals(1, this.calls.get());
+    }
+
+    @Test
+    public void testSlowGetIsHedged() throws InterruptedException {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setMinSamples(5);
+        properties.getHedge().setMinDelay(Duration.ofMillis(50));
+        WebClient client = this.client(properties);
+        for (int i = 0; i < 5; i++) {
+            client.get().uri("/ok").retrieve().bodyToMono(String.class).block();
+        }
+        // 对冲延迟每秒才重新计算一次
+        Thread.sleep(1100);
+
+        long start = System.nanoTime();
+        assertEquals("fast", client.get().uri("/slow").retrieve().bodyToMono(String.class).block());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        assertEquals(1, this.factory.getHedgeWins());
+    }
+
+    @Test
+    public void testFailedHedgeDoesNotCancelPrimary() throws InterruptedException {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.setMaxConnections(1);
+        properties.setMaxPendingAcquires(0);
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setMinSamples(5);
+        properties.getHedge().setMinDelay(Duration.ofMillis(50));
+        WebClient client = this.client(properties);
+        for (int i = 0; i < 5; i++) {
+            client.get().uri("/ok").retrieve().bodyToMono(String.class).block();
+        }
+        Thread.sleep(1100);
+
+        // 原请求占满并发上限，对冲请求立即以 POOL_EXHAUSTED 失败，结果仍然来自原请求
+        assertEquals("delayed", client.get().uri("/delayed").retrieve().bodyToMono(String.class).block());
+        assertEquals(1, this.factory.getHedges());
+        assertEquals(1, this.factory.getRejected());
+        assertEquals(0, this.factory.getHedgeWins());
+    }
+
+    @Test
+    public void testPendingRequestsAreBounded() {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.setMaxConnections(1);
+        properties.setMaxPendingAcquires(0);
+        WebClient client = this.client(properties);
+        Mono<String> slow = client.get().uri("/slow").retrieve().bodyToMono(String.class);
+
+        StepVerifier.create(slow)
+                .then(() -> StepVerifier.create(client.get().uri("/ok").retrieve().bodyToMono(String.class))
+                        .expectErrorMatches(error -> error == WebClientFactory.POOL_EXHAUSTED)
+                        .verify())
+                .expectNext("slow")
+                .verifyComplete();
+        assertEquals(1, this.factory.getRejected());
+        assertEquals(0, this.factory.getInFlight());
+    }
+
+    @Test
+    public void testBackoffGrowsWithJitter() {
+
+        WebClientProperties.Retry retry = new WebClientProperties.Retry();
+        for (int i = 0; i < 100; i++) {
+            long first = WebClientFactory.backoff(retry, 1).toMillis();
+            long third = WebClientFactory.backoff(retry, 3).toMillis();
+            long capped = WebClientFactory.backoff(retry, 40).toMillis();
+            assertTrue(first >= 50 && first <= 100);
+            assertTrue(third >= 200 && third <= 400);
+            assertTrue(capped >= 1000 && capped <= 2000);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private WebClient client(WebClientProperties properties) {
+
+        this.factory = new WebClientFactory(properties);
+        return this.factory.create("http://localhost:" + this.server.port());
+    }
+}
@@ -0,0 +1,199 @@
+package com.ssk.webflux.common.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.Data;
+import org.junit.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 二进制编解码器的往返测试，并与 JSON 比较编码后的大小
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:20
+ */
+public class BinaryCodecsTest {
+
+    private static final ResolvableType SAMPLE_TYPE = ResolvableType.forClass(Sample.class);
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private final ProtobufSchemaRegistry schemaRegistry = new ProtobufSchemaRegistry()
+            .register(Sample.class, "proto/sample.proto", "Sample");
+
+    @Test
+    public void testCborRoundTrip() {
+
+        assertRoundTrip(new Jackson2CborEncoder(), new Jackson2CborDecoder(), BinaryMediaTypes.APPLICATION_CBOR);
+    }
+
+    @Test
+    public void testSmileRoundTrip() {
+
+        assertRoundTrip(new Jackson2SmileEncoder(), new Jackson2SmileDecoder(), BinaryMediaTypes.APPLICATION_SMILE);
+    }
+
+    @Test
+    public void testProtobufRoundTrip() {
+
+        assertRoundTrip(new Jackson2ProtobufEncoder(this.schemaRegistry), new Jackson2ProtobufDecoder(this.schemaRegistry),
+                BinaryMediaTypes.APPLICATION_PROTOBUF);
+    }
+
+    /**
+     * Flux 以 length-delimited 的方式逐条编码，解码后顺序不变
+     */
+    @Test
+    public void testProtobufDelimitedStream() {
+
+        Jackson2ProtobufEncoder encoder = new Jackson2ProtobufEncoder(this.schemaRegistry);
+        Jackson2ProtobufDecoder decoder = new Jackson2ProtobufDecoder(this.schemaRegistry);
+        Flux<DataBuffer> encoded = encoder.encode(Flux.just(sample(1L), sample(2L), sample(300L)), this.bufferFactory,
+                SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_PROTOBUF, Collections.emptyMap());
+        StepVerifier.create(decoder.decode(encoded, SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_PROTOBUF, Collections.emptyMap()))
+                .expectNext(sample(1L), sample(2L), sample(300L))
+                .verifyComplete();
+    }
+
+    /**
+     * 长度前缀超出剩余字节或为负数时整个请求体解码失败，不输出截断的记录
+     */
+    @Test
+    public void testProtobufInvalidFrameLength() {
+
+        Jackson2ProtobufDecoder decoder = new Jackson2ProtobufDecoder(this.schemaRegistry);
+        byte[] frame = DataBufferUtils.join(new Jackson2ProtobufEncoder(this.schemaRegistry).encode(Flux.just(sample(1L)),
+                this.bufferFactory, SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_PROTOBUF, Collections.emptyMap()))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                })
+                .block();
+
+        Flux<DataBuffer> truncated = Flux.just(this.bufferFactory.wrap(Arrays.copyOf(frame, frame.length - 1)));
+        StepVerifier.create(decoder.decode(truncated, SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_PROTOBUF, Collections.emptyMap()))
+                .expectErrorMatches(ex -> ex instanceof DecodingException && ex.getMessage().contains("超出剩余"))
+                .verify();
+
+        // 5 字节的 varint 0xFFFFFFFF 读出来是 -1
+        byte[] negative = new byte[5 + frame.length];
+        Arrays.fill(negative, 0, 4, (byte) 0xFF);
+        negative[4] = 0x0F;
+        System.arraycopy(frame, 0, negative, 5, frame.length);
+        StepVerifier.create(decoder.decode(Flux.just(this.bufferFactory.wrap(negative)), SAMPLE_TYPE,
+                BinaryMediaTypes.APPLICATION_PROTOBUF, Collections.emptyMap()))
+                .expectErrorMatches(ex -> ex instanceof DecodingException && ex.getMessage().contains("-1"))
+                .verify();
+    }
+
+    /**
+     * 编码器把 Flux 编码为一个 CBOR 数组，解码为 Flux 时逐个元素输出；首尾相连的多个顶层对象也可以解码
+     */
+    @Test
+    public void testCborFlux() throws Exception {
+
+        Jackson2CborDecoder decoder = new Jackson2CborDecoder();
+        Flux<DataBuffer> array = new Jackson2CborEncoder().encode(Flux.just(sample(1L), sample(2L)), this.bufferFactory,
+                SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_CBOR, Collections.emptyMap());
+        StepVerifier.create(decoder.decode(array, SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_CBOR, Collections.emptyMap()))
+                .expectNext(sample(1L), sample(2L))
+                .verifyComplete();
+
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        Flux<DataBuffer> sequence = Flux.just(this.bufferFactory.wrap(cbor.writeValueAsBytes(sample(3L))),
+                this.bufferFactory.wrap(cbor.writeValueAsBytes(sample(4L))));
+        StepVerifier.create(decoder.decode(sequence, SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_CBOR, Collections.emptyMap()))
+                .expectNext(sample(3L), sample(4L))
+                .verifyComplete();
+
+        Flux<DataBuffer> corrupt = Flux.just(this.bufferFactory.wrap(new byte[]{(byte) 0xbf, 0x61}));
+        StepVerifier.create(decoder.decode(corrupt, SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_CBOR, Collections.emptyMap()))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    public void testProtobufOnlyForRegisteredTypes() {
+
+        Jackson2ProtobufEncoder encoder = new Jackson2ProtobufEncoder(this.schemaRegistry);
+        assertTrue(encoder.canEncode(SAMPLE_TYPE, BinaryMediaTypes.APPLICATION_PROTOBUF));
+        assertTrue(!encoder.canEncode(ResolvableType.forClass(String.class), BinaryMediaTypes.APPLICATION_PROTOBUF));
+        assertTrue(!encoder.canEncode(SAMPLE_TYPE, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testBinaryFormatsSmallerThanJson() throws Exception {
+
+        int json = new ObjectMapper().writeValueAsBytes(sample(1L)).length;
+        int cbor = encodedSize(new Jackson2CborEncoder(), BinaryMediaTypes.APPLICATION_CBOR);
+        int smile = encodedSize(new Jackson2SmileEncoder(), BinaryMediaTypes.APPLICATION_SMILE);
+        int protobuf = encodedSize(new Jackson2ProtobufEncoder(this.schemaRegistry), BinaryMediaTypes.APPLICATION_PROTOBUF);
+        String sizes = "json=" + json + " cbor=" + cbor + " smile=" + smile + " protobuf=" + protobuf;
+        assertTrue(sizes, cbor < json);
+        assertTrue(sizes, smile < json);
+        assertTrue(sizes, protobuf < cbor);
+    }
+
+    private int encodedSize(Encoder<Object> encoder, MediaType mediaType) {
+
+        List<DataBuffer> buffers = encoder.encode(Mono.just(sample(1L)), this.bufferFactory, SAMPLE_TYPE, mediaType,
+                Collections.emptyMap()).collectList().block();
+        int size = 0;
+        for (DataBuffer buffer : buffers) {
+            size += buffer.readableByteCount();
+            DataBufferUtils.release(buffer);
+        }
+        return size;
+    }
+
+    private void assertRoundTrip(Encoder<Object> encoder, Decoder<Object> decoder, MediaType mediaType) {
+
+        Flux<DataBuffer> encoded = encoder.encode(Mono.just(sample(42L)), this.bufferFactory, SAMPLE_TYPE, mediaType,
+                Collections.emptyMap());
+        Object decoded = decoder.decodeToMono(encoded, SAMPLE_TYPE, mediaType, Collections.emptyMap()).block();
+        assertEquals(sample(42L), decoded);
+    }
+
+    private static Sample sample(Long id) {
+
+        Sample sample = new Sample();
+        sample.setId(id);
+        sample.setProvinceId(10L);
+        sample.setCityName("杭州");
+        sample.setDescription("浙江省省会，位于长江三角洲南翼");
+        return sample;
+    }
+
+    @Data
+    public static class Sample {
+
+        private Long id;
+
+        private Long provinceId;
+
+        private String cityName;
+
+        private String description;
+    }
+}
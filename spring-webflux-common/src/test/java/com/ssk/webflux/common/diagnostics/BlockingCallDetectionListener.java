@@ -0,0 +1,24 @@
+package com.ssk.webflux.common.diagnostics;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * surefire 的 JUnit 监听器，测试开始前以严格模式安装 BlockHound，
+ * Reactor 调度器和 Netty 事件循环线程上的阻塞调用会让对应的测试失败。
+ * 四个模块的 pom 都配置了这个监听器，可以用 -Dblockhound.enabled=false 临时关闭。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:40
+ */
+public class BlockingCallDetectionListener extends RunListener {
+
+    @Override
+    public void testRunStarted(Description description) {
+
+        if (Boolean.parseBoolean(System.getProperty("blockhound.enabled", "true"))) {
+            BlockingCallDetector.installStrict();
+        }
+    }
+}
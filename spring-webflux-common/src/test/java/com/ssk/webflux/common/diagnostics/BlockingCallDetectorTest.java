@@ -0,0 +1,77 @@
+package com.ssk.webflux.common.diagnostics;
+
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import org.junit.Assume;
+import org.junit.Test;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:50
+ */
+public class BlockingCallDetectorTest {
+
+    @Test
+    public void testBlockingOnParallelSchedulerFails() {
+
+        Assume.assumeTrue(BlockingCallDetector.isInstalled());
+        Mono<Integer> blocking = Mono.fromCallable(() -> {
+            Thread.sleep(1);
+            return 1;
+        }).subscribeOn(Schedulers.parallel());
+
+        StepVerifier.create(blocking)
+                .expectError(BlockingOperationError.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testBlockingOnEventLoopThreadFails() throws InterruptedException {
+
+        Assume.assumeTrue(BlockingCallDetector.isInstalled());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread eventLoop = new Thread(() -> {
+            try {
+                Thread.sleep(1);
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        }, ReactorNettyBlockHoundIntegration.EVENT_LOOP_THREAD_PREFIX + "nio-test");
+        eventLoop.start();
+        eventLoop.join();
+
+        assertTrue(String.valueOf(error.get()), error.get() instanceof BlockingOperationError);
+    }
+
+    @Test
+    public void testReporterSamplesPerMethod() {
+
+        BlockingDiagnosticsProperties properties = new BlockingDiagnosticsProperties();
+        properties.setSampleInterval(Duration.ofHours(1));
+        BlockingCallReporter reporter = new BlockingCallReporter(properties);
+        try {
+            for (int i = 0; i < 3; i++) {
+                reporter.onBlockingCall("java.lang.Thread.sleep");
+            }
+            reporter.onBlockingCall("java.io.FileInputStream.readBytes");
+
+            assertEquals(3, reporter.getCount("java.lang.Thread.sleep"));
+            PrometheusWriter writer = new PrometheusWriter();
+            reporter.collect(writer);
+            assertTrue(writer.toString().contains("blocking_calls_total{method=\"java.lang.Thread.sleep\"} 3\n"));
+            assertTrue(writer.toString().contains("blocking_call_reports_dropped_total 0\n"));
+        } finally {
+            reporter.destroy();
+        }
+    }
+}
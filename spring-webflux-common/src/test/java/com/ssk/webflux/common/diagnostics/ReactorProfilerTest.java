@@ -0,0 +1,94 @@
+package com.ssk.webflux.common.diagnostics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:00
+ */
+public class ReactorProfilerTest {
+
+    private ReactorProfiler profiler;
+
+    @Before
+    public void init() {
+
+        ReactorProfilerProperties properties = new ReactorProfilerProperties();
+        properties.setSampleRate(1);
+        this.profiler = new ReactorProfiler(properties);
+    }
+
+    @After
+    public void destroy() {
+
+        this.profiler.destroy();
+    }
+
+    @Test
+    public void testSelfTimeIsAttributedToTheSlowOperator() {
+
+        ProfiledRequest request = new ProfiledRequest();
+        String value = Mono.just("city")
+                .map(String::toUpperCase)
+                .filter(city -> {
+                    LockSupport.parkNanos(20_000_000);
+                    return true;
+                })
+                .switchIfEmpty(Mono.just("empty"))
+                .onErrorResume(e -> Mono.just("error"))
+                .subscriberContext(context -> context.put(ProfiledRequest.class, request))
+                .block();
+        assertEquals("CITY", value);
+        this.profiler.record("/city/{id}", request);
+
+        Map<String, OperatorStats> operators = this.profiler.snapshot().get("/city/{id}").getOperators();
+        OperatorStats filter = operators.get("source(MonoJust);map;filter");
+        OperatorStats map = operators.get("source(MonoJust);map");
+        assertNotNull(operators.keySet().toString(), filter);
+        assertEquals(1, map.getOnNext());
+        assertEquals(1, filter.getOnNext());
+        assertTrue(filter.getSelfNanos() >= 20_000_000);
+        assertTrue(map.getSelfNanos() < 20_000_000);
+        // filter 之后的 switchIfEmpty 等待了 filter 的处理时间
+        assertTrue(operators.get("source(MonoJust);map;filter;switchIfEmpty").getGapNanos() >= 20_000_000);
+
+        String folded = this.profiler.folded(ReactorProfiler.Metric.SELF);
+        assertTrue(folded, folded.contains("/city/{id};source(MonoJust);map;filter "));
+    }
+
+    @Test
+    public void testRequestPatternsAndUnsampledSubscriptions() {
+
+        ProfiledRequest request = new ProfiledRequest();
+        Flux.range(1, 10)
+                .limitRate(4)
+                .map(i -> i * 2)
+                .subscriberContext(context -> context.put(ProfiledRequest.class, request))
+                .blockLast();
+        Flux.range(1, 10).map(i -> i * 2).blockLast();
+        this.profiler.record("/numbers", request);
+
+        ReactorProfiler.Route route = this.profiler.snapshot().get("/numbers");
+        assertEquals(1, route.getRequests());
+        OperatorStats range = route.getOperators().get("source(FluxRange)");
+        assertNotNull(route.getOperators().keySet().toString(), range);
+        assertEquals(1, range.getSubscriptions());
+        assertEquals(10, range.getOnNext());
+        assertEquals(0, range.getUnboundedRequests());
+        assertTrue(range.getRequests() > 1);
+        // limitRate 以 publishOn 实现，对下游的不限量请求改为分批向上游请求
+        assertEquals(1, route.getOperators().get("source(FluxRange);publishOn;map").getUnboundedRequests());
+    }
+}
@@ -0,0 +1,54 @@
+package com.ssk.webflux.common.error;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:30
+ */
+public class PreRenderedErrorWebExceptionHandlerTest {
+
+    private static final StacklessException NOT_FOUND = new StacklessException(HttpStatus.NOT_FOUND, "Resource \"x\" not found");
+
+    private final PreRenderedErrorWebExceptionHandler handler = new PreRenderedErrorWebExceptionHandler();
+
+    @Test
+    public void testWritesPreRenderedBody() {
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/user/1"));
+        StepVerifier.create(this.handler.handle(exchange, NOT_FOUND)).verifyComplete();
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON_UTF8, exchange.getResponse().getHeaders().getContentType());
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("{\"status\":404,\"error\":\"Not Found\",\"message\":\"Resource \\\"x\\\" not found\"}")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testSharedInstanceHasNoStackTrace() {
+
+        assertEquals(0, NOT_FOUND.getStackTrace().length);
+        NOT_FOUND.addSuppressed(new IllegalStateException());
+        assertEquals(0, NOT_FOUND.getSuppressed().length);
+    }
+
+    @Test
+    public void testOtherExceptionsArePassedOn() {
+
+        IllegalStateException ex = new IllegalStateException();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/user/1"));
+        StepVerifier.create(this.handler.handle(exchange, ex))
+                .expectErrorSatisfies(error -> assertSame(ex, error))
+                .verify();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ssk.webflux.common.metrics;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:00
+ */
+public class EventLoopLagMonitorTest {
+
+    private final DefaultEventLoopGroup group = new DefaultEventLoopGroup(1);
+
+    private final EventLoopLagMonitor monitor = new EventLoopLagMonitor(Duration.ofMillis(10), () -> this.group);
+
+    @After
+    public void destroy() {
+
+        this.monitor.destroy();
+        this.group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testLagGrowsWhileLoopIsBlocked() throws InterruptedException {
+
+        this.monitor.start(this.group);
+        Thread.sleep(100);
+        assertTrue(String.valueOf(this.monitor.getMaxLagNanos()), this.monitor.getMaxLagNanos() < TimeUnit.MILLISECONDS.toNanos(50));
+
+        CountDownLatch release = new CountDownLatch(1);
+        this.group.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(150);
+        long first = this.monitor.getMaxLagNanos();
+        Thread.sleep(150);
+        long second = this.monitor.getMaxLagNanos();
+        assertTrue(first + " -> " + second, first >= TimeUnit.MILLISECONDS.toNanos(100) && second >= first + TimeUnit.MILLISECONDS.toNanos(100));
+        // 卡住期间只排队了一个探测任务
+        assertTrue(String.valueOf(this.monitor.getPendingTasks(0)), this.monitor.getPendingTasks(0) <= 1);
+
+        release.countDown();
+        Thread.sleep(100);
+        assertTrue(String.valueOf(this.monitor.getMaxLagNanos()), this.monitor.getMaxLagNanos() < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+}
@@ -0,0 +1,114 @@
+package com.ssk.webflux.common.metrics;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:40
+ */
+public class RouteMetricsWebFilterTest {
+
+    @Test
+    public void testRecordByPathPattern() {
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        MetricsRegistry registry = new MetricsRegistry(new MetricsProperties(), beanFactory.getBeanProvider(MetricsCollector.class));
+        WebTestClient client = WebTestClient.bindToController(new ItemController())
+                .webFilter(new RouteMetricsWebFilter(registry))
+                .build();
+
+        client.get().uri("/items/1").exchange().expectStatus().isOk();
+        client.get().uri("/items/2").exchange().expectStatus().isOk();
+        client.get().uri("/missing").exchange().expectStatus().isNotFound();
+
+        String scrape = registry.scrape();
+        assertTrue(scrape, scrape.contains("http_server_requests_seconds_count{method=\"GET\",route=\"/items/{id}\"} 2\n"));
+        assertTrue(scrape, scrape.contains("http_server_responses_total{method=\"GET\",route=\"/items/{id}\",status=\"2xx\"} 2\n"));
+        assertTrue(scrape, scrape.contains("http_server_responses_total{method=\"GET\",route=\"UNMATCHED\",status=\"4xx\"} 1\n"));
+        assertTrue(scrape, scrape.contains("http_server_requests_seconds{method=\"GET\",route=\"/items/{id}\",quantile=\"0.99\"}"));
+    }
+
+    @Test
+    public void testRecordFunctionalRouteByPathPattern() {
+
+        MetricsProperties properties = new MetricsProperties();
+        properties.setMaxRoutes(1);
+        MetricsRegistry registry = new MetricsRegistry(properties, new DefaultListableBeanFactory().getBeanProvider(MetricsCollector.class));
+        RouterFunction<ServerResponse> route = RouterFunctions.nest(RequestPredicates.path("/user"),
+                RouterFunctions.route(RequestPredicates.GET("/{id}"), request -> ServerResponse.ok().syncBody(request.pathVariable("id"))));
+        WebTestClient client = WebTestClient.bindToRouterFunction(route)
+                .webFilter(new RouteMetricsWebFilter(registry))
+                .build();
+
+        client.get().uri("/user/123").exchange().expectStatus().isOk();
+        client.get().uri("/user/124").exchange().expectStatus().isOk();
+
+        String scrape = registry.scrape();
+        assertTrue(scrape, scrape.contains("http_server_requests_seconds_count{method=\"GET\",route=\"/user/{id}\"} 2\n"));
+        assertFalse(scrape, scrape.contains(MetricsRegistry.OTHER_ROUTE));
+    }
+
+    @Test
+    public void testRoutesBeyondLimitGoToOther() {
+
+        MetricsProperties properties = new MetricsProperties();
+        properties.setMaxRoutes(1);
+        MetricsRegistry registry = new MetricsRegistry(properties, new DefaultListableBeanFactory().getBeanProvider(MetricsCollector.class));
+
+        registry.route(HttpMethod.GET, "/a").record(200, TimeUnit.MILLISECONDS.toNanos(5));
+        registry.route(HttpMethod.GET, "/b").record(500, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals("/a", registry.route(HttpMethod.GET, "/a").getRoute());
+        assertEquals(MetricsRegistry.OTHER_ROUTE, registry.route(HttpMethod.GET, "/c").getRoute());
+        assertEquals(1, registry.route(HttpMethod.GET, "/c").getCount(5));
+    }
+
+    @Test
+    public void testSchedulerQueueMetrics() {
+
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        Scheduler scheduler = Schedulers.newParallel("metrics-test", 1);
+        try {
+            scheduler.schedule(() -> {
+            });
+            Mono.delay(Duration.ofMillis(10), scheduler).block();
+            PrometheusWriter writer = new PrometheusWriter();
+            metrics.collect(writer);
+            assertTrue(writer.toString(), writer.toString().contains("reactor_scheduler_executors{scheduler=\"metrics-test\"} 1\n"));
+        } finally {
+            scheduler.dispose();
+            metrics.destroy();
+        }
+    }
+
+    @RestController
+    static class ItemController {
+
+        @GetMapping("/items/{id}")
+        public Mono<String> item(@PathVariable String id) {
+
+            return Mono.just(id);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ssk.webflux.common.netty;
+
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import io.netty.channel.epoll.Epoll;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:40
+ */
+public class NettyServerTuningCustomizerTest {
+
+    private NettyServerResources resources;
+
+    private DisposableServer server;
+
+    @After
+    public void destroy() {
+
+        if (this.server != null) {
+            this.server.disposeNow();
+        }
+        if (this.resources != null) {
+            this.resources.destroy();
+        }
+    }
+
+    @Test
+    public void testServerRunsOnConfiguredLoopsAndAllocator() {
+
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setTransport(NettyServerProperties.Transport.NIO);
+        properties.setWorkerThreads(2);
+        properties.getAllocator().setDirectArenas(3);
+        properties.getAllocator().setHeapArenas(1);
+
+        String thread = this.get(properties);
+        assertTrue(thread, thread.startsWith("reactor-http-server-nio-"));
+        assertEquals(2, StreamSupport.stream(this.resources.getServerLoops().spliterator(), false).count());
+
+        PrometheusWriter writer = new PrometheusWriter();
+        new ByteBufAllocatorMetrics(this.resources).collect(writer);
+        String scrape = writer.toString();
+        assertTrue(scrape, scrape.contains("netty_server_transport{transport=\"nio\"} 1\n"));
+        assertTrue(scrape, scrape.contains("netty_allocator_arena_active_bytes{type=\"direct\",arena=\"2\"}"));
+        assertTrue(scrape, !scrape.contains("netty_allocator_arena_active_bytes{type=\"direct\",arena=\"3\"}"));
+        assertTrue(scrape, scrape.contains("netty_allocator_arena_allocations_total{type=\"heap\",arena=\"0\",size=\"tiny\"}"));
+        assertTrue(scrape, !scrape.contains("netty_allocator_used_memory_bytes{type=\"direct\"} 0\n"));
+    }
+
+    @Test
+    public void testEpollTransport() {
+
+        Assume.assumeTrue(Epoll.isAvailable());
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setTransport(NettyServerProperties.Transport.EPOLL);
+        properties.getAllocator().setPooled(false);
+
+        String thread = this.get(properties);
+        assertTrue(thread, thread.startsWith("reactor-http-server-epoll-"));
+    }
+
+    @Test
+    public void testLeakDetectionOnlySetWhenConfigured() {
+
+        ResourceLeakDetector.Level original = ResourceLeakDetector.getLevel();
+        try {
+            ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+            new NettyServerResources(new NettyServerProperties()).destroy();
+            assertEquals(ResourceLeakDetector.Level.PARANOID, ResourceLeakDetector.getLevel());
+
+            NettyServerProperties properties = new NettyServerProperties();
+            properties.setLeakDetection(ResourceLeakDetector.Level.ADVANCED);
+            new NettyServerResources(properties).destroy();
+            assertEquals(ResourceLeakDetector.Level.ADVANCED, ResourceLeakDetector.getLevel());
+        } finally {
+            ResourceLeakDetector.setLevel(original);
+        }
+    }
+
+    /**
+     * 返回处理请求的线程名
+     */
+    private String get(NettyServerProperties properties) {
+
+        this.resources = new NettyServerResources(properties);
+        this.server = new NettyServerTuningCustomizer(this.resources, properties).apply(HttpServer.create().port(0))
+                .handle((request, response) -> response.sendString(Mono.fromCallable(() -> Thread.currentThread().getName())))
+                .bindNow();
+        return HttpClient.create().port(this.server.port()).get().uri("/")
+                .responseContent().aggregate().asString().block(Duration.ofSeconds(5));
+    }
+}
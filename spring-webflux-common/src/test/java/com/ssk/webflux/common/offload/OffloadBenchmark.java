@@ -0,0 +1,94 @@
+package com.ssk.webflux.common.offload;
+
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 比较三种执行方式在大量并发慢调用下的吞吐和内存，每种方式单独启动一个 JVM 运行：
+ * <pre>
+ * java -cp ... com.ssk.webflux.common.offload.OffloadBenchmark BOUNDED_ELASTIC 10000 50
+ * </pre>
+ * 参数依次为执行方式、并发调用数、每次调用阻塞的毫秒数，以及可选的 bounded-elastic 线程数上限。virtual-threads 需要用 JDK 21 运行；
+ * inline 会在订阅线程上串行执行，调用数应当取小一些。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:40
+ */
+public final class OffloadBenchmark {
+
+    private OffloadBenchmark() {
+
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        OffloadMode mode = OffloadMode.valueOf(args.length > 0 ? args[0] : OffloadMode.BOUNDED_ELASTIC.name());
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        long blockMillis = args.length > 2 ? Long.parseLong(args[2]) : 50;
+
+        OffloadProperties properties = new OffloadProperties();
+        properties.setMode(mode);
+        if (args.length > 3) {
+            properties.setThreadCap(Integer.parseInt(args[3]));
+        }
+        Offloader offloader = new Offloader(properties);
+        run(offloader, Math.min(operations, 100), blockMillis);
+        System.gc();
+        long baselineRss = residentKilobytes("VmRSS");
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        run(offloader, operations, blockMillis);
+        long elapsed = System.nanoTime() - start;
+
+        long heapPeak = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        System.out.printf("mode=%s jdk=%s operations=%d block=%dms elapsed=%dms throughput=%.0f ops/s "
+                        + "peakThreads=%d heapPeak=%dMB rssGrowth=%dMB%n",
+                offloader.getMode(), System.getProperty("java.specification.version"), operations, blockMillis,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), operations * 1e9 / elapsed,
+                ManagementFactory.getThreadMXBean().getPeakThreadCount(), heapPeak >> 20,
+                (residentKilobytes("VmHWM") - baselineRss) >> 10);
+        offloader.destroy();
+    }
+
+    private static void run(Offloader offloader, int operations, long blockMillis) {
+
+        Flux.range(0, operations)
+                .flatMap(i -> offloader.mono(() -> {
+                    try {
+                        Thread.sleep(blockMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return i;
+                }), operations)
+                .count()
+                .block();
+    }
+
+    /**
+     * Linux 下进程的常驻内存（KB），其他系统返回 0
+     */
+    private static long residentKilobytes(String field) throws IOException {
+
+        if (!Files.exists(Paths.get("/proc/self/status"))) {
+            return 0;
+        }
+        return Files.readAllLines(Paths.get("/proc/self/status")).stream()
+                .filter(line -> line.startsWith(field + ":"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("[^0-9]", "")))
+                .findFirst()
+                .orElse(0);
+    }
+}
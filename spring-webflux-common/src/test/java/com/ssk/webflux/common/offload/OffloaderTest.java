@@ -0,0 +1,91 @@
+package com.ssk.webflux.common.offload;
+
+import org.junit.Test;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:30
+ */
+public class OffloaderTest {
+
+    @Test
+    public void testInlineRunsOnCallerThread() {
+
+        Offloader offloader = new Offloader(new OffloadProperties());
+        String caller = Thread.currentThread().getName();
+
+        StepVerifier.create(offloader.mono(() -> Thread.currentThread().getName()))
+                .expectNext(caller)
+                .verifyComplete();
+        StepVerifier.create(offloader.mono(() -> null))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testBoundedElasticRunsOffCallerThread() {
+
+        OffloadProperties properties = new OffloadProperties();
+        properties.setMode(OffloadMode.BOUNDED_ELASTIC);
+        properties.setThreadCap(2);
+        Offloader offloader = new Offloader(properties);
+        try {
+            StepVerifier.create(offloader.mono(() -> Thread.currentThread().getName()))
+                    .assertNext(thread -> assertTrue(thread, thread.startsWith("offload-")))
+                    .verifyComplete();
+            StepVerifier.create(offloader.flux(() -> Arrays.asList(1, 2, 3)))
+                    .expectNext(1, 2, 3)
+                    .verifyComplete();
+        } finally {
+            offloader.destroy();
+        }
+    }
+
+    @Test
+    public void testIterateReadsEveryElementOffCallerThread() {
+
+        OffloadProperties properties = new OffloadProperties();
+        properties.setMode(OffloadMode.BOUNDED_ELASTIC);
+        properties.setThreadCap(2);
+        Offloader offloader = new Offloader(properties);
+        try {
+            List<String> threads = new CopyOnWriteArrayList<>();
+            Iterable<Integer> view = () -> IntStream.rangeClosed(1, 5).peek(i -> threads.add(Thread.currentThread().getName())).iterator();
+            StepVerifier.create(offloader.iterate(() -> view), 1)
+                    .expectNext(1)
+                    .thenRequest(1)
+                    .expectNext(2)
+                    .thenRequest(3)
+                    .expectNext(3, 4, 5)
+                    .verifyComplete();
+            assertEquals(5, threads.size());
+            assertTrue(threads.toString(), threads.stream().allMatch(thread -> thread.startsWith("offload-")));
+        } finally {
+            offloader.destroy();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsFallBackBeforeJdk21() {
+
+        OffloadProperties properties = new OffloadProperties();
+        properties.setMode(OffloadMode.VIRTUAL_THREADS);
+        Offloader offloader = new Offloader(properties);
+        try {
+            boolean virtualThreadsAvailable = Arrays.stream(Thread.class.getMethods())
+                    .anyMatch(method -> method.getName().equals("isVirtual"));
+            assertEquals(virtualThreadsAvailable ? OffloadMode.VIRTUAL_THREADS : OffloadMode.BOUNDED_ELASTIC, offloader.getMode());
+        } finally {
+            offloader.destroy();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ssk.webflux.common.overload;
+
+import com.ssk.webflux.common.metrics.EventLoopLagMonitor;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:00
+ */
+public class OverloadProtectionFilterTest {
+
+    @Test
+    public void testTokenBucketAllowsBurstThenRefills() {
+
+        StripedTokenBucket bucket = new StripedTokenBucket(10, 5, 16);
+        long now = TimeUnit.SECONDS.toNanos(100);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire("client", now));
+        }
+        long wait = bucket.tryAcquire("client", now);
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, bucket.tryAcquire("other", now));
+        assertEquals(0, bucket.tryAcquire("client", now + wait));
+    }
+
+    @Test
+    public void testRateLimitPerClient() {
+
+        OverloadProperties properties = new OverloadProperties();
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setPermitsPerSecond(1);
+        properties.getRateLimit().setBurst(2);
+        OverloadProtectionFilter filter = new OverloadProtectionFilter(properties, new EventLoopLagMonitor(null));
+
+        assertNull(filter(filter, "10.0.0.1").getResponse().getStatusCode());
+        assertNull(filter(filter, "10.0.0.1").getResponse().getStatusCode());
+        MockServerWebExchange rejected = filter(filter, "10.0.0.1");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNull(filter(filter, "10.0.0.2").getResponse().getStatusCode());
+        assertEquals(1, filter.getRateLimited());
+    }
+
+    @Test
+    public void testForwardedHeaderOnlyTrustedFromProxy() {
+
+        OverloadProperties properties = new OverloadProperties();
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setPermitsPerSecond(1);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setClientHeader("X-Forwarded-For");
+        properties.getRateLimit().getTrustedProxies().add("10.0.0.9");
+        OverloadProtectionFilter filter = new OverloadProtectionFilter(properties, new EventLoopLagMonitor(null));
+
+        // 不是可信代理的连接换一个请求头也还是同一个客户端
+        assertNull(filter(filter, "10.0.0.1", "1.1.1.1").getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, filter(filter, "10.0.0.1", "2.2.2.2").getResponse().getStatusCode());
+
+        // 经过可信代理时按请求头中最右边的不可信地址区分，客户端自己伪造的左侧地址不起作用
+        assertNull(filter(filter, "10.0.0.9", "9.9.9.9, 3.3.3.3").getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, filter(filter, "10.0.0.9", "8.8.8.8, 3.3.3.3, 10.0.0.9").getResponse().getStatusCode());
+        assertNull(filter(filter, "10.0.0.9", "4.4.4.4").getResponse().getStatusCode());
+        assertEquals(2, filter.getRateLimited());
+    }
+
+    @Test
+    public void testRateLimitDisabledByDefault() {
+
+        OverloadProtectionFilter filter = new OverloadProtectionFilter(new OverloadProperties(), new EventLoopLagMonitor(null));
+        for (int i = 0; i < 3000; i++) {
+            assertNull(filter(filter, "10.0.0.1").getResponse().getStatusCode());
+        }
+    }
+
+    @Test
+    public void testShedWhenTooManyInFlight() {
+
+        OverloadProperties properties = new OverloadProperties();
+        properties.getShedding().setMaxInFlight(1);
+        OverloadProtectionFilter filter = new OverloadProtectionFilter(properties, new EventLoopLagMonitor(null));
+
+        MonoProcessor<Void> pending = MonoProcessor.create();
+        MockServerWebExchange first = exchange("10.0.0.1");
+        filter.filter(first, exchange -> pending).subscribe();
+        assertEquals(1, filter.getInFlight());
+
+        MockServerWebExchange rejected = filter(filter, "10.0.0.2");
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        pending.onComplete();
+        assertEquals(0, filter.getInFlight());
+        assertNull(filter(filter, "10.0.0.2").getResponse().getStatusCode());
+        assertEquals(1, filter.getShed());
+    }
+
+    private static MockServerWebExchange filter(OverloadProtectionFilter filter, String client) {
+
+        MockServerWebExchange exchange = exchange(client);
+        filter.filter(exchange, e -> Mono.empty()).block();
+        return exchange;
+    }
+
+    private static MockServerWebExchange filter(OverloadProtectionFilter filter, String client, String forwardedFor) {
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/user")
+                .remoteAddress(new InetSocketAddress(client, 50000))
+                .header("X-Forwarded-For", forwardedFor));
+        filter.filter(exchange, e -> Mono.empty()).block();
+        return exchange;
+    }
+
+    private static MockServerWebExchange exchange(String client) {
+
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/user")
+                .remoteAddress(new InetSocketAddress(client, 50000)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.ssk.webflux.common.perf;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 路由的性能回归检查：预热后逐个发出请求，统计每个请求的平均分配字节数和 p50 / p99 延迟，超出记录的预算时测试失败。
+ * <p>
+ * 预算放在模块测试资源的 perf-budgets.properties 中，键为 "方法 路由" 加上 .allocated-bytes、.p50-micros、.p99-micros。
+ * 以 -Dperf.record=true 运行时不做检查，而是把测得的值加上余量写到 target/perf-budgets.properties，确认后复制到测试资源中。
+ * <p>
+ * 分配字节数用 ThreadMXBean 统计发起请求的线程：WebTestClient 绑定到应用上下文时整个处理链在该线程上同步执行
+ * （存储默认 inline 执行），切换到其他线程的部分不计入。统计包括 WebTestClient 自身构造请求和记录响应的开销，只用于前后比较。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:00
+ */
+public final class RoutePerformance {
+
+    public static final String BUDGETS = "perf-budgets.properties";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Properties budgets = new Properties();
+
+    private final Map<String, Measurement> recorded = new TreeMap<>();
+
+    private final boolean record = Boolean.getBoolean("perf.record");
+
+    private final int warmup = Integer.getInteger("perf.warmup", 300);
+
+    private final int iterations = Integer.getInteger("perf.iterations", 1000);
+
+    public RoutePerformance() {
+
+        try (InputStream input = RoutePerformance.class.getClassLoader().getResourceAsStream(BUDGETS)) {
+            if (input != null) {
+                this.budgets.load(input);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    public void check(String route, Runnable request) {
+
+        this.check(route, () -> {
+        }, request);
+    }
+
+    /**
+     * @param setup 每次请求前执行，不计入统计，用于恢复被请求修改的数据
+     */
+    public void check(String route, Runnable setup, Runnable request) {
+
+        Measurement measurement = this.measure(setup, request);
+        if (this.record) {
+            this.recorded.put(route, measurement);
+            return;
+        }
+        long allocatedBudget = this.budget(route, "allocated-bytes");
+        long p50Budget = this.budget(route, "p50-micros");
+        long p99Budget = this.budget(route, "p99-micros");
+        assertTrue(route + ": allocated " + measurement.allocatedBytes + " B/request, budget " + allocatedBudget,
+                measurement.allocatedBytes <= allocatedBudget);
+        assertTrue(route + ": p50 " + measurement.p50Micros + "us, budget " + p50Budget, measurement.p50Micros <= p50Budget);
+        assertTrue(route + ": p99 " + measurement.p99Micros + "us, budget " + p99Budget, measurement.p99Micros <= p99Budget);
+    }
+
+    private long budget(String route, String metric) {
+
+        String value = this.budgets.getProperty(route + "." + metric);
+        if (value == null) {
+            fail("no recorded budget " + route + "." + metric + " in " + BUDGETS + ", run the tests with -Dperf.record=true");
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    private Measurement measure(Runnable setup, Runnable request) {
+
+        for (int i = 0; i < this.warmup; i++) {
+            setup.run();
+            request.run();
+        }
+        long thread = Thread.currentThread().getId();
+        // 读取分配量本身也会分配少量对象，先测出来再扣除
+        long overhead = -THREADS.getThreadAllocatedBytes(thread) + THREADS.getThreadAllocatedBytes(thread);
+        Histogram latency = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+        long allocated = 0;
+        for (int i = 0; i < this.iterations; i++) {
+            setup.run();
+            long bytes = THREADS.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            request.run();
+            latency.recordValue(Math.min(System.nanoTime() - start, latency.getHighestTrackableValue()));
+            allocated += THREADS.getThreadAllocatedBytes(thread) - bytes - overhead;
+        }
+        return new Measurement(allocated / this.iterations,
+                TimeUnit.NANOSECONDS.toMicros(latency.getValueAtPercentile(50)),
+                TimeUnit.NANOSECONDS.toMicros(latency.getValueAtPercentile(99)));
+    }
+
+    /**
+     * 记录模式下把测得的值加上余量写到 target 目录；分配量比较稳定，延迟受机器负载影响大，余量也更大
+     */
+    public void writeRecorded() throws IOException {
+
+        if (!this.record || this.recorded.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get("target", BUDGETS);
+        Properties merged = new Properties();
+        merged.putAll(this.budgets);
+        if (Files.exists(file)) {
+            try (InputStream input = Files.newInputStream(file)) {
+                merged.load(input);
+            }
+        }
+        this.recorded.forEach((route, measurement) -> {
+            merged.setProperty(route + ".allocated-bytes", String.valueOf(roundUp(measurement.allocatedBytes * 3 / 2, 1024)));
+            merged.setProperty(route + ".p50-micros", String.valueOf(roundUp(Math.max(measurement.p50Micros * 4, 1000), 500)));
+            merged.setProperty(route + ".p99-micros", String.valueOf(roundUp(Math.max(measurement.p99Micros * 5, 5000), 1000)));
+        });
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            for (String key : new TreeSet<>(merged.stringPropertyNames())) {
+                writer.write(key.replace(" ", "\\ ") + "=" + merged.getProperty(key) + "\n");
+            }
+        }
+        this.recorded.forEach((route, measurement) -> System.out.printf("%-28s %8d B/request  p50 %6dus  p99 %6dus%n",
+                route, measurement.allocatedBytes, measurement.p50Micros, measurement.p99Micros));
+    }
+
+    private static long roundUp(long value, long step) {
+
+        return (value + step - 1) / step * step;
+    }
+
+    private static final class Measurement {
+
+        private final long allocatedBytes;
+
+        private final long p50Micros;
+
+        private final long p99Micros;
+
+        Measurement(long allocatedBytes, long p50Micros, long p99Micros) {
+
+            this.allocatedBytes = allocatedBytes;
+            this.p50Micros = p50Micros;
+            this.p99Micros = p99Micros;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ssk.webflux.common.reactive;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.Signal;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:20
+ */
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    /**
+     * 后端还没有返回时，同一个 key 的所有调用共享同一次加载
+     */
+    @Test
+    public void testConcurrentCallsAreCoalesced() {
+
+        MonoProcessor<String> backend = MonoProcessor.create();
+        Mono<List<String>> results = Flux.range(0, 10)
+                .flatMap(i -> this.singleFlight.execute("a", () -> this.load(backend)))
+                .collectList();
+
+        StepVerifier.create(results)
+                .then(() -> {
+                    assertEquals(1, this.singleFlight.getInFlight());
+                    backend.onNext("value");
+                })
+                .assertNext(values -> assertEquals(10, values.size()))
+                .verifyComplete();
+        assertEquals(1, this.loads.get());
+        assertEquals(10, this.singleFlight.getCalls());
+        assertEquals(9, this.singleFlight.getCoalesced());
+        assertEquals(0, this.singleFlight.getInFlight());
+    }
+
+    /**
+     * 不同的 key 互不影响，执行结束之后的调用会重新加载
+     */
+    @Test
+    public void testCompletedCallsAreNotCached() {
+
+        StepVerifier.create(this.singleFlight.execute("a", () -> this.load(Mono.just("1")))).expectNext("1").verifyComplete();
+        StepVerifier.create(this.singleFlight.execute("a", () -> this.load(Mono.just("2")))).expectNext("2").verifyComplete();
+        StepVerifier.create(this.singleFlight.execute("b", () -> this.load(Mono.empty()))).verifyComplete();
+        assertEquals(3, this.loads.get());
+        assertEquals(0, this.singleFlight.getCoalesced());
+    }
+
+    @Test
+    public void testErrorIsSharedThenCleared() {
+
+        MonoProcessor<String> backend = MonoProcessor.create();
+        Mono<String> first = this.singleFlight.execute("a", () -> this.load(backend));
+        Mono<String> second = this.singleFlight.execute("a", () -> this.load(backend));
+
+        StepVerifier.create(Flux.merge(first.materialize(), second.materialize()).filter(Signal::isOnError).count())
+                .then(() -> backend.onError(new IllegalStateException()))
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(this.singleFlight.execute("a", () -> this.load(Mono.just("ok")))).expectNext("ok").verifyComplete();
+        assertEquals(2, this.loads.get());
+    }
+
+    private Mono<String> load(Mono<String> source) {
+
+        this.loads.incrementAndGet();
+        return source;
+    }
+}
@@ -0,0 +1,163 @@
+package com.ssk.webflux.common.rsocket;
+
+import com.ssk.webflux.common.codec.BinaryMediaTypes;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.RSocketFactory;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.transport.netty.client.TcpClientTransport;
+import io.rsocket.util.DefaultPayload;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:00
+ */
+public class RSocketServerTest {
+
+    private final Map<Long, String> store = new ConcurrentHashMap<>();
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final List<Long> upserted = new CopyOnWriteArrayList<>();
+
+    private RSocketServer server;
+
+    private RSocket client;
+
+    @Before
+    public void start() {
+
+        for (long i = 1; i <= 1000; i++) {
+            this.store.put(i, "city-" + i);
+        }
+        RSocketRoutes routes = new RSocketRoutes()
+                .requestResponse("city.get", Long.class, id -> Mono.justOrEmpty(this.store.get(id))
+                        .switchIfEmpty(Mono.error(new IllegalArgumentException("city " + id + " not found"))))
+                .requestStream("city.list", Void.class, ignored -> Flux.range(1, this.store.size())
+                        .doOnRequest(n -> this.requested.addAndGet(n))
+                        .map(id -> this.store.get((long) id)))
+                .requestChannel("city.upsert", String.class, names -> names
+                        .concatMap(name -> Mono.fromCallable(() -> {
+                            long id = this.store.size() + 1L;
+                            this.store.put(id, name);
+                            this.upserted.add(id);
+                            return id;
+                        })));
+        RSocketProperties properties = new RSocketProperties();
+        properties.setPort(0);
+        this.server = new RSocketServer(properties, Collections.singletonList(routes), null);
+        this.server.start();
+    }
+
+    @After
+    public void stop() {
+
+        if (this.client != null) {
+            this.client.dispose();
+        }
+        this.server.stop();
+    }
+
+    @Test
+    public void testRequestResponse() {
+
+        this.connect(MediaType.APPLICATION_JSON_VALUE);
+        assertEquals("\"city-7\"", this.client.requestResponse(payload("city.get", "7"))
+                .map(Payload::getDataUtf8).block(Duration.ofSeconds(5)));
+
+        StepVerifier.create(this.client.requestResponse(payload("city.get", "0")))
+                .expectErrorMatches(ex -> ex instanceof ApplicationErrorException && ex.getMessage().contains("not found"))
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(this.client.requestResponse(payload("city.missing", "1")))
+                .expectErrorMessage("No route 'city.missing'")
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(this.client.requestStream(payload("city.get", "1")))
+                .expectErrorMessage("Route 'city.get' only supports request-response")
+                .verify(Duration.ofSeconds(5));
+
+        PrometheusWriter writer = new PrometheusWriter();
+        this.server.collect(writer);
+        String scrape = writer.toString();
+        assertTrue(scrape, scrape.contains("rsocket_connections 1\n"));
+        assertTrue(scrape, scrape.contains("rsocket_requests_total{route=\"city.get\",interaction=\"request-response\"} 2\n"));
+        assertTrue(scrape, scrape.contains("rsocket_request_errors_total{route=\"city.get\",interaction=\"request-response\"} 1\n"));
+    }
+
+    @Test
+    public void testStreamDemandReachesStore() {
+
+        this.connect(MediaType.APPLICATION_JSON_VALUE);
+        StepVerifier.create(this.client.requestStream(DefaultPayload.create("", "city.list")).map(Payload::getDataUtf8), 3)
+                .expectNext("\"city-1\"", "\"city-2\"", "\"city-3\"")
+                .thenAwait(Duration.ofMillis(200))
+                .then(() -> assertEquals(3, this.requested.get()))
+                .thenRequest(2)
+                .expectNext("\"city-4\"", "\"city-5\"")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(5, this.requested.get());
+    }
+
+    @Test
+    public void testChannelWithCbor() {
+
+        RSocketPayloadCodec codec = RSocketPayloadCodec.forMimeType(BinaryMediaTypes.APPLICATION_CBOR_VALUE);
+        this.connect(BinaryMediaTypes.APPLICATION_CBOR_VALUE);
+        Flux<Payload> names = Flux.just("a", "b", "c").map(name -> codec.encode("city.upsert", name));
+        List<Long> ids = this.client.requestChannel(names)
+                .map(payload -> codec.decode(payload.sliceData(), Long.class))
+                .collectList().block(Duration.ofSeconds(5));
+        assertEquals(Arrays.asList(1001L, 1002L, 1003L), ids);
+        assertEquals(ids, this.upserted);
+        assertEquals("c", this.store.get(1003L));
+    }
+
+    @Test
+    public void testUnsupportedMimeTypeIsRejected() {
+
+        RSocket rejected = RSocketFactory.connect().dataMimeType("text/plain")
+                .transport(TcpClientTransport.create(this.server.getPort())).start().block(Duration.ofSeconds(5));
+        // 0.12 的客户端在 SETUP 被拒绝后只看到连接关闭
+        StepVerifier.create(rejected.requestResponse(payload("city.get", "1")))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+        PrometheusWriter writer = new PrometheusWriter();
+        this.server.collect(writer);
+        assertTrue(writer.toString(), writer.toString().contains("rsocket_connections 0\n"));
+        assertEquals(Arrays.asList("city.get", "city.list", "city.upsert"),
+                this.server.getRoutes().stream().map(RSocketRoutes.Route::getName).collect(Collectors.toList()));
+    }
+
+    private void connect(String mimeType) {
+
+        this.client = RSocketFactory.connect().dataMimeType(mimeType)
+                .transport(TcpClientTransport.create(this.server.getPort())).start().block(Duration.ofSeconds(5));
+    }
+
+    private static Payload payload(String route, String data) {
+
+        return DefaultPayload.create(data, route);
+    }
+}
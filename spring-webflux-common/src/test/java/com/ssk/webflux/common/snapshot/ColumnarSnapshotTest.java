@@ -0,0 +1,192 @@
+package com.ssk.webflux.common.snapshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:50
+ */
+public class ColumnarSnapshotTest {
+
+    private static final SnapshotSchema<Row> SCHEMA = SnapshotSchema.builder(Row::new)
+            .longColumn("id", row -> row.id, (row, value) -> row.id = value)
+            .longColumn("group", row -> row.group, (row, value) -> row.group = value)
+            .stringColumn("key", row -> row.key, (row, value) -> row.key = value)
+            .stringColumn("name", row -> row.name, (row, value) -> row.name = value)
+            .orderBy((a, b) -> Long.compare(a.id, b.id))
+            .build();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Row row(long id) {
+
+        Row row = new Row();
+        row.id = id;
+        row.group = id % 7 == 0 ? null : id % 5 - 2;
+        row.key = Long.toString(id * 3);
+        row.name = id % 11 == 0 ? null : "城市-" + id % 50;
+        return row;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+
+        List<Row> rows = new ArrayList<>();
+        for (long id = 100_000; id > 0; id--) {
+            rows.add(row(id));
+        }
+        Path file = this.folder.getRoot().toPath().resolve("rows.snap");
+        long bytes = ColumnarSnapshot.write(file, SCHEMA, new ArrayList<>(rows), 4096);
+        assertEquals(Files.size(file), bytes);
+        // id、group、key 的差值和 name 的字典编号每行各约 1 个字节
+        assertTrue(String.valueOf(bytes), bytes < rows.size() * 6);
+
+        Map<Long, Row> restored = new ConcurrentHashMap<>();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        long count = ColumnarSnapshot.read(file, SCHEMA, block -> {
+            threads.add(Thread.currentThread());
+            block.forEach(row -> restored.put(row.id, row));
+        }).block(Duration.ofSeconds(30));
+
+        assertEquals(rows.size(), count);
+        assertEquals(rows.size(), restored.size());
+        for (Row row : rows) {
+            assertEquals(row, restored.get(row.id));
+        }
+        assertNull(restored.get(7L).group);
+        assertNull(restored.get(11L).name);
+        // 同一块中相同的字符串解码为同一个对象
+        assertSame(restored.get(1L).name, restored.get(51L).name);
+        assertTrue(threads.stream().allMatch(thread -> thread.getName().startsWith("parallel-")));
+    }
+
+    @Test
+    public void testServiceExportAndImport() {
+
+        Map<Long, Row> data = new ConcurrentHashMap<>();
+        for (long id = 1; id <= 1000; id++) {
+            data.put(id, row(id));
+        }
+        Map<Long, Row> target = new ConcurrentHashMap<>();
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setDirectory(this.folder.getRoot().toString());
+        properties.setBlockRows(100);
+        SnapshotService exporter = new SnapshotService(properties, Collections.singletonList(
+                new SnapshotStore<>("rows", SCHEMA, data::values, rows -> fail("exporter must not import"))));
+        SnapshotService importer = new SnapshotService(properties, Collections.singletonList(
+                new SnapshotStore<>("rows", SCHEMA, target::values, rows -> rows.forEach(row -> target.put(row.id, row)))));
+
+        assertNull(importer.load("rows").block());
+        assertNull(exporter.export("missing").block());
+        SnapshotResult exported = exporter.export("rows").block();
+        assertEquals(1000, exported.getRows());
+        SnapshotResult imported = importer.load("rows").block();
+        assertEquals(1000, imported.getRows());
+        assertEquals(exported.getBytes(), imported.getBytes());
+        assertEquals(data, target);
+    }
+
+    @Test
+    public void testConcurrentExportsDoNotShareTemporaryFile() throws Exception {
+
+        Path file = this.folder.getRoot().toPath().resolve("rows.snap");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> exports = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int size = 20_000 + i * 1000;
+                exports.add(executor.submit(() -> {
+                    List<Row> rows = new ArrayList<>();
+                    for (long id = 1; id <= size; id++) {
+                        rows.add(row(id));
+                    }
+                    return ColumnarSnapshot.write(file, SCHEMA, rows, 1024);
+                }));
+            }
+            for (Future<Long> export : exports) {
+                export.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 最后完成的一次导出完整生效，没有残留的临时文件
+        long count = ColumnarSnapshot.read(file, SCHEMA, rows -> {
+        }).block(Duration.ofSeconds(30));
+        assertTrue(String.valueOf(count), count >= 20_000 && count % 1000 == 0);
+        try (Stream<Path> files = Files.list(this.folder.getRoot().toPath())) {
+            assertEquals(Collections.singletonList(file), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testColumnMismatch() throws Exception {
+
+        Path file = this.folder.getRoot().toPath().resolve("rows.snap");
+        ColumnarSnapshot.write(file, SCHEMA, new ArrayList<>(Collections.singletonList(row(1))), 10);
+        SnapshotSchema<Row> other = SnapshotSchema.builder(Row::new)
+                .longColumn("id", row -> row.id, (row, value) -> row.id = value)
+                .build();
+        try {
+            ColumnarSnapshot.read(file, other, rows -> {
+            }).block();
+            fail();
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("expected [id:1]"));
+        }
+    }
+
+    private static final class Row {
+
+        private Long id;
+
+        private Long group;
+
+        private String key;
+
+        private String name;
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (!(o instanceof Row)) {
+                return false;
+            }
+            Row row = (Row) o;
+            return Objects.equals(this.id, row.id) && Objects.equals(this.group, row.group)
+                    && Objects.equals(this.key, row.key) && Objects.equals(this.name, row.name);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(this.id, this.group, this.key, this.name);
+        }
+    }
+}
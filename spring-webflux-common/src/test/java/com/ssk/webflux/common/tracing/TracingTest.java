@@ -0,0 +1,214 @@
+package com.ssk.webflux.common.tracing;
+
+import com.ssk.webflux.common.client.WebClientFactory;
+import com.ssk.webflux.common.client.WebClientProperties;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 6:00
+ */
+public class TracingTest {
+
+    private DisposableServer server;
+
+    private WebClientFactory factory;
+
+    @After
+    public void destroy() {
+
+        if (this.factory != null) {
+            this.factory.destroy();
+        }
+        if (this.server != null) {
+            this.server.disposeNow();
+        }
+    }
+
+    @Test
+    public void testSpansFollowTheSubscriptionAcrossThreads() {
+
+        Tracer tracer = tracer(1, 16);
+        Mono<String> store = Tracing.mono("store", Mono.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(Schedulers.elastic()));
+        Mono<String> service = Tracing.mono("service", store.flatMap(thread -> Tracing.mono("encode", Mono.just(thread))));
+        String thread = service.subscriberContext(context -> context.put(TraceContext.class, tracer.startTrace()))
+                .block(Duration.ofSeconds(5));
+
+        assertTrue(thread, thread.startsWith("elastic-"));
+        Map<String, Span> spans = byName(tracer.getSpans().snapshot());
+        assertEquals(3, spans.size());
+        assertNull(spans.get("service").getParentId());
+        assertEquals(spans.get("service").getSpanId(), spans.get("store").getParentId());
+        assertEquals(spans.get("service").getSpanId(), spans.get("encode").getParentId());
+        assertEquals(1, spans.values().stream().map(Span::getTraceId).distinct().count());
+
+        // 没有 TraceContext 时不包装订阅者，也不记录 span
+        assertEquals("x", Tracing.mono("unsampled", Mono.just("x")).block());
+        assertEquals(3, tracer.getSpans().getWritten());
+
+        Tracing.mono("failing", Mono.error(new IllegalStateException("boom")))
+                .subscriberContext(context -> context.put(TraceContext.class, tracer.startTrace()))
+                .onErrorResume(ex -> Mono.empty())
+                .block();
+        assertEquals("IllegalStateException: boom", tracer.getSpans().since(3).get(0).getError());
+        assertFalse(tracer.getSpans().since(3).get(0).isCancelled());
+    }
+
+    @Test
+    public void testCancelledSpanIsMarked() {
+
+        Tracer tracer = tracer(1, 16);
+        Flux.interval(Duration.ofMillis(1))
+                .transform(source -> Tracing.flux("ticks", source))
+                .take(3)
+                .subscriberContext(context -> context.put(TraceContext.class, tracer.startTrace()))
+                .blockLast(Duration.ofSeconds(5));
+
+        Span span = tracer.getSpans().snapshot().get(0);
+        assertEquals("ticks", span.getName());
+        assertTrue(span.isCancelled());
+        assertNull(span.getError());
+        assertTrue(span.toString(), span.toString().endsWith(" cancelled"));
+    }
+
+    @Test
+    public void testRingBufferKeepsTheNewestSpans() throws Exception {
+
+        Tracer tracer = tracer(1, 4);
+        Path file = Files.createTempFile("spans", ".jsonl");
+        SpanFileExporter exporter = new SpanFileExporter(tracer, file);
+        this.record(tracer, 2);
+        assertEquals(2, exporter.export());
+        this.record(tracer, 6);
+
+        List<Span> spans = tracer.getSpans().snapshot();
+        assertEquals(4, spans.size());
+        assertEquals(4, spans.get(0).getSequence());
+        assertEquals(7, spans.get(3).getSequence());
+        assertEquals(4, exporter.export());
+        assertEquals(0, exporter.export());
+        assertEquals(6, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+        assertTrue(Files.readAllLines(file).get(0).contains("\"name\":\"span-0\""));
+        Files.delete(file);
+    }
+
+    @Test
+    public void testTraceparentIsPropagatedFromWebClient() throws Exception {
+
+        Tracer serverTracer = tracer(1, 64);
+        this.server = HttpServer.create().port(0)
+                .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder
+                        .webHandler(exchange -> Tracing.mono("store", Mono.just("ok").delayElement(Duration.ofMillis(10)))
+                                .flatMap(body -> exchange.getResponse().writeWith(Mono.just(
+                                        exchange.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))))))
+                        .filter(new TracingWebFilter(serverTracer))
+                        .build()))
+                .bindNow();
+        Tracer clientTracer = tracer(1, 64);
+        this.factory = new WebClientFactory(new WebClientProperties(), clientTracer);
+        ResponseEntity<String> response = this.factory.create("http://localhost:" + this.server.port())
+                .get().uri("/hello").exchange().flatMap(reply -> reply.toEntity(String.class)).block(Duration.ofSeconds(5));
+
+        Span client = clientTracer.getSpans().snapshot().get(0);
+        assertEquals("http.client GET localhost:" + this.server.port() + "/hello", client.getName());
+        assertNull(client.getParentId());
+        assertEquals(client.getTraceId(), response.getHeaders().getFirst(TracingWebFilter.TRACE_ID_HEADER));
+        Map<String, Span> spans = byName(this.await(serverTracer, 3));
+        Span request = spans.get("http.server GET /hello");
+        assertEquals(client.getSpanId(), request.getParentId());
+        assertEquals(client.getTraceId(), request.getTraceId());
+        assertEquals(request.getSpanId(), spans.get("store").getParentId());
+        assertEquals(request.getSpanId(), spans.get("http.server.write").getParentId());
+        assertTrue(spans.get("store").getDurationMicros() >= 10_000);
+        assertTrue(spans.values().stream().allMatch(span -> span.getError() == null));
+
+        // 客户端决定不采样时服务端也不采样
+        WebClientFactory unsampled = new WebClientFactory(new WebClientProperties(), tracer(0, 4));
+        try {
+            assertEquals("ok", unsampled.create("http://localhost:" + this.server.port())
+                    .get().uri("/hello").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5)));
+        } finally {
+            unsampled.destroy();
+        }
+        Thread.sleep(200);
+        assertEquals(3, serverTracer.getSpans().getWritten());
+    }
+
+    @Test
+    public void testContinueTrace() {
+
+        Tracer tracer = tracer(0, 4);
+        TraceContext context = tracer.continueTrace("00-0000000000000000000000000000abcd-00000000000000ef-01");
+        assertEquals("0000000000000000000000000000abcd", context.getTraceId());
+        assertEquals(0xef, context.getSpanId());
+        assertSame(tracer, context.getTracer());
+        assertEquals("00-0000000000000000000000000000abcd-00000000000000ef-01", context.traceparent());
+
+        // 高 64 位原样保留，低 64 位为 0 也是合法的 trace id
+        TraceContext wide = tracer.continueTrace("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", wide.getTraceId());
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", wide.traceparent());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", wide.child().getTraceId());
+        TraceContext lowZero = tracer.continueTrace("00-4bf92f3577b34da60000000000000000-00f067aa0ba902b7-01");
+        assertEquals("4bf92f3577b34da60000000000000000", lowZero.getTraceId());
+        assertNull(tracer.continueTrace("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(tracer.continueTrace("00-0000000000000000000000000000abcd-00000000000000ef-00"));
+        assertNull(tracer.continueTrace("garbage"));
+        assertNull(tracer.continueTrace(null));
+    }
+
+    private void record(Tracer tracer, int count) {
+
+        Flux.range(0, count)
+                .concatMap(i -> Tracing.mono("span-" + tracer.getSpans().getWritten(), Mono.just(i))
+                        .subscriberContext(context -> context.put(TraceContext.class, tracer.startTrace())))
+                .blockLast();
+    }
+
+    private List<Span> await(Tracer tracer, int count) throws InterruptedException {
+
+        for (int i = 0; i < 50 && tracer.getSpans().getWritten() < count; i++) {
+            Thread.sleep(20);
+        }
+        return tracer.getSpans().snapshot();
+    }
+
+    private static Map<String, Span> byName(List<Span> spans) {
+
+        return spans.stream().collect(Collectors.toMap(Span::getName, Function.identity()));
+    }
+
+    private static Tracer tracer(double sampleRate, int bufferSize) {
+
+        TracingProperties properties = new TracingProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setBufferSize(bufferSize);
+        return new Tracer(properties);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.common.rsocket.RSocketRoutes;
+import com.ssk.webflux.domain.City;
+import com.ssk.webflux.handler.CityHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 城市的 RSocket 路由，监听端口见 webflux.rsocket.port。
+ * city.upsert 中没有 id 的城市新建，有 id 的更新，用 concatMap 逐个保存并按输入顺序返回 id
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:40
+ */
+@Configuration
+public class CityRSocketConfiguration {
+
+    @Bean
+    public RSocketRoutes cityRSocketRoutes(CityHandler cityHandler) {
+
+        return new RSocketRoutes()
+                .requestResponse("city.get", Long.class, cityHandler::findCityById)
+                .requestStream("city.list", Void.class, ignored -> cityHandler.findAllCity())
+                .requestStream("city.province", Long.class, cityHandler::findCitiesByProvinceId)
+                .requestChannel("city.upsert", City.class, cities -> cities
+                        .concatMap(city -> city.getId() == null ? cityHandler.save(city) : cityHandler.modifyCity(city)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.common.snapshot.SnapshotSchema;
+import com.ssk.webflux.common.snapshot.SnapshotStore;
+import com.ssk.webflux.dao.CityRepository;
+import com.ssk.webflux.domain.City;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Comparator;
+
+/**
+ * 城市数据的快照，POST /admin/snapshot/city/export 导出到 snapshots/city.snap，POST /admin/snapshot/city/import 导入（需要 webflux.snapshot.admin-enabled=true）
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:40
+ */
+@Configuration
+public class CitySnapshotConfiguration {
+
+    @Bean
+    public SnapshotStore<City> citySnapshotStore(CityRepository cityRepository) {
+
+        SnapshotSchema<City> schema = SnapshotSchema.builder(City::new)
+                .longColumn("id", City::getId, City::setId)
+                .longColumn("provinceId", City::getProvinceId, City::setProvinceId)
+                .stringColumn("cityName", City::getCityName, City::setCityName)
+                .stringColumn("description", City::getDescription, City::setDescription)
+                .orderBy(Comparator.comparing(City::getId))
+                .build();
+        return new SnapshotStore<>("city", schema, cityRepository::findAll, cityRepository::restore);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.common.codec.ProtobufSchemaRegistry;
+import com.ssk.webflux.domain.City;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登记 City 的 Protobuf schema。/city 接口根据 Accept / Content-Type 在
+ * application/json、application/cbor、application/x-jackson-smile 和 application/x-protobuf 之间协商
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:08
+ */
+@Configuration
+public class CodecConfiguration {
+
+    @Bean
+    public ProtobufSchemaRegistry protobufSchemaRegistry() {
+
+        return new ProtobufSchemaRegistry().register(City.class, "proto/city.proto", "City");
+    }
+}
@@ -1,15 +1,31 @@
 package com.ssk.webflux.dao;
 
 import com.ssk.webflux.domain.City;
+import com.ssk.webflux.query.KeyRange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
+ * 城市按 id 有序存放，另外在 provinceId 和 cityName 上维护有序的二级索引，值为 null 的字段不进索引。
+ * 二级索引在主存储写入之后更新，并发写同一个 id 时索引里可能短暂残留旧值，按索引扫描的调用方需要重新检查条件
+ *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
  * @date 2019-05-17-上午 9:23
@@ -17,7 +33,18 @@ import java.util.concurrent.atomic.AtomicLong;
 @Repository
 public class CityRepository {
 
-    private ConcurrentHashMap<Long, City> repository = new ConcurrentHashMap<>();
+    private ConcurrentSkipListMap<Long, City> repository = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentSkipListSet<IndexEntry> provinceIndex = new ConcurrentSkipListSet<>();
+
+    private final ConcurrentSkipListSet<IndexEntry> nameIndex = new ConcurrentSkipListSet<>();
+
+    /**
+     * 每个省份的城市数，供查询计划估算代价；ConcurrentSkipListMap 的 size() 需要遍历，总数也单独计数
+     */
+    private final ConcurrentHashMap<Long, Long> provinceCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong count = new AtomicLong();
 
     private static final AtomicLong idGenerator = new AtomicLong();
 
@@ -27,7 +54,7 @@ public class CityRepository {
 
         Long id = idGenerator.incrementAndGet();
         city.setId(id);
-        this.repository.put(id, city);
+        this.put(city);
         this.logger.info("根据【{}】保存数据", city);
         return id;
     }
@@ -38,6 +65,16 @@ public class CityRepository {
         return this.repository.values();
     }
 
+    /**
+     * 返回按需读取 provinceId 索引的视图，调用方每取一个元素才向后查找下一个城市
+     */
+    public Iterable<City> findCitiesByProvinceId(Long provinceId) {
+
+        return () -> this.cities(this.provinceIndex.subSet(IndexEntry.lowest(provinceId), true, IndexEntry.highest(provinceId), true))
+                .filter(city -> provinceId.equals(city.getProvinceId()))
+                .iterator();
+    }
+
     public City findCityById(Long id) {
 
         return this.repository.get(id);
@@ -45,13 +82,243 @@ public class CityRepository {
 
     public Long updateCity(City city) {
 
-        this.repository.put(city.getId(), city);
+        this.put(city);
         return city.getId();
     }
 
     public Long deleteCity(Long id) {
 
-        this.repository.remove(id);
+        this.index(this.repository.remove(id), null);
         return id;
     }
+
+    /**
+     * 快照导入时按 id 覆盖写入一批城市，可以在多个线程上并发调用；id 生成器推进到导入的最大 id 之后，新建的城市不会覆盖导入的城市
+     */
+    public void restore(List<City> cities) {
+
+        long maxId = 0;
+        for (City city : cities) {
+            this.put(city);
+            maxId = Math.max(maxId, city.getId());
+        }
+        idGenerator.accumulateAndGet(maxId, Math::max);
+    }
+
+    public long count() {
+
+        return this.count.get();
+    }
+
+    /**
+     * 最小的 id，没有城市时返回 null
+     */
+    public Long firstId() {
+
+        Map.Entry<Long, City> entry = this.repository.firstEntry();
+        return entry == null ? null : entry.getKey();
+    }
+
+    public Long lastId() {
+
+        Map.Entry<Long, City> entry = this.repository.lastEntry();
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * provinceId 落在范围内的城市数
+     */
+    public long countByProvinceId(KeyRange range) {
+
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : this.provinceCounts.entrySet()) {
+            if (range.contains(cast(entry.getKey()))) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * cityName 落在范围内的城市数，数到 limit 为止
+     */
+    public long countByCityName(KeyRange range, long limit) {
+
+        long total = 0;
+        for (Iterator<IndexEntry> iterator = this.slice(this.nameIndex, range, false).iterator();
+             total < limit && iterator.hasNext(); iterator.next()) {
+            total++;
+        }
+        return total;
+    }
+
+    /**
+     * 按 id 顺序扫描范围内的城市，返回按需读取的视图
+     */
+    public Iterable<City> scanById(KeyRange range, boolean descending) {
+
+        NavigableMap<Long, City> map = this.repository;
+        if (range.getLower() != null) {
+            map = map.tailMap((Long) (Object) range.getLower(), range.isLowerInclusive());
+        }
+        if (range.getUpper() != null) {
+            map = map.headMap((Long) (Object) range.getUpper(), range.isUpperInclusive());
+        }
+        NavigableMap<Long, City> view = descending ? map.descendingMap() : map;
+        return () -> view.values().iterator();
+    }
+
+    /**
+     * 按 provinceId、id 的顺序扫描 provinceId 落在范围内的城市，descending 时只有 provinceId 降序，相同 provinceId 的城市仍按 id 升序
+     */
+    public Iterable<City> scanByProvinceId(KeyRange range, boolean descending) {
+
+        return () -> this.cities(this.slice(this.provinceIndex, range, descending)).iterator();
+    }
+
+    /**
+     * 按 cityName、id 的顺序扫描 cityName 落在范围内的城市，descending 时只有 cityName 降序，相同 cityName 的城市仍按 id 升序
+     */
+    public Iterable<City> scanByCityName(KeyRange range, boolean descending) {
+
+        return () -> this.cities(this.slice(this.nameIndex, range, descending)).iterator();
+    }
+
+    private Iterable<IndexEntry> slice(NavigableSet<IndexEntry> index, KeyRange range, boolean descending) {
+
+        NavigableSet<IndexEntry> set = index;
+        if (range.getLower() != null) {
+            set = set.tailSet(range.isLowerInclusive() ? IndexEntry.lowest(range.getLower()) : IndexEntry.highest(range.getLower()), true);
+        }
+        if (range.getUpper() != null) {
+            set = set.headSet(range.isUpperInclusive() ? IndexEntry.highest(range.getUpper()) : IndexEntry.lowest(range.getUpper()), true);
+        }
+        NavigableSet<IndexEntry> slice = set;
+        return descending ? () -> new KeyDescendingIterator(slice) : slice;
+    }
+
+    private Stream<City> cities(Iterable<IndexEntry> entries) {
+
+        return StreamSupport.stream(entries.spliterator(), false).map(entry -> this.repository.get(entry.id)).filter(Objects::nonNull);
+    }
+
+    private void put(City city) {
+
+        this.index(this.repository.put(city.getId(), city), city);
+    }
+
+    private void index(City previous, City current) {
+
+        if (previous == null && current != null) {
+            this.count.incrementAndGet();
+        } else if (previous != null && current == null) {
+            this.count.decrementAndGet();
+        }
+        if (previous != null) {
+            if (previous.getProvinceId() != null) {
+                this.provinceIndex.remove(new IndexEntry(cast(previous.getProvinceId()), previous.getId()));
+                this.provinceCounts.computeIfPresent(previous.getProvinceId(), (key, value) -> value == 1 ? null : value - 1);
+            }
+            if (previous.getCityName() != null) {
+                this.nameIndex.remove(new IndexEntry(cast(previous.getCityName()), previous.getId()));
+            }
+        }
+        if (current != null) {
+            if (current.getProvinceId() != null) {
+                this.provinceIndex.add(new IndexEntry(cast(current.getProvinceId()), current.getId()));
+                this.provinceCounts.merge(current.getProvinceId(), 1L, Long::sum);
+            }
+            if (current.getCityName() != null) {
+                this.nameIndex.add(new IndexEntry(cast(current.getCityName()), current.getId()));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> cast(Comparable<?> value) {
+
+        return (Comparable<Object>) value;
+    }
+
+    /**
+     * 从最大的字段值开始逐个字段值向前，每个字段值内按 id 升序，与查询在内存中排序时相同字段值按 id 升序一致。
+     * 每个字段值只在取到它的第一个条目时定位一次，仍然按需读取
+     */
+    private static final class KeyDescendingIterator implements Iterator<IndexEntry> {
+
+        private final NavigableSet<IndexEntry> slice;
+
+        private Iterator<IndexEntry> group = Collections.emptyIterator();
+
+        /**
+         * 已经读过的最小字段值的第一个条目，下一个字段值在它之前查找；还没读过时为 null
+         */
+        private IndexEntry floor;
+
+        private boolean exhausted;
+
+        private KeyDescendingIterator(NavigableSet<IndexEntry> slice) {
+
+            this.slice = slice;
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            while (!this.group.hasNext() && !this.exhausted) {
+                Iterator<IndexEntry> descending = this.floor == null
+                        ? this.slice.descendingIterator() : this.slice.headSet(this.floor, false).descendingIterator();
+                if (!descending.hasNext()) {
+                    this.exhausted = true;
+                    break;
+                }
+                Comparable<Object> key = descending.next().key;
+                this.floor = IndexEntry.lowest(key);
+                this.group = this.slice.subSet(this.floor, true, IndexEntry.highest(key), true).iterator();
+            }
+            return this.group.hasNext();
+        }
+
+        @Override
+        public IndexEntry next() {
+
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.group.next();
+        }
+    }
+
+    /**
+     * 二级索引的条目，先按字段值再按 id 排序，同一字段值的条目在索引里相邻
+     */
+    private static final class IndexEntry implements Comparable<IndexEntry> {
+
+        private final Comparable<Object> key;
+
+        private final long id;
+
+        private IndexEntry(Comparable<Object> key, long id) {
+
+            this.key = key;
+            this.id = id;
+        }
+
+        static IndexEntry lowest(Comparable<?> key) {
+
+            return new IndexEntry(cast(key), Long.MIN_VALUE);
+        }
+
+        static IndexEntry highest(Comparable<?> key) {
+
+            return new IndexEntry(cast(key), Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(IndexEntry other) {
+
+            int compare = this.key.compareTo(other.key);
+            return compare != 0 ? compare : Long.compare(this.id, other.id);
+        }
+    }
 }
@@ -1,7 +1,13 @@
 package com.ssk.webflux.handler;
 
+import com.ssk.webflux.common.offload.Offloader;
+import com.ssk.webflux.common.reactive.SingleFlight;
+import com.ssk.webflux.common.tracing.Tracing;
 import com.ssk.webflux.dao.CityRepository;
 import com.ssk.webflux.domain.City;
+import com.ssk.webflux.query.CityQuery;
+import com.ssk.webflux.query.CityQueryPlan;
+import com.ssk.webflux.query.CityQueryPlanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +16,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
+ * 同一个 id 的并发 findCityById 通过 SingleFlight 合并为一次对 CityRepository 的访问。
+ * 对 CityRepository 的调用都经过 Offloader，存储换成阻塞实现时可以通过 webflux.offload.mode 移出事件循环。
+ * 被采样的请求在每次 CityRepository 调用上记录 span，findCityById 另外记录包括合并等待在内的 span
+ *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
  * @date 2019-05-17-上午 9:30
@@ -19,38 +29,72 @@ public class CityHandler {
 
     private final CityRepository cityRepository;
 
+    private final Offloader offloader;
+
+    private final CityQueryPlanner cityQueryPlanner;
+
     private final Logger logger = LoggerFactory.getLogger(CityHandler.class);
 
+    private final SingleFlight<Long, City> findByIdFlight = new SingleFlight<>("city.findById");
+
     @Autowired
-    public CityHandler(CityRepository cityRepository) {
+    public CityHandler(CityRepository cityRepository, Offloader offloader, CityQueryPlanner cityQueryPlanner) {
 
         this.cityRepository = cityRepository;
+        this.offloader = offloader;
+        this.cityQueryPlanner = cityQueryPlanner;
     }
 
     public Mono<Long> save(City city) {
 
         this.logger.info("根据【{}】保存数据", city);
-        return Mono.create(cityMonSink -> cityMonSink.success(this.cityRepository.save(city)));
+        return Tracing.mono("CityRepository.save", this.offloader.mono(() -> this.cityRepository.save(city)));
     }
 
     public Mono<City> findCityById(Long id) {
 
-        return Mono.justOrEmpty(this.cityRepository.findCityById(id));
+        return Tracing.mono("CityHandler.findCityById", this.findByIdFlight.execute(id, () ->
+                Tracing.mono("CityRepository.findCityById", this.offloader.mono(() -> this.cityRepository.findCityById(id)))));
     }
 
     public Flux<City> findAllCity() {
 
-        return Flux.fromIterable(this.cityRepository.findAll());
+        return Tracing.flux("CityRepository.findAll", this.offloader.flux(this.cityRepository::findAll));
+    }
+
+    public Flux<City> findCitiesByProvinceId(Long provinceId) {
+
+        return Tracing.flux("CityRepository.findCitiesByProvinceId",
+                this.offloader.flux(() -> this.cityRepository.findCitiesByProvinceId(provinceId)));
+    }
+
+    /**
+     * 选择计划和读取结果都在 Offloader 上进行：结果按下游的请求逐个读出，每次 request 的索引遍历也切换到卸载线程，不在事件循环上执行
+     */
+    public Flux<City> query(CityQuery query) {
+
+        return Tracing.flux("CityQueryPlanner.execute",
+                this.offloader.iterate(() -> this.cityQueryPlanner.execute(this.cityQueryPlanner.plan(query))));
+    }
+
+    public Mono<CityQueryPlan> explain(CityQuery query) {
+
+        return Tracing.mono("CityQueryPlanner.plan", this.offloader.mono(() -> this.cityQueryPlanner.plan(query)));
     }
 
     public Mono<Long> modifyCity(City city) {
 
-        return Mono.create(cityMonoSink -> cityMonoSink.success(this.cityRepository.updateCity(city)));
+        return Tracing.mono("CityRepository.updateCity", this.offloader.mono(() -> this.cityRepository.updateCity(city)));
     }
 
     public Mono<Long> deleteCity(Long id) {
 
-        return Mono.create(cityMonoSink -> cityMonoSink.success(this.cityRepository.deleteCity(id)));
+        return Tracing.mono("CityRepository.deleteCity", this.offloader.mono(() -> this.cityRepository.deleteCity(id)));
+    }
+
+    public SingleFlight<Long, City> singleFlight() {
+
+        return this.findByIdFlight;
     }
 
 }
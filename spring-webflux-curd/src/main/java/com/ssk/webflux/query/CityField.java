@@ -0,0 +1,65 @@
+package com.ssk.webflux.query;
+
+import com.ssk.webflux.domain.City;
+
+import java.util.function.Function;
+
+/**
+ * 查询条件和排序可以引用的 {@link City} 字段，id 与 provinceId 按整数比较，cityName 与 description 按字符串比较
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:00
+ */
+public enum CityField {
+
+    ID("id", false, City::getId),
+
+    PROVINCE_ID("provinceId", false, City::getProvinceId),
+
+    CITY_NAME("cityName", true, City::getCityName),
+
+    DESCRIPTION("description", true, City::getDescription);
+
+    private final String property;
+
+    private final boolean text;
+
+    private final Function<City, ? extends Comparable<?>> getter;
+
+    CityField(String property, boolean text, Function<City, ? extends Comparable<?>> getter) {
+
+        this.property = property;
+        this.text = text;
+        this.getter = getter;
+    }
+
+    /**
+     * 按属性名查找字段，没有同名字段时返回 null
+     */
+    public static CityField of(String property) {
+
+        for (CityField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    public String getProperty() {
+
+        return this.property;
+    }
+
+    public boolean isText() {
+
+        return this.text;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Comparable<Object> value(City city) {
+
+        return (Comparable<Object>) this.getter.apply(city);
+    }
+}
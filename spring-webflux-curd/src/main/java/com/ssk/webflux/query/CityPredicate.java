@@ -0,0 +1,103 @@
+package com.ssk.webflux.query;
+
+import com.ssk.webflux.domain.City;
+
+/**
+ * 单个字段上的比较条件。字段值为 null 的城市不满足任何条件
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+public final class CityPredicate {
+
+    private final CityField field;
+
+    private final Operator operator;
+
+    private final Comparable<Object> value;
+
+    @SuppressWarnings("unchecked")
+    public CityPredicate(CityField field, Operator operator, Comparable<?> value) {
+
+        this.field = field;
+        this.operator = operator;
+        this.value = (Comparable<Object>) value;
+    }
+
+    public CityField getField() {
+
+        return this.field;
+    }
+
+    public Operator getOperator() {
+
+        return this.operator;
+    }
+
+    public Comparable<Object> getValue() {
+
+        return this.value;
+    }
+
+    public boolean test(City city) {
+
+        Comparable<Object> actual = this.field.value(city);
+        if (actual == null) {
+            return false;
+        }
+        if (this.operator == Operator.PREFIX) {
+            return actual.toString().startsWith(this.value.toString());
+        }
+        int compare = actual.compareTo(this.value);
+        switch (this.operator) {
+            case EQ:
+                return compare == 0;
+            case GT:
+                return compare > 0;
+            case GE:
+                return compare >= 0;
+            case LT:
+                return compare < 0;
+            default:
+                return compare <= 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        String value = this.field.isText() ? "'" + this.value.toString().replace("'", "''") + "'" : this.value.toString();
+        return this.field.getProperty() + this.operator.symbol + value;
+    }
+
+    public enum Operator {
+
+        EQ("="),
+
+        GT(">"),
+
+        GE(">="),
+
+        LT("<"),
+
+        LE("<="),
+
+        /**
+         * 字符串前缀，只能用于文本字段
+         */
+        PREFIX("^=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+
+            return this.symbol;
+        }
+    }
+}
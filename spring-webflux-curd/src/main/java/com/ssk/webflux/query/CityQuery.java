@@ -0,0 +1,88 @@
+package com.ssk.webflux.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 解析后的城市查询：若干条件的合取、可选的排序字段和条数上限
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+public final class CityQuery {
+
+    private final List<CityPredicate> predicates;
+
+    private final CityField sort;
+
+    private final boolean descending;
+
+    private final int limit;
+
+    /**
+     * @param sort  为 null 时按选中的访问路径的自然顺序返回
+     * @param limit 不大于 0 表示不限条数
+     */
+    public CityQuery(List<CityPredicate> predicates, CityField sort, boolean descending, int limit) {
+
+        this.predicates = Collections.unmodifiableList(new ArrayList<>(predicates));
+        this.sort = sort;
+        this.descending = descending;
+        this.limit = limit;
+    }
+
+    public List<CityPredicate> getPredicates() {
+
+        return this.predicates;
+    }
+
+    public List<CityPredicate> predicatesOn(CityField field) {
+
+        List<CityPredicate> result = new ArrayList<>();
+        for (CityPredicate predicate : this.predicates) {
+            if (predicate.getField() == field) {
+                result.add(predicate);
+            }
+        }
+        return result;
+    }
+
+    public CityField getSort() {
+
+        return this.sort;
+    }
+
+    public boolean isDescending() {
+
+        return this.descending;
+    }
+
+    public int getLimit() {
+
+        return this.limit;
+    }
+
+    public boolean isLimited() {
+
+        return this.limit > 0;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder();
+        for (CityPredicate predicate : this.predicates) {
+            builder.append(builder.length() == 0 ? "where " : " and ").append(predicate);
+        }
+        if (this.sort != null) {
+            builder.append(builder.length() == 0 ? "" : " ").append("order by ").append(this.sort.getProperty())
+                    .append(this.descending ? " desc" : "");
+        }
+        if (this.isLimited()) {
+            builder.append(builder.length() == 0 ? "" : " ").append("limit ").append(this.limit);
+        }
+        return builder.toString();
+    }
+}
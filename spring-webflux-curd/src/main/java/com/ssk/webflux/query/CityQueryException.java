@@ -0,0 +1,29 @@
+package com.ssk.webflux.query;
+
+import com.ssk.webflux.common.error.StacklessException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * /city/query 的参数错误，都返回 400
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:30
+ */
+public class CityQueryException extends StacklessException {
+
+    private static final long serialVersionUID = 6521404781975930276L;
+
+    public static final CityQueryException TOO_LONG =
+            new CityQueryException("where is too long");
+
+    public CityQueryException(String message) {
+
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+
+    public static CityQueryException syntax(String message, int position) {
+
+        return new CityQueryException(message + " at position " + position);
+    }
+}
@@ -0,0 +1,203 @@
+package com.ssk.webflux.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 解析 /city/query 的 where、sort、limit 参数：
+ * <pre>
+ * where     := condition ('and' condition)*
+ * condition := field ('=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;=' | '^=') value
+ * value     := integer | '\'' text '\'' | word        文本中的单引号写作 ''，word 到下一个空白为止
+ * sort      := field | '-' field                     '-' 表示降序
+ * limit     := 正整数
+ * </pre>
+ * field 是 {@link CityField} 的属性名，and 不区分大小写；id、provinceId 只接受整数，^= 只能用于 cityName 和 description。
+ * where 不超过 {@link #MAX_LENGTH} 个字符、{@link #MAX_CONDITIONS} 个条件
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:50
+ */
+public class CityQueryParser {
+
+    static final int MAX_LENGTH = 1024;
+
+    static final int MAX_CONDITIONS = 16;
+
+    private final String text;
+
+    private int position;
+
+    private CityQueryParser(String text) {
+
+        this.text = text;
+    }
+
+    /**
+     * 参数都可以为 null 或空串
+     */
+    public static CityQuery parse(String where, String sort, String limit) {
+
+        List<CityPredicate> predicates = new ArrayList<>();
+        if (where != null && !where.trim().isEmpty()) {
+            if (where.length() > MAX_LENGTH) {
+                throw CityQueryException.TOO_LONG;
+            }
+            new CityQueryParser(where).conditions(predicates);
+        }
+        boolean descending = false;
+        CityField field = null;
+        if (sort != null && !sort.trim().isEmpty()) {
+            String property = sort.trim();
+            descending = property.startsWith("-");
+            field = CityField.of(descending ? property.substring(1) : property);
+            if (field == null) {
+                throw new CityQueryException("Unknown sort field '" + property + "'");
+            }
+        }
+        return new CityQuery(predicates, field, descending, limit(limit));
+    }
+
+    private static int limit(String limit) {
+
+        if (limit == null || limit.trim().isEmpty()) {
+            return 0;
+        }
+        try {
+            int value = Integer.parseInt(limit.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException ex) {
+            // 与非正数一样按参数错误处理
+        }
+        throw new CityQueryException("limit must be a positive integer");
+    }
+
+    private void conditions(List<CityPredicate> predicates) {
+
+        predicates.add(this.condition());
+        while (this.peek() != 0) {
+            int start = this.position;
+            String keyword = this.word();
+            if (!"and".equalsIgnoreCase(keyword)) {
+                throw CityQueryException.syntax("Expected 'and'", start + 1);
+            }
+            if (predicates.size() == MAX_CONDITIONS) {
+                throw this.error("More than " + MAX_CONDITIONS + " conditions");
+            }
+            predicates.add(this.condition());
+        }
+    }
+
+    private CityPredicate condition() {
+
+        if (this.peek() == 0) {
+            throw this.error("Unexpected end of where");
+        }
+        int start = this.position;
+        while (this.position < this.text.length() && Character.isLetter(this.text.charAt(this.position))) {
+            this.position++;
+        }
+        String property = this.text.substring(start, this.position);
+        CityField field = CityField.of(property);
+        if (field == null) {
+            throw CityQueryException.syntax(property.isEmpty() ? "Expected a field" : "Unknown field '" + property + "'", start + 1);
+        }
+        int operatorStart = this.position;
+        CityPredicate.Operator operator = this.operator();
+        if (operator == CityPredicate.Operator.PREFIX && !field.isText()) {
+            throw CityQueryException.syntax("^= requires a text field", operatorStart + 1);
+        }
+        return new CityPredicate(field, operator, field.isText() ? this.text() : this.integer());
+    }
+
+    private CityPredicate.Operator operator() {
+
+        char c = this.peek();
+        char next = this.position + 1 < this.text.length() ? this.text.charAt(this.position + 1) : 0;
+        this.position += next == '=' && (c == '<' || c == '>' || c == '^') ? 2 : 1;
+        switch (c) {
+            case '=':
+                return CityPredicate.Operator.EQ;
+            case '<':
+                return next == '=' ? CityPredicate.Operator.LE : CityPredicate.Operator.LT;
+            case '>':
+                return next == '=' ? CityPredicate.Operator.GE : CityPredicate.Operator.GT;
+            case '^':
+                if (next == '=') {
+                    return CityPredicate.Operator.PREFIX;
+                }
+                // fall through
+            default:
+                this.position--;
+                throw this.error("Expected an operator");
+        }
+    }
+
+    private Long integer() {
+
+        this.peek();
+        int start = this.position;
+        String value = this.word();
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw CityQueryException.syntax("Expected an integer", start + 1);
+        }
+    }
+
+    private String text() {
+
+        if (this.peek() != '\'') {
+            String value = this.word();
+            if (value.isEmpty()) {
+                throw this.error("Expected a value");
+            }
+            return value;
+        }
+        int start = this.position++;
+        StringBuilder builder = new StringBuilder();
+        while (this.position < this.text.length()) {
+            char c = this.text.charAt(this.position++);
+            if (c != '\'') {
+                builder.append(c);
+            } else if (this.position < this.text.length() && this.text.charAt(this.position) == '\'') {
+                builder.append(c);
+                this.position++;
+            } else {
+                return builder.toString();
+            }
+        }
+        throw CityQueryException.syntax("Unterminated string", start + 1);
+    }
+
+    /**
+     * 读到下一个空白为止
+     */
+    private String word() {
+
+        int start = this.position;
+        while (this.position < this.text.length() && !Character.isWhitespace(this.text.charAt(this.position))) {
+            this.position++;
+        }
+        return this.text.substring(start, this.position);
+    }
+
+    /**
+     * 跳过空白，返回下一个字符，到达末尾时返回 0
+     */
+    private char peek() {
+
+        while (this.position < this.text.length() && Character.isWhitespace(this.text.charAt(this.position))) {
+            this.position++;
+        }
+        return this.position < this.text.length() ? this.text.charAt(this.position) : 0;
+    }
+
+    private CityQueryException error(String message) {
+
+        return CityQueryException.syntax(message, this.position + 1);
+    }
+}
@@ -0,0 +1,224 @@
+package com.ssk.webflux.query;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link CityQueryPlanner} 选出的执行计划，也是 /city/query/explain 的响应体。
+ * 访问路径决定从哪里读城市，其余条件在读出后逐个过滤；访问路径的自然顺序与排序字段不一致时在内存中排序
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:10
+ */
+public class CityQueryPlan {
+
+    private final CityQuery query;
+
+    private final AccessPath accessPath;
+
+    private final KeyRange range;
+
+    private final boolean descending;
+
+    private final boolean sortInMemory;
+
+    private final long estimatedScan;
+
+    private final long estimatedRows;
+
+    private final double cost;
+
+    private List<Alternative> alternatives = Collections.emptyList();
+
+    CityQueryPlan(CityQuery query, AccessPath accessPath, KeyRange range, boolean descending, boolean sortInMemory,
+                  long estimatedScan, long estimatedRows, double cost) {
+
+        this.query = query;
+        this.accessPath = accessPath;
+        this.range = range;
+        this.descending = descending;
+        this.sortInMemory = sortInMemory;
+        this.estimatedScan = estimatedScan;
+        this.estimatedRows = estimatedRows;
+        this.cost = cost;
+    }
+
+    @JsonIgnore
+    public CityQuery getCityQuery() {
+
+        return this.query;
+    }
+
+    public String getQuery() {
+
+        return this.query.toString();
+    }
+
+    public AccessPath getAccessPath() {
+
+        return this.accessPath;
+    }
+
+    @JsonIgnore
+    public KeyRange getKeyRange() {
+
+        return this.range;
+    }
+
+    /**
+     * 索引上的扫描范围，全表扫描时为 null
+     */
+    public String getRange() {
+
+        return this.accessPath == AccessPath.FULL_SCAN ? null : this.range.toString();
+    }
+
+    /**
+     * 是否逆序扫描访问路径
+     */
+    public boolean isDescending() {
+
+        return this.descending;
+    }
+
+    /**
+     * 访问路径不能完全保证、需要在读出后检查的条件。所有条件在执行时都会重新检查，这里只列出会过滤掉城市的部分
+     */
+    public List<String> getFilter() {
+
+        List<String> filter = new ArrayList<>();
+        for (CityPredicate predicate : this.query.getPredicates()) {
+            if (predicate.getField() != this.accessPath.getField() || predicate.getOperator() == CityPredicate.Operator.PREFIX) {
+                filter.add(predicate.toString());
+            }
+        }
+        return this.accessPath == AccessPath.EMPTY ? Collections.emptyList() : filter;
+    }
+
+    /**
+     * none：没有排序字段；index：访问路径的顺序就是结果顺序；top-n：有条数上限时只保留前 limit 条；full：全部读出后排序
+     */
+    public String getSort() {
+
+        if (this.query.getSort() == null) {
+            return "none";
+        }
+        if (!this.sortInMemory) {
+            return "index";
+        }
+        return this.query.isLimited() ? "top-n" : "full";
+    }
+
+    @JsonIgnore
+    public boolean isSortInMemory() {
+
+        return this.sortInMemory;
+    }
+
+    public Integer getLimit() {
+
+        return this.query.isLimited() ? this.query.getLimit() : null;
+    }
+
+    /**
+     * 预计从访问路径读出的城市数
+     */
+    public long getEstimatedScan() {
+
+        return this.estimatedScan;
+    }
+
+    /**
+     * 预计满足全部条件的城市数，不考虑条数上限
+     */
+    public long getEstimatedRows() {
+
+        return this.estimatedRows;
+    }
+
+    public double getCost() {
+
+        return this.cost;
+    }
+
+    public List<Alternative> getAlternatives() {
+
+        return this.alternatives;
+    }
+
+    void setAlternatives(List<Alternative> alternatives) {
+
+        this.alternatives = alternatives;
+    }
+
+    public enum AccessPath {
+
+        /**
+         * 条件互相矛盾，不读任何城市
+         */
+        EMPTY(null),
+
+        PRIMARY_KEY(CityField.ID),
+
+        PRIMARY_RANGE(CityField.ID),
+
+        PROVINCE_INDEX(CityField.PROVINCE_ID),
+
+        NAME_INDEX(CityField.CITY_NAME),
+
+        FULL_SCAN(CityField.ID);
+
+        private final CityField field;
+
+        AccessPath(CityField field) {
+
+            this.field = field;
+        }
+
+        /**
+         * 访问路径按哪个字段有序
+         */
+        public CityField getField() {
+
+            return this.field;
+        }
+    }
+
+    /**
+     * 计划选择时比较过、但没有选中的访问路径
+     */
+    public static class Alternative {
+
+        private final AccessPath accessPath;
+
+        private final String range;
+
+        private final double cost;
+
+        Alternative(CityQueryPlan plan) {
+
+            this.accessPath = plan.accessPath;
+            this.range = plan.getRange();
+            this.cost = plan.cost;
+        }
+
+        public AccessPath getAccessPath() {
+
+            return this.accessPath;
+        }
+
+        public String getRange() {
+
+            return this.range;
+        }
+
+        public double getCost() {
+
+            return this.cost;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.ssk.webflux.query;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+import com.ssk.webflux.dao.CityRepository;
+import com.ssk.webflux.domain.City;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 为 {@link CityQuery} 选择访问路径并执行。
+ * <p>
+ * 候选路径：id 上的条件走主键查找或主键范围扫描，provinceId、cityName 上的条件走对应的二级索引，任何查询都可以全表扫描。
+ * 代价按读取的城市数计：
+ * <ul>
+ * <li>主键范围按 id 在最小、最大 id 之间均匀分布估算，provinceId 使用每个省份的精确计数，cityName 在索引上实际数一遍，
+ * 数到其余候选中最低的代价为止（包括有条数上限时按顺序扫描提前停止的代价）；数满时认为 cityName 条件不比其余条件更有选择性</li>
+ * <li>结果行数取各索引字段估算的最小值，没有索引的字段上每组条件按 {@link #UNINDEXED_SELECTIVITY} 折算</li>
+ * <li>访问路径的顺序与排序字段一致且有条数上限时，读到 limit 条结果即停止，按结果行数在扫描行数中的比例折算</li>
+ * <li>需要在内存中排序时另加 n·log2(n)·{@link #SORT_FACTOR}，有条数上限时 n 只在 log 内替换为 min(n, limit)</li>
+ * </ul>
+ * 二级索引只包含字段值非 null 的城市，因此只有在该字段上有条件时才作为候选，不会仅为排序去扫描二级索引。
+ * 估算只用于比较候选路径，执行时每个城市都会重新检查全部条件
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:40
+ */
+@Component
+public class CityQueryPlanner implements MetricsCollector {
+
+    static final double UNINDEXED_SELECTIVITY = 0.1;
+
+    static final double SORT_FACTOR = 0.25;
+
+    private final CityRepository cityRepository;
+
+    private final AtomicLongArray plans = new AtomicLongArray(CityQueryPlan.AccessPath.values().length);
+
+    public CityQueryPlanner(CityRepository cityRepository) {
+
+        this.cityRepository = cityRepository;
+    }
+
+    public CityQueryPlan plan(CityQuery query) {
+
+        long total = this.cityRepository.count();
+        KeyRange idRange = KeyRange.of(query.predicatesOn(CityField.ID));
+        KeyRange provinceRange = KeyRange.of(query.predicatesOn(CityField.PROVINCE_ID));
+        KeyRange nameRange = KeyRange.of(query.predicatesOn(CityField.CITY_NAME));
+        KeyRange descriptionRange = KeyRange.of(query.predicatesOn(CityField.DESCRIPTION));
+        if (idRange.isEmpty() || provinceRange.isEmpty() || nameRange.isEmpty() || descriptionRange.isEmpty()) {
+            return this.choose(Collections.singletonList(
+                    new CityQueryPlan(query, CityQueryPlan.AccessPath.EMPTY, idRange, false, false, 0, 0, 0)));
+        }
+
+        boolean hasId = !query.predicatesOn(CityField.ID).isEmpty();
+        boolean hasProvince = !query.predicatesOn(CityField.PROVINCE_ID).isEmpty();
+        boolean hasName = !query.predicatesOn(CityField.CITY_NAME).isEmpty();
+        long idRows = hasId ? this.estimateIds(idRange, total) : total;
+        long provinceRows = hasProvince ? this.cityRepository.countByProvinceId(provinceRange) : total;
+        long otherRows = Math.min(idRows, provinceRows);
+        long nameRows = total;
+        if (hasName) {
+            // cityName 的估算需要遍历索引，数到其余候选中最低的代价即可；数满时真实行数至少是这么多，按不收窄结果估算
+            double competing = Double.MAX_VALUE;
+            for (CityQueryPlan candidate : this.candidates(query, idRange, idRows, provinceRange, provinceRows,
+                    null, 0, total, this.estimateRows(query, otherRows))) {
+                competing = Math.min(competing, candidate.getCost());
+            }
+            long cap = (long) Math.min(Math.ceil(competing), total) + 1;
+            nameRows = this.cityRepository.countByCityName(nameRange, cap);
+            if (nameRows >= cap) {
+                nameRows = Math.max(nameRows, otherRows);
+            }
+        }
+        long estimatedRows = this.estimateRows(query, Math.min(otherRows, nameRows));
+        return this.choose(this.candidates(query, idRange, idRows, provinceRange, provinceRows,
+                hasName ? nameRange : null, nameRows, total, estimatedRows));
+    }
+
+    /**
+     * nameRange 为 null 时不包括 cityName 索引
+     */
+    private List<CityQueryPlan> candidates(CityQuery query, KeyRange idRange, long idRows, KeyRange provinceRange, long provinceRows,
+                                           KeyRange nameRange, long nameRows, long total, long estimatedRows) {
+
+        List<CityQueryPlan> candidates = new ArrayList<>();
+        if (idRange.isPoint()) {
+            candidates.add(this.candidate(query, CityQueryPlan.AccessPath.PRIMARY_KEY, idRange, idRows, estimatedRows));
+        } else if (!query.predicatesOn(CityField.ID).isEmpty()) {
+            candidates.add(this.candidate(query, CityQueryPlan.AccessPath.PRIMARY_RANGE, idRange, idRows, estimatedRows));
+        }
+        if (!query.predicatesOn(CityField.PROVINCE_ID).isEmpty()) {
+            candidates.add(this.candidate(query, CityQueryPlan.AccessPath.PROVINCE_INDEX, provinceRange, provinceRows, estimatedRows));
+        }
+        if (nameRange != null) {
+            candidates.add(this.candidate(query, CityQueryPlan.AccessPath.NAME_INDEX, nameRange, nameRows, estimatedRows));
+        }
+        candidates.add(this.candidate(query, CityQueryPlan.AccessPath.FULL_SCAN, KeyRange.of(Collections.emptyList()), total, estimatedRows));
+        return candidates;
+    }
+
+    /**
+     * 索引字段估算的最小行数，再按没有索引的字段折算
+     */
+    private long estimateRows(CityQuery query, long indexedRows) {
+
+        double rows = indexedRows;
+        if (!query.predicatesOn(CityField.DESCRIPTION).isEmpty()) {
+            rows *= UNINDEXED_SELECTIVITY;
+        }
+        return (long) Math.ceil(rows);
+    }
+
+    /**
+     * 按计划读出结果，返回按需读取的视图，没有内存排序时调用方每取一个元素才向后扫描
+     */
+    public Iterable<City> execute(CityQueryPlan plan) {
+
+        CityQuery query = plan.getCityQuery();
+        Iterable<City> source = this.source(plan);
+        return () -> {
+            Stream<City> stream = StreamSupport.stream(source.spliterator(), false)
+                    .filter(city -> query.getPredicates().stream().allMatch(predicate -> predicate.test(city)));
+            if (plan.isSortInMemory()) {
+                Comparator<City> comparator = comparator(query);
+                stream = query.isLimited() ? top(stream, comparator, query.getLimit()).stream() : stream.sorted(comparator);
+            }
+            if (query.isLimited()) {
+                stream = stream.limit(query.getLimit());
+            }
+            return stream.iterator();
+        };
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("city_query_plans_total", "counter", "City queries planned by chosen access path");
+        for (CityQueryPlan.AccessPath path : CityQueryPlan.AccessPath.values()) {
+            writer.sample("city_query_plans_total", this.plans.get(path.ordinal()), "access_path", path.name().toLowerCase());
+        }
+    }
+
+    private Iterable<City> source(CityQueryPlan plan) {
+
+        switch (plan.getAccessPath()) {
+            case EMPTY:
+                return Collections.emptyList();
+            case PRIMARY_KEY:
+                City city = this.cityRepository.findCityById((Long) (Object) plan.getKeyRange().getLower());
+                return city == null ? Collections.emptyList() : Collections.singletonList(city);
+            case PROVINCE_INDEX:
+                return this.cityRepository.scanByProvinceId(plan.getKeyRange(), plan.isDescending());
+            case NAME_INDEX:
+                return this.cityRepository.scanByCityName(plan.getKeyRange(), plan.isDescending());
+            default:
+                return this.cityRepository.scanById(plan.getKeyRange(), plan.isDescending());
+        }
+    }
+
+    private CityQueryPlan candidate(CityQuery query, CityQueryPlan.AccessPath path, KeyRange range, long scan, long rows) {
+
+        boolean ordered = query.getSort() == null || query.getSort() == path.getField() || path == CityQueryPlan.AccessPath.PRIMARY_KEY;
+        double cost;
+        if (ordered) {
+            cost = query.isLimited() ? Math.min(scan, Math.ceil((double) query.getLimit() * scan / Math.max(rows, 1))) : scan;
+        } else {
+            double kept = query.isLimited() ? Math.min(rows, query.getLimit()) : rows;
+            cost = scan + rows * log2(Math.max(kept, 2)) * SORT_FACTOR;
+        }
+        return new CityQueryPlan(query, path, range, ordered && query.isDescending(), !ordered, scan, rows, cost);
+    }
+
+    private CityQueryPlan choose(List<CityQueryPlan> candidates) {
+
+        CityQueryPlan best = candidates.get(0);
+        for (CityQueryPlan candidate : candidates) {
+            if (candidate.getCost() < best.getCost()) {
+                best = candidate;
+            }
+        }
+        List<CityQueryPlan.Alternative> alternatives = new ArrayList<>();
+        for (CityQueryPlan candidate : candidates) {
+            if (candidate != best) {
+                alternatives.add(new CityQueryPlan.Alternative(candidate));
+            }
+        }
+        best.setAlternatives(alternatives);
+        this.plans.incrementAndGet(best.getAccessPath().ordinal());
+        return best;
+    }
+
+    /**
+     * 假设 id 在最小、最大 id 之间均匀分布
+     */
+    private long estimateIds(KeyRange range, long total) {
+
+        Long first = this.cityRepository.firstId();
+        Long last = this.cityRepository.lastId();
+        if (first == null) {
+            return 0;
+        }
+        if (range.isPoint()) {
+            return 1;
+        }
+        long lower = range.getLower() == null ? first : Math.max(first, (Long) (Object) range.getLower());
+        long upper = range.getUpper() == null ? last : Math.min(last, (Long) (Object) range.getUpper());
+        if (lower > upper) {
+            return 0;
+        }
+        double fraction = ((double) upper - lower + 1) / ((double) last - first + 1);
+        return Math.min(total, (long) Math.ceil(total * fraction));
+    }
+
+    /**
+     * 用容量为 limit 的堆保留排序最靠前的 limit 个城市
+     */
+    private static List<City> top(Stream<City> stream, Comparator<City> comparator, int limit) {
+
+        PriorityQueue<City> heap = new PriorityQueue<>(comparator.reversed());
+        stream.forEach(city -> {
+            if (heap.size() < limit) {
+                heap.add(city);
+            } else if (comparator.compare(city, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(city);
+            }
+        });
+        List<City> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+
+    /**
+     * 按排序字段比较，值为 null 的排在最后，相同时按 id 升序
+     */
+    private static Comparator<City> comparator(CityQuery query) {
+
+        CityField field = query.getSort();
+        Comparator<Comparable<Object>> order = query.isDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Comparator<City> comparator = Comparator.comparing(field::value, Comparator.nullsLast(order));
+        return comparator.thenComparing(City::getId);
+    }
+
+    private static double log2(double value) {
+
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -0,0 +1,167 @@
+package com.ssk.webflux.query;
+
+import java.util.List;
+
+/**
+ * 同一字段上所有条件的交集，作为索引扫描的上下界。没有上界或下界时对应的值为 null。
+ * 前缀条件 p 折算为 [p, p 后接 U+FFFF]，这个区间可能比前缀本身略宽，执行时每个城市仍然要重新检查全部条件
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+public final class KeyRange {
+
+    private Comparable<Object> lower;
+
+    private boolean lowerInclusive;
+
+    private Comparable<Object> upper;
+
+    private boolean upperInclusive;
+
+    private String prefix;
+
+    private boolean empty;
+
+    private KeyRange() {
+
+    }
+
+    /**
+     * 条件都必须是同一字段上的
+     */
+    @SuppressWarnings("unchecked")
+    public static KeyRange of(List<CityPredicate> predicates) {
+
+        KeyRange range = new KeyRange();
+        for (CityPredicate predicate : predicates) {
+            Comparable<Object> value = predicate.getValue();
+            switch (predicate.getOperator()) {
+                case EQ:
+                    range.lower(value, true);
+                    range.upper(value, true);
+                    break;
+                case GT:
+                    range.lower(value, false);
+                    break;
+                case GE:
+                    range.lower(value, true);
+                    break;
+                case LT:
+                    range.upper(value, false);
+                    break;
+                case LE:
+                    range.upper(value, true);
+                    break;
+                default:
+                    range.prefix((String) (Object) value);
+                    range.lower(value, true);
+                    range.upper((Comparable<Object>) (Object) (value + "\uffff"), true);
+            }
+        }
+        if (range.lower != null && range.upper != null) {
+            int compare = range.lower.compareTo(range.upper);
+            range.empty |= compare > 0 || compare == 0 && !(range.lowerInclusive && range.upperInclusive);
+        }
+        return range;
+    }
+
+    private void lower(Comparable<Object> value, boolean inclusive) {
+
+        int compare = this.lower == null ? -1 : this.lower.compareTo(value);
+        if (compare < 0 || compare == 0 && !inclusive) {
+            this.lower = value;
+            this.lowerInclusive = inclusive;
+        }
+    }
+
+    private void upper(Comparable<Object> value, boolean inclusive) {
+
+        int compare = this.upper == null ? 1 : this.upper.compareTo(value);
+        if (compare > 0 || compare == 0 && !inclusive) {
+            this.upper = value;
+            this.upperInclusive = inclusive;
+        }
+    }
+
+    /**
+     * 两个前缀互不包含时交集为空，否则保留较长的一个
+     */
+    private void prefix(String value) {
+
+        if (this.prefix == null || value.startsWith(this.prefix)) {
+            this.prefix = value;
+        } else if (!this.prefix.startsWith(value)) {
+            this.empty = true;
+        }
+    }
+
+    public Comparable<Object> getLower() {
+
+        return this.lower;
+    }
+
+    public boolean isLowerInclusive() {
+
+        return this.lowerInclusive;
+    }
+
+    public Comparable<Object> getUpper() {
+
+        return this.upper;
+    }
+
+    public boolean isUpperInclusive() {
+
+        return this.upperInclusive;
+    }
+
+    public boolean isEmpty() {
+
+        return this.empty;
+    }
+
+    /**
+     * 是否只包含一个值
+     */
+    public boolean isPoint() {
+
+        return !this.empty && this.lower != null && this.upper != null && this.prefix == null
+                && this.lower.compareTo(this.upper) == 0;
+    }
+
+    public boolean contains(Comparable<Object> value) {
+
+        if (value == null || this.empty) {
+            return false;
+        }
+        if (this.lower != null) {
+            int compare = value.compareTo(this.lower);
+            if (compare < 0 || compare == 0 && !this.lowerInclusive) {
+                return false;
+            }
+        }
+        if (this.upper != null) {
+            int compare = value.compareTo(this.upper);
+            return compare < 0 || compare == 0 && this.upperInclusive;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+
+        if (this.empty) {
+            return "empty";
+        }
+        if (this.prefix != null) {
+            return "prefix '" + this.prefix + "'";
+        }
+        if (this.isPoint()) {
+            return "= " + this.lower;
+        }
+        return (this.lower == null ? "(-inf" : (this.lowerInclusive ? "[" : "(") + this.lower) + ", "
+                + (this.upper == null ? "+inf)" : this.upper + (this.upperInclusive ? "]" : ")"));
+    }
+}
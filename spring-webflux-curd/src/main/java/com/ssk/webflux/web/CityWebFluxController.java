@@ -2,6 +2,8 @@ package com.ssk.webflux.web;
 
 import com.ssk.webflux.domain.City;
 import com.ssk.webflux.handler.CityHandler;
+import com.ssk.webflux.query.CityQueryParser;
+import com.ssk.webflux.query.CityQueryPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -46,6 +49,30 @@ public class CityWebFluxController {
         return this.cityHandler.findAllCity();
     }
 
+    /**
+     * 按条件查询城市，例如 where=provinceId=3 and cityName^=温&sort=-id&limit=20，语法见 {@link CityQueryParser}
+     */
+    @GetMapping(value = "/query")
+    public Flux<City> query(@RequestParam(value = "where", required = false) String where,
+                            @RequestParam(value = "sort", required = false) String sort,
+                            @RequestParam(value = "limit", required = false) String limit) {
+
+        return Mono.fromCallable(() -> CityQueryParser.parse(where, sort, limit))
+                .flatMapMany(this.cityHandler::query);
+    }
+
+    /**
+     * 返回同样参数下 /city/query 会使用的执行计划和各候选路径的估算代价，不读取结果
+     */
+    @GetMapping(value = "/query/explain")
+    public Mono<CityQueryPlan> explain(@RequestParam(value = "where", required = false) String where,
+                                       @RequestParam(value = "sort", required = false) String sort,
+                                       @RequestParam(value = "limit", required = false) String limit) {
+
+        return Mono.fromCallable(() -> CityQueryParser.parse(where, sort, limit))
+                .flatMap(this.cityHandler::explain);
+    }
+
     @PostMapping
     public Mono<Long> saveCity(@RequestBody City city) {
 
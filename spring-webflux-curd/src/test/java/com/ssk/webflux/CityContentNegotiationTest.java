@@ -0,0 +1,111 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.common.codec.BinaryCodecs;
+import com.ssk.webflux.common.codec.BinaryMediaTypes;
+import com.ssk.webflux.common.codec.ProtobufSchemaRegistry;
+import com.ssk.webflux.domain.City;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+
+import java.util.List;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * /city 按 Content-Type 解码请求体、按 Accept 选择响应格式，客户端使用与服务端相同的编解码器
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:40
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CityContentNegotiationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ProtobufSchemaRegistry schemaRegistry;
+
+    private WebTestClient client;
+
+    @Before
+    public void init() {
+
+        this.client = WebTestClient.bindToApplicationContext(this.context)
+                .configureClient()
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(configurer -> BinaryCodecs.register(configurer, this.schemaRegistry))
+                        .build())
+                .build();
+    }
+
+    @Test
+    public void testJson() {
+
+        this.assertNegotiated(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    public void testCbor() {
+
+        this.assertNegotiated(BinaryMediaTypes.APPLICATION_CBOR);
+    }
+
+    @Test
+    public void testSmile() {
+
+        this.assertNegotiated(BinaryMediaTypes.APPLICATION_SMILE);
+    }
+
+    @Test
+    public void testProtobuf() {
+
+        this.assertNegotiated(BinaryMediaTypes.APPLICATION_PROTOBUF);
+    }
+
+    private void assertNegotiated(MediaType mediaType) {
+
+        City city = new City();
+        city.setProvinceId(33L);
+        city.setCityName("杭州-" + mediaType.getSubtype());
+        city.setDescription("content negotiation");
+        Long id = this.client.post().uri("/city")
+                .contentType(mediaType)
+                .accept(MediaType.APPLICATION_JSON)
+                .syncBody(city)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class).returnResult().getResponseBody();
+        assertNotNull(id);
+        city.setId(id);
+
+        this.client.get().uri("/city/{id}", id)
+                .accept(mediaType)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(mediaType)
+                .expectBody(City.class).isEqualTo(city);
+
+        List<City> cities = this.client.get().uri("/city")
+                .accept(mediaType)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(mediaType)
+                .returnResult(City.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertTrue(mediaType.toString(), cities.contains(city));
+    }
+}
@@ -0,0 +1,132 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.common.rsocket.RSocketPayloadCodec;
+import com.ssk.webflux.common.rsocket.RSocketProperties;
+import com.ssk.webflux.common.rsocket.RSocketRoutes;
+import com.ssk.webflux.common.rsocket.RSocketServer;
+import com.ssk.webflux.domain.City;
+import com.ssk.webflux.handler.CityHandler;
+import io.rsocket.RSocket;
+import io.rsocket.RSocketFactory;
+import io.rsocket.transport.netty.client.TcpClientTransport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 城市 RSocket 路由的请求-响应和请求-流，服务端使用端口 0。
+ * MOCK 环境没有 HTTP 服务，上下文中的 {@link RSocketServer} 不应监听配置的固定端口
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:50
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CityRSocketTest {
+
+    private static final long PROVINCE_ID = 9_045L;
+
+    private final RSocketPayloadCodec codec = RSocketPayloadCodec.forMimeType(MediaType.APPLICATION_JSON_VALUE);
+
+    @Autowired
+    @Qualifier("cityRSocketRoutes")
+    private RSocketRoutes routes;
+
+    @Autowired
+    private RSocketServer contextServer;
+
+    @Autowired
+    private CityHandler cityHandler;
+
+    private RSocketServer server;
+
+    private RSocket client;
+
+    @Before
+    public void start() {
+
+        RSocketProperties properties = new RSocketProperties();
+        properties.setPort(0);
+        this.server = new RSocketServer(properties, Collections.singletonList(this.routes), null);
+        this.server.start();
+        this.client = RSocketFactory.connect()
+                .dataMimeType(MediaType.APPLICATION_JSON_VALUE)
+                .transport(TcpClientTransport.create(this.server.getPort()))
+                .start()
+                .block(Duration.ofSeconds(5));
+    }
+
+    @After
+    public void stop() {
+
+        if (this.client != null) {
+            this.client.dispose();
+        }
+        this.server.stop();
+    }
+
+    @Test
+    public void testContextServerNotStartedWithoutWebServer() {
+
+        assertFalse(this.contextServer.isRunning());
+        assertEquals(-1, this.contextServer.getPort());
+    }
+
+    @Test
+    public void testRequestResponse() {
+
+        Long id = this.cityHandler.save(city("rsocket-get")).block(Duration.ofSeconds(5));
+
+        City city = this.client.requestResponse(this.codec.encode("city.get", id))
+                .map(payload -> this.codec.decode(payload.sliceData(), City.class))
+                .block(Duration.ofSeconds(5));
+        assertEquals(id, city.getId());
+        assertEquals("rsocket-get", city.getCityName());
+    }
+
+    @Test
+    public void testRequestStream() {
+
+        Long first = this.cityHandler.save(city("rsocket-stream-1")).block(Duration.ofSeconds(5));
+        Long second = this.cityHandler.save(city("rsocket-stream-2")).block(Duration.ofSeconds(5));
+
+        List<String> names = this.client.requestStream(this.codec.encode("city.province", PROVINCE_ID))
+                .map(payload -> this.codec.decode(payload.sliceData(), City.class))
+                .map(City::getCityName)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        assertTrue(names.toString(), names.contains("rsocket-stream-1") && names.contains("rsocket-stream-2"));
+
+        List<Long> ids = this.client.requestStream(this.codec.encode("city.list", null))
+                .map(payload -> this.codec.decode(payload.sliceData(), City.class))
+                .map(City::getId)
+                .collect(Collectors.toList())
+                .block(Duration.ofSeconds(5));
+        assertTrue(ids.contains(first) && ids.contains(second));
+    }
+
+    private static City city(String name) {
+
+        City city = new City();
+        city.setProvinceId(PROVINCE_ID);
+        city.setCityName(name);
+        city.setDescription(name);
+        return city;
+    }
+}
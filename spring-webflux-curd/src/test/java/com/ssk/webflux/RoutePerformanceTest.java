@@ -0,0 +1,122 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.common.perf.RoutePerformance;
+import com.ssk.webflux.dao.CityRepository;
+import com.ssk.webflux.domain.City;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 各路由每个请求的分配字节数和延迟不超过 perf-budgets.properties 中记录的预算，见 {@link RoutePerformance}。
+ * 新增和删除在每次请求前恢复数据，城市数量在整个测试中保持不变
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:40
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RoutePerformanceTest {
+
+    private static final RoutePerformance PERFORMANCE = new RoutePerformance();
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    private WebTestClient client;
+
+    private Long cityId;
+
+    @Before
+    public void init() {
+
+        this.client = WebTestClient.bindToApplicationContext(this.context).build();
+        this.cityId = this.cityRepository.save(city());
+    }
+
+    @AfterClass
+    public static void record() throws IOException {
+
+        PERFORMANCE.writeRecorded();
+    }
+
+    private static City city() {
+
+        City city = new City();
+        city.setProvinceId(1L);
+        city.setCityName("perf");
+        city.setDescription("route performance");
+        return city;
+    }
+
+    @Test
+    public void testFindCity() {
+
+        PERFORMANCE.check("GET /city/{id}", () -> this.client.get().uri("/city/{id}", this.cityId)
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testFindAllCities() {
+
+        PERFORMANCE.check("GET /city", () -> this.client.get().uri("/city")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testQueryCities() {
+
+        this.client.get().uri("/city/query/explain?where={where}", "provinceId=1").exchange()
+                .expectStatus().isOk().expectBody().jsonPath("$.accessPath").isEqualTo("PROVINCE_INDEX");
+        PERFORMANCE.check("GET /city/query", () -> this.client.get().uri("/city/query?where={where}&limit=20", "provinceId=1")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testExplainQuery() {
+
+        PERFORMANCE.check("GET /city/query/explain", () -> this.client.get().uri("/city/query/explain?where={where}&limit=20", "provinceId=1")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testSaveCity() {
+
+        AtomicLong created = new AtomicLong();
+        PERFORMANCE.check("POST /city", () -> this.cityRepository.deleteCity(created.get()),
+                () -> created.set(this.client.post().uri("/city").syncBody(city())
+                        .exchange().expectStatus().isOk().expectBody(Long.class).returnResult().getResponseBody()));
+        this.cityRepository.deleteCity(created.get());
+    }
+
+    @Test
+    public void testModifyCity() {
+
+        City city = city();
+        city.setId(this.cityId);
+        PERFORMANCE.check("PUT /city", () -> this.client.put().uri("/city").syncBody(city)
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testDeleteCity() {
+
+        AtomicLong saved = new AtomicLong();
+        PERFORMANCE.check("DELETE /city/{id}", () -> saved.set(this.cityRepository.save(city())),
+                () -> this.client.delete().uri("/city/{id}", saved.get())
+                        .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+}
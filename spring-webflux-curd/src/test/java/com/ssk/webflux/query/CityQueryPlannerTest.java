@@ -0,0 +1,215 @@
+package com.ssk.webflux.query;
+
+import com.ssk.webflux.dao.CityRepository;
+import com.ssk.webflux.domain.City;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:20
+ */
+public class CityQueryPlannerTest {
+
+    private static final String[] NAMES = {"温州", "温岭", "杭州", "宁波", "台州", "湖州", "嘉兴", "金华"};
+
+    private CityRepository cityRepository;
+
+    private CityQueryPlanner planner;
+
+    private long firstId;
+
+    @Before
+    public void setUp() {
+
+        this.cityRepository = new CityRepository();
+        this.planner = new CityQueryPlanner(this.cityRepository);
+        for (int i = 0; i < 2000; i++) {
+            City city = new City();
+            city.setProvinceId((long) (i % 50));
+            city.setCityName(NAMES[i % NAMES.length] + i);
+            city.setDescription(i % 3 == 0 ? null : "d" + (i % 7));
+            this.cityRepository.restore(singleton(city, i + 1_000_000L));
+        }
+        this.firstId = 1_000_000L;
+    }
+
+    @Test
+    public void testChoosesCheapestAccessPath() {
+
+        assertEquals(CityQueryPlan.AccessPath.PRIMARY_KEY, this.plan("id=" + (this.firstId + 5), null, null).getAccessPath());
+        assertEquals(CityQueryPlan.AccessPath.PRIMARY_RANGE,
+                this.plan("id>=" + this.firstId + " and id<" + (this.firstId + 10) + " and provinceId=3", null, null).getAccessPath());
+        CityQueryPlan province = this.plan("provinceId=3 and description=d1", null, null);
+        assertEquals(CityQueryPlan.AccessPath.PROVINCE_INDEX, province.getAccessPath());
+        assertEquals(40, province.getEstimatedScan());
+        assertEquals(1, province.getAlternatives().size());
+        assertEquals(CityQueryPlan.AccessPath.NAME_INDEX, this.plan("cityName^=温州1 and provinceId<40", null, null).getAccessPath());
+        assertEquals(CityQueryPlan.AccessPath.FULL_SCAN, this.plan("description='d1'", null, null).getAccessPath());
+        assertEquals(CityQueryPlan.AccessPath.EMPTY, this.plan("provinceId>5 and provinceId<=5", null, null).getAccessPath());
+
+        // 按 id 排序并且只取前 5 条时，主键顺序扫描很快就能停止，比读出整个省份再排序便宜
+        CityQueryPlan ordered = this.plan("provinceId<25", "-id", "5");
+        assertEquals(CityQueryPlan.AccessPath.FULL_SCAN, ordered.getAccessPath());
+        assertEquals("index", ordered.getSort());
+        assertEquals("top-n", this.plan("provinceId=3", "cityName", "5").getSort());
+    }
+
+    @Test
+    public void testResultsMatchFullScan() {
+
+        String[][] queries = {
+                {"provinceId=7", null, null},
+                {"provinceId>=10 and provinceId<12 and cityName^=温", "-cityName", null},
+                {"cityName^='温州1' and description=d3", "provinceId", "7"},
+                {"id>" + (this.firstId + 1500) + " and cityName>=宁", "-id", "10"},
+                {"description=d2", "description", "30"},
+                {null, "-provinceId", "25"},
+                // 降序走 provinceId 索引时，相同 provinceId 的城市也要按 id 升序，与全表扫描后排序取到同一批
+                {"provinceId>=40", "-provinceId", "5"},
+                {"cityName>=温 and cityName<温州2", "-cityName", "3"},
+                {"cityName=杭州2 and id=" + (this.firstId + 2), null, null}
+        };
+        for (String[] parameters : queries) {
+            CityQuery query = CityQueryParser.parse(parameters[0], parameters[1], parameters[2]);
+            List<Long> expected = this.cityRepository.findAll().stream()
+                    .filter(city -> query.getPredicates().stream().allMatch(predicate -> predicate.test(city)))
+                    .sorted(order(query))
+                    .limit(query.isLimited() ? query.getLimit() : Long.MAX_VALUE)
+                    .map(City::getId)
+                    .collect(Collectors.toList());
+            CityQueryPlan plan = this.planner.plan(query);
+            List<Long> actual = new ArrayList<>();
+            this.planner.execute(plan).forEach(city -> actual.add(city.getId()));
+            if (query.getSort() == null) {
+                actual.sort(Comparator.naturalOrder());
+            }
+            assertEquals(query + " via " + plan.getAccessPath(), expected, actual);
+            assertTrue(query.toString(), !expected.isEmpty());
+        }
+    }
+
+    @Test
+    public void testDescendingIndexScanKeepsIdOrderWithinKey() {
+
+        CityQueryPlan plan = this.plan("provinceId>=40", "-provinceId", "5");
+        assertEquals(CityQueryPlan.AccessPath.PROVINCE_INDEX, plan.getAccessPath());
+        assertTrue(plan.isDescending());
+        List<Long> ids = new ArrayList<>();
+        this.planner.execute(plan).forEach(city -> ids.add(city.getId()));
+        assertEquals(Arrays.asList(this.firstId + 49, this.firstId + 99, this.firstId + 149, this.firstId + 199, this.firstId + 249), ids);
+    }
+
+    @Test
+    public void testNameCountCappedByCompetingCost() {
+
+        List<Long> limits = new ArrayList<>();
+        CityRepository repository = new CityRepository() {
+
+            @Override
+            public long countByCityName(KeyRange range, long limit) {
+
+                limits.add(limit);
+                return super.countByCityName(range, limit);
+            }
+        };
+        for (City city : this.cityRepository.findAll()) {
+            repository.restore(singleton(city, city.getId()));
+        }
+        CityQueryPlanner planner = new CityQueryPlanner(repository);
+
+        // 不排序只取 10 条时全表扫描读十几个城市就够了，不必在 cityName 索引上数完 2000 个条目
+        CityQueryPlan plan = planner.plan(CityQueryParser.parse("cityName>=a", null, "10"));
+        assertEquals(Collections.singletonList(11L), limits);
+        assertEquals(2000, plan.getEstimatedRows());
+        assertTrue(String.valueOf(plan.getCost()), plan.getCost() <= 10);
+    }
+
+    @Test
+    public void testIndexesFollowUpdates() {
+
+        long id = this.firstId + 11;
+        City city = new City();
+        city.setId(id);
+        city.setProvinceId(99L);
+        city.setCityName("舟山");
+        this.cityRepository.updateCity(city);
+        assertEquals(1, this.count("provinceId=99"));
+        assertEquals(1, this.count("cityName^=舟"));
+        assertEquals(0, this.count("cityName=" + NAMES[11 % NAMES.length] + 11));
+        assertEquals(39, this.count("provinceId=11"));
+
+        this.cityRepository.deleteCity(id);
+        assertEquals(0, this.count("provinceId=99"));
+        assertEquals(0, this.count("cityName^=舟"));
+        assertEquals(1999, this.cityRepository.count());
+    }
+
+    @Test
+    public void testSyntaxErrors() {
+
+        this.assertInvalid("province=3", "Unknown field 'province' at position 1");
+        this.assertInvalid("id^=3", "^= requires a text field at position 3");
+        this.assertInvalid("id=3 or id=4", "Expected 'and' at position 6");
+        this.assertInvalid("cityName='温", "Unterminated string at position 10");
+        this.assertInvalid("provinceId>abc", "Expected an integer at position 12");
+        this.assertInvalid("id", "Expected an operator at position 3");
+        assertEquals("where cityName='O''Hare' and id<=3 order by id desc limit 2",
+                CityQueryParser.parse("cityName='O''Hare' AND id <= 3", "-id", "2").toString());
+    }
+
+    private void assertInvalid(String where, String message) {
+
+        try {
+            CityQueryParser.parse(where, null, null);
+            fail(where);
+        } catch (CityQueryException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private CityQueryPlan plan(String where, String sort, String limit) {
+
+        return this.planner.plan(CityQueryParser.parse(where, sort, limit));
+    }
+
+    private int count(String where) {
+
+        int count = 0;
+        for (City ignored : this.planner.execute(this.plan(where, null, null))) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Comparator<City> order(CityQuery query) {
+
+        Comparator<City> byId = Comparator.comparing(City::getId);
+        if (query.getSort() == null) {
+            return byId;
+        }
+        Comparator<Comparable<Object>> values = query.isDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Comparator<City> bySort = (a, b) -> Comparator.nullsLast(values).compare(query.getSort().value(a), query.getSort().value(b));
+        return bySort.thenComparing(byId);
+    }
+
+    private static List<City> singleton(City city, long id) {
+
+        city.setId(id);
+        List<City> cities = new ArrayList<>();
+        cities.add(city);
+        return cities;
+    }
+}
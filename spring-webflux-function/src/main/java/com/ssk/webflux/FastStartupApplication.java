@@ -0,0 +1,79 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler;
+import com.ssk.webflux.common.metrics.RuntimeMetricsConfiguration;
+import com.ssk.webflux.common.metrics.SchedulerMetrics;
+import com.ssk.webflux.common.overload.OverloadConfiguration;
+import com.ssk.webflux.config.CalculatorInitializer;
+import com.ssk.webflux.config.LazyInitBeanFactoryPostProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.HttpHandlerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * 计算器服务的快速启动入口，与 {@link SpringWebfluxFunctionApplication} 提供相同的 /calculator 接口：
+ * <ul>
+ * <li>不做组件扫描，Config / CalculatorHandler 通过 {@link CalculatorInitializer} 以函数式方式注册，不需要解析注解和生成 CGLIB 代理</li>
+ * <li>只导入 WebFlux 服务端需要的自动配置，以及限流、/metrics、预渲染错误响应三项公共组件</li>
+ * <li>除 {@link SchedulerMetrics} 外的 bean 延迟初始化，没有用到的 bean 不再创建</li>
+ * <li>配合 fast-startup 构建 profile 从普通 classpath 启动并使用 AppCDS 归档，见 README</li>
+ * </ul>
+ * 启动参数 -Dstartup.training=true 时，应用启动后向自身发送一次请求然后退出，用于生成 AppCDS 的类列表，
+ * 这样处理首个请求时加载的类也会进入归档。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:10
+ */
+@ImportAutoConfiguration({PropertyPlaceholderAutoConfiguration.class, ReactiveWebServerFactoryAutoConfiguration.class,
+        HttpHandlerAutoConfiguration.class, WebFluxAutoConfiguration.class, ErrorWebFluxAutoConfiguration.class})
+@Import({PreRenderedErrorWebExceptionHandler.class, OverloadConfiguration.class, RuntimeMetricsConfiguration.class})
+public class FastStartupApplication {
+
+    private static final Logger logger = LoggerFactory.getLogger(FastStartupApplication.class);
+
+    public static void main(String[] args) throws IOException {
+
+        ConfigurableApplicationContext context = application().run(args);
+        if (Boolean.getBoolean("startup.training")) {
+            train(context);
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    public static SpringApplication application() {
+
+        SpringApplication application = new SpringApplication(FastStartupApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.addInitializers(new CalculatorInitializer(),
+                context -> context.addBeanFactoryPostProcessor(new LazyInitBeanFactoryPostProcessor(SchedulerMetrics.class)));
+        return application;
+    }
+
+    private static void train(ConfigurableApplicationContext context) throws IOException {
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        URL url = new URL("http://localhost:" + port + "/calculator?operator=add&v1=1&v2=2");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try (InputStream body = connection.getInputStream()) {
+            while (body.read() != -1) {
+                // 读完响应体
+            }
+        }
+        logger.info("训练请求完成，状态 {}，应用退出", connection.getResponseCode());
+    }
+}
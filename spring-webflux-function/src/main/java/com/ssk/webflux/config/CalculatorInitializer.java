@@ -0,0 +1,37 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.expression.ExpressionCache;
+import com.ssk.webflux.expression.ExpressionProperties;
+import com.ssk.webflux.handler.CalculatorHandler;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.reactive.function.server.RouterFunction;
+
+/**
+ * 以函数式方式注册计算器的 bean：bean 由 Supplier 直接创建，启动时不需要扫描类路径、解析 @Configuration / @Bean，
+ * 也不会为 {@link Config} 生成 CGLIB 子类。bean 的定义仍然复用 {@link Config} 中的方法，两种启动方式的行为一致；
+ * calculator.eval 配置通过 Binder 直接绑定。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:00
+ */
+public class CalculatorInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+
+        Config config = new Config();
+        context.registerBean(CalculatorHandler.class, () -> new CalculatorHandler());
+        context.registerBean("routerFunction", RouterFunction.class,
+                () -> config.routerFunction(context.getBean(CalculatorHandler.class)));
+        context.registerBean(ExpressionCache.class, () -> config.expressionCache(Binder.get(context.getEnvironment())
+                .bind("calculator.eval", ExpressionProperties.class)
+                .orElseGet(ExpressionProperties::new)));
+        context.registerBean("expressionRouterFunction", RouterFunction.class,
+                () -> config.expressionRouterFunction(context.getBean(ExpressionCache.class)));
+        context.registerBean("batchRouterFunction", RouterFunction.class, config::batchRouterFunction);
+        context.registerBean(FirstRequestTimer.class, FirstRequestTimer::new);
+    }
+}
@@ -1,11 +1,17 @@
 package com.ssk.webflux.config;
 
+import com.ssk.webflux.exception.CalculatorException;
+import com.ssk.webflux.expression.ExpressionCache;
+import com.ssk.webflux.expression.ExpressionProperties;
+import com.ssk.webflux.handler.BatchCalculatorHandler;
 import com.ssk.webflux.handler.CalculatorHandler;
+import com.ssk.webflux.handler.CalculatorOperators;
+import com.ssk.webflux.handler.ExpressionHandler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpStatus;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.web.reactive.function.server.HandlerFunction;
 import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
@@ -18,29 +24,64 @@ import reactor.core.publisher.Mono;
  * RequestPredicates 中包含了很多静态方法来创建常用的基于不同匹配规则的 Predicate。
  * 如 RequestPredicates.path 用来根据 HTTP 请求的路径来进行匹配。此处我们检查请求的路径是/calculator。
  * 在清单  中，我们首先使用 ServerRequest 的 queryParam 方法来获取到查询参数 operator 的值，
- * 然后通过反射 API 在类 CalculatorHandler 中找到与查询参数 operator 的值名称相同的方法来确定要调用的 HandlerFunction 的实现，
- * 最后调用查找到的方法来处理该请求。如果找不到查询参数 operator 或是 operator 的值不在识别的列表中，
- * 服务器端返回 400 错误；如果反射 API 的方法调用中出现错误，服务器端返回 500 错误。
+ * 然后在 CalculatorHandler 启动时建好的运算表中查找与 operator 的值对应的 HandlerFunction，
+ * 最后调用查找到的函数来处理该请求。早先的实现每次请求都通过反射 API 查找并调用同名方法，
+ * 既慢，也允许通过 operator 调用 CalculatorHandler 的任意公共方法。如果找不到查询参数 operator 或是 operator 的值不在运算表中，
+ * 服务器端返回 400 错误；如果运算中出现错误（例如除数为 0），服务器端返回 500 错误。
+ * 两种错误都使用预先创建好的 Mono.error 常量，由 PreRenderedErrorWebExceptionHandler 写出响应，
+ * 出错的请求不再构建 ServerResponse。
+ * /calculator/eval 在一次请求中计算完整的表达式，见 {@link ExpressionHandler}；
+ * POST /calculator/batch 以 NDJSON 流式计算大量运算，见 {@link BatchCalculatorHandler}。
  *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
  * @date 2019-05-17-下午 3:29
  */
 @Configuration
+@EnableConfigurationProperties(ExpressionProperties.class)
 public class Config {
 
+    private static final Mono<ServerResponse> UNKNOWN_OPERATOR = Mono.error(CalculatorException.UNKNOWN_OPERATOR);
+
+    private static final Mono<ServerResponse> CALCULATION_FAILED = Mono.error(CalculatorException.CALCULATION_FAILED);
+
     @Bean
     @Autowired
     public RouterFunction<ServerResponse> routerFunction(CalculatorHandler calculatorHandler) {
 
         return RouterFunctions.route(RequestPredicates.path("/calculator"), request ->
-                request.queryParam("operator").map(operator ->
-                        Mono.justOrEmpty(ReflectionUtils.findMethod(CalculatorHandler.class, operator, ServerRequest.class))
-                                .flatMap(method -> (Mono<ServerResponse>) ReflectionUtils.invokeMethod(method, calculatorHandler, request))
-                                .switchIfEmpty(ServerResponse.badRequest().build())
-                                .onErrorResume(ex -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).build())
-                ).orElse(ServerResponse.badRequest().build())
-
+                request.queryParam("operator")
+                        .map(calculatorHandler::handler)
+                        .map(handler -> calculate(handler, request))
+                        .orElse(UNKNOWN_OPERATOR)
         );
     }
+
+    @Bean
+    public ExpressionCache expressionCache(ExpressionProperties properties) {
+
+        return new ExpressionCache(properties);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> expressionRouterFunction(ExpressionCache expressionCache) {
+
+        return RouterFunctions.route(RequestPredicates.GET("/calculator/eval"), new ExpressionHandler(expressionCache)::eval);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> batchRouterFunction() {
+
+        return RouterFunctions.route(RequestPredicates.POST("/calculator/batch"),
+                new BatchCalculatorHandler(CalculatorOperators.defaults())::batch);
+    }
+
+    private static Mono<ServerResponse> calculate(HandlerFunction<ServerResponse> handler, ServerRequest request) {
+
+        try {
+            return handler.handle(request);
+        } catch (RuntimeException ex) {
+            return CALCULATION_FAILED;
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.ssk.webflux.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 记录首个请求处理完成时 JVM 已经运行的时间（time-to-first-request），用于比较两种启动方式。
+ * 之后的请求只多一次 volatile 读。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:50
+ */
+@Component
+public class FirstRequestTimer implements WebFilter, Ordered {
+
+    private final Logger logger = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        if (this.recorded.get()) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).doFinally(signal -> {
+            if (this.recorded.compareAndSet(false, true)) {
+                this.logger.info("首个请求 {} 处理完成，JVM 已运行 {} ms", exchange.getRequest().getPath(),
+                        ManagementFactory.getRuntimeMXBean().getUptime());
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
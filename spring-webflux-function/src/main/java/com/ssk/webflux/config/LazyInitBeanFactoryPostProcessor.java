@@ -0,0 +1,44 @@
+package com.ssk.webflux.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 把所有 bean 定义标记为延迟初始化，只有被用到的 bean 才会创建。
+ * 服务端启动时会取出 HttpHandler，WebFilter、路由、编解码器等处理请求需要的 bean 仍在端口打开前创建完成，
+ * 首个请求不会因此变慢。需要在启动时产生副作用的 bean（如安装调度器装饰器的 SchedulerMetrics）通过 eagerTypes 排除。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:05
+ */
+public class LazyInitBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<Class<?>> eagerTypes;
+
+    public LazyInitBeanFactoryPostProcessor(Class<?>... eagerTypes) {
+
+        this.eagerTypes = Arrays.asList(eagerTypes);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+
+        Set<String> eager = new HashSet<>();
+        for (Class<?> type : this.eagerTypes) {
+            eager.addAll(Arrays.asList(beanFactory.getBeanNamesForType(type, false, false)));
+        }
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (!eager.contains(name) && definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ssk.webflux.config;
+
+import com.ssk.webflux.stats.StatsHandler;
+import com.ssk.webflux.stats.StatsProperties;
+import com.ssk.webflux.stats.StatsService;
+import com.ssk.webflux.stats.StatsWebSocketHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
+
+import java.util.Collections;
+
+/**
+ * 滚动统计服务 /stats 的路由：数值通过 NDJSON POST 或 WebSocket 上传，窗口统计结果通过 SSE 输出
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:30
+ */
+@Configuration
+@EnableConfigurationProperties(StatsProperties.class)
+public class StatsConfig {
+
+    @Bean
+    public StatsService statsService(StatsProperties properties) {
+
+        return new StatsService(properties);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> statsRouterFunction(StatsService statsService, StatsProperties properties) {
+
+        StatsHandler handler = new StatsHandler(statsService, properties);
+        return RouterFunctions.route(RequestPredicates.POST("/stats/{stream}"), handler::publish)
+                .andRoute(RequestPredicates.GET("/stats/{stream}"), handler::windows);
+    }
+
+    @Bean
+    public HandlerMapping statsWebSocketMapping(StatsService statsService) {
+
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        mapping.setUrlMap(Collections.singletonMap("/stats/ws/*", new StatsWebSocketHandler(statsService)));
+        return mapping;
+    }
+
+    @Bean
+    public WebSocketHandlerAdapter webSocketHandlerAdapter() {
+
+        return new WebSocketHandlerAdapter();
+    }
+}
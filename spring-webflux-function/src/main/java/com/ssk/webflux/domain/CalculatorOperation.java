@@ -0,0 +1,21 @@
+package com.ssk.webflux.domain;
+
+import lombok.Data;
+
+/**
+ * POST /calculator/batch 中的一条记录，每行一个 JSON 对象：{"op":"add","v1":1,"v2":2}。
+ * 与 /calculator 的查询参数一致，缺少的操作数按 0 处理。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:10
+ */
+@Data
+public class CalculatorOperation {
+
+    private String op;
+
+    private int v1;
+
+    private int v2;
+}
@@ -0,0 +1,40 @@
+package com.ssk.webflux.exception;
+
+import com.ssk.webflux.common.error.StacklessException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * /calculator 路由的错误。所有错误都是不记录堆栈的共享实例，
+ * 响应体由 {@link com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler} 直接写出
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:10
+ */
+public class CalculatorException extends StacklessException {
+
+    private static final long serialVersionUID = 6391848420733419583L;
+
+    /**
+     * 缺少 operator 参数或 operator 不在识别的列表中
+     */
+    public static final CalculatorException UNKNOWN_OPERATOR =
+            new CalculatorException(HttpStatus.BAD_REQUEST, "Unknown or missing operator");
+
+    /**
+     * 运算过程中出现错误，例如除数为 0
+     */
+    public static final CalculatorException CALCULATION_FAILED =
+            new CalculatorException(HttpStatus.INTERNAL_SERVER_ERROR, "Calculation failed");
+
+    /**
+     * POST /calculator/batch 的请求体不是合法的 NDJSON，或记录中的操作数不是 int
+     */
+    public static final CalculatorException INVALID_BATCH =
+            new CalculatorException(HttpStatus.BAD_REQUEST, "Malformed batch record");
+
+    private CalculatorException(HttpStatus status, String message) {
+
+        super(status, message);
+    }
+}
@@ -0,0 +1,142 @@
+package com.ssk.webflux.expression;
+
+import java.math.BigDecimal;
+
+/**
+ * 一次求值使用的变量值和结果。变量按 {@link Expression#getVariable} 的顺序绑定，
+ * 数组大小固定为 {@link Expression#MAX_VARIABLES}，同一线程可以反复 {@link #reset} 后复用，long 求值不需要分配对象。
+ * 实例不是线程安全的。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:20
+ */
+public class EvaluationContext {
+
+    private final String[] names = new String[Expression.MAX_VARIABLES];
+
+    private final String[] values = new String[Expression.MAX_VARIABLES];
+
+    private final long[] longs = new long[Expression.MAX_VARIABLES];
+
+    private final BigDecimal[] decimals = new BigDecimal[Expression.MAX_VARIABLES];
+
+    private int count;
+
+    private boolean integral = true;
+
+    private boolean longResult;
+
+    private long longValue;
+
+    private BigDecimal decimalValue;
+
+    public void reset() {
+
+        for (int i = 0; i < this.count; i++) {
+            this.names[i] = null;
+            this.values[i] = null;
+            this.decimals[i] = null;
+        }
+        this.count = 0;
+        this.integral = true;
+        this.decimalValue = null;
+    }
+
+    public void bind(String name, String value) {
+
+        int index = this.count++;
+        this.names[index] = name;
+        this.values[index] = value;
+        if (this.integral && isLong(value)) {
+            this.longs[index] = Long.parseLong(value);
+        } else {
+            this.integral = false;
+        }
+    }
+
+    boolean isIntegral() {
+
+        return this.integral;
+    }
+
+    long[] getLongs() {
+
+        return this.longs;
+    }
+
+    BigDecimal[] getDecimals() {
+
+        for (int i = 0; i < this.count; i++) {
+            if (this.decimals[i] == null) {
+                try {
+                    this.decimals[i] = new BigDecimal(this.values[i]);
+                } catch (NumberFormatException ex) {
+                    throw ExpressionException.variable("Invalid value for variable", this.names[i]);
+                }
+            }
+        }
+        return this.decimals;
+    }
+
+    void setResult(long value) {
+
+        this.longResult = true;
+        this.longValue = value;
+    }
+
+    void setResult(BigDecimal value) {
+
+        this.longResult = false;
+        this.decimalValue = value;
+    }
+
+    public boolean isLongResult() {
+
+        return this.longResult;
+    }
+
+    public long getLongResult() {
+
+        return this.longValue;
+    }
+
+    public BigDecimal getDecimalResult() {
+
+        return this.longResult ? BigDecimal.valueOf(this.longValue) : this.decimalValue;
+    }
+
+    /**
+     * 结果的文本形式，也是合法的 JSON 数字：整数不带小数部分，小数去掉末尾的 0，过大或过小时使用科学计数法
+     */
+    public String getResultText() {
+
+        if (this.longResult) {
+            return Long.toString(this.longValue);
+        }
+        BigDecimal value = this.decimalValue.stripTrailingZeros();
+        if (value.scale() < 0 && value.precision() - value.scale() <= ExpressionNode.CONTEXT.getPrecision()) {
+            value = value.setScale(0);
+        }
+        return value.toString();
+    }
+
+    /**
+     * 只由可选的符号和最多 18 位数字组成，一定可以用 Long.parseLong 解析，不会抛出异常
+     */
+    private static boolean isLong(String value) {
+
+        int length = value.length();
+        int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (length == start || length - start > 18) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
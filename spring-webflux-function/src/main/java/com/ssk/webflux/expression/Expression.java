@@ -0,0 +1,120 @@
+package com.ssk.webflux.expression;
+
+import java.math.BigDecimal;
+
+/**
+ * 编译好的表达式：语法树、变量名列表，以及是否只包含整数常量。
+ * 不含变量的表达式在编译时就求值，之后每次使用直接返回结果。实例不可变，可以在线程之间共享。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:10
+ */
+public class Expression {
+
+    /**
+     * 一个表达式中变量的数量上限
+     */
+    public static final int MAX_VARIABLES = 16;
+
+    /**
+     * decimal 结果的最大十进制指数，与 IEEE 754 decimal128 相同，超过时视为溢出
+     */
+    static final int MAX_EXPONENT = 6144;
+
+    private final String text;
+
+    private final ExpressionNode root;
+
+    private final String[] variables;
+
+    private final boolean integral;
+
+    private final String constant;
+
+    private final ExpressionException constantError;
+
+    Expression(String text, ExpressionNode root, String[] variables, boolean integral) {
+
+        this.text = text;
+        this.root = root;
+        this.variables = variables;
+        this.integral = integral;
+        String constant = null;
+        ExpressionException constantError = null;
+        if (variables.length == 0) {
+            EvaluationContext context = new EvaluationContext();
+            try {
+                this.evaluate(context);
+                constant = context.getResultText();
+            } catch (ExpressionException ex) {
+                constantError = ex;
+            }
+        }
+        this.constant = constant;
+        this.constantError = constantError;
+    }
+
+    public String getText() {
+
+        return this.text;
+    }
+
+    public int getVariableCount() {
+
+        return this.variables.length;
+    }
+
+    public String getVariable(int index) {
+
+        return this.variables[index];
+    }
+
+    public boolean isConstant() {
+
+        return this.variables.length == 0;
+    }
+
+    /**
+     * 不含变量的表达式在编译时求得的结果
+     *
+     * @throws ExpressionException 编译时求值出错，例如 1/0
+     */
+    public String getConstant() {
+
+        if (this.constantError != null) {
+            throw this.constantError;
+        }
+        return this.constant;
+    }
+
+    /**
+     * 按 context 中绑定的变量求值，结果写回 context。
+     * 常量和变量都是整数时先按 long 求值，不分配对象；结果无法用 long 表示时改用 decimal 重新求值
+     *
+     * @throws ExpressionException 除数为 0、decimal 结果超过 1E+6144、变量值不是数字等
+     */
+    public void evaluate(EvaluationContext context) {
+
+        if (this.integral && context.isIntegral()) {
+            try {
+                context.setResult(this.root.evalLong(context.getLongs()));
+                return;
+            } catch (RuntimeException ex) {
+                if (ex != ExpressionNode.NOT_LONG) {
+                    throw ex;
+                }
+            }
+        }
+        BigDecimal result;
+        try {
+            result = this.root.evalDecimal(context.getDecimals());
+        } catch (ArithmeticException ex) {
+            throw ExpressionException.OVERFLOW;
+        }
+        if (result.precision() - result.scale() - 1 > MAX_EXPONENT) {
+            throw ExpressionException.OVERFLOW;
+        }
+        context.setResult(result);
+    }
+}
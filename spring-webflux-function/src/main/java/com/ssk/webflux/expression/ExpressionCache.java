@@ -0,0 +1,125 @@
+package com.ssk.webflux.expression;
+
+import com.ssk.webflux.common.metrics.MetricsCollector;
+import com.ssk.webflux.common.metrics.PrometheusWriter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 以表达式文本为键的已编译表达式缓存，容量有上限，按最近最少使用淘汰。
+ * 缓存分成 16 段，每段是一个按访问顺序排列的 LinkedHashMap，由各自的锁保护；
+ * 命中时只在段锁内移动一次链表节点，不分配对象。编译在锁外进行，同一表达式并发未命中时可能重复编译，结果相同。
+ * 语法错误的表达式不缓存，超过长度上限的表达式直接拒绝。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:10
+ */
+public class ExpressionCache implements MetricsCollector {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final int maxLength;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpressionCache(ExpressionProperties properties) {
+
+        int capacity = Math.max(1, properties.getCacheSize() / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment(capacity, this.evictions);
+        }
+        this.maxLength = properties.getMaxLength();
+    }
+
+    public Expression get(String text) {
+
+        if (text.length() > this.maxLength) {
+            throw ExpressionException.TOO_LONG;
+        }
+        int hash = text.hashCode();
+        Segment segment = this.segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+        Expression expression;
+        synchronized (segment) {
+            expression = segment.get(text);
+        }
+        if (expression != null) {
+            this.hits.increment();
+            return expression;
+        }
+        this.misses.increment();
+        expression = ExpressionParser.parse(text);
+        synchronized (segment) {
+            segment.put(text, expression);
+        }
+        return expression;
+    }
+
+    public long getHits() {
+
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+
+        return this.misses.sum();
+    }
+
+    public int size() {
+
+        int size = 0;
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void collect(PrometheusWriter writer) {
+
+        writer.header("calculator_expression_cache_hits_total", "counter", "Expression cache hits")
+                .sample("calculator_expression_cache_hits_total", this.hits.sum());
+        writer.header("calculator_expression_cache_misses_total", "counter", "Expression cache misses, each one compiles the expression")
+                .sample("calculator_expression_cache_misses_total", this.misses.sum());
+        writer.header("calculator_expression_cache_evictions_total", "counter", "Compiled expressions evicted from the cache")
+                .sample("calculator_expression_cache_evictions_total", this.evictions.sum());
+        writer.header("calculator_expression_cache_size", "gauge", "Compiled expressions in the cache")
+                .sample("calculator_expression_cache_size", this.size());
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Expression> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private final transient LongAdder evictions;
+
+        Segment(int capacity, LongAdder evictions) {
+
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+
+            if (size() > this.capacity) {
+                this.evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
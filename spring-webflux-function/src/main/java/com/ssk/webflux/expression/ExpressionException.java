@@ -0,0 +1,47 @@
+package com.ssk.webflux.expression;
+
+import com.ssk.webflux.common.error.StacklessException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * /calculator/eval 的错误。表达式语法错误、缺少变量返回 400，运算溢出、除数为 0 返回 422。
+ * 与具体表达式无关的错误是共享常量，响应体由 {@link com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler} 直接写出
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:30
+ */
+public class ExpressionException extends StacklessException {
+
+    private static final long serialVersionUID = -4162954371722458813L;
+
+    public static final ExpressionException MISSING_EXPRESSION =
+            new ExpressionException(HttpStatus.BAD_REQUEST, "Missing expr parameter");
+
+    public static final ExpressionException TOO_LONG =
+            new ExpressionException(HttpStatus.BAD_REQUEST, "Expression is too long");
+
+    public static final ExpressionException OVERFLOW =
+            new ExpressionException(HttpStatus.UNPROCESSABLE_ENTITY, "Arithmetic overflow");
+
+    public static final ExpressionException DIVISION_BY_ZERO =
+            new ExpressionException(HttpStatus.UNPROCESSABLE_ENTITY, "Division by zero");
+
+    public static final ExpressionException INVALID_EXPONENT =
+            new ExpressionException(HttpStatus.UNPROCESSABLE_ENTITY, "Exponent must be an integer");
+
+    public ExpressionException(HttpStatus status, String message) {
+
+        super(status, message);
+    }
+
+    public static ExpressionException syntax(String message, int position) {
+
+        return new ExpressionException(HttpStatus.BAD_REQUEST, message + " at position " + position);
+    }
+
+    public static ExpressionException variable(String message, String name) {
+
+        return new ExpressionException(HttpStatus.BAD_REQUEST, message + ": " + name);
+    }
+}
@@ -0,0 +1,295 @@
+package com.ssk.webflux.expression;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * 表达式语法树的节点。每个节点有两种求值方式：
+ * <ul>
+ * <li>evalLong：64 位整数精确运算，不分配对象。结果超出 long 范围或不是整数（除不尽、负指数）时抛出 {@link #NOT_LONG}，
+ * 由 {@link Expression} 改用 decimal 重新求值，因此整数运算不会静默回绕</li>
+ * <li>evalDecimal：BigDecimal 运算，精度为 34 位有效数字（DECIMAL128），指数超出范围时为 {@link ExpressionException#OVERFLOW}</li>
+ * </ul>
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+abstract class ExpressionNode {
+
+    static final MathContext CONTEXT = MathContext.DECIMAL128;
+
+    /**
+     * long 求值的结果无法用 long 表示，预先创建、不记录堆栈
+     */
+    static final RuntimeException NOT_LONG = new RuntimeException("not representable as long", null, false, false) {
+
+        private static final long serialVersionUID = 1L;
+    };
+
+    abstract long evalLong(long[] variables);
+
+    abstract BigDecimal evalDecimal(BigDecimal[] variables);
+
+    static final class Literal extends ExpressionNode {
+
+        private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+
+        private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+        private final boolean integral;
+
+        private final long longValue;
+
+        private final BigDecimal decimalValue;
+
+        Literal(BigDecimal value) {
+
+            this.integral = value.signum() == 0 || value.stripTrailingZeros().scale() <= 0
+                    && value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0;
+            this.longValue = this.integral ? value.longValue() : 0;
+            this.decimalValue = value;
+        }
+
+        boolean isIntegral() {
+
+            return this.integral;
+        }
+
+        @Override
+        long evalLong(long[] variables) {
+
+            if (!this.integral) {
+                throw NOT_LONG;
+            }
+            return this.longValue;
+        }
+
+        @Override
+        BigDecimal evalDecimal(BigDecimal[] variables) {
+
+            return this.decimalValue;
+        }
+    }
+
+    static final class Variable extends ExpressionNode {
+
+        private final int index;
+
+        Variable(int index) {
+
+            this.index = index;
+        }
+
+        @Override
+        long evalLong(long[] variables) {
+
+            return variables[this.index];
+        }
+
+        @Override
+        BigDecimal evalDecimal(BigDecimal[] variables) {
+
+            return variables[this.index];
+        }
+    }
+
+    static final class Negate extends ExpressionNode {
+
+        private final ExpressionNode operand;
+
+        Negate(ExpressionNode operand) {
+
+            this.operand = operand;
+        }
+
+        @Override
+        long evalLong(long[] variables) {
+
+            long value = this.operand.evalLong(variables);
+            if (value == Long.MIN_VALUE) {
+                throw NOT_LONG;
+            }
+            return -value;
+        }
+
+        @Override
+        BigDecimal evalDecimal(BigDecimal[] variables) {
+
+            return this.operand.evalDecimal(variables).negate();
+        }
+    }
+
+    static final class Binary extends ExpressionNode {
+
+        private final char operator;
+
+        private final ExpressionNode left;
+
+        private final ExpressionNode right;
+
+        Binary(char operator, ExpressionNode left, ExpressionNode right) {
+
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        long evalLong(long[] variables) {
+
+            long a = this.left.evalLong(variables);
+            long b = this.right.evalLong(variables);
+            switch (this.operator) {
+                case '+':
+                    long sum = a + b;
+                    if (((a ^ sum) & (b ^ sum)) < 0) {
+                        throw NOT_LONG;
+                    }
+                    return sum;
+                case '-':
+                    long difference = a - b;
+                    if (((a ^ b) & (a ^ difference)) < 0) {
+                        throw NOT_LONG;
+                    }
+                    return difference;
+                case '*':
+                    return multiply(a, b);
+                case '/':
+                    if (b == 0) {
+                        throw ExpressionException.DIVISION_BY_ZERO;
+                    }
+                    if (a % b != 0 || (a == Long.MIN_VALUE && b == -1)) {
+                        throw NOT_LONG;
+                    }
+                    return a / b;
+                case '%':
+                    if (b == 0) {
+                        throw ExpressionException.DIVISION_BY_ZERO;
+                    }
+                    return a % b;
+                case '^':
+                    return pow(a, b);
+                case 'm':
+                    return Math.min(a, b);
+                case 'M':
+                    return Math.max(a, b);
+                default:
+                    throw new IllegalStateException("unknown operator " + this.operator);
+            }
+        }
+
+        @Override
+        BigDecimal evalDecimal(BigDecimal[] variables) {
+
+            BigDecimal a = this.left.evalDecimal(variables);
+            BigDecimal b = this.right.evalDecimal(variables);
+            switch (this.operator) {
+                case '+':
+                    return a.add(b, CONTEXT);
+                case '-':
+                    return a.subtract(b, CONTEXT);
+                case '*':
+                    return a.multiply(b, CONTEXT);
+                case '/':
+                    if (b.signum() == 0) {
+                        throw ExpressionException.DIVISION_BY_ZERO;
+                    }
+                    return a.divide(b, CONTEXT);
+                case '%':
+                    if (b.signum() == 0) {
+                        throw ExpressionException.DIVISION_BY_ZERO;
+                    }
+                    return a.remainder(b, CONTEXT);
+                case '^':
+                    return pow(a, b);
+                case 'm':
+                    return a.min(b);
+                case 'M':
+                    return a.max(b);
+                default:
+                    throw new IllegalStateException("unknown operator " + this.operator);
+            }
+        }
+
+        /**
+         * 与 Math.multiplyExact 相同的溢出判断，溢出时抛出预先创建的 NOT_LONG 而不是新的 ArithmeticException
+         */
+        private static long multiply(long a, long b) {
+
+            long result = a * b;
+            if (((Math.abs(a) | Math.abs(b)) >>> 31) != 0
+                    && ((b != 0 && result / b != a) || (a == Long.MIN_VALUE && b == -1))) {
+                throw NOT_LONG;
+            }
+            return result;
+        }
+
+        private static long pow(long base, long exponent) {
+
+            if (exponent < 0) {
+                if (base == 0) {
+                    throw ExpressionException.DIVISION_BY_ZERO;
+                }
+                if (base == 1 || base == -1) {
+                    return (exponent & 1) == 0 ? 1 : base;
+                }
+                throw NOT_LONG;
+            }
+            long result = 1;
+            while (exponent > 0) {
+                if ((exponent & 1) == 1) {
+                    result = multiply(result, base);
+                }
+                exponent >>= 1;
+                if (exponent > 0) {
+                    base = multiply(base, base);
+                }
+            }
+            return result;
+        }
+
+        private static BigDecimal pow(BigDecimal base, BigDecimal exponent) {
+
+            if (exponent.signum() != 0 && exponent.stripTrailingZeros().scale() > 0) {
+                throw ExpressionException.INVALID_EXPONENT;
+            }
+            int n;
+            try {
+                n = exponent.intValueExact();
+            } catch (ArithmeticException ex) {
+                throw ExpressionException.OVERFLOW;
+            }
+            if (n < 0 && base.signum() == 0) {
+                throw ExpressionException.DIVISION_BY_ZERO;
+            }
+            return base.pow(n, CONTEXT);
+        }
+    }
+
+    static final class Abs extends ExpressionNode {
+
+        private final ExpressionNode operand;
+
+        Abs(ExpressionNode operand) {
+
+            this.operand = operand;
+        }
+
+        @Override
+        long evalLong(long[] variables) {
+
+            long value = this.operand.evalLong(variables);
+            if (value == Long.MIN_VALUE) {
+                throw NOT_LONG;
+            }
+            return Math.abs(value);
+        }
+
+        @Override
+        BigDecimal evalDecimal(BigDecimal[] variables) {
+
+            return this.operand.evalDecimal(variables).abs();
+        }
+    }
+}
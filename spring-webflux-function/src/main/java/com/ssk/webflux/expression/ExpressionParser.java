@@ -0,0 +1,257 @@
+package com.ssk.webflux.expression;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 把算术表达式解析为 {@link Expression}，递归下降，优先级从低到高：
+ * <pre>
+ * sum     := product (('+' | '-') product)*
+ * product := unary (('*' | '/' | '%') unary)*
+ * unary   := ('-' | '+') unary | power
+ * power   := primary ('^' unary)?          右结合，-2^2 = -4
+ * primary := number | variable | function '(' sum (',' sum)* ')' | '(' sum ')'
+ * </pre>
+ * 函数有 min、max（两个及以上参数）和 abs。变量名由字母、数字和下划线组成，值取自同名的查询参数，expr 不能作为变量名。
+ * 括号、负号和乘方的嵌套深度不超过 {@link #MAX_DEPTH}，避免恶意输入耗尽线程栈。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:40
+ */
+public class ExpressionParser {
+
+    static final int MAX_DEPTH = 64;
+
+    private final String text;
+
+    private final List<String> variables = new ArrayList<>();
+
+    private int position;
+
+    private int depth;
+
+    private boolean integral = true;
+
+    private ExpressionParser(String text) {
+
+        this.text = text;
+    }
+
+    public static Expression parse(String text) {
+
+        ExpressionParser parser = new ExpressionParser(text);
+        ExpressionNode root = parser.sum();
+        if (parser.peek() != 0) {
+            throw parser.error("Unexpected '" + parser.text.charAt(parser.position) + "'");
+        }
+        return new Expression(text, root, parser.variables.toArray(new String[0]), parser.integral);
+    }
+
+    private ExpressionNode sum() {
+
+        ExpressionNode node = this.product();
+        for (char c = this.peek(); c == '+' || c == '-'; c = this.peek()) {
+            this.position++;
+            node = new ExpressionNode.Binary(c, node, this.product());
+        }
+        return node;
+    }
+
+    private ExpressionNode product() {
+
+        ExpressionNode node = this.unary();
+        for (char c = this.peek(); c == '*' || c == '/' || c == '%'; c = this.peek()) {
+            this.position++;
+            node = new ExpressionNode.Binary(c, node, this.unary());
+        }
+        return node;
+    }
+
+    private ExpressionNode unary() {
+
+        char c = this.peek();
+        if (c == '-' || c == '+') {
+            this.position++;
+            this.enter();
+            ExpressionNode operand = this.unary();
+            this.depth--;
+            return c == '-' ? new ExpressionNode.Negate(operand) : operand;
+        }
+        return this.power();
+    }
+
+    private ExpressionNode power() {
+
+        ExpressionNode base = this.primary();
+        if (this.peek() != '^') {
+            return base;
+        }
+        this.position++;
+        this.enter();
+        ExpressionNode exponent = this.unary();
+        this.depth--;
+        return new ExpressionNode.Binary('^', base, exponent);
+    }
+
+    private ExpressionNode primary() {
+
+        char c = this.peek();
+        if (c == '(') {
+            this.position++;
+            this.enter();
+            ExpressionNode node = this.sum();
+            this.expect(')');
+            this.depth--;
+            return node;
+        }
+        if (isDigit(c) || c == '.') {
+            return this.number();
+        }
+        if (isIdentifierStart(c)) {
+            String name = this.identifier();
+            return this.peek() == '(' ? this.function(name) : this.variable(name);
+        }
+        throw this.error(c == 0 ? "Unexpected end of expression" : "Unexpected '" + c + "'");
+    }
+
+    private ExpressionNode number() {
+
+        int start = this.position;
+        this.skipDigits();
+        if (this.position < this.text.length() && this.text.charAt(this.position) == '.') {
+            this.position++;
+            this.skipDigits();
+        }
+        if (this.position < this.text.length() && (this.text.charAt(this.position) | 0x20) == 'e') {
+            this.position++;
+            if (this.position < this.text.length() && (this.text.charAt(this.position) == '+' || this.text.charAt(this.position) == '-')) {
+                this.position++;
+            }
+            this.skipDigits();
+        }
+        BigDecimal value;
+        try {
+            value = new BigDecimal(this.text.substring(start, this.position));
+        } catch (NumberFormatException ex) {
+            throw ExpressionException.syntax("Invalid number", start + 1);
+        }
+        ExpressionNode.Literal literal = new ExpressionNode.Literal(value);
+        this.integral &= literal.isIntegral();
+        return literal;
+    }
+
+    private ExpressionNode function(String name) {
+
+        int start = this.position - name.length();
+        this.position++;
+        this.enter();
+        List<ExpressionNode> arguments = new ArrayList<>();
+        arguments.add(this.sum());
+        while (this.peek() == ',') {
+            this.position++;
+            arguments.add(this.sum());
+        }
+        this.expect(')');
+        this.depth--;
+        switch (name) {
+            case "abs":
+                if (arguments.size() == 1) {
+                    return new ExpressionNode.Abs(arguments.get(0));
+                }
+                throw ExpressionException.syntax("abs takes one argument", start + 1);
+            case "min":
+            case "max":
+                if (arguments.size() < 2) {
+                    throw ExpressionException.syntax(name + " takes at least two arguments", start + 1);
+                }
+                char operator = "min".equals(name) ? 'm' : 'M';
+                ExpressionNode node = arguments.get(0);
+                for (int i = 1; i < arguments.size(); i++) {
+                    node = new ExpressionNode.Binary(operator, node, arguments.get(i));
+                }
+                return node;
+            default:
+                throw ExpressionException.syntax("Unknown function '" + name + "'", start + 1);
+        }
+    }
+
+    private ExpressionNode variable(String name) {
+
+        if ("expr".equals(name)) {
+            throw ExpressionException.syntax("'expr' cannot be used as a variable", this.position - name.length() + 1);
+        }
+        int index = this.variables.indexOf(name);
+        if (index < 0) {
+            if (this.variables.size() == Expression.MAX_VARIABLES) {
+                throw this.error("More than " + Expression.MAX_VARIABLES + " variables");
+            }
+            index = this.variables.size();
+            this.variables.add(name);
+        }
+        return new ExpressionNode.Variable(index);
+    }
+
+    private String identifier() {
+
+        int start = this.position;
+        while (this.position < this.text.length() && isIdentifierPart(this.text.charAt(this.position))) {
+            this.position++;
+        }
+        return this.text.substring(start, this.position);
+    }
+
+    private void skipDigits() {
+
+        while (this.position < this.text.length() && isDigit(this.text.charAt(this.position))) {
+            this.position++;
+        }
+    }
+
+    /**
+     * 跳过空白，返回下一个字符，到达末尾时返回 0
+     */
+    private char peek() {
+
+        while (this.position < this.text.length() && Character.isWhitespace(this.text.charAt(this.position))) {
+            this.position++;
+        }
+        return this.position < this.text.length() ? this.text.charAt(this.position) : 0;
+    }
+
+    private void expect(char expected) {
+
+        if (this.peek() != expected) {
+            throw this.error("Expected '" + expected + "'");
+        }
+        this.position++;
+    }
+
+    private void enter() {
+
+        if (++this.depth > MAX_DEPTH) {
+            throw this.error("Expression is nested too deeply");
+        }
+    }
+
+    private ExpressionException error(String message) {
+
+        return ExpressionException.syntax(message, this.position + 1);
+    }
+
+    private static boolean isDigit(char c) {
+
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierStart(char c) {
+
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+
+        return isIdentifierStart(c) || isDigit(c);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ssk.webflux.expression;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * /calculator/eval 的配置
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+@Data
+@ConfigurationProperties(prefix = "calculator.eval")
+public class ExpressionProperties {
+
+    /**
+     * 缓存的已编译表达式数量上限，按最近最少使用淘汰
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * 表达式的最大长度，超过时直接拒绝，不解析也不缓存
+     */
+    private int maxLength = 1024;
+}
@@ -0,0 +1,92 @@
+package com.ssk.webflux.handler;
+
+import com.ssk.webflux.domain.CalculatorOperation;
+import com.ssk.webflux.exception.CalculatorException;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * 批量计算：请求体是 NDJSON，每行一条 {"op":"add","v1":1,"v2":2}，响应按相同顺序每行输出一条结果：
+ * <pre>
+ * curl -H 'Content-Type: application/x-ndjson' --data-binary @ops.ndjson http://localhost:8082/calculator/batch
+ * </pre>
+ * 记录逐条解码后按 chunkSize 分段写入 {@link BatchChunk} 的 int 数组，整段计算完再编码为一个 DataBuffer 写出。
+ * 每段在前一段写出之后才开始收集，对请求体的读取随响应的写出推进，无论输入多大，内存中最多只有一段记录。
+ * 单条记录的运算错误以 {"error":"..."} 行输出，不中断整个批次；请求体格式错误时返回 400，已经开始写出响应后则中断连接。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:30
+ */
+public class BatchCalculatorHandler {
+
+    public static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private static final ResolvableType OPERATION_TYPE = ResolvableType.forClass(CalculatorOperation.class);
+
+    private static final DataBufferFactory BUFFER_FACTORY = new DefaultDataBufferFactory();
+
+    private final Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private final IntBinaryOperator[] operators;
+
+    private final int chunkSize;
+
+    public BatchCalculatorHandler(CalculatorOperators operators) {
+
+        this(operators, DEFAULT_CHUNK_SIZE);
+    }
+
+    public BatchCalculatorHandler(CalculatorOperators operators, int chunkSize) {
+
+        Map<String, IntBinaryOperator> map = operators.asMap();
+        this.operators = new IntBinaryOperator[map.size()];
+        map.forEach((name, operator) -> {
+            int index = this.indexes.size();
+            this.indexes.put(name, index);
+            this.operators[index] = operator;
+        });
+        this.chunkSize = chunkSize;
+    }
+
+    public Mono<ServerResponse> batch(ServerRequest request) {
+
+        Flux<DataBuffer> results = this.decoder
+                .decode(request.body(BodyExtractors.toDataBuffers()), OPERATION_TYPE, null, Collections.emptyMap())
+                .cast(CalculatorOperation.class)
+                .window(this.chunkSize)
+                .concatMap(window -> window.collect(() -> new BatchChunk(this.chunkSize), this::add), 1)
+                .map(chunk -> {
+                    chunk.evaluate(this.operators);
+                    return chunk.write(BUFFER_FACTORY);
+                })
+                .onErrorMap(DecodingException.class, ex -> CalculatorException.INVALID_BATCH);
+        return ServerResponse.ok().contentType(APPLICATION_NDJSON).body(BodyInserters.fromDataBuffers(results));
+    }
+
+    private void add(BatchChunk chunk, CalculatorOperation operation) {
+
+        Integer index = operation.getOp() == null ? null : this.indexes.get(operation.getOp());
+        chunk.add(index == null ? BatchChunk.UNKNOWN_OPERATOR : index, operation.getV1(), operation.getV2());
+    }
+}
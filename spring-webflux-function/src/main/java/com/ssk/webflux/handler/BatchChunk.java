@@ -0,0 +1,144 @@
+package com.ssk.webflux.handler;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * 批量计算中的一段记录，operator 序号、操作数和结果都保存在 int 数组中，
+ * 整段计算完成后一次性编码为 NDJSON 写出，每条记录不再创建响应对象。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:20
+ */
+final class BatchChunk {
+
+    /**
+     * operator 不在运算表中时的序号
+     */
+    static final int UNKNOWN_OPERATOR = -1;
+
+    private static final byte OK = 0;
+
+    private static final byte UNKNOWN = 1;
+
+    private static final byte FAILED = 2;
+
+    private static final byte[] RESULT_PREFIX = "{\"result\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] UNKNOWN_LINE = "{\"error\":\"Unknown or missing operator\"}\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] FAILED_LINE = "{\"error\":\"Calculation failed\"}\n".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * 一行输出的最大长度，即错误行与 {"result":-2147483648}\n 中较长的一个
+     */
+    private static final int MAX_LINE_LENGTH = Math.max(UNKNOWN_LINE.length, RESULT_PREFIX.length + 13);
+
+    private final int[] operators;
+
+    private final int[] v1;
+
+    private final int[] v2;
+
+    private final int[] results;
+
+    private final byte[] status;
+
+    private int size;
+
+    BatchChunk(int capacity) {
+
+        this.operators = new int[capacity];
+        this.v1 = new int[capacity];
+        this.v2 = new int[capacity];
+        this.results = new int[capacity];
+        this.status = new byte[capacity];
+    }
+
+    void add(int operator, int v1, int v2) {
+
+        this.operators[this.size] = operator;
+        this.v1[this.size] = v1;
+        this.v2[this.size] = v2;
+        this.size++;
+    }
+
+    int size() {
+
+        return this.size;
+    }
+
+    /**
+     * 按顺序计算整段记录，单条记录的错误（除数为 0、pow 溢出等）只影响该条记录的输出
+     */
+    void evaluate(IntBinaryOperator[] table) {
+
+        for (int i = 0; i < this.size; i++) {
+            int operator = this.operators[i];
+            if (operator == UNKNOWN_OPERATOR) {
+                this.status[i] = UNKNOWN;
+                continue;
+            }
+            try {
+                this.results[i] = table[operator].applyAsInt(this.v1[i], this.v2[i]);
+                this.status[i] = OK;
+            } catch (ArithmeticException ex) {
+                this.status[i] = FAILED;
+            }
+        }
+    }
+
+    /**
+     * 把结果编码为 NDJSON，每条记录一行：{"result":3} 或 {"error":"..."}
+     */
+    DataBuffer write(DataBufferFactory factory) {
+
+        byte[] out = new byte[this.size * MAX_LINE_LENGTH];
+        int position = 0;
+        for (int i = 0; i < this.size; i++) {
+            switch (this.status[i]) {
+                case UNKNOWN:
+                    position = copy(UNKNOWN_LINE, out, position);
+                    break;
+                case FAILED:
+                    position = copy(FAILED_LINE, out, position);
+                    break;
+                default:
+                    position = copy(RESULT_PREFIX, out, position);
+                    position = writeInt(this.results[i], out, position);
+                    out[position++] = '}';
+                    out[position++] = '\n';
+            }
+        }
+        return factory.wrap(ByteBuffer.wrap(out, 0, position));
+    }
+
+    private static int copy(byte[] source, byte[] out, int position) {
+
+        System.arraycopy(source, 0, out, position, source.length);
+        return position + source.length;
+    }
+
+    private static int writeInt(int value, byte[] out, int position) {
+
+        long remaining = value;
+        if (remaining < 0) {
+            out[position++] = '-';
+            remaining = -remaining;
+        }
+        int digits = 1;
+        for (long t = remaining; t >= 10; t /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            out[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return position + digits;
+    }
+}
@@ -1,13 +1,14 @@
 package com.ssk.webflux.handler;
 
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
-import reactor.util.function.Tuples;
 
-import java.util.function.BiFunction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
 
 /**
  * 在函数式编程模型中，每个请求是由一个函数来处理的，
@@ -18,9 +19,10 @@ import java.util.function.BiFunction;
  * 如请求路径、HTTP 头、查询参数和请求内容等。方法 handle 的返回值是一个 Mono<T extends ServerResponse>对象。
  * 接口 ServerResponse 用来表示 HTTP 响应。ServerResponse 中包含了很多静态方法来创建不同 HTTP 状态码的响应对象。
  * 本节中通过一个简单的计算器来展示函数式编程模型的用法。
- * 代码清单  中给出了处理不同请求的类 CalculatorHandler，其中包含的方法 add、subtract、multiply 和 divide
- * 都是接口 HandlerFunction 的实现。
- * 这些方法分别对应加、减、乘、除四种运算。每种运算都是从 HTTP 请求中获取到两个作为操作数的整数，再把运算的结果返回
+ * 代码清单  中给出了处理不同请求的类 CalculatorHandler，加、减、乘、除等每种运算对应一个 HandlerFunction，
+ * 从 HTTP 请求中获取到两个作为操作数的整数，再把运算的结果返回，例如
+ * http://localhost:8082/calculator?operator=add&v1=1&v2=2。
+ * 处理函数在启动时按 {@link CalculatorOperators} 创建好，路由按 operator 查找，见 {@link #handler}
  *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
@@ -29,62 +31,35 @@ import java.util.function.BiFunction;
 @Component
 public class CalculatorHandler {
 
-    /**
-     * http://localhost:8082/calculator?operator=add&v1=1&v2=2
-     *
-     * @param request
-     * @return
-     */
-    public Mono<ServerResponse> add(final ServerRequest request) {
-
-        return this.calculate(request, (v1, v2) -> v1 + v2);
-    }
+    private final Map<String, HandlerFunction<ServerResponse>> handlers;
 
-    /**
-     * http://localhost:8082/calculator?operator=subtract&v1=1&v2=2
-     *
-     * @param request
-     * @return
-     */
-    public Mono<ServerResponse> subtract(final ServerRequest request) {
+    public CalculatorHandler() {
 
-        return this.calculate(request, (v1, v2) -> v1 - v2);
+        this(CalculatorOperators.defaults());
     }
 
-    /**
-     * http://localhost:8082/calculator?operator=multiply&v1=1&v2=2
-     *
-     * @param request
-     * @return
-     */
-    public Mono<ServerResponse> multiply(final ServerRequest request) {
+    public CalculatorHandler(CalculatorOperators operators) {
 
-        return this.calculate(request, (v1, v2) -> v1 * v2);
+        Map<String, HandlerFunction<ServerResponse>> handlers = new HashMap<>();
+        operators.asMap().forEach((name, operator) -> handlers.put(name, request -> this.calculate(request, operator)));
+        this.handlers = handlers;
     }
 
     /**
-     * http://localhost:8082/calculator?operator=divide&v1=1&v2=2
+     * 按 operator 取值查找处理函数，启动时已经为每种运算创建好，查找是一次 HashMap 访问
      *
-     * @param request
-     * @return
+     * @param operator 查询参数 operator 的值
+     * @return 不支持的运算返回 null
      */
-    public Mono<ServerResponse> divide(final ServerRequest request) {
-
-        return this.calculate(request, (v1, v2) -> v1 / v2);
-    }
-
-
-    private Mono<ServerResponse> calculate(ServerRequest request,
-                                           BiFunction<Integer, Integer, Integer> calculateFunc) {
+    public HandlerFunction<ServerResponse> handler(String operator) {
 
-        Tuple2<Integer, Integer> operands = this.extractOperands(request);
-        return ServerResponse.ok()
-                .body(Mono.just(calculateFunc.apply(operands.getT1(), operands.getT2())), Integer.class);
+        return this.handlers.get(operator);
     }
 
-    private Tuple2<Integer, Integer> extractOperands(ServerRequest request) {
+    private Mono<ServerResponse> calculate(ServerRequest request, IntBinaryOperator operator) {
 
-        return Tuples.of(this.parseOperand(request, "v1"), this.parseOperand(request, "v2"));
+        int result = operator.applyAsInt(this.parseOperand(request, "v1"), this.parseOperand(request, "v2"));
+        return Mono.just(new NumberServerResponse(result));
     }
 
     private int parseOperand(final ServerRequest request, final String param) {
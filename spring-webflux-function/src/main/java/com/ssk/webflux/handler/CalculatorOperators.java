@@ -0,0 +1,72 @@
+package com.ssk.webflux.handler;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * /calculator 支持的运算，以 operator 参数的取值为键。
+ * 运算直接使用 int 原始类型的 {@link IntBinaryOperator}，计算过程中没有装箱；
+ * 抛出的 ArithmeticException（除数为 0、pow 溢出或指数为负）由路由转换为 500 响应。
+ * 新的运算通过 {@link #register} 加入，例如：
+ * <pre>
+ * new CalculatorHandler(CalculatorOperators.defaults().register("gcd", MathUtils::gcd))
+ * </pre>
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:20
+ */
+public class CalculatorOperators {
+
+    private final Map<String, IntBinaryOperator> operators = new LinkedHashMap<>();
+
+    /**
+     * 默认的运算：add、subtract、multiply、divide、mod、pow、min、max
+     */
+    public static CalculatorOperators defaults() {
+
+        return new CalculatorOperators()
+                .register("add", (v1, v2) -> v1 + v2)
+                .register("subtract", (v1, v2) -> v1 - v2)
+                .register("multiply", (v1, v2) -> v1 * v2)
+                .register("divide", (v1, v2) -> v1 / v2)
+                .register("mod", (v1, v2) -> v1 % v2)
+                .register("pow", CalculatorOperators::pow)
+                .register("min", Math::min)
+                .register("max", Math::max);
+    }
+
+    public CalculatorOperators register(String name, IntBinaryOperator operator) {
+
+        this.operators.put(name, operator);
+        return this;
+    }
+
+    public Map<String, IntBinaryOperator> asMap() {
+
+        return Collections.unmodifiableMap(this.operators);
+    }
+
+    /**
+     * 整数幂，结果超出 int 范围时抛出 ArithmeticException，不像乘法那样回绕
+     */
+    static int pow(int base, int exponent) {
+
+        if (exponent < 0) {
+            throw new ArithmeticException("negative exponent");
+        }
+        int result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                base = Math.multiplyExact(base, base);
+            }
+        }
+        return result;
+    }
+}
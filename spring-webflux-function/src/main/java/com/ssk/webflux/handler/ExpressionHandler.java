@@ -0,0 +1,66 @@
+package com.ssk.webflux.handler;
+
+import com.ssk.webflux.expression.EvaluationContext;
+import com.ssk.webflux.expression.Expression;
+import com.ssk.webflux.expression.ExpressionCache;
+import com.ssk.webflux.expression.ExpressionException;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * 在一次请求中计算完整的算术表达式，表达式及其中变量的值都来自查询参数：
+ * <pre>
+ * http://localhost:8082/calculator/eval?expr=(a%2Bb)*2^n&a=1&b=2&n=10
+ * </pre>
+ * 查询参数中的 + 会被解码为空格，表达式中的加号需要写成 %2B。
+ * 编译结果按表达式文本缓存在 {@link ExpressionCache} 中，同一表达式代入不同的变量值不需要重新解析；
+ * 整数求值使用每个线程复用的 {@link EvaluationContext}，缓存命中时求值过程不分配对象。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:40
+ */
+public class ExpressionHandler {
+
+    private static final Mono<ServerResponse> MISSING_EXPRESSION = Mono.error(ExpressionException.MISSING_EXPRESSION);
+
+    private static final ThreadLocal<EvaluationContext> CONTEXTS = ThreadLocal.withInitial(EvaluationContext::new);
+
+    private final ExpressionCache cache;
+
+    public ExpressionHandler(ExpressionCache cache) {
+
+        this.cache = cache;
+    }
+
+    public Mono<ServerResponse> eval(ServerRequest request) {
+
+        MultiValueMap<String, String> params = request.queryParams();
+        String text = params.getFirst("expr");
+        if (text == null) {
+            return MISSING_EXPRESSION;
+        }
+        try {
+            Expression expression = this.cache.get(text);
+            if (expression.isConstant()) {
+                return Mono.just(new NumberServerResponse(expression.getConstant()));
+            }
+            EvaluationContext context = CONTEXTS.get();
+            context.reset();
+            for (int i = 0; i < expression.getVariableCount(); i++) {
+                String name = expression.getVariable(i);
+                String value = params.getFirst(name);
+                if (value == null) {
+                    throw ExpressionException.variable("Missing variable", name);
+                }
+                context.bind(name, value);
+            }
+            expression.evaluate(context);
+            return Mono.just(new NumberServerResponse(context.getResultText()));
+        } catch (ExpressionException ex) {
+            return Mono.error(ex);
+        }
+    }
+}
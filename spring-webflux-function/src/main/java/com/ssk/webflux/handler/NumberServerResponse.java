@@ -0,0 +1,86 @@
+package com.ssk.webflux.handler;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 以 JSON 数字写出计算结果的 200 响应，与 ServerResponse.ok().syncBody(Integer) 输出相同的内容，
+ * 但不经过 BodyInserter 和 HttpMessageWriter 的查找，也不需要 Jackson 序列化，结果的文本直接转换为 ASCII 字节写出。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:20
+ */
+public class NumberServerResponse implements ServerResponse {
+
+    private static final HttpHeaders HEADERS;
+
+    private static final MultiValueMap<String, ResponseCookie> COOKIES = new LinkedMultiValueMap<>(0);
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private final String text;
+
+    public NumberServerResponse(int value) {
+
+        this(Integer.toString(value));
+    }
+
+    /**
+     * @param text 合法的 JSON 数字，调用方负责保证
+     */
+    public NumberServerResponse(String text) {
+
+        this.text = text;
+    }
+
+    public String getText() {
+
+        return this.text;
+    }
+
+    @Override
+    public HttpStatus statusCode() {
+
+        return HttpStatus.OK;
+    }
+
+    @Override
+    public HttpHeaders headers() {
+
+        return HEADERS;
+    }
+
+    @Override
+    public MultiValueMap<String, ResponseCookie> cookies() {
+
+        return COOKIES;
+    }
+
+    @Override
+    public Mono<Void> writeTo(ServerWebExchange exchange, Context context) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        byte[] body = this.text.getBytes(StandardCharsets.US_ASCII);
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON_UTF8);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -1,10 +1,23 @@
 package com.ssk.webflux.restCli.http;
 
+import com.ssk.webflux.common.client.WebClientFactory;
+import com.ssk.webflux.common.client.WebClientProperties;
+import com.ssk.webflux.common.codec.BinaryCodecs;
+import com.ssk.webflux.common.codec.BinaryMediaTypes;
+import com.ssk.webflux.common.codec.ProtobufSchemaRegistry;
+import com.ssk.webflux.common.tracing.SpanFileExporter;
+import com.ssk.webflux.common.tracing.Tracer;
+import com.ssk.webflux.common.tracing.TracingProperties;
 import com.ssk.webflux.domain.User;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * 除了服务器端实现之外，WebFlux 也提供了反应式客户端，可以访问 HTTP、SSE 和 WebSocket 服务器端
  * 如下是客户端实现
@@ -15,6 +28,25 @@ import reactor.core.publisher.Mono;
  */
 public class RESTClient {
 
+    /**
+     * 命令行客户端作为调用链的入口，全部采样；服务端沿用 traceparent 中的决定，同一个 trace id 可以在服务端的 /traces 中查到
+     */
+    public static final Tracer TRACER = new Tracer(fullSampling());
+
+    /**
+     * 命令行客户端共用的 WebClient 工厂：以 h2c 访问三个应用，每个地址一个连接、请求作为流复用；其余为 webflux.client 的默认配置
+     */
+    public static final WebClientFactory CLIENTS = new WebClientFactory(h2cProperties(), TRACER);
+
+    /**
+     * 服务间调用可以选择的媒体类型，JSON 之外的三种都是二进制格式
+     */
+    private static final List<MediaType> MEDIA_TYPES = Arrays.asList(
+            MediaType.APPLICATION_JSON,
+            BinaryMediaTypes.APPLICATION_CBOR,
+            BinaryMediaTypes.APPLICATION_SMILE,
+            BinaryMediaTypes.APPLICATION_PROTOBUF);
+
     /**
      * 对于 HTTP 和 SSE，可以使用 WebFlux 模块中的类 org.springframework.web.reactive.function.client.WebClient。
      * 代码清单  中的 RESTClient 用来访问前面小节中创建的 REST API。
@@ -23,23 +55,68 @@ public class RESTClient {
      * 方法 exchange 的作用是发送请求并得到以 Mono<ServerResponse>表示的 HTTP 响应。
      * 最后对得到的响应进行处理并输出结果。ServerResponse 的 bodyToMono 方法把响应内容转换成类 User 的对象，
      * 最终得到的结果是 Mono<User>对象。调用 createdUser.block 方法的作用是等待请求完成并得到所产生的类 User 的对象
+     * <p>
+     * 客户端注册了与服务端相同的二进制编解码器，请求体和响应体分别通过 Content-Type 和 Accept 选择格式，
+     * 依次用 JSON、CBOR、Smile 和 Protobuf 各创建一次用户，最后把客户端记录的 span 追加到 restcli-spans.jsonl
      *
      * @param args
      */
     public static void main(String[] args) {
 
-        final User user = new User();
-        user.setId("111");
-        user.setName("Test");
-        user.setEmail("test@example.org");
         // 访问 spring-webflux-anno 项目的 user
-        final WebClient client = WebClient.create("http://localhost:8081/user");
-        final Mono<User> createdUser = client.post()
-                .uri("")
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(user), User.class)
-                .exchange()
-                .flatMap(response -> response.bodyToMono(User.class));
-        System.out.println(createdUser.block());
+        final WebClient client = createClient("http://localhost:8081/user");
+        for (MediaType mediaType : MEDIA_TYPES) {
+            final User user = new User();
+            user.setId("111");
+            user.setName("Test");
+            user.setEmail("test@example.org");
+            final Mono<User> createdUser = client.post()
+                    .uri("")
+                    .contentType(mediaType)
+                    .accept(mediaType)
+                    .body(Mono.just(user), User.class)
+                    .exchange()
+                    .flatMap(response -> response.bodyToMono(User.class));
+            System.out.println(mediaType + " -> " + createdUser.block());
+        }
+        int spans = new SpanFileExporter(TRACER, Paths.get("restcli-spans.jsonl")).export();
+        System.out.println(spans + " spans -> restcli-spans.jsonl");
+    }
+
+    /**
+     * 注册了二进制编解码器的 WebClient，使用共享的 {@link #CLIENTS} 连接池
+     */
+    public static WebClient createClient(String baseUrl) {
+
+        return createClient(CLIENTS, baseUrl);
+    }
+
+    /**
+     * 注册了二进制编解码器的 WebClient，{@link com.ssk.webflux.restCli.load.LoadGenerator} 也使用它访问 /user
+     */
+    public static WebClient createClient(WebClientFactory factory, String baseUrl) {
+
+        final ProtobufSchemaRegistry schemaRegistry = new ProtobufSchemaRegistry()
+                .register(User.class, "proto/user.proto", "User");
+        return factory.builder()
+                .baseUrl(baseUrl)
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(configurer -> BinaryCodecs.register(configurer, schemaRegistry))
+                        .build())
+                .build();
+    }
+
+    private static TracingProperties fullSampling() {
+
+        TracingProperties properties = new TracingProperties();
+        properties.setSampleRate(1);
+        return properties;
+    }
+
+    private static WebClientProperties h2cProperties() {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.getH2c().setEnabled(true);
+        return properties;
     }
 }
@@ -0,0 +1,88 @@
+package com.ssk.webflux.restCli.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个操作的延迟统计（微秒）。
+ * <ul>
+ * <li>corrected：从计划发出时间算起，包含因为并发上限或发送端落后而排队的时间，修正了 coordinated omission</li>
+ * <li>uncorrected：从实际发出时间算起，相当于闭环压测工具报告的延迟，用来对比</li>
+ * </ul>
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:10
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+
+    private final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private final LongAdder errors = new LongAdder();
+
+    public LatencyRecorder(String name) {
+
+        this.name = name;
+    }
+
+    public void record(long intendedNanos, long startNanos, long endNanos, boolean success) {
+
+        this.corrected.recordValue(toMicros(endNanos - intendedNanos));
+        this.uncorrected.recordValue(toMicros(endNanos - startNanos));
+        if (!success) {
+            this.errors.increment();
+        }
+    }
+
+    private static long toMicros(long nanos) {
+
+        return Math.min(Math.max(0, nanos / 1000), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    public String getName() {
+
+        return this.name;
+    }
+
+    public long getCount() {
+
+        return this.corrected.getTotalCount();
+    }
+
+    public void add(LatencyRecorder other) {
+
+        this.corrected.add(other.corrected);
+        this.uncorrected.add(other.uncorrected);
+        this.errors.add(other.errors.sum());
+    }
+
+    public static void printHeader(PrintStream out) {
+
+        out.printf("%-12s %8s %7s %9s | %-45s | %-45s%n", "operation", "count", "errors", "ops/s",
+                "corrected ms  p50 / p90 / p99 / p99.9 / max", "uncorrected ms  p50 / p90 / p99 / p99.9 / max");
+    }
+
+    public void print(PrintStream out, double seconds) {
+
+        out.printf("%-12s %8d %7d %9.1f | %s | %s%n", this.name, getCount(), this.errors.sum(), getCount() / seconds,
+                percentiles(this.corrected), percentiles(this.uncorrected));
+    }
+
+    private static String percentiles(Histogram histogram) {
+
+        return String.format("%8.2f %8.2f %8.2f %8.2f %9.2f",
+                histogram.getValueAtPercentile(50) / 1000d, histogram.getValueAtPercentile(90) / 1000d,
+                histogram.getValueAtPercentile(99) / 1000d, histogram.getValueAtPercentile(99.9) / 1000d,
+                histogram.getMaxValue() / 1000d);
+    }
+}
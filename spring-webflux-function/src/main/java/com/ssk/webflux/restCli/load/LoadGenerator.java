@@ -0,0 +1,155 @@
+package com.ssk.webflux.restCli.load;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于 restCli 中几个客户端的压测工具，在本机对运行中的三个应用做容量测试：
+ * <pre>
+ * java -cp spring-webflux-function-0.0.1-SNAPSHOT-exec.jar -Dloader.main=com.ssk.webflux.restCli.load.LoadGenerator \
+ *      org.springframework.boot.loader.PropertiesLauncher rate=1000 duration=60s profile=user:50,calculator:50
+ * </pre>
+ * 请求按固定的到达速率发出（open-loop），不会因为服务端变慢而少发；进行中的请求达到 concurrency 时新请求排队，
+ * 延迟从计划发出的时间算起，因此排队和发送端落后的时间都会计入（修正 coordinated omission）。
+ * 结果同时给出未修正的延迟，两者的差距反映了服务端饱和时闭环压测会低估多少尾延迟。
+ * <p>
+ * 注意三个应用默认开启了按客户端限流（webflux.overload.rate-limit），本机压测超过每秒 1000 个请求时需要在目标应用上关闭。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:40
+ */
+public class LoadGenerator {
+
+    private final LoadOptions options;
+
+    private final WorkloadProfile profile;
+
+    private final LongAdder issued = new LongAdder();
+
+    private final LongAdder started = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private long startNanos;
+
+    private long measureFromNanos;
+
+    private long endNanos;
+
+    public LoadGenerator(LoadOptions options, WorkloadProfile profile) {
+
+        this.options = options;
+        this.profile = profile;
+    }
+
+    public static void main(String[] args) {
+
+        LoadOptions options = LoadOptions.parse(args);
+        LoadOperations operations = new LoadOperations(options);
+        WorkloadProfile profile = WorkloadProfile.parse(options.getProfile(), operations.operations());
+        System.out.println("Seeding " + options.getSeed() + " records");
+        operations.seed(profile, options.getSeed()).block(Duration.ofMinutes(1));
+        System.out.printf("Running %s at %.0f req/s for %s (+%s warmup), concurrency %d%n", options.getProfile(),
+                options.getRate(), options.getDuration(), options.getWarmup(), options.getConcurrency());
+
+        LoadGenerator generator = new LoadGenerator(options, profile);
+        generator.run();
+        generator.report();
+    }
+
+    public void run() {
+
+        this.startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        this.measureFromNanos = this.startNanos + this.options.getWarmup().toNanos();
+        this.endNanos = this.measureFromNanos + this.options.getDuration().toNanos();
+        Disposable progress = Flux.interval(Duration.ofSeconds(1)).subscribe(tick -> this.printProgress());
+        try {
+            Flux.<Long>create(sink -> {
+                Thread pacer = new Thread(() -> this.pace(sink), "load-arrivals");
+                pacer.setDaemon(true);
+                pacer.start();
+            }, FluxSink.OverflowStrategy.BUFFER)
+                    .flatMap(this::fire, this.options.getConcurrency())
+                    .then()
+                    .block();
+        } finally {
+            progress.dispose();
+        }
+    }
+
+    /**
+     * 按计划时间发出请求；发送线程落后时立即补发，计划时间不变
+     */
+    private void pace(FluxSink<Long> sink) {
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / this.options.getRate();
+        for (long i = 0; ; i++) {
+            long intended = this.startNanos + (long) (i * intervalNanos);
+            if (intended >= this.endNanos || sink.isCancelled()) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            this.issued.increment();
+            sink.next(intended);
+        }
+        sink.complete();
+    }
+
+    private Mono<Boolean> fire(long intended) {
+
+        return Mono.defer(() -> {
+            int index = this.profile.next();
+            long start = System.nanoTime();
+            this.started.increment();
+            this.inFlight.incrementAndGet();
+            return this.profile.operation(index).execute()
+                    .timeout(this.options.getTimeout())
+                    .onErrorReturn(false)
+                    .defaultIfEmpty(false)
+                    .doOnNext(success -> {
+                        if (intended >= this.measureFromNanos) {
+                            this.profile.recorder(index).record(intended, start, System.nanoTime(), success);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        this.inFlight.decrementAndGet();
+                        this.completed.increment();
+                    });
+        });
+    }
+
+    private void printProgress() {
+
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - this.startNanos);
+        long issued = this.issued.sum();
+        System.out.printf("%4ds issued=%d completed=%d inFlight=%d queued=%d%n", elapsed, issued,
+                this.completed.sum(), this.inFlight.get(), issued - this.started.sum());
+    }
+
+    public void report() {
+
+        double seconds = this.options.getDuration().toNanos() / 1e9;
+        LatencyRecorder total = new LatencyRecorder("total");
+        System.out.println();
+        LatencyRecorder.printHeader(System.out);
+        for (LatencyRecorder recorder : this.profile.recorders()) {
+            recorder.print(System.out, seconds);
+            total.add(recorder);
+        }
+        total.print(System.out, seconds);
+    }
+}
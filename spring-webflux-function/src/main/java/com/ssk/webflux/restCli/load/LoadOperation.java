@@ -0,0 +1,16 @@
+package com.ssk.webflux.restCli.load;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 压测中的一次操作，返回是否成功；出错或超时也记为失败
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:25
+ */
+@FunctionalInterface
+public interface LoadOperation {
+
+    Mono<Boolean> execute();
+}
@@ -0,0 +1,174 @@
+package com.ssk.webflux.restCli.load;
+
+import com.ssk.webflux.common.client.WebClientFactory;
+import com.ssk.webflux.common.client.WebClientProperties;
+import com.ssk.webflux.domain.User;
+import com.ssk.webflux.restCli.http.RESTClient;
+import com.ssk.webflux.restCli.sse.SSEClient;
+import com.ssk.webflux.restCli.websocket.WsClient;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 压测可以使用的操作：
+ * <ul>
+ * <li>user / user-write：spring-webflux-anno 的 GET /user/{id} 和 POST /user（覆盖已有用户，数据量不增长）</li>
+ * <li>city / city-write：spring-webflux-curd 的 GET /city/{id} 和 PUT /city</li>
+ * <li>calculator：spring-webflux-function 的 /calculator，随机选择四种运算</li>
+ * <li>sse：订阅 /sse/randomNumbers 并等到第一条消息，服务端每秒推送一次，延迟约为 1 秒</li>
+ * <li>echo：建立 /echo 的 WebSocket 连接，发送一条消息并等到回复</li>
+ * </ul>
+ * 读操作访问的 id 在压测前通过 {@link #seed} 写入。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:30
+ */
+public class LoadOperations {
+
+    private static final String[] OPERATORS = {"add", "subtract", "multiply", "divide"};
+
+    private final WebClient userClient;
+
+    private final WebClient cityClient;
+
+    private final WebClient functionClient;
+
+    private final WebClient sseClient;
+
+    private final WebSocketClient webSocketClient = new ReactorNettyWebSocketClient();
+
+    private final String sseUri;
+
+    private final URI echoUri;
+
+    private String[] userIds = new String[0];
+
+    private long[] cityIds = new long[0];
+
+    public LoadOperations(LoadOptions options) {
+
+        WebClientFactory factory = new WebClientFactory(clientProperties(options));
+        this.userClient = RESTClient.createClient(factory, options.getAnno() + "/user");
+        this.cityClient = factory.create(options.getCurd() + "/city");
+        this.functionClient = factory.create(options.getFunction());
+        this.sseClient = factory.builder().build();
+        this.sseUri = options.getAnno() + "/sse/randomNumbers";
+        this.echoUri = URI.create(options.getAnno().replaceFirst("^http", "ws") + "/echo");
+    }
+
+    /**
+     * 压测需要测量服务本身的延迟，连接池容量与并发数一致，不重试也不对冲
+     */
+    private static WebClientProperties clientProperties(LoadOptions options) {
+
+        WebClientProperties properties = new WebClientProperties();
+        properties.setPoolName("load-generator");
+        properties.setMaxConnections(options.getConcurrency());
+        properties.setResponseTimeout(options.getTimeout());
+        properties.getRetry().setMaxRetries(0);
+        properties.getHedge().setEnabled(false);
+        return properties;
+    }
+
+    public Map<String, LoadOperation> operations() {
+
+        Map<String, LoadOperation> operations = new LinkedHashMap<>();
+        operations.put("user", () -> this.userClient.get().uri("/{id}", randomUserId())
+                .exchange()
+                .flatMap(LoadOperations::succeeded));
+        operations.put("user-write", () -> this.userClient.post()
+                .syncBody(user(randomUserId()))
+                .exchange()
+                .flatMap(LoadOperations::succeeded));
+        operations.put("city", () -> this.cityClient.get().uri("/{id}", randomCityId())
+                .exchange()
+                .flatMap(LoadOperations::succeeded));
+        operations.put("city-write", () -> this.cityClient.put()
+                .syncBody(city(randomCityId()))
+                .exchange()
+                .flatMap(LoadOperations::succeeded));
+        operations.put("calculator", () -> this.functionClient.get()
+                .uri("/calculator?operator={operator}&v1={v1}&v2={v2}",
+                        OPERATORS[ThreadLocalRandom.current().nextInt(OPERATORS.length)],
+                        ThreadLocalRandom.current().nextInt(1000), 1 + ThreadLocalRandom.current().nextInt(1000))
+                .exchange()
+                .flatMap(LoadOperations::succeeded));
+        operations.put("sse", () -> SSEClient.randomNumbers(this.sseClient, this.sseUri)
+                .next()
+                .map(data -> true));
+        operations.put("echo", () -> WsClient.echo(this.webSocketClient, this.echoUri, "load")
+                .map(reply -> reply.startsWith("ECHO->")));
+        return operations;
+    }
+
+    /**
+     * 为压测中用到的 /user 和 /city 写入数据
+     */
+    public Mono<Void> seed(WorkloadProfile profile, int count) {
+
+        Mono<Void> users = Mono.empty();
+        if (profile.contains("user") || profile.contains("user-write")) {
+            this.userIds = new String[count];
+            for (int i = 0; i < count; i++) {
+                this.userIds[i] = "load-" + i;
+            }
+            users = Flux.fromArray(this.userIds)
+                    .flatMap(id -> this.userClient.post().syncBody(user(id)).retrieve().bodyToMono(Void.class), 64)
+                    .then();
+        }
+        Mono<Void> cities = Mono.empty();
+        if (profile.contains("city") || profile.contains("city-write")) {
+            cities = Flux.range(0, count)
+                    .flatMap(i -> this.cityClient.post().syncBody(city(null)).retrieve().bodyToMono(Long.class), 64)
+                    .collectList()
+                    .doOnNext(ids -> this.cityIds = ids.stream().mapToLong(Long::longValue).toArray())
+                    .then();
+        }
+        return users.then(cities);
+    }
+
+    private static Mono<Boolean> succeeded(ClientResponse response) {
+
+        return response.bodyToMono(Void.class).thenReturn(response.statusCode().is2xxSuccessful());
+    }
+
+    private String randomUserId() {
+
+        return this.userIds[ThreadLocalRandom.current().nextInt(this.userIds.length)];
+    }
+
+    private long randomCityId() {
+
+        return this.cityIds[ThreadLocalRandom.current().nextInt(this.cityIds.length)];
+    }
+
+    private static User user(String id) {
+
+        User user = new User();
+        user.setId(id);
+        user.setName("load");
+        user.setEmail(id + "@example.org");
+        return user;
+    }
+
+    private static Map<String, Object> city(Long id) {
+
+        Map<String, Object> city = new HashMap<>();
+        city.put("id", id);
+        city.put("provinceId", ThreadLocalRandom.current().nextInt(34));
+        city.put("cityName", "load");
+        city.put("description", "load generator");
+        return city;
+    }
+}
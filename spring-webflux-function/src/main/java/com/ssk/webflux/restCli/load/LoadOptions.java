@@ -0,0 +1,109 @@
+package com.ssk.webflux.restCli.load;
+
+import lombok.Data;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * 压测参数，命令行以 key=value 的形式传入，例如
+ * <pre>
+ * rate=500 duration=30s warmup=5s concurrency=512 profile=user:60,calculator:40
+ * </pre>
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:00
+ */
+@Data
+public class LoadOptions {
+
+    /**
+     * 每秒到达的请求数，按固定间隔发出，与响应快慢无关（open-loop）
+     */
+    private double rate = 200;
+
+    /**
+     * 统计时长，不含预热
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * 预热时长，预热期间的请求照常发出但不计入统计
+     */
+    private Duration warmup = Duration.ofSeconds(5);
+
+    /**
+     * 同时进行中的请求上限，超出的请求排队，排队时间计入修正后的延迟
+     */
+    private int concurrency = 512;
+
+    /**
+     * 单个请求的超时时间，超时记为错误
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * 各操作的权重，可用的操作见 {@link LoadOperations}
+     */
+    private String profile = "user:35,user-write:5,city:25,city-write:5,calculator:25,sse:2,echo:3";
+
+    /**
+     * 压测前为 /user 和 /city 各写入的数据条数
+     */
+    private int seed = 1000;
+
+    private String anno = "http://localhost:8081";
+
+    private String curd = "http://localhost:8080";
+
+    private String function = "http://localhost:8082";
+
+    public static LoadOptions parse(String[] args) {
+
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            String key = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "rate":
+                    options.setRate(Double.parseDouble(value));
+                    break;
+                case "duration":
+                    options.setDuration(DurationStyle.detectAndParse(value));
+                    break;
+                case "warmup":
+                    options.setWarmup(DurationStyle.detectAndParse(value));
+                    break;
+                case "concurrency":
+                    options.setConcurrency(Integer.parseInt(value));
+                    break;
+                case "timeout":
+                    options.setTimeout(DurationStyle.detectAndParse(value));
+                    break;
+                case "profile":
+                    options.setProfile(value);
+                    break;
+                case "seed":
+                    options.setSeed(Integer.parseInt(value));
+                    break;
+                case "anno":
+                    options.setAnno(value);
+                    break;
+                case "curd":
+                    options.setCurd(value);
+                    break;
+                case "function":
+                    options.setFunction(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + key);
+            }
+        }
+        return options;
+    }
+}
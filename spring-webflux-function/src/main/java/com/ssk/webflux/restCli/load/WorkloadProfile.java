@@ -0,0 +1,92 @@
+package com.ssk.webflux.restCli.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按权重混合的操作，例如 user:60,calculator:40 表示 60% 的请求访问 /user，40% 访问 /calculator
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:20
+ */
+public class WorkloadProfile {
+
+    private final List<String> names = new ArrayList<>();
+
+    private final List<LoadOperation> operations = new ArrayList<>();
+
+    private final List<LatencyRecorder> recorders = new ArrayList<>();
+
+    private int[] cumulativeWeights = new int[0];
+
+    private int totalWeight;
+
+    public static WorkloadProfile parse(String spec, Map<String, LoadOperation> available) {
+
+        WorkloadProfile profile = new WorkloadProfile();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            LoadOperation operation = available.get(parts[0]);
+            if (operation == null) {
+                throw new IllegalArgumentException("Unknown operation " + parts[0] + ", available: " + available.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                profile.add(parts[0], operation, weight);
+            }
+        }
+        if (profile.totalWeight == 0) {
+            throw new IllegalArgumentException("Empty workload profile " + spec);
+        }
+        return profile;
+    }
+
+    private void add(String name, LoadOperation operation, int weight) {
+
+        this.names.add(name);
+        this.operations.add(operation);
+        this.recorders.add(new LatencyRecorder(name));
+        int[] weights = new int[this.cumulativeWeights.length + 1];
+        System.arraycopy(this.cumulativeWeights, 0, weights, 0, this.cumulativeWeights.length);
+        this.totalWeight += weight;
+        weights[weights.length - 1] = this.totalWeight;
+        this.cumulativeWeights = weights;
+    }
+
+    /**
+     * 按权重随机选择下一个操作的下标
+     */
+    public int next() {
+
+        int value = ThreadLocalRandom.current().nextInt(this.totalWeight);
+        for (int i = 0; i < this.cumulativeWeights.length; i++) {
+            if (value < this.cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return this.cumulativeWeights.length - 1;
+    }
+
+    public boolean contains(String name) {
+
+        return this.names.contains(name);
+    }
+
+    public LoadOperation operation(int index) {
+
+        return this.operations.get(index);
+    }
+
+    public LatencyRecorder recorder(int index) {
+
+        return this.recorders.get(index);
+    }
+
+    public List<LatencyRecorder> recorders() {
+
+        return this.recorders;
+    }
+}
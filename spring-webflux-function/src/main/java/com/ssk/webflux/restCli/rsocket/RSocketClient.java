@@ -0,0 +1,69 @@
+package com.ssk.webflux.restCli.rsocket;
+
+import com.ssk.webflux.common.codec.BinaryMediaTypes;
+import com.ssk.webflux.common.rsocket.RSocketPayloadCodec;
+import com.ssk.webflux.domain.User;
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.RSocketFactory;
+import io.rsocket.transport.netty.client.TcpClientTransport;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * 通过 RSocket 访问 spring-webflux-anno 项目的用户：一个连接上先用 request-channel 批量保存，
+ * 再用 request-response 读取单个用户、用 request-stream 每次只请求 2 个地遍历全部用户。
+ * data 使用 CBOR 编码，metadata 是路由名
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:00
+ */
+public class RSocketClient {
+
+    public static void main(String[] args) {
+
+        RSocketPayloadCodec codec = RSocketPayloadCodec.forMimeType(BinaryMediaTypes.APPLICATION_CBOR_VALUE);
+        RSocket rsocket = RSocketFactory.connect()
+                .dataMimeType(BinaryMediaTypes.APPLICATION_CBOR_VALUE)
+                .transport(TcpClientTransport.create("localhost", 7081))
+                .start()
+                .block(Duration.ofSeconds(5));
+        try {
+            Flux<Payload> users = Flux.range(1, 10).map(i -> {
+                User user = new User();
+                user.setId("rsocket-" + i);
+                user.setName("rsocket user " + i);
+                user.setEmail("rsocket" + i + "@8win.com");
+                return codec.encode("user.upsert", user);
+            });
+            rsocket.requestChannel(users)
+                    .map(payload -> decode(codec, payload, String.class))
+                    .doOnNext(id -> System.out.println("saved " + id))
+                    .blockLast(Duration.ofSeconds(10));
+
+            rsocket.requestResponse(codec.encode("user.get", "rsocket-1"))
+                    .map(payload -> decode(codec, payload, User.class))
+                    .doOnNext(System.out::println)
+                    .block(Duration.ofSeconds(5));
+
+            rsocket.requestStream(codec.encode("user.list", null))
+                    .limitRate(2)
+                    .map(payload -> decode(codec, payload, User.class))
+                    .doOnNext(System.out::println)
+                    .blockLast(Duration.ofSeconds(10));
+        } finally {
+            rsocket.dispose();
+        }
+    }
+
+    private static <T> T decode(RSocketPayloadCodec codec, Payload payload, Class<T> type) {
+
+        try {
+            return codec.decode(payload.sliceData(), type);
+        } finally {
+            payload.release();
+        }
+    }
+}
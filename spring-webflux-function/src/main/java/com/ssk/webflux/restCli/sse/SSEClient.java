@@ -1,11 +1,17 @@
 package com.ssk.webflux.restCli.sse;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ssk.webflux.restCli.http.RESTClient;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -16,6 +22,9 @@ import java.util.Objects;
  * 我们需要使用 flatMapMany 把 Mono<ServerResponse>转换成一个 Flux<ServerSentEvent>对象，
  * 这是通过方法 BodyExtractors.toFlux 来完成的，
  * 其中的参数 new ParameterizedTypeReference<ServerSentEvent<String>>() {}表明了响应消息流中的内容是 ServerSentEvent 对象。由于 SSE 服务器会不断地发送消息，这里我们只是通过 buffer 方法来获取前 10 条消息并输出
+ * <p>
+ * main 方法使用 {@link SseConsumer} 持续订阅，断线后带 Last-Event-ID 重连，事件分批写入文件（第一个参数，默认 sse-random.ndjson），
+ * 每写入一批输出该批的事件数、最后的事件标识符和端到端延迟。服务端在事件注释中给出产生事件的时间戳（ts=毫秒）。
  *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
@@ -23,10 +32,45 @@ import java.util.Objects;
  */
 public class SSEClient {
 
+    private static final String TIMESTAMP_PREFIX = "ts=";
+
     public static void main(String[] args) {
 
-        WebClient client = WebClient.create();
-        client.get().uri("http://localhost:8081/sse/randomNumbers")
+        SseConsumerOptions options = new SseConsumerOptions();
+        options.setFile(Paths.get(args.length > 0 ? args[0] : "sse-random.ndjson"));
+        options.setBatchSize(10);
+        options.setBatchTimeout(Duration.ofSeconds(5));
+        SseConsumer<JsonNode> consumer = new SseConsumer<>(RESTClient.CLIENTS.builder().build(),
+                "http://localhost:8081/sse/randomNumbers", JsonNode.class, options)
+                .eventTime(SSEClient::eventTime);
+        consumer.consume()
+                .doOnNext(batch -> System.out.printf("%d events up to id %s, lag ms %s%n",
+                        batch.getSize(), batch.getLastEventId(), Arrays.toString(batch.getLagMillis())))
+                .blockLast();
+    }
+
+    /**
+     * 事件注释中 ts= 之后的毫秒时间戳，没有时返回 -1
+     */
+    static long eventTime(ServerSentEvent<?> event) {
+
+        String comment = event.comment();
+        if (comment == null || !comment.startsWith(TIMESTAMP_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(comment.substring(TIMESTAMP_PREFIX.length()).trim());
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * 订阅 SSE 服务，返回每条消息的内容，不阻塞；{@link com.ssk.webflux.restCli.load.LoadGenerator} 也使用它
+     */
+    public static Flux<String> randomNumbers(WebClient client, String uri) {
+
+        return client.get().uri(uri)
                 .accept(MediaType.TEXT_EVENT_STREAM)
                 .exchange()
                 .flatMapMany(response ->
@@ -34,9 +78,6 @@ public class SSEClient {
 
                         })))
                 .filter(sse -> Objects.nonNull(sse.data()))
-                .map(ServerSentEvent::data)
-                .buffer(10)
-                .doOnNext(System.out::println)
-                .blockFirst();
+                .map(ServerSentEvent::data);
     }
 }
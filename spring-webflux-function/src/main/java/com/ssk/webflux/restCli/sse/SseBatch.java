@@ -0,0 +1,53 @@
+package com.ssk.webflux.restCli.sse;
+
+/**
+ * 一批已经写入文件的事件
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+public class SseBatch {
+
+    private final int size;
+
+    private final String lastEventId;
+
+    private final long bytes;
+
+    private final long[] lagMillis;
+
+    SseBatch(int size, String lastEventId, long bytes, long[] lagMillis) {
+
+        this.size = size;
+        this.lastEventId = lastEventId;
+        this.bytes = bytes;
+        this.lagMillis = lagMillis;
+    }
+
+    public int getSize() {
+
+        return this.size;
+    }
+
+    public String getLastEventId() {
+
+        return this.lastEventId;
+    }
+
+    /**
+     * 本批写入文件的字节数
+     */
+    public long getBytes() {
+
+        return this.bytes;
+    }
+
+    /**
+     * 每个事件从服务端产生到写入文件的毫秒数，顺序与事件相同；无法取得事件时间时为 -1
+     */
+    public long[] getLagMillis() {
+
+        return this.lagMillis;
+    }
+}
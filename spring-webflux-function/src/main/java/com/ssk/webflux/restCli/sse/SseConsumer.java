@@ -0,0 +1,318 @@
+package com.ssk.webflux.restCli.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ssk.webflux.common.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * 可恢复的 SSE 消费者：订阅一个 SSE 端点，把事件按 bufferTimeout(batchSize, batchTimeout) 攒批，
+ * 通过 AsynchronousFileChannel 追加写入本地文件，每行一个 JSON 对象：
+ * <pre>
+ * {"id":"42","event":"random","receivedAt":1792406043595,"data":{...}}
+ * </pre>
+ * 连接断开或出错时自动重连，请求头 Last-Event-ID 带上最后收到的事件标识符，服务端从下一个事件继续；
+ * 重连等待时间从 reconnectDelay 开始按失败次数加倍，收到事件后复位，服务端发送的 retry 字段优先。
+ * 服务端返回 4xx 时重连也不会成功，不再重试，以 {@link WebClientResponseException} 结束。
+ * 进程重启时从文件最后一个完整行恢复 Last-Event-ID，写了一半的行被截掉，对应的事件重新获取。
+ * <p>
+ * 设置 {@link #eventTime} 后，每个事件从服务端产生到写入文件的延迟记录在 {@link #getLag()} 中，
+ * 并随每一批的 {@link SseBatch#getLagMillis()} 返回。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+public class SseConsumer<T> {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * 读取文件末尾恢复 Last-Event-ID 时最多读取的字节数
+     */
+    private static final int TAIL_BYTES = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(SseConsumer.class);
+
+    private final WebClient client;
+
+    private final String uri;
+
+    private final ParameterizedTypeReference<ServerSentEvent<T>> eventType;
+
+    private final SseConsumerOptions options;
+
+    private final LatencyHistogram lag = new LatencyHistogram(TimeUnit.MINUTES.toNanos(1));
+
+    private final LongAdder reconnects = new LongAdder();
+
+    private ToLongFunction<ServerSentEvent<T>> eventTime = event -> -1;
+
+    private volatile String lastEventId;
+
+    private volatile Duration serverRetry;
+
+    public SseConsumer(WebClient client, String uri, Class<T> dataType, SseConsumerOptions options) {
+
+        this.client = client;
+        this.uri = uri;
+        this.eventType = ParameterizedTypeReference.forType(
+                ResolvableType.forClassWithGenerics(ServerSentEvent.class, dataType).getType());
+        this.options = options;
+    }
+
+    /**
+     * @param eventTime 取得事件在服务端产生的毫秒时间戳，取不到时返回 -1
+     */
+    public SseConsumer<T> eventTime(ToLongFunction<ServerSentEvent<T>> eventTime) {
+
+        this.eventTime = eventTime;
+        return this;
+    }
+
+    /**
+     * 开始消费，每写入一批事件发出一个 {@link SseBatch}。除服务端返回 4xx 外不会自行结束，结束或取消订阅时关闭连接和文件
+     */
+    public Flux<SseBatch> consume() {
+
+        return Flux.using(this::open,
+                output -> this.events()
+                        .bufferTimeout(this.options.getBatchSize(), this.options.getBatchTimeout())
+                        .concatMap(batch -> this.write(output, batch)),
+                EventFile::close);
+    }
+
+    public String getLastEventId() {
+
+        return this.lastEventId;
+    }
+
+    public long getReconnects() {
+
+        return this.reconnects.sum();
+    }
+
+    /**
+     * 事件从服务端产生到写入文件的延迟分布
+     */
+    public LatencyHistogram getLag() {
+
+        return this.lag;
+    }
+
+    private Flux<Received<T>> events() {
+
+        AtomicInteger failures = new AtomicInteger();
+        return Flux.defer(this::connect)
+                .doOnNext(event -> {
+                    failures.set(0);
+                    if (event.id() != null) {
+                        this.lastEventId = event.id();
+                    }
+                    if (event.retry() != null) {
+                        this.serverRetry = event.retry();
+                    }
+                })
+                // 服务端正常结束响应也需要重连
+                .concatWith(Mono.error(StreamEndedException.INSTANCE))
+                .retryWhen(errors -> errors.concatMap(error -> {
+                    if (error instanceof WebClientResponseException
+                            && ((WebClientResponseException) error).getStatusCode().is4xxClientError()) {
+                        this.logger.warn("SSE 连接 {} 被拒绝（{}），不再重连", this.uri, error.toString());
+                        return Mono.error(error);
+                    }
+                    Duration delay = this.reconnectDelay(failures.incrementAndGet());
+                    this.reconnects.increment();
+                    this.logger.info("SSE 连接 {} 断开（{}），{} ms 后从 Last-Event-ID {} 重连",
+                            this.uri, error.toString(), delay.toMillis(), this.lastEventId);
+                    return Mono.delay(delay);
+                }))
+                .filter(event -> event.data() != null)
+                .map(event -> new Received<>(event, System.currentTimeMillis()));
+    }
+
+    private Flux<ServerSentEvent<T>> connect() {
+
+        WebClient.RequestHeadersSpec<?> request = this.client.get().uri(this.uri).accept(MediaType.TEXT_EVENT_STREAM);
+        String lastEventId = this.lastEventId;
+        if (lastEventId != null) {
+            request = request.header("Last-Event-ID", lastEventId);
+        }
+        return request.retrieve().bodyToFlux(this.eventType);
+    }
+
+    private Duration reconnectDelay(int failures) {
+
+        Duration first = this.serverRetry != null ? this.serverRetry : this.options.getReconnectDelay();
+        long max = this.options.getMaxReconnectDelay().toMillis();
+        long delay = failures > 30 ? max : Math.min(max, first.toMillis() << (failures - 1));
+        return Duration.ofMillis(delay);
+    }
+
+    private Mono<SseBatch> write(EventFile output, List<Received<T>> batch) {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 128);
+        try {
+            for (Received<T> received : batch) {
+                ServerSentEvent<T> event = received.event;
+                ObjectNode line = MAPPER.createObjectNode();
+                line.put("id", event.id());
+                line.put("event", event.event());
+                line.put("receivedAt", received.receivedAt);
+                line.set("data", MAPPER.valueToTree(event.data()));
+                MAPPER.writeValue(bytes, line);
+                bytes.write('\n');
+            }
+        } catch (IOException ex) {
+            return Mono.error(ex);
+        }
+        byte[] content = bytes.toByteArray();
+        DataBuffer buffer = new DefaultDataBufferFactory().wrap(content);
+        return DataBufferUtils.write(Mono.just(buffer), output.channel, output.position)
+                .map(DataBufferUtils::release)
+                .then(Mono.fromCallable(() -> {
+                    output.position += content.length;
+                    long writtenAt = System.currentTimeMillis();
+                    long[] lagMillis = new long[batch.size()];
+                    for (int i = 0; i < lagMillis.length; i++) {
+                        long eventTime = this.eventTime.applyAsLong(batch.get(i).event);
+                        lagMillis[i] = eventTime < 0 ? -1 : Math.max(0, writtenAt - eventTime);
+                        if (eventTime >= 0) {
+                            this.lag.recordNanos(TimeUnit.MILLISECONDS.toNanos(lagMillis[i]));
+                        }
+                    }
+                    return new SseBatch(batch.size(), batch.get(batch.size() - 1).event.id(), content.length, lagMillis);
+                }));
+    }
+
+    private EventFile open() throws IOException {
+
+        Path file = this.options.getFile();
+        if (Files.exists(file)) {
+            String recovered = recoverLastEventId(file);
+            if (this.lastEventId == null && recovered != null) {
+                this.lastEventId = recovered;
+                this.logger.info("从 {} 恢复 Last-Event-ID {}", file, recovered);
+            }
+        }
+        AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        return new EventFile(channel, channel.size());
+    }
+
+    /**
+     * 截掉末尾不完整的行，返回最后一个完整行中的 id
+     */
+    static String recoverLastEventId(Path file) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            int length = (int) Math.min(size, TAIL_BYTES);
+            ByteBuffer tail = ByteBuffer.allocate(length);
+            while (tail.hasRemaining() && channel.read(tail, size - length + tail.position()) >= 0) {
+                // 读满为止
+            }
+            byte[] bytes = tail.array();
+            int end = length;
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+            if (end < length) {
+                channel.truncate(size - length + end);
+            }
+            int start = end - 1;
+            while (start > 0 && bytes[start - 1] != '\n') {
+                start--;
+            }
+            if (start < 0 || end - start <= 1) {
+                return null;
+            }
+            String line = new String(bytes, start, end - start - 1, StandardCharsets.UTF_8);
+            try {
+                return MAPPER.readTree(line).path("id").textValue();
+            } catch (IOException ex) {
+                // 行长超过 TAIL_BYTES 时读到的只是行尾，不恢复，从头订阅
+                return null;
+            }
+        }
+    }
+
+    private static class Received<T> {
+
+        private final ServerSentEvent<T> event;
+
+        private final long receivedAt;
+
+        Received(ServerSentEvent<T> event, long receivedAt) {
+
+            this.event = event;
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    private static class EventFile {
+
+        private final AsynchronousFileChannel channel;
+
+        private long position;
+
+        EventFile(AsynchronousFileChannel channel, long position) {
+
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void close() {
+
+            try {
+                this.channel.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * 服务端结束了响应，作为错误交给 retryWhen 触发重连
+     */
+    private static class StreamEndedException extends RuntimeException {
+
+        private static final StreamEndedException INSTANCE = new StreamEndedException();
+
+        private static final long serialVersionUID = 5526711190245707113L;
+
+        private StreamEndedException() {
+
+            super("stream ended", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ssk.webflux.restCli.sse;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * {@link SseConsumer} 的配置
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+@Data
+public class SseConsumerOptions {
+
+    /**
+     * 事件追加写入的文件，每行一个 JSON 对象；启动时从最后一行恢复 Last-Event-ID
+     */
+    private Path file = Paths.get("sse-events.ndjson");
+
+    /**
+     * 一批最多的事件数，攒满立即写入
+     */
+    private int batchSize = 100;
+
+    /**
+     * 一批最长的等待时间，到期后不足 batchSize 也写入
+     */
+    private Duration batchTimeout = Duration.ofSeconds(1);
+
+    /**
+     * 重连的初始等待时间，服务端通过 retry 字段指定时以服务端为准
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+
+    /**
+     * 连续重连失败时等待时间加倍，不超过该值
+     */
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+}
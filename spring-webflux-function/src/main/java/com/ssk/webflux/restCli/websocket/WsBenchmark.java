@@ -0,0 +1,265 @@
+package com.ssk.webflux.restCli.websocket;
+
+import com.ssk.webflux.restCli.load.LatencyRecorder;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket 容量测试：在一个 JVM 里对 {@code EchoHandler} 同时保持数千个会话，用来在发布前估算单个节点能承载的连接数。
+ * <pre>
+ * java -cp spring-webflux-function-0.0.1-SNAPSHOT-exec.jar -Dloader.main=com.ssk.webflux.restCli.websocket.WsBenchmark \
+ *      org.springframework.boot.loader.PropertiesLauncher sessions=5000 rate=2 duration=60s ramp-up=20s
+ * </pre>
+ * 所有会话共用一组事件循环线程，每个会话一条连接（不经过连接池，升级后的连接本来也不会归还）。
+ * 会话在 ramp-up 期间均匀建立，随后每个会话按固定间隔发送消息，各会话的发送时刻随机错开。
+ * 消息里带着计划发送时间和实际发送时间，回显到达时据此计算往返延迟，因此不需要按会话保存未回显的消息；
+ * 发送端被背压挡住时消息排队，计划发送时间不变，排队时间计入修正后的延迟。
+ * <p>
+ * 每次握手都会经过目标应用的限流，建连速率超过限流阈值时需要在目标应用上关闭限流；
+ * 会话数较多时还需要调大本机的文件句柄数（ulimit -n）。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:30
+ */
+public class WsBenchmark {
+
+    private static final String ECHO_PREFIX = "ECHO->";
+
+    private final WsBenchmarkOptions options;
+
+    private final URI uri;
+
+    private final LatencyRecorder connects = new LatencyRecorder("connect");
+
+    private final LatencyRecorder rtt = new LatencyRecorder("rtt");
+
+    private final LongAdder connected = new LongAdder();
+
+    private final LongAdder connectFailures = new LongAdder();
+
+    private final LongAdder sessionErrors = new LongAdder();
+
+    private final LongAdder sent = new LongAdder();
+
+    private final LongAdder received = new LongAdder();
+
+    private final AtomicInteger open = new AtomicInteger();
+
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+    private final String padding;
+
+    private long startNanos;
+
+    private long measureFromNanos;
+
+    private long endNanos;
+
+    public WsBenchmark(WsBenchmarkOptions options) {
+
+        this.options = options;
+        this.uri = URI.create(options.getUrl());
+        StringBuilder padding = new StringBuilder();
+        while (padding.length() < options.getPayloadSize()) {
+            padding.append('x');
+        }
+        this.padding = padding.toString();
+    }
+
+    public static void main(String[] args) {
+
+        // 不经过 Spring Boot 启动时 logback 默认输出 DEBUG 日志，每条消息都会打日志，压测前先调高
+        LoggingSystem.get(WsBenchmark.class.getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+        WsBenchmarkOptions options = WsBenchmarkOptions.parse(args);
+        System.out.printf("Opening %d sessions to %s over %s, %.1f msg/s each for %s (+%s warmup)%n",
+                options.getSessions(), options.getUrl(), options.getRampUp(), options.getRate(),
+                options.getDuration(), options.getWarmup());
+
+        WsBenchmark benchmark = new WsBenchmark(options);
+        benchmark.run();
+        benchmark.report();
+    }
+
+    public void run() {
+
+        LoopResources loops = LoopResources.create("ws-bench", this.options.getThreads(), true);
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.newConnection())
+                .tcpConfiguration(tcp -> tcp.runOn(loops));
+        ReactorNettyWebSocketClient client = new ReactorNettyWebSocketClient(httpClient);
+
+        int sessions = this.options.getSessions();
+        long rampUpNanos = this.options.getRampUp().toNanos();
+        this.startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        this.measureFromNanos = this.startNanos + rampUpNanos + this.options.getWarmup().toNanos();
+        this.endNanos = this.measureFromNanos + this.options.getDuration().toNanos();
+        Disposable progress = Flux.interval(Duration.ofSeconds(1)).subscribe(tick -> this.printProgress());
+        try {
+            Flux.range(0, sessions)
+                    .flatMap(i -> this.session(client, this.startNanos + rampUpNanos * i / sessions), sessions)
+                    .then()
+                    .block();
+        } finally {
+            progress.dispose();
+            loops.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    /**
+     * 在计划时间建立一个会话，建连失败和会话中途出错分别计数，都不影响其他会话
+     */
+    private Mono<Void> session(ReactorNettyWebSocketClient client, long connectAt) {
+
+        AtomicBoolean established = new AtomicBoolean();
+        return Mono.delay(Duration.ofNanos(Math.max(0, connectAt - System.nanoTime())))
+                .then(Mono.defer(() -> {
+                    long handshakeStart = System.nanoTime();
+                    return client.execute(this.uri, session -> {
+                        established.set(true);
+                        return this.exchange(session, handshakeStart);
+                    });
+                }))
+                .onErrorResume(e -> {
+                    (established.get() ? this.sessionErrors : this.connectFailures).increment();
+                    this.firstError.compareAndSet(null, e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> exchange(WebSocketSession session, long handshakeStart) {
+
+        long now = System.nanoTime();
+        this.connects.record(handshakeStart, handshakeStart, now, true);
+        this.connected.increment();
+        this.open.incrementAndGet();
+
+        long period = (long) (TimeUnit.SECONDS.toNanos(1) / this.options.getRate());
+        long first = now + ThreadLocalRandom.current().nextLong(period);
+        AtomicLong outstanding = new AtomicLong();
+        AtomicBoolean sendDone = new AtomicBoolean();
+        AtomicBoolean finished = new AtomicBoolean();
+        MonoProcessor<Void> drained = MonoProcessor.create();
+        Runnable finish = () -> {
+            if (finished.compareAndSet(false, true)) {
+                drained.onComplete();
+            }
+        };
+
+        Flux<WebSocketMessage> output = Flux.interval(Duration.ofNanos(first - now), Duration.ofNanos(period),
+                Schedulers.parallel())
+                .map(tick -> first + tick * period)
+                .takeWhile(intended -> intended < this.endNanos)
+                .onBackpressureBuffer()
+                .map(intended -> {
+                    outstanding.incrementAndGet();
+                    this.sent.increment();
+                    return session.textMessage(intended + ":" + System.nanoTime() + ":" + this.padding);
+                })
+                .doOnComplete(() -> {
+                    sendDone.set(true);
+                    if (outstanding.get() == 0) {
+                        finish.run();
+                    }
+                });
+        Mono<Void> input = session.receive()
+                .doOnNext(message -> {
+                    this.onEcho(message.getPayloadAsText());
+                    if (outstanding.decrementAndGet() == 0 && sendDone.get()) {
+                        finish.run();
+                    }
+                })
+                .takeUntilOther(Mono.first(drained,
+                        Mono.delay(Duration.ofNanos(this.endNanos + this.options.getDrain().toNanos() - now)).then()))
+                .then();
+        return Mono.when(session.send(output), input)
+                .then(session.close())
+                .doFinally(signal -> this.open.decrementAndGet());
+    }
+
+    private void onEcho(String payload) {
+
+        long now = System.nanoTime();
+        this.received.increment();
+        int from = payload.startsWith(ECHO_PREFIX) ? ECHO_PREFIX.length() : 0;
+        int first = payload.indexOf(':', from);
+        int second = payload.indexOf(':', first + 1);
+        long intended = Long.parseLong(payload.substring(from, first));
+        long sentAt = Long.parseLong(payload.substring(first + 1, second));
+        if (intended >= this.measureFromNanos && intended < this.endNanos) {
+            this.rtt.record(intended, sentAt, now, true);
+        }
+    }
+
+    private void printProgress() {
+
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - this.startNanos);
+        System.out.printf("%4ds open=%d connected=%d failed=%d sent=%d received=%d%n", elapsed, this.open.get(),
+                this.connected.sum(), this.connectFailures.sum() + this.sessionErrors.sum(), this.sent.sum(),
+                this.received.sum());
+    }
+
+    public void report() {
+
+        System.out.println();
+        System.out.printf("sessions=%d connected=%d connectFailures=%d sessionErrors=%d sent=%d received=%d lost=%d%n",
+                this.options.getSessions(), this.connected.sum(), this.connectFailures.sum(), this.sessionErrors.sum(),
+                this.sent.sum(), this.received.sum(), getLost());
+        if (this.firstError.get() != null) {
+            System.out.println("first error: " + this.firstError.get());
+        }
+        LatencyRecorder.printHeader(System.out);
+        this.connects.print(System.out, Math.max(this.options.getRampUp().toNanos(), 1) / 1e9);
+        this.rtt.print(System.out, this.options.getDuration().toNanos() / 1e9);
+    }
+
+    public long getConnected() {
+
+        return this.connected.sum();
+    }
+
+    public long getFailures() {
+
+        return this.connectFailures.sum() + this.sessionErrors.sum();
+    }
+
+    public long getSent() {
+
+        return this.sent.sum();
+    }
+
+    public long getReceived() {
+
+        return this.received.sum();
+    }
+
+    public long getLost() {
+
+        return this.sent.sum() - this.received.sum();
+    }
+
+    public LatencyRecorder getRtt() {
+
+        return this.rtt;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ssk.webflux.restCli.websocket;
+
+import lombok.Data;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * WebSocket 压测参数，命令行以 key=value 的形式传入，例如
+ * <pre>
+ * url=ws://localhost:8081/echo sessions=5000 rate=2 duration=60s warmup=10s ramp-up=20s
+ * </pre>
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:10
+ */
+@Data
+public class WsBenchmarkOptions {
+
+    private String url = "ws://localhost:8081/echo";
+
+    /**
+     * 同时保持的会话数
+     */
+    private int sessions = 1000;
+
+    /**
+     * 每个会话每秒发送的消息数，按固定间隔发出，与回显快慢无关
+     */
+    private double rate = 1;
+
+    /**
+     * 统计时长，不含建连和预热
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * 预热时长，所有会话建立之后开始计时
+     */
+    private Duration warmup = Duration.ofSeconds(5);
+
+    /**
+     * 建连时长，会话在这段时间内均匀地建立，避免握手集中在同一时刻
+     */
+    private Duration rampUp = Duration.ofSeconds(5);
+
+    /**
+     * 发送结束后等待未回显消息的时间，超过仍未回显的记为丢失
+     */
+    private Duration drain = Duration.ofSeconds(5);
+
+    /**
+     * 单条消息的字节数下限，不足时用填充字符补齐
+     */
+    private int payloadSize = 64;
+
+    /**
+     * 所有会话共用的事件循环线程数
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    public static WsBenchmarkOptions parse(String[] args) {
+
+        WsBenchmarkOptions options = new WsBenchmarkOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            String key = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "url":
+                    options.setUrl(value);
+                    break;
+                case "sessions":
+                    options.setSessions(Integer.parseInt(value));
+                    break;
+                case "rate":
+                    options.setRate(Double.parseDouble(value));
+                    break;
+                case "duration":
+                    options.setDuration(DurationStyle.detectAndParse(value));
+                    break;
+                case "warmup":
+                    options.setWarmup(DurationStyle.detectAndParse(value));
+                    break;
+                case "ramp-up":
+                    options.setRampUp(DurationStyle.detectAndParse(value));
+                    break;
+                case "drain":
+                    options.setDrain(DurationStyle.detectAndParse(value));
+                    break;
+                case "payload-size":
+                    options.setPayloadSize(Integer.parseInt(value));
+                    break;
+                case "threads":
+                    options.setThreads(Integer.parseInt(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + key);
+            }
+        }
+        return options;
+    }
+}
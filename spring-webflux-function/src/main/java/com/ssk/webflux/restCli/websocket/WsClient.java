@@ -1,11 +1,14 @@
 package com.ssk.webflux.restCli.websocket;
 
+import org.springframework.web.reactive.socket.WebSocketMessage;
 import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
 import org.springframework.web.reactive.socket.client.WebSocketClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 问 WebSocket 不能使用 WebClient，而应该使用专门的 WebSocketClient 客户端。
@@ -15,6 +18,8 @@ import java.time.Duration;
  * 并执行给定的 WebSocketHandler 对象。该 WebSocketHandler 对象与代码清单 6 中的作用是一样的，只不过它是工作于客户端，
  * 而不是服务器端。在 WebSocketHandler 的实现中，首先通过 WebSocketSession 的 send 方法来发送字符串 Hello 到服务器端，
  * 然后通过 receive 方法来等待服务器端的响应并输出。方法 take(1)的作用是表明客户端只获取服务器端发送的第一条消息
+ * <p>
+ * 同时保持大量会话并统计往返延迟见 {@link WsBenchmark}
  *
  * @author ssk www.8win.com Inc.All rights reserved
  * @version v1.0
@@ -24,15 +29,21 @@ public class WsClient {
 
     public static void main(String[] args) {
 
-        WebSocketClient client = new ReactorNettyWebSocketClient();
-        client.execute(URI.create("ws://localhost:8081/echo"), session ->
-                session.send(Flux.just(session.textMessage("Hello")))
-                        .thenMany(session.receive().take(1).map(webSocketMessage -> {
-                            System.out.println(webSocketMessage.getPayloadAsText());
-                            return webSocketMessage.getPayloadAsText();
-                        })).then()
+        echo(new ReactorNettyWebSocketClient(), URI.create("ws://localhost:8081/echo"), "Hello")
+                .doOnNext(System.out::println)
+                .block(Duration.ofMillis(50000));
+    }
 
-        ).block(Duration.ofMillis(50000));
+    /**
+     * 建立连接、发送一条消息并返回服务器端的第一条响应，不阻塞；{@link com.ssk.webflux.restCli.load.LoadGenerator} 也使用它
+     */
+    public static Mono<String> echo(WebSocketClient client, URI uri, String message) {
 
+        AtomicReference<String> reply = new AtomicReference<>();
+        return client.execute(uri, session ->
+                session.send(Flux.just(session.textMessage(message)))
+                        .thenMany(session.receive().take(1).map(WebSocketMessage::getPayloadAsText).doOnNext(reply::set))
+                        .then()
+        ).then(Mono.fromSupplier(reply::get));
     }
 }
@@ -0,0 +1,108 @@
+package com.ssk.webflux.stats;
+
+/**
+ * 近似分位数的对数分桶直方图（与 DDSketch 相同的分桶方式）：绝对值为 v 的数值落在第 ceil(log(v) / log(γ)) 个桶中，
+ * γ = (1 + α) / (1 - α)。任意分位数的估计值与真实值的相对误差不超过 α（1%）。
+ * <p>
+ * 桶覆盖绝对值 1e-9 到 1e12 的范围，超出的数值计入两端的桶，绝对值更小的数值按 0 计数。
+ * 正负数各用一个 int 数组，负数数组在出现第一个负数时才分配，内存占用固定，与数值个数无关。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:40
+ */
+public class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private static final double MIN_MAGNITUDE = 1e-9;
+
+    private static final double MAX_MAGNITUDE = 1e12;
+
+    private static final int MIN_INDEX = rawIndex(MIN_MAGNITUDE);
+
+    private static final int BUCKETS = rawIndex(MAX_MAGNITUDE) - MIN_INDEX + 1;
+
+    private final int[] positive = new int[BUCKETS];
+
+    private int[] negative;
+
+    private long zeroCount;
+
+    private long count;
+
+    public void add(double value) {
+
+        double magnitude = Math.abs(value);
+        if (magnitude < MIN_MAGNITUDE) {
+            this.zeroCount++;
+        } else if (value > 0) {
+            this.positive[index(magnitude)]++;
+        } else {
+            if (this.negative == null) {
+                this.negative = new int[BUCKETS];
+            }
+            this.negative[index(magnitude)]++;
+        }
+        this.count++;
+    }
+
+    public long getCount() {
+
+        return this.count;
+    }
+
+    /**
+     * @param quantile 0 到 1 之间
+     * @return 没有数据时返回 NaN
+     */
+    public double quantile(double quantile) {
+
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (this.count - 1));
+        long seen = 0;
+        if (this.negative != null) {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                seen += this.negative[i];
+                if (seen > rank) {
+                    return -value(i);
+                }
+            }
+        }
+        seen += this.zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.positive[i];
+            if (seen > rank) {
+                return value(i);
+            }
+        }
+        return value(BUCKETS - 1);
+    }
+
+    private static int index(double magnitude) {
+
+        return Math.min(Math.max(rawIndex(magnitude) - MIN_INDEX, 0), BUCKETS - 1);
+    }
+
+    private static int rawIndex(double magnitude) {
+
+        return (int) Math.ceil(Math.log(magnitude) / LOG_GAMMA);
+    }
+
+    /**
+     * 桶 (γ^(i-1), γ^i] 的代表值，与桶内任意数值的相对误差都不超过 α
+     */
+    private static double value(int index) {
+
+        return 2 * Math.pow(GAMMA, index + MIN_INDEX) / (GAMMA + 1);
+    }
+}
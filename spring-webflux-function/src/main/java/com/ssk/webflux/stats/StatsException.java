@@ -0,0 +1,42 @@
+package com.ssk.webflux.stats;
+
+import com.ssk.webflux.common.error.StacklessException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * /stats 的错误，都是共享常量，响应体由 {@link com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler} 直接写出
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:20
+ */
+public class StatsException extends StacklessException {
+
+    private static final long serialVersionUID = 3518047268814730271L;
+
+    /**
+     * 数据流名称只能包含字母、数字、'.'、'_'、'-'，最长 64 个字符
+     */
+    public static final StatsException INVALID_STREAM =
+            new StatsException(HttpStatus.BAD_REQUEST, "Invalid stream name");
+
+    /**
+     * 上传的内容不是有限的数字
+     */
+    public static final StatsException INVALID_VALUE =
+            new StatsException(HttpStatus.BAD_REQUEST, "Invalid value");
+
+    /**
+     * 读取的数据流还没有上传过数值，或者已经因空闲被回收
+     */
+    public static final StatsException UNKNOWN_STREAM =
+            new StatsException(HttpStatus.NOT_FOUND, "Unknown stream");
+
+    public static final StatsException TOO_MANY_STREAMS =
+            new StatsException(HttpStatus.SERVICE_UNAVAILABLE, "Too many streams");
+
+    private StatsException(HttpStatus status, String message) {
+
+        super(status, message);
+    }
+}
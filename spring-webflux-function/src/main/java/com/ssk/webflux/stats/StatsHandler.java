@@ -0,0 +1,97 @@
+package com.ssk.webflux.stats;
+
+import com.ssk.webflux.handler.NumberServerResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * /stats 的 HTTP 接口：
+ * <pre>
+ * POST http://localhost:8082/stats/latency    请求体为 NDJSON，每行一个数字，返回写入的数值个数
+ * GET  http://localhost:8082/stats/latency    SSE，每个窗口结束时输出一个 window 事件，数据流不存在时返回 404
+ * </pre>
+ * 上传的数值按 bufferTimeout 攒成最多 ingestBatchSize 个一批再写入数据流，请求体的读取随写入推进。
+ * WebSocket 方式见 {@link StatsWebSocketHandler}。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:10
+ */
+public class StatsHandler {
+
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private final StringDecoder decoder = StringDecoder.textPlainOnly(Collections.singletonList("\n"), true);
+
+    private final StatsService service;
+
+    private final int batchSize;
+
+    private final Duration batchDelay;
+
+    public StatsHandler(StatsService service, StatsProperties properties) {
+
+        this.service = service;
+        this.batchSize = properties.getIngestBatchSize();
+        this.batchDelay = properties.getIngestDelay();
+    }
+
+    public Mono<ServerResponse> publish(ServerRequest request) {
+
+        String stream = request.pathVariable("stream");
+        this.service.open(stream);
+        Mono<Long> count = this.decoder
+                .decode(request.body(BodyExtractors.toDataBuffers()), STRING_TYPE, null, Collections.emptyMap())
+                .filter(line -> !line.trim().isEmpty())
+                .map(StatsHandler::parse)
+                .bufferTimeout(this.batchSize, this.batchDelay)
+                .map(StatsHandler::toArray)
+                .doOnNext(values -> this.service.publish(stream, values))
+                .reduce(0L, (total, values) -> total + values.length);
+        return count.map(total -> new NumberServerResponse(Long.toString(total)));
+    }
+
+    public Mono<ServerResponse> windows(ServerRequest request) {
+
+        Flux<ServerSentEvent<StatsWindow>> events = this.service.windows(request.pathVariable("stream"))
+                .onBackpressureLatest()
+                .map(window -> ServerSentEvent.builder(window).event("window").build());
+        return ServerResponse.ok().body(BodyInserters.fromServerSentEvents(events));
+    }
+
+    /**
+     * 解析一个有限的数字，NaN 与无穷大也视为非法
+     */
+    static double parse(String text) {
+
+        try {
+            double value = Double.parseDouble(text.trim());
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw StatsException.INVALID_VALUE;
+            }
+            return value;
+        } catch (NumberFormatException ex) {
+            throw StatsException.INVALID_VALUE;
+        }
+    }
+
+    private static double[] toArray(List<Double> values) {
+
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ssk.webflux.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /stats 的配置
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 9:10
+ */
+@Data
+@ConfigurationProperties(prefix = "stats")
+public class StatsProperties {
+
+    /**
+     * 统计窗口的长度，每个窗口结束时输出一次统计结果
+     */
+    private Duration window = Duration.ofSeconds(1);
+
+    /**
+     * 同时存在的数据流数量上限，超出后新的数据流返回 503
+     */
+    private int maxStreams = 64;
+
+    /**
+     * 数据流超过这个时间没有上传、也没有订阅者时被回收，回收检查的周期与之相同
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * NDJSON 上传时每批写入数据流的最大数值个数，不足一批时最多等待 {@link #ingestDelay}
+     */
+    private int ingestBatchSize = 256;
+
+    private Duration ingestDelay = Duration.ofMillis(50);
+}
@@ -0,0 +1,175 @@
+package com.ssk.webflux.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.EmitterProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 按名称管理数值流并计算滚动统计。每个数据流是一个 EmitterProcessor，上传的数值以 double[] 为单位写入；
+ * 数据流按 {@link StatsProperties#getWindow()} 用 window 切分，每个窗口通过 reduceWith 累加到一个
+ * {@link WindowAccumulator} 中，窗口结束时转换为 {@link StatsWindow}。
+ * 统计在数据流创建时就开始，与是否有订阅者无关；新的订阅者先收到最近一个窗口的结果。
+ * <p>
+ * 数据流只在上传数值时创建，读取不存在的数据流返回 404。超过 {@link StatsProperties#getIdleTimeout()} 没有上传、
+ * 也没有订阅者的数据流被回收，释放其窗口定时器和最近一个窗口的结果；回收后再上传会重新创建。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:40
+ */
+public class StatsService implements DisposableBean {
+
+    private static final Pattern STREAM_NAME = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final Logger logger = LoggerFactory.getLogger(StatsService.class);
+
+    private final ConcurrentMap<String, StatsStream> streams = new ConcurrentHashMap<>();
+
+    private final Duration window;
+
+    private final int maxStreams;
+
+    private final long idleTimeoutNanos;
+
+    /**
+     * 已创建和正在创建的数据流数，在 computeIfAbsent 内预占，保证并发创建时也不超过上限
+     */
+    private final AtomicInteger streamCount = new AtomicInteger();
+
+    private final Disposable eviction;
+
+    public StatsService(StatsProperties properties) {
+
+        this.window = properties.getWindow();
+        this.maxStreams = properties.getMaxStreams();
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.eviction = Flux.interval(properties.getIdleTimeout(), Schedulers.parallel())
+                .subscribe(tick -> this.evictIdle());
+    }
+
+    /**
+     * 创建数据流，已经存在时不做任何事。上传数值之前先调用，名称非法或数据流过多时在读取数值前就返回错误
+     */
+    public void open(String name) {
+
+        this.stream(name);
+    }
+
+    /**
+     * 把一批数值写入数据流，数据流不存在时创建
+     */
+    public void publish(String name, double[] values) {
+
+        StatsStream stream = this.stream(name);
+        stream.lastActive = System.nanoTime();
+        stream.sink.next(values);
+    }
+
+    /**
+     * 数据流的窗口统计结果，数据流不存在时抛出 {@link StatsException#UNKNOWN_STREAM}
+     */
+    public Flux<StatsWindow> windows(String name) {
+
+        StatsStream stream = this.streams.get(name);
+        if (stream == null) {
+            throw StatsException.UNKNOWN_STREAM;
+        }
+        return stream.windows
+                .doOnSubscribe(subscription -> stream.subscribers.incrementAndGet())
+                .doFinally(signal -> {
+                    stream.subscribers.decrementAndGet();
+                    stream.lastActive = System.nanoTime();
+                });
+    }
+
+    public int getStreamCount() {
+
+        return this.streams.size();
+    }
+
+    private StatsStream stream(String name) {
+
+        StatsStream stream = this.streams.get(name);
+        if (stream != null) {
+            return stream;
+        }
+        if (!STREAM_NAME.matcher(name).matches()) {
+            throw StatsException.INVALID_STREAM;
+        }
+        return this.streams.computeIfAbsent(name, key -> {
+            if (this.streamCount.incrementAndGet() > this.maxStreams) {
+                this.streamCount.decrementAndGet();
+                throw StatsException.TOO_MANY_STREAMS;
+            }
+            this.logger.info("创建统计数据流 {}", key);
+            return new StatsStream(key, this.window);
+        });
+    }
+
+    /**
+     * 回收空闲的数据流。与上传并发时，刚取到旧数据流的一批数值可能被丢弃，只会发生在已经空闲了整个 idleTimeout 的数据流上
+     */
+    void evictIdle() {
+
+        long now = System.nanoTime();
+        this.streams.forEach((name, stream) -> {
+            if (stream.subscribers.get() == 0 && now - stream.lastActive >= this.idleTimeoutNanos
+                    && this.streams.remove(name, stream)) {
+                this.streamCount.decrementAndGet();
+                stream.dispose();
+                this.logger.info("回收空闲的统计数据流 {}", name);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+
+        this.eviction.dispose();
+        this.streams.values().forEach(StatsStream::dispose);
+        this.streams.clear();
+    }
+
+    private static class StatsStream {
+
+        private final FluxSink<double[]> sink;
+
+        private final Flux<StatsWindow> windows;
+
+        private final AtomicInteger subscribers = new AtomicInteger();
+
+        private volatile long lastActive = System.nanoTime();
+
+        private Disposable connection;
+
+        StatsStream(String name, Duration window) {
+
+            EmitterProcessor<double[]> processor = EmitterProcessor.create(false);
+            this.sink = processor.sink();
+            this.windows = processor
+                    .window(window)
+                    .concatMap(values -> values
+                            .reduceWith(() -> new WindowAccumulator(System.currentTimeMillis()), WindowAccumulator::add)
+                            .map(accumulator -> accumulator.toWindow(name, System.currentTimeMillis())))
+                    .replay(1)
+                    .autoConnect(0, connection -> this.connection = connection);
+        }
+
+        void dispose() {
+
+            this.sink.complete();
+            this.connection.dispose();
+        }
+    }
+}
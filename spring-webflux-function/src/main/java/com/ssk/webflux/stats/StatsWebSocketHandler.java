@@ -0,0 +1,56 @@
+package com.ssk.webflux.stats;
+
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+
+import java.util.StringTokenizer;
+
+/**
+ * 通过 WebSocket 上传数值：连接 ws://localhost:8082/stats/ws/latency，每条文本消息包含一个或多个以空白分隔的数字，
+ * 一条消息的数值作为一批写入数据流。出现非法数值时以 1007（BAD_DATA）关闭连接，
+ * 数据流名称非法或数据流过多时以 1008（POLICY_VIOLATION）关闭连接。
+ * 统计结果仍通过 GET /stats/latency 的 SSE 获取，见 {@link StatsHandler}。
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:40
+ */
+public class StatsWebSocketHandler implements WebSocketHandler {
+
+    private final StatsService service;
+
+    public StatsWebSocketHandler(StatsService service) {
+
+        this.service = service;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+
+        String path = session.getHandshakeInfo().getUri().getPath();
+        String stream = path.substring(path.lastIndexOf('/') + 1);
+        try {
+            this.service.open(stream);
+        } catch (StatsException ex) {
+            return session.close(CloseStatus.POLICY_VIOLATION.withReason(ex.getMessage()));
+        }
+        return session.receive()
+                .map(StatsWebSocketHandler::parse)
+                .doOnNext(values -> this.service.publish(stream, values))
+                .then()
+                .onErrorResume(StatsException.class, ex -> session.close(CloseStatus.BAD_DATA.withReason(ex.getMessage())));
+    }
+
+    private static double[] parse(WebSocketMessage message) {
+
+        StringTokenizer tokens = new StringTokenizer(message.getPayloadAsText());
+        double[] values = new double[tokens.countTokens()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = StatsHandler.parse(tokens.nextToken());
+        }
+        return values;
+    }
+}
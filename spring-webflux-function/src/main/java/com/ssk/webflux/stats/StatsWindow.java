@@ -0,0 +1,40 @@
+package com.ssk.webflux.stats;
+
+import lombok.Data;
+
+/**
+ * 一个统计窗口的结果，以 SSE 事件输出。窗口内没有数据时 count 为 0，其余统计值为 null。
+ * 百分位数是近似值，相对误差见 {@link QuantileSketch}
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:10
+ */
+@Data
+public class StatsWindow {
+
+    private String stream;
+
+    /**
+     * 窗口的起止时间，毫秒时间戳
+     */
+    private long start;
+
+    private long end;
+
+    private long count;
+
+    private Double sum;
+
+    private Double min;
+
+    private Double max;
+
+    private Double mean;
+
+    private Double p50;
+
+    private Double p90;
+
+    private Double p99;
+}
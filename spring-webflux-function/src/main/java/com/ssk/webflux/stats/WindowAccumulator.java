@@ -0,0 +1,65 @@
+package com.ssk.webflux.stats;
+
+/**
+ * 累加一个窗口内的数值，只保存计数、和、最值与 {@link QuantileSketch}，不保存数值本身
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 10:20
+ */
+class WindowAccumulator {
+
+    private final long start;
+
+    private final QuantileSketch sketch = new QuantileSketch();
+
+    private double sum;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    WindowAccumulator(long start) {
+
+        this.start = start;
+    }
+
+    WindowAccumulator add(double[] values) {
+
+        for (double value : values) {
+            this.sum += value;
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+            this.sketch.add(value);
+        }
+        return this;
+    }
+
+    StatsWindow toWindow(String stream, long end) {
+
+        StatsWindow window = new StatsWindow();
+        window.setStream(stream);
+        window.setStart(this.start);
+        window.setEnd(end);
+        long count = this.sketch.getCount();
+        window.setCount(count);
+        if (count > 0) {
+            window.setSum(this.sum);
+            window.setMin(this.min);
+            window.setMax(this.max);
+            window.setMean(this.sum / count);
+            window.setP50(this.quantile(0.5));
+            window.setP90(this.quantile(0.9));
+            window.setP99(this.quantile(0.99));
+        }
+        return window;
+    }
+
+    /**
+     * 桶的代表值可能略微超出实际的最值，按最值截断
+     */
+    private double quantile(double quantile) {
+
+        return Math.min(Math.max(this.sketch.quantile(quantile), this.min), this.max);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.config.Config;
+import com.ssk.webflux.handler.CalculatorHandler;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 快速启动模式下 /calculator 的行为与普通启动方式一致，且不经过组件扫描
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:40
+ */
+public class FastStartupApplicationTests {
+
+    private static ConfigurableApplicationContext context;
+
+    private static WebTestClient client;
+
+    @BeforeClass
+    public static void start() {
+
+        context = FastStartupApplication.application().run("--server.port=0");
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + context.getEnvironment().getProperty("local.server.port"))
+                .build();
+    }
+
+    @AfterClass
+    public static void stop() {
+
+        context.close();
+    }
+
+    @Test
+    public void testCalculate() {
+
+        client.get().uri("/calculator?operator=multiply&v1=6&v2=7")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(42);
+        client.get().uri("/calculator?operator=unknown&v1=6&v2=7")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testFunctionalRegistration() {
+
+        assertEquals(0, context.getBeanNamesForType(Config.class).length);
+        assertEquals(1, context.getBeanNamesForType(CalculatorHandler.class).length);
+        assertTrue(context.getBeanFactory().getBeanDefinition("routerFunction").isLazyInit());
+    }
+}
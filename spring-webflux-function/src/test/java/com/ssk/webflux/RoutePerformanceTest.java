@@ -0,0 +1,87 @@
+package com.ssk.webflux;
+
+import com.ssk.webflux.common.perf.RoutePerformance;
+import com.ssk.webflux.handler.BatchCalculatorHandler;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 各路由每个请求的分配字节数和延迟不超过 perf-budgets.properties 中记录的预算，见 {@link RoutePerformance}。
+ * GET /stats/{stream} 按时间窗口推送事件，/stats/ws/* 是 WebSocket，都不在此检查
+ *
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:50
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RoutePerformanceTest {
+
+    private static final RoutePerformance PERFORMANCE = new RoutePerformance();
+
+    private static final String BATCH = IntStream.range(0, 10)
+            .mapToObj(i -> "{\"op\":\"add\",\"v1\":" + i + ",\"v2\":2}")
+            .collect(Collectors.joining("\n", "", "\n"));
+
+    private static final String SAMPLES = IntStream.range(0, 100)
+            .mapToObj(Integer::toString)
+            .collect(Collectors.joining("\n", "", "\n"));
+
+    @Autowired
+    private ApplicationContext context;
+
+    private WebTestClient client;
+
+    @Before
+    public void init() {
+
+        this.client = WebTestClient.bindToApplicationContext(this.context).build();
+    }
+
+    @AfterClass
+    public static void record() throws IOException {
+
+        PERFORMANCE.writeRecorded();
+    }
+
+    @Test
+    public void testCalculate() {
+
+        PERFORMANCE.check("GET /calculator", () -> this.client.get().uri("/calculator?operator=add&v1=3&v2=4")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testEval() {
+
+        PERFORMANCE.check("GET /calculator/eval", () -> this.client.get().uri("/calculator/eval?expr={expr}&a=1&b=2", "(a+b)*2^3")
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testBatch() {
+
+        PERFORMANCE.check("POST /calculator/batch", () -> this.client.post().uri("/calculator/batch")
+                .contentType(BatchCalculatorHandler.APPLICATION_NDJSON)
+                .syncBody(BATCH)
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+
+    @Test
+    public void testPublishStats() {
+
+        PERFORMANCE.check("POST /stats/{stream}", () -> this.client.post().uri("/stats/perf").syncBody(SAMPLES)
+                .exchange().expectStatus().isOk().expectBody().returnResult());
+    }
+}
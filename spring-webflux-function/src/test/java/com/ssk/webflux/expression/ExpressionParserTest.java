@@ -0,0 +1,114 @@
+package com.ssk.webflux.expression;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:30
+ */
+public class ExpressionParserTest {
+
+    @Test
+    public void testPrecedence() {
+
+        assertEquals("7", eval("1 + 2 * 3"));
+        assertEquals("9", eval("(1 + 2) * 3"));
+        assertEquals("-4", eval("-2^2"));
+        assertEquals("512", eval("2^3^2"));
+        assertEquals("2", eval("10 - 4 - 4"));
+        assertEquals("1", eval("10 % 3"));
+        assertEquals("3", eval("max(1, min(5, 3), -2)"));
+        assertEquals("5", eval("abs(2 - 7)"));
+    }
+
+    @Test
+    public void testLongAndDecimal() {
+
+        assertEquals("3", eval("6 / 2"));
+        assertEquals("3.5", eval("7 / 2"));
+        assertEquals("0.125", eval("2^-3"));
+        assertEquals("0.3", eval("0.1 + 0.2"));
+        assertEquals("6", eval("1.5 * 4"));
+        assertEquals("9223372036854775807", eval("9223372036854775806 + 1"));
+        // 超出 long 范围时改用 decimal，不会回绕
+        assertEquals("9223372036854775808", eval("9223372036854775807 + 1"));
+        assertEquals("1267650600228229401496703205376", eval("2^100"));
+        assertEquals("0.3333333333333333333333333333333333", eval("1 / 3"));
+    }
+
+    @Test
+    public void testVariables() {
+
+        Expression expression = ExpressionParser.parse("(a + b) * a");
+        assertFalse(expression.isConstant());
+        assertEquals(2, expression.getVariableCount());
+        assertEquals("a", expression.getVariable(0));
+        assertEquals("b", expression.getVariable(1));
+
+        EvaluationContext context = new EvaluationContext();
+        context.bind("a", "3");
+        context.bind("b", "4");
+        expression.evaluate(context);
+        assertTrue(context.isLongResult());
+        assertEquals(21, context.getLongResult());
+
+        context.reset();
+        context.bind("a", "0.5");
+        context.bind("b", "1");
+        expression.evaluate(context);
+        assertFalse(context.isLongResult());
+        assertEquals("0.75", context.getResultText());
+    }
+
+    @Test
+    public void testArithmeticErrors() {
+
+        assertSame(ExpressionException.DIVISION_BY_ZERO, error("1 / 0"));
+        assertSame(ExpressionException.DIVISION_BY_ZERO, error("1.5 % 0"));
+        assertSame(ExpressionException.DIVISION_BY_ZERO, error("0 ^ -1"));
+        assertSame(ExpressionException.INVALID_EXPONENT, error("2 ^ 0.5"));
+        assertEquals("1E+6144", eval("10 ^ 6144"));
+        assertSame(ExpressionException.OVERFLOW, error("10 ^ 6145"));
+        assertSame(ExpressionException.OVERFLOW, error("10 ^ 999999999 ^ 3"));
+    }
+
+    @Test
+    public void testSyntaxErrors() {
+
+        assertEquals(HttpStatus.BAD_REQUEST, error("1 +").getStatus());
+        assertEquals("Unexpected ')' at position 2", error("1)").getMessage());
+        assertEquals("Expected ')' at position 7", error("(1 + 2").getMessage());
+        assertEquals("Unknown function 'sqrt' at position 1", error("sqrt(4)").getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, error("expr + 1").getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, error("1e").getStatus());
+        StringBuilder nested = new StringBuilder();
+        for (int i = 0; i <= ExpressionParser.MAX_DEPTH; i++) {
+            nested.append('(');
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, error(nested + "1").getStatus());
+    }
+
+    private static String eval(String text) {
+
+        return ExpressionParser.parse(text).getConstant();
+    }
+
+    private static ExpressionException error(String text) {
+
+        try {
+            eval(text);
+        } catch (ExpressionException ex) {
+            return ex;
+        }
+        fail("expected an error for " + text);
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ssk.webflux.handler;
+
+import com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler;
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 5:10
+ */
+public class BatchCalculatorHandlerTest {
+
+    private final WebTestClient client = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+            RequestPredicates.POST("/calculator/batch"), new BatchCalculatorHandler(CalculatorOperators.defaults(), 2)::batch))
+            .handlerStrategies(HandlerStrategies.builder().exceptionHandler(new PreRenderedErrorWebExceptionHandler()).build())
+            .build();
+
+    @Test
+    public void testBatch() {
+
+        String body = "{\"op\":\"add\",\"v1\":1,\"v2\":2}\n"
+                + "{\"op\":\"multiply\",\"v1\":-3,\"v2\":4}\n"
+                + "{\"op\":\"divide\",\"v1\":1,\"v2\":0}\n"
+                + "{\"op\":\"handler\",\"v1\":1,\"v2\":2}\n"
+                + "{\"op\":\"min\",\"v1\":-2147483648,\"v2\":0}\n";
+        this.client.post().uri("/calculator/batch")
+                .contentType(BatchCalculatorHandler.APPLICATION_NDJSON)
+                .syncBody(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(BatchCalculatorHandler.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo("{\"result\":3}\n"
+                + "{\"result\":-12}\n"
+                + "{\"error\":\"Calculation failed\"}\n"
+                + "{\"error\":\"Unknown or missing operator\"}\n"
+                + "{\"result\":-2147483648}\n");
+    }
+
+    @Test
+    public void testMalformed() {
+
+        this.client.post().uri("/calculator/batch")
+                .contentType(BatchCalculatorHandler.APPLICATION_NDJSON)
+                .syncBody("{\"op\":\"add\",\"v1\":\"x\"}\n")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testBackpressure() {
+
+        AtomicInteger produced = new AtomicInteger();
+        DefaultDataBufferFactory factory = new DefaultDataBufferFactory();
+        Flux<DataBuffer> input = Flux.range(0, 1_000_000)
+                .doOnNext(i -> produced.incrementAndGet())
+                .map(i -> factory.wrap(("{\"op\":\"add\",\"v1\":" + i + ",\"v2\":1}\n").getBytes(StandardCharsets.US_ASCII)));
+        ServerResponse response = new BatchCalculatorHandler(CalculatorOperators.defaults(), 16)
+                .batch(MockServerRequest.builder().body(input))
+                .block();
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/calculator/batch"));
+        AtomicInteger chunks = new AtomicInteger();
+        exchange.getResponse().setWriteHandler(body -> Flux.from(body).limitRate(1).take(2).doOnNext(buffer -> chunks.incrementAndGet()).then());
+        response.writeTo(exchange, new ServerResponse.Context() {
+
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+
+                return HandlerStrategies.withDefaults().messageWriters();
+            }
+
+            @Override
+            public List<ViewResolver> viewResolvers() {
+
+                return HandlerStrategies.withDefaults().viewResolvers();
+            }
+        }).block();
+
+        assertEquals(2, chunks.get());
+        assertTrue("records read: " + produced.get(), produced.get() < 10_000);
+    }
+}
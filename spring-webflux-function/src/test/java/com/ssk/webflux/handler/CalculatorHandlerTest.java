@@ -0,0 +1,76 @@
+package com.ssk.webflux.handler;
+
+import com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler;
+import com.ssk.webflux.config.Config;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:40
+ */
+public class CalculatorHandlerTest {
+
+    private final WebTestClient client = this.client(new CalculatorHandler());
+
+    @Test
+    public void testOperators() {
+
+        this.expect("add", 7, 2, 9);
+        this.expect("subtract", 7, 2, 5);
+        this.expect("multiply", 7, 2, 14);
+        this.expect("divide", 7, 2, 3);
+        this.expect("mod", 7, 2, 1);
+        this.expect("pow", 7, 2, 49);
+        this.expect("min", 7, 2, 2);
+        this.expect("max", 7, 2, 7);
+    }
+
+    @Test
+    public void testErrors() {
+
+        this.client.get().uri("/calculator?operator=divide&v1=1&v2=0").exchange().expectStatus().is5xxServerError();
+        this.client.get().uri("/calculator?operator=pow&v1=2&v2=31").exchange().expectStatus().is5xxServerError();
+        this.client.get().uri("/calculator?operator=pow&v1=2&v2=-1").exchange().expectStatus().is5xxServerError();
+        // 运算表之外的公共方法不能再通过 operator 调用
+        this.client.get().uri("/calculator?operator=handler&v1=1&v2=2").exchange().expectStatus().isBadRequest();
+        this.client.get().uri("/calculator?v1=1&v2=2").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testRegister() {
+
+        WebTestClient client = this.client(new CalculatorHandler(CalculatorOperators.defaults().register("avg", (v1, v2) -> (v1 + v2) / 2)));
+        client.get().uri("/calculator?operator=avg&v1=4&v2=8").exchange().expectBody(Integer.class).isEqualTo(6);
+    }
+
+    @Test
+    public void testPow() {
+
+        assertEquals(1, CalculatorOperators.pow(5, 0));
+        assertEquals(-27, CalculatorOperators.pow(-3, 3));
+        assertEquals(1 << 30, CalculatorOperators.pow(2, 30));
+        assertEquals(Integer.MIN_VALUE, CalculatorOperators.pow(-2, 31));
+    }
+
+    private void expect(String operator, int v1, int v2, int expected) {
+
+        this.client.get().uri("/calculator?operator={operator}&v1={v1}&v2={v2}", operator, v1, v2)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON_UTF8)
+                .expectBody(Integer.class).isEqualTo(expected);
+    }
+
+    private WebTestClient client(CalculatorHandler handler) {
+
+        return WebTestClient.bindToRouterFunction(new Config().routerFunction(handler))
+                .handlerStrategies(HandlerStrategies.builder().exceptionHandler(new PreRenderedErrorWebExceptionHandler()).build())
+                .build();
+    }
+}
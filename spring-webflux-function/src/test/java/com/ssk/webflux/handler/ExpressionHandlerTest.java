@@ -0,0 +1,63 @@
+package com.ssk.webflux.handler;
+
+import com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler;
+import com.ssk.webflux.config.Config;
+import com.ssk.webflux.expression.ExpressionCache;
+import com.ssk.webflux.expression.ExpressionProperties;
+import org.junit.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 1:50
+ */
+public class ExpressionHandlerTest {
+
+    private final ExpressionCache cache = new ExpressionCache(new ExpressionProperties());
+
+    private final WebTestClient client = WebTestClient.bindToRouterFunction(new Config().expressionRouterFunction(this.cache))
+            .handlerStrategies(HandlerStrategies.builder().exceptionHandler(new PreRenderedErrorWebExceptionHandler()).build())
+            .build();
+
+    @Test
+    public void testEval() {
+
+        this.client.get().uri("/calculator/eval?expr={expr}", "(1+2)*3^2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("27");
+        this.client.get().uri("/calculator/eval?expr={expr}&a={a}&b={b}", "a/b", "1", "8")
+                .exchange()
+                .expectBody(String.class).isEqualTo("0.125");
+    }
+
+    @Test
+    public void testCache() {
+
+        for (int i = 0; i < 3; i++) {
+            this.client.get().uri("/calculator/eval?expr={expr}&x={x}", "x*x", i)
+                    .exchange()
+                    .expectBody(Integer.class).isEqualTo(i * i);
+        }
+        assertEquals(1, this.cache.getMisses());
+        assertEquals(2, this.cache.getHits());
+        assertEquals(1, this.cache.size());
+    }
+
+    @Test
+    public void testErrors() {
+
+        this.client.get().uri("/calculator/eval").exchange().expectStatus().isBadRequest();
+        this.client.get().uri("/calculator/eval?expr={expr}", "1+").exchange().expectStatus().isBadRequest();
+        this.client.get().uri("/calculator/eval?expr={expr}&a=1", "a+b")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Missing variable: b");
+        this.client.get().uri("/calculator/eval?expr={expr}&a=x", "a+1").exchange().expectStatus().isBadRequest();
+        this.client.get().uri("/calculator/eval?expr={expr}", "1/(2-2)").exchange().expectStatus().isEqualTo(422);
+    }
+}
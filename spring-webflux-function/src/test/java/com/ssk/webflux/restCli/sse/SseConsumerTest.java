@@ -0,0 +1,147 @@
+package com.ssk.webflux.restCli.sse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-上午 11:00
+ */
+public class SseConsumerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * 每个连接收到的 Last-Event-ID
+     */
+    private final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+
+    /**
+     * 每个连接发送 5 个事件后结束响应，从 Last-Event-ID 的下一个继续编号
+     */
+    private final DisposableServer server = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/events", (request, response) -> {
+                String lastEventId = request.requestHeaders().get("Last-Event-ID");
+                this.lastEventIds.add(String.valueOf(lastEventId));
+                long first = lastEventId == null ? 0 : Long.parseLong(lastEventId) + 1;
+                return response.sse().sendString(Flux.range(0, 5).map(i -> first + i).map(id -> "id:" + id + "\n"
+                        + ":ts=" + System.currentTimeMillis() + "\n"
+                        + "data:{\"value\":" + id + "}\n\n"));
+            }).get("/missing", (request, response) -> {
+                this.lastEventIds.add("missing");
+                return response.status(HttpResponseStatus.NOT_FOUND).send();
+            }))
+            .bindNow();
+
+    @After
+    public void destroy() {
+
+        this.server.disposeNow();
+    }
+
+    @Test
+    public void testReconnectsWithLastEventId() throws IOException {
+
+        Path file = this.folder.getRoot().toPath().resolve("events.ndjson");
+        SseConsumer<JsonNode> consumer = this.consumer(file);
+        consumer.consume()
+                .scan(0, (total, batch) -> total + batch.getSize())
+                .takeUntil(total -> total >= 12)
+                .blockLast(Duration.ofSeconds(10));
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertTrue(lines.size() >= 12);
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode line = MAPPER.readTree(lines.get(i));
+            assertEquals(String.valueOf(i), line.get("id").textValue());
+            assertEquals(i, line.get("data").get("value").intValue());
+        }
+        assertEquals("null", this.lastEventIds.get(0));
+        assertEquals("4", this.lastEventIds.get(1));
+        assertEquals("9", this.lastEventIds.get(2));
+        assertTrue(consumer.getReconnects() >= 2);
+        assertTrue(consumer.getLag().getCount() >= 12);
+    }
+
+    @Test
+    public void testResumesFromFileAndDropsPartialLine() throws IOException {
+
+        Path file = this.folder.getRoot().toPath().resolve("events.ndjson");
+        Files.write(file, ("{\"id\":\"6\",\"data\":{}}\n{\"id\":\"7\",\"data\":{}}\n{\"id\":\"8\",\"da").getBytes(StandardCharsets.UTF_8));
+
+        SseBatch batch = this.consumer(file).consume().blockFirst(Duration.ofSeconds(10));
+
+        assertEquals("7", this.lastEventIds.get(0));
+        List<String> ids = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(line -> {
+                    try {
+                        return MAPPER.readTree(line).get("id").textValue();
+                    } catch (IOException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                })
+                .collect(Collectors.toList());
+        assertEquals("6", ids.get(0));
+        assertEquals("8", ids.get(2));
+        assertEquals(2 + batch.getSize(), ids.size());
+        assertTrue(batch.getLagMillis()[0] >= 0);
+    }
+
+    @Test
+    public void testStopsOnClientError() {
+
+        Path file = this.folder.getRoot().toPath().resolve("events.ndjson");
+        SseConsumer<JsonNode> consumer = this.consumer(file, "/missing");
+        StepVerifier.create(consumer.consume())
+                .expectErrorMatches(ex -> ex instanceof WebClientResponseException
+                        && ((WebClientResponseException) ex).getStatusCode() == HttpStatus.NOT_FOUND)
+                .verify(Duration.ofSeconds(10));
+        assertEquals(0, consumer.getReconnects());
+        assertEquals(1, this.lastEventIds.size());
+    }
+
+    private SseConsumer<JsonNode> consumer(Path file) {
+
+        return this.consumer(file, "/events");
+    }
+
+    private SseConsumer<JsonNode> consumer(Path file, String path) {
+
+        SseConsumerOptions options = new SseConsumerOptions();
+        options.setFile(file);
+        options.setBatchSize(3);
+        options.setBatchTimeout(Duration.ofMillis(100));
+        options.setReconnectDelay(Duration.ofMillis(20));
+        return new SseConsumer<>(WebClient.create("http://localhost:" + this.server.port() + path), "", JsonNode.class, options)
+                .eventTime(SSEClient::eventTime);
+    }
+}
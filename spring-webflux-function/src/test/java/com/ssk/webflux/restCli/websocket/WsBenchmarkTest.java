@@ -0,0 +1,73 @@
+package com.ssk.webflux.restCli.websocket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 4:00
+ */
+public class WsBenchmarkTest {
+
+    /**
+     * 与 EchoHandler 相同，给每条消息加上 "ECHO->" 前缀后原样返回
+     */
+    private final DisposableServer server = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.ws("/echo", (inbound, outbound) ->
+                    outbound.sendString(inbound.receive().asString().map(text -> "ECHO->" + text))))
+            .bindNow();
+
+    @Before
+    public void init() {
+
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+    }
+
+    @After
+    public void destroy() {
+
+        this.server.disposeNow();
+    }
+
+    @Test
+    public void testSessionsEchoEveryMessage() {
+
+        WsBenchmarkOptions options = WsBenchmarkOptions.parse(new String[]{
+                "url=ws://localhost:" + this.server.port() + "/echo", "sessions=200", "rate=20",
+                "ramp-up=500ms", "warmup=2s", "duration=1s", "threads=2"});
+        WsBenchmark benchmark = new WsBenchmark(options);
+        benchmark.run();
+
+        assertEquals(200, benchmark.getConnected());
+        assertEquals(0, benchmark.getFailures());
+        assertEquals(0, benchmark.getLost());
+        assertTrue(benchmark.getSent() >= 200 * 20);
+        assertTrue(benchmark.getRtt().getCount() >= 200 * 20 * 0.8);
+    }
+
+    @Test
+    public void testConnectFailuresAreCounted() {
+
+        WsBenchmarkOptions options = WsBenchmarkOptions.parse(new String[]{
+                "url=ws://localhost:" + this.server.port() + "/missing", "sessions=5", "ramp-up=0s",
+                "warmup=0s", "duration=100ms"});
+        WsBenchmark benchmark = new WsBenchmark(options);
+        benchmark.run();
+
+        assertEquals(0, benchmark.getConnected());
+        assertEquals(5, benchmark.getFailures());
+        assertEquals(0, benchmark.getSent());
+    }
+}
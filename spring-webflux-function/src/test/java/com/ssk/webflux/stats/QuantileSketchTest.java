@@ -0,0 +1,50 @@
+package com.ssk.webflux.stats;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:00
+ */
+public class QuantileSketchTest {
+
+    @Test
+    public void testRelativeAccuracy() {
+
+        Random random = new Random(42);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 3);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        for (double quantile : new double[]{0, 0.5, 0.9, 0.99, 0.999, 1}) {
+            double expected = values[(int) (quantile * (values.length - 1))];
+            double actual = sketch.quantile(quantile);
+            assertTrue(quantile + ": " + actual + " vs " + expected,
+                    Math.abs(actual - expected) <= expected * QuantileSketch.RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    public void testNegativeAndZero() {
+
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = -50; i <= 50; i++) {
+            sketch.add(i);
+        }
+        assertEquals(101, sketch.getCount());
+        assertEquals(-50, sketch.quantile(0), 0.5);
+        assertEquals(0, sketch.quantile(0.5), 0);
+        assertEquals(40, sketch.quantile(0.9), 0.4);
+        assertTrue(Double.isNaN(new QuantileSketch().quantile(0.5)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.ssk.webflux.stats;
+
+import com.ssk.webflux.common.error.PreRenderedErrorWebExceptionHandler;
+import com.ssk.webflux.config.StatsConfig;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 2:20
+ */
+public class StatsHandlerTest {
+
+    private final StatsService service;
+
+    private final WebTestClient client;
+
+    public StatsHandlerTest() {
+
+        StatsProperties properties = new StatsProperties();
+        properties.setWindow(Duration.ofMillis(200));
+        properties.setMaxStreams(2);
+        this.service = new StatsService(properties);
+        this.client = WebTestClient.bindToRouterFunction(new StatsConfig().statsRouterFunction(this.service, properties))
+                .handlerStrategies(HandlerStrategies.builder().exceptionHandler(new PreRenderedErrorWebExceptionHandler()).build())
+                .build();
+    }
+
+    @After
+    public void destroy() {
+
+        this.service.destroy();
+    }
+
+    @Test
+    public void testWindows() {
+
+        // 数据流在第一次上传时创建，之前读取返回 404
+        this.client.get().uri("/stats/latency").accept(MediaType.TEXT_EVENT_STREAM).exchange().expectStatus().isNotFound();
+        this.client.post().uri("/stats/latency").syncBody("").exchange().expectBody(Long.class).isEqualTo(0L);
+        Flux<StatsWindow> windows = this.client.get().uri("/stats/latency")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<StatsWindow>>() {
+                })
+                .getResponseBody()
+                .map(ServerSentEvent::data);
+        String body = IntStream.rangeClosed(1, 100).mapToObj(Integer::toString).collect(Collectors.joining("\n"));
+
+        StepVerifier.create(windows.filter(window -> window.getCount() > 0).take(1))
+                .then(() -> this.client.post().uri("/stats/latency")
+                        .syncBody(body)
+                        .exchange()
+                        .expectBody(Long.class).isEqualTo(100L))
+                .assertNext(window -> {
+                    assertEquals("latency", window.getStream());
+                    assertEquals(100, window.getCount());
+                    assertEquals(5050, window.getSum(), 0);
+                    assertEquals(1, window.getMin(), 0);
+                    assertEquals(100, window.getMax(), 0);
+                    assertEquals(50.5, window.getMean(), 0);
+                    assertEquals(50, window.getP50(), 0.5);
+                    assertEquals(99, window.getP99(), 1);
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testErrors() {
+
+        this.client.post().uri("/stats/latency").syncBody("1\nabc\n").exchange().expectStatus().isBadRequest();
+        this.client.post().uri("/stats/latency").syncBody("NaN\n").exchange().expectStatus().isBadRequest();
+        this.client.post().uri("/stats/{stream}", "a b").syncBody("1\n").exchange().expectStatus().isBadRequest();
+        this.client.post().uri("/stats/second").syncBody("1\n").exchange().expectStatus().isOk();
+        this.client.post().uri("/stats/third").syncBody("1\n").exchange().expectStatus().isEqualTo(503);
+        this.client.get().uri("/stats/fourth").exchange().expectStatus().isNotFound();
+        assertEquals(2, this.service.getStreamCount());
+    }
+
+    @Test
+    public void testIdleStreamsAreEvicted() throws InterruptedException {
+
+        StatsProperties properties = new StatsProperties();
+        properties.setMaxStreams(2);
+        properties.setIdleTimeout(Duration.ofMillis(100));
+        StatsService service = new StatsService(properties);
+        try {
+            service.publish("watched", new double[]{1});
+            service.publish("idle", new double[]{1});
+            Disposable subscriber = service.windows("watched").subscribe();
+            try {
+                service.publish("third", new double[]{1});
+                fail();
+            } catch (StatsException ex) {
+                assertSame(StatsException.TOO_MANY_STREAMS, ex);
+            }
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+            while (service.getStreamCount() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, service.getStreamCount());
+            service.windows("watched");
+            try {
+                service.windows("idle");
+                fail();
+            } catch (StatsException ex) {
+                assertSame(StatsException.UNKNOWN_STREAM, ex);
+            }
+            service.publish("third", new double[]{1});
+            subscriber.dispose();
+        } finally {
+            service.destroy();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.ssk.webflux.stats;
+
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author ssk www.8win.com Inc.All rights reserved
+ * @version v1.0
+ * @date 2026-10-19-下午 3:00
+ */
+public class StatsWebSocketHandlerTest {
+
+    private final StatsService service;
+
+    private final StatsWebSocketHandler handler;
+
+    public StatsWebSocketHandlerTest() {
+
+        StatsProperties properties = new StatsProperties();
+        properties.setWindow(Duration.ofMillis(200));
+        properties.setMaxStreams(1);
+        this.service = new StatsService(properties);
+        this.handler = new StatsWebSocketHandler(this.service);
+    }
+
+    @After
+    public void destroy() {
+
+        this.service.destroy();
+    }
+
+    @Test
+    public void testMessagesArePublished() {
+
+        TestSession session = new TestSession("/stats/ws/latency", "1 2", "3\n4 5");
+        StepVerifier.create(this.handler.handle(session)).verifyComplete();
+        assertNull(session.closeStatus);
+
+        StepVerifier.create(this.service.windows("latency").filter(window -> window.getCount() > 0).take(1))
+                .assertNext(window -> {
+                    assertEquals(5, window.getCount());
+                    assertEquals(15, window.getSum(), 0);
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testInvalidValueClosesWithBadData() {
+
+        TestSession session = new TestSession("/stats/ws/latency", "1 abc");
+        StepVerifier.create(this.handler.handle(session)).verifyComplete();
+        assertEquals(CloseStatus.BAD_DATA.getCode(), session.closeStatus.getCode());
+        assertEquals("Invalid value", session.closeStatus.getReason());
+    }
+
+    @Test
+    public void testInvalidOrExcessStreamClosesWithPolicyViolation() {
+
+        TestSession invalid = new TestSession("/stats/ws/a%20b", "1");
+        StepVerifier.create(this.handler.handle(invalid)).verifyComplete();
+        assertEquals(CloseStatus.POLICY_VIOLATION.getCode(), invalid.closeStatus.getCode());
+
+        StepVerifier.create(this.handler.handle(new TestSession("/stats/ws/first", "1"))).verifyComplete();
+        TestSession excess = new TestSession("/stats/ws/second", "1");
+        StepVerifier.create(this.handler.handle(excess)).verifyComplete();
+        assertEquals(CloseStatus.POLICY_VIOLATION.getCode(), excess.closeStatus.getCode());
+        assertEquals("Too many streams", excess.closeStatus.getReason());
+    }
+
+    /**
+     * 按顺序收到给定文本消息的会话，记录关闭时的状态
+     */
+    private static class TestSession implements WebSocketSession {
+
+        private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+        private final HandshakeInfo handshakeInfo;
+
+        private final String[] messages;
+
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        private CloseStatus closeStatus;
+
+        TestSession(String path, String... messages) {
+
+            this.handshakeInfo = new HandshakeInfo(URI.create("ws://localhost" + path), new HttpHeaders(), Mono.empty(), null);
+            this.messages = messages;
+        }
+
+        @Override
+        public String getId() {
+
+            return "test";
+        }
+
+        @Override
+        public HandshakeInfo getHandshakeInfo() {
+
+            return this.handshakeInfo;
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+
+            return this.bufferFactory;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+
+            return this.attributes;
+        }
+
+        @Override
+        public Flux<WebSocketMessage> receive() {
+
+            return Flux.fromArray(this.messages).map(this::textMessage);
+        }
+
+        @Override
+        public Mono<Void> send(Publisher<WebSocketMessage> messages) {
+
+            return Flux.from(messages).then();
+        }
+
+        @Override
+        public Mono<Void> close(CloseStatus status) {
+
+            return Mono.fromRunnable(() -> this.closeStatus = status);
+        }
+
+        @Override
+        public WebSocketMessage textMessage(String payload) {
+
+            return this.message(WebSocketMessage.Type.TEXT, payload.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public WebSocketMessage binaryMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+
+            return new WebSocketMessage(WebSocketMessage.Type.BINARY, payloadFactory.apply(this.bufferFactory));
+        }
+
+        @Override
+        public WebSocketMessage pingMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+
+            return new WebSocketMessage(WebSocketMessage.Type.PING, payloadFactory.apply(this.bufferFactory));
+        }
+
+        @Override
+        public WebSocketMessage pongMessage(Function<DataBufferFactory, DataBuffer> payloadFactory) {
+
+            return new WebSocketMessage(WebSocketMessage.Type.PONG, payloadFactory.apply(this.bufferFactory));
+        }
+
+        private WebSocketMessage message(WebSocketMessage.Type type, byte[] payload) {
+
+            return new WebSocketMessage(type, this.bufferFactory.wrap(payload));
+        }
+    }
+}